@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.codec.BinaryReader;
+import org.jboss.set.aphrodite.domain.codec.BinaryWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link BinaryWriter} and {@link BinaryReader} over the 50,000 issues of {@link IssueFootprintBenchmark},
+ * written to and read from memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryCodecBenchmark {
+
+    private List<Issue> issues;
+    private byte[] written;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(IssueFootprintBenchmark.ISSUES);
+        issues = new ArrayList<>(IssueFootprintBenchmark.ISSUES);
+        for (int i = 0; i < IssueFootprintBenchmark.ISSUES; i++)
+            issues.add(IssueFootprintBenchmark.issue(i, random));
+        written = write().toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(written != null ? written.length : 8 * 1024 * 1024);
+        try (BinaryWriter writer = new BinaryWriter(bytes)) {
+            for (Issue issue : issues)
+                writer.write(issue);
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) throws IOException {
+        try (BinaryReader reader = new BinaryReader(new ByteArrayInputStream(written))) {
+            Issue issue;
+            while ((issue = reader.read(Issue.class)) != null)
+                blackhole.consume(issue);
+        }
+    }
+}
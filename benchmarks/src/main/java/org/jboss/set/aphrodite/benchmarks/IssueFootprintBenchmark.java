@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.set.aphrodite.domain.Flag;
+import org.jboss.set.aphrodite.domain.FlagStatus;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.IssueStatus;
+import org.jboss.set.aphrodite.domain.IssueType;
+import org.jboss.set.aphrodite.domain.Release;
+import org.jboss.set.aphrodite.domain.SymbolTable;
+import org.jboss.set.aphrodite.domain.User;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the heap retained by 50,000 issues shaped like a Jira report, with and without a {@link SymbolTable}.
+ * Every string is a fresh copy, as when it is decoded from a response, drawn from a realistic number of distinct
+ * products, components, versions, streams and users. The score of interest is the <code>retainedBytes</code>
+ * counter, the used heap after a full collection once the issues are built minus the used heap before. The time
+ * includes the collections and only shows the cost of compacting.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Benchmark)
+public class IssueFootprintBenchmark {
+
+    static final int ISSUES = 50_000;
+
+    private static final String[] PRODUCTS = { "JBEAP", "WFLY", "WFCORE", "ELY", "UNDERTOW" };
+    private static final String[] STATUSES = { "New", "Assigned", "Coding In Progress", "Pull Request Sent", "Resolved", "Closed" };
+    private static final String[] TYPES = { "Bug", "Task", "Component Upgrade", "Enhancement" };
+
+    @Param({ "false", "true" })
+    private boolean compact;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Benchmark
+    public List<Issue> build(Footprint footprint) throws MalformedURLException {
+        long before = usedHeapAfterGc();
+        SymbolTable symbols = compact ? new SymbolTable() : null;
+        List<Issue> issues = new ArrayList<>(ISSUES);
+        Random random = new Random(ISSUES);
+        for (int i = 0; i < ISSUES; i++) {
+            Issue issue = issue(i, random);
+            issues.add(symbols != null ? symbols.compact(issue) : issue);
+        }
+        footprint.retainedBytes = usedHeapAfterGc() - before;
+        return issues;
+    }
+
+    static Issue issue(int id, Random random) throws MalformedURLException {
+        String product = PRODUCTS[random.nextInt(PRODUCTS.length)];
+        Issue issue = new Issue(new URL("https://issues.redhat.com/browse/" + product + "-" + id), null);
+        issue.setTrackerId(product + "-" + id);
+        issue.setProduct(copy(product));
+        issue.setSummary("Issue " + id + " summary");
+        issue.setStatus(IssueStatus.NEW, copy(STATUSES[random.nextInt(STATUSES.length)]));
+        issue.setType(IssueType.BUG, copy(TYPES[random.nextInt(TYPES.length)]));
+        issue.setAssignee(new User("user" + random.nextInt(200) + "@redhat.com", "user" + random.nextInt(200)));
+        issue.setReporter(new User("user" + random.nextInt(200) + "@redhat.com", "user" + random.nextInt(200)));
+
+        List<String> components = new ArrayList<>();
+        for (int c = random.nextInt(3); c >= 0; c--)
+            components.add("Component " + random.nextInt(40));
+        issue.setComponents(components);
+        List<String> affectedVersions = new ArrayList<>();
+        affectedVersions.add("7.4." + random.nextInt(15) + ".GA");
+        issue.setAffectedVersions(affectedVersions);
+        List<Release> releases = new ArrayList<>();
+        releases.add(new Release("7.4." + random.nextInt(15) + ".GA", "ER" + random.nextInt(3)));
+        issue.setReleases(releases);
+        Map<String, FlagStatus> streamStatus = new HashMap<>();
+        streamStatus.put("jboss-eap-7.4." + random.nextInt(10), FlagStatus.ACCEPTED);
+        issue.setStreamStatus(streamStatus);
+        issue.getStage().setStatus(Flag.DEV, FlagStatus.ACCEPTED);
+        issue.getStage().setStatus(Flag.QE, FlagStatus.SET);
+        return issue;
+    }
+
+    private static String copy(String value) {
+        return new String(value);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++)
+            memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
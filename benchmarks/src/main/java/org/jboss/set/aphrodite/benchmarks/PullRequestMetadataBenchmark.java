@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.benchmarks;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestMetadata;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the extraction of the metadata of pull request bodies over the corpus in
+ * <code>fixtures/pull-request-bodies.txt</code>, which includes a body with a long pasted stack trace.
+ * <code>parse</code> is the cost paid once per body, <code>allAccessorsFirstPoll</code> is what a bot pays when it
+ * queries every field of a freshly fetched pull request and <code>allAccessorsCached</code> what it pays on every
+ * further query of the same pull request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PullRequestMetadataBenchmark {
+
+    private List<String> bodies;
+    private List<PullRequest> pullRequests;
+    private URL url;
+
+    @Setup
+    public void setup() throws MalformedURLException {
+        bodies = Fixtures.readAll("pull-request-bodies.txt");
+        url = new URL("https://github.com/wildfly/wildfly/pull/1");
+        pullRequests = bodies.stream().map(this::pullRequest).collect(Collectors.toList());
+        for (PullRequest pullRequest : pullRequests)
+            pullRequest.getMetadata();
+    }
+
+    private PullRequest pullRequest(String body) {
+        return new PullRequest("1", url, null, new Codebase("main"), PullRequestState.OPEN, "Backport", body, true, false,
+                MergeableState.CLEAN, null, Collections.emptyList());
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String body : bodies)
+            blackhole.consume(PullRequestMetadata.parse(body));
+    }
+
+    @Benchmark
+    public void allAccessorsFirstPoll(Blackhole blackhole) throws MalformedURLException {
+        for (String body : bodies)
+            queryAll(pullRequest(body), blackhole);
+    }
+
+    @Benchmark
+    public void allAccessorsCached(Blackhole blackhole) throws MalformedURLException {
+        for (PullRequest pullRequest : pullRequests)
+            queryAll(pullRequest, blackhole);
+    }
+
+    private static void queryAll(PullRequest pullRequest, Blackhole blackhole) throws MalformedURLException {
+        blackhole.consume(pullRequest.isUpstreamRequired());
+        blackhole.consume(pullRequest.isUpstreamPrRequired());
+        blackhole.consume(pullRequest.isIssueRequired());
+        blackhole.consume(pullRequest.findUpstreamPullRequestURL());
+        blackhole.consume(pullRequest.findUpstreamIssueURL());
+        blackhole.consume(pullRequest.findIssueURL());
+        blackhole.consume(pullRequest.findRelatedIssuesURL());
+        blackhole.consume(pullRequest.findDependencyPullRequestsURL());
+        blackhole.consume(pullRequest.hasUpgrade());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+import javax.json.stream.JsonGenerator;
+
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.domain.StreamComponent;
+import org.jboss.set.aphrodite.stream.services.json.StreamComponentJsonParser;
+import org.jboss.set.aphrodite.stream.services.json.StreamsJsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the streaming <code>JsonParser</code>/<code>JsonGenerator</code> paths of {@link StreamsJsonParser} with the
+ * object tree based <code>JsonReader</code>/<code>JsonWriter</code> paths they replaced, on a generated streams file of
+ * <code>streams</code> x <code>components</code> entries. Run with <code>-prof gc</code> to compare allocation as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamsJsonParserBenchmark {
+
+    @Param({ "5", "20" })
+    private int streams;
+
+    @Param({ "300" })
+    private int components;
+
+    private URL url;
+    private byte[] json;
+    private Collection<Stream> parsed;
+
+    @Setup
+    public void setup() throws Exception {
+        url = new URL("file:/streams.json");
+        json = generate(streams, components);
+        parsed = StreamsJsonParser.parse(url, new ByteArrayInputStream(json)).values();
+    }
+
+    @Benchmark
+    public Map<String, Stream> parseStreaming() throws Exception {
+        return StreamsJsonParser.parse(url, new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public Map<String, Stream> parseTree() {
+        try (JsonReader reader = Json.createReader(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8))) {
+            Map<String, Stream> streamMap = new LinkedHashMap<>();
+            for (JsonValue value : reader.readObject().getJsonArray(StreamsJsonParser.JSON_STREAMS)) {
+                JsonObject object = (JsonObject) value;
+                Map<String, StreamComponent> codebases = new LinkedHashMap<>();
+                for (JsonValue codebase : object.getJsonArray(StreamsJsonParser.JSON_CODEBASES)) {
+                    StreamComponent component = StreamComponentJsonParser.parse((JsonObject) codebase);
+                    if (component != null)
+                        codebases.put(component.getName(), component);
+                }
+                Stream upstream = streamMap.get(object.getString(StreamsJsonParser.JSON_UPSTREAM, null));
+                Stream stream = new Stream(url, object.getString(StreamsJsonParser.JSON_NAME), upstream, codebases);
+                streamMap.put(stream.getName(), stream);
+            }
+            return streamMap;
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeStreaming() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        StreamsJsonParser.encode(parsed, out, true);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeTree() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonWriter writer = Json.createWriterFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true))
+                .createWriter(out, StandardCharsets.UTF_8)) {
+            writer.write(StreamsJsonParser.encode(parsed));
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] generate(int streams, int components) {
+        JsonArrayBuilder streamArray = Json.createArrayBuilder();
+        for (int s = 0; s < streams; s++) {
+            JsonArrayBuilder codebases = Json.createArrayBuilder();
+            for (int c = 0; c < components; c++) {
+                codebases.add(Json.createObjectBuilder()
+                        .add(StreamComponentJsonParser.JSON_NAME, "component-" + c)
+                        .add(StreamComponentJsonParser.JSON_CONTACTS, Json.createArrayBuilder().add("owner-" + c + "@redhat.com"))
+                        .add(StreamComponentJsonParser.JSON_REPOSITORY_TYPE, "GIT")
+                        .add(StreamComponentJsonParser.JSON_REPOSITORY_URL, "https://github.com/project-" + c + "/component-" + c + ".git/")
+                        .add(StreamComponentJsonParser.JSON_CODEBASE, s + ".x")
+                        .add(StreamComponentJsonParser.JSON_TAG, c + "." + s + ".0.Final")
+                        .add(StreamComponentJsonParser.JSON_VERSION, c + "." + s + ".0")
+                        .add(StreamComponentJsonParser.JSON_GAV, "org.jboss.component:component-" + c)
+                        .add(StreamComponentJsonParser.JSON_COMMENT, "generated"));
+            }
+            JsonObjectBuilder stream = Json.createObjectBuilder()
+                    .add(StreamsJsonParser.JSON_NAME, "stream-" + s)
+                    .add(StreamsJsonParser.JSON_UPSTREAM, s == 0 ? StreamsJsonParser.JSON_VALUE_NULL : "stream-" + (s - 1))
+                    .add(StreamsJsonParser.JSON_CODEBASES, codebases);
+            streamArray.add(stream);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = Json.createWriter(out)) {
+            writer.writeObject(Json.createObjectBuilder().add(StreamsJsonParser.JSON_STREAMS, streamArray).build());
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.set.aphrodite.Aphrodite;
+import org.jboss.set.aphrodite.config.AphroditeConfig;
+import org.jboss.set.aphrodite.spi.IssueTrackerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link Aphrodite#getTrackerFor(URL)}, which routes every issue operation, over a mix of Jira, Bugzilla
+ * and unknown issue URLs. Aphrodite is started without configuration and <code>trackers</code> stand-in services are
+ * registered behind its back, so that the lookup runs against a realistic number of trackers without any of them
+ * talking to a server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrackerRoutingBenchmark {
+
+    @Param({ "2", "16" })
+    private int trackers;
+
+    private Aphrodite aphrodite;
+    private List<URL> urls;
+
+    @Setup
+    public void setup() throws Exception {
+        aphrodite = Aphrodite.instance(new AphroditeConfig(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+
+        Field field = Aphrodite.class.getDeclaredField("issueTrackers");
+        field.setAccessible(true);
+        @SuppressWarnings("unchecked")
+        Map<String, IssueTrackerService> issueTrackers = (Map<String, IssueTrackerService>) field.get(aphrodite);
+        issueTrackers.put("https://issues.redhat.com", tracker("https://issues.redhat.com"));
+        issueTrackers.put("https://bugzilla.redhat.com", tracker("https://bugzilla.redhat.com"));
+        for (int i = 2; i < trackers; i++) {
+            String id = "https://tracker-" + i + ".example.com";
+            issueTrackers.put(id, tracker(id));
+        }
+
+        urls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            urls.add(new URL("https://issues.redhat.com/browse/JBEAP-2532" + i));
+            urls.add(new URL("https://ISSUES.redhat.com/browse/WFLY-1841" + i));
+            urls.add(new URL("https://bugzilla.redhat.com/show_bug.cgi?id=223151" + i));
+        }
+        urls.add(new URL("https://github.com/wildfly/wildfly/pull/17242"));
+        urls.add(new URL("https://issues.redhat.com:8443/browse/JBEAP-25321"));
+        Collections.shuffle(urls, new Random(42));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        aphrodite.close();
+    }
+
+    @Benchmark
+    public void getTrackerFor(Blackhole blackhole) {
+        for (URL url : urls)
+            blackhole.consume(aphrodite.getTrackerFor(url));
+    }
+
+    private static IssueTrackerService tracker(String id) {
+        return (IssueTrackerService) Proxy.newProxyInstance(IssueTrackerService.class.getClassLoader(),
+                new Class<?>[] { IssueTrackerService.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTrackerID":
+                        case "toString":
+                            return id;
+                        case "hashCode":
+                            return id.hashCode();
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.benchmarks;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.set.aphrodite.domain.internal.URLScanner;
+import org.jboss.set.aphrodite.domain.internal.URLScanner.Syntax;
+import org.jboss.set.aphrodite.domain.internal.URLUtils;
+import org.jboss.set.aphrodite.issue.trackers.common.AbstractIssueTracker;
+import org.jboss.set.aphrodite.repository.services.common.RepositoryUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link URLScanner} with the regular expressions it replaced, on the pull request bodies in
+ * <code>fixtures/pull-request-bodies.txt</code> and on inputs of <code>length</code> characters which make those
+ * expressions backtrack:
+ * <ul>
+ * <li><code>logLine</code>, a single line of stack trace without any link, where <code>.*github\.com</code> is
+ * retried from every position</li>
+ * <li><code>longHost</code>, a link with a long host and path, where every end of the host is retried against the
+ * whole path</li>
+ * <li><code>wordRun</code>, a long word without <code>#</code>, where <code>[\w/-]*#</code> is retried from every
+ * position</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class URLScannerBenchmark {
+
+    private static final Map<Syntax, Pattern> PATTERNS = new EnumMap<>(Syntax.class);
+
+    static {
+        PATTERNS.put(Syntax.URL, Pattern.compile(URLUtils.URL_REGEX_STRING));
+        PATTERNS.put(Syntax.ISSUE_LINK, AbstractIssueTracker.URL_REGEX);
+        PATTERNS.put(Syntax.PULL_REQUEST_LINK, RepositoryUtils.RELATED_PR_PATTERN);
+        PATTERNS.put(Syntax.PULL_REQUEST_REFERENCE, Pattern.compile("([a-zA-Z_0-9-//]*)#(\\d+)", Pattern.CASE_INSENSITIVE));
+        PATTERNS.put(Syntax.PULL_REQUEST_SHORTHAND, Pattern.compile("(\\S+)/(\\S+)#(\\d+)"));
+    }
+
+    @Param({ "URL", "ISSUE_LINK", "PULL_REQUEST_LINK", "PULL_REQUEST_REFERENCE", "PULL_REQUEST_SHORTHAND" })
+    public Syntax syntax;
+
+    @Param({ "description", "logLine", "longHost", "wordRun" })
+    public String input;
+
+    @Param({ "10000" })
+    public int length;
+
+    private String text;
+    private Pattern pattern;
+
+    @Setup
+    public void setup() {
+        pattern = PATTERNS.get(syntax);
+        switch (input) {
+            case "description":
+                text = String.join("\n", Fixtures.readAll("pull-request-bodies.txt"));
+                break;
+            case "logLine":
+                text = fill("\tat org.jboss.as.ejb3.component.Component.invoke(Component.java:42) ");
+                break;
+            case "longHost":
+                text = "http://a." + fill("a") + "/" + fill("x");
+                break;
+            case "wordRun":
+                text = fill("a");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown input " + input);
+        }
+    }
+
+    private String fill(String s) {
+        return String.join("", Collections.nCopies(length / s.length() + 1, s)).substring(0, length);
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        Matcher m = pattern.matcher(text);
+        while (m.find())
+            blackhole.consume(m.end());
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        URLScanner scanner = URLScanner.scan(syntax, text);
+        while (scanner.find())
+            blackhole.consume(scanner.end());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.bugzilla;
+
+import java.io.StringReader;
+import java.net.URL;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.jboss.set.aphrodite.benchmarks.Fixtures;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link IssueWrapper#bugzillaBugToIssue(Map, URL)} over the bugs recorded in
+ * <code>fixtures/bugzilla/bugs.json</code>. The recording is turned into the maps handed out by the XML-RPC client
+ * during setup: arrays become <code>Object[]</code>, integers <code>Integer</code>, decimals <code>Double</code> and the
+ * time fields <code>Date</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BugzillaIssueWrapperBenchmark {
+
+    private IssueWrapper wrapper;
+    private URL baseURL;
+    private List<Map<String, Object>> bugs;
+
+    @Setup
+    public void setup() throws Exception {
+        wrapper = new IssueWrapper();
+        baseURL = new URL("https://bugzilla.redhat.com/");
+        bugs = new ArrayList<>();
+        try (JsonReader reader = Json.createReader(new StringReader(Fixtures.read("bugzilla/bugs.json")))) {
+            for (JsonValue bug : reader.readObject().getJsonArray(BugzillaFields.RESULT_BUGS))
+                bugs.add(toBug((JsonObject) bug));
+        }
+    }
+
+    @Benchmark
+    public void bugzillaBugToIssue(Blackhole blackhole) {
+        for (Map<String, Object> bug : bugs) {
+            Issue issue = wrapper.bugzillaBugToIssue(bug, baseURL);
+            blackhole.consume(issue);
+        }
+    }
+
+    private static Map<String, Object> toBug(JsonObject object) {
+        Map<String, Object> bug = toMap(object);
+        bug.put(BugzillaFields.CREATION_TIME, toDate(object.getString(BugzillaFields.CREATION_TIME)));
+        bug.put(BugzillaFields.LAST_UPDATED, toDate(object.getString(BugzillaFields.LAST_UPDATED)));
+        return bug;
+    }
+
+    private static Date toDate(String value) {
+        return Date.from(Instant.parse(value));
+    }
+
+    private static Map<String, Object> toMap(JsonObject object) {
+        Map<String, Object> map = new HashMap<>();
+        for (Map.Entry<String, JsonValue> entry : object.entrySet())
+            map.put(entry.getKey(), toValue(entry.getValue()));
+        return map;
+    }
+
+    private static Object toValue(JsonValue value) {
+        switch (value.getValueType()) {
+            case OBJECT:
+                return toMap((JsonObject) value);
+            case ARRAY:
+                JsonArray array = (JsonArray) value;
+                Object[] values = new Object[array.size()];
+                for (int i = 0; i < values.length; i++)
+                    values[i] = toValue(array.get(i));
+                return values;
+            case STRING:
+                return ((JsonString) value).getString();
+            case NUMBER:
+                JsonNumber number = (JsonNumber) value;
+                return number.isIntegral() ? (Object) number.intValue() : (Object) number.doubleValue();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.jira;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.jboss.set.aphrodite.benchmarks.Fixtures;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atlassian.jira.rest.client.internal.json.IssueJsonParser;
+
+/**
+ * Measures {@link IssueWrapper#copy(URL, com.atlassian.jira.rest.client.api.domain.Issue, JiraIssue)}, through
+ * {@link IssueWrapper#jiraIssueToIssue(URL, com.atlassian.jira.rest.client.api.domain.Issue)} so that every invocation
+ * fills a fresh {@link JiraIssue}, on the issue recorded in <code>fixtures/jira/issue.json</code>. <code>parse</code>
+ * is the decoding of the same response by the REST client, which precedes every conversion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JiraIssueWrapperBenchmark {
+
+    private IssueWrapper wrapper;
+    private IssueJsonParser parser;
+    private URL url;
+    private String json;
+    private com.atlassian.jira.rest.client.api.domain.Issue jiraIssue;
+
+    @Setup
+    public void setup() throws Exception {
+        wrapper = new IssueWrapper();
+        parser = new IssueJsonParser();
+        url = new URL("https://issues.redhat.com/browse/JBEAP-25321");
+        json = Fixtures.read("jira/issue.json");
+        jiraIssue = parse();
+    }
+
+    @Benchmark
+    public com.atlassian.jira.rest.client.api.domain.Issue parse() throws JSONException {
+        return parser.parse(new JSONObject(json));
+    }
+
+    @Benchmark
+    public Issue copy() {
+        return wrapper.jiraIssueToIssue(url, jiraIssue);
+    }
+}
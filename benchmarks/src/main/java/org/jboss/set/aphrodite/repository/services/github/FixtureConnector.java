@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.set.aphrodite.benchmarks.Fixtures;
+import org.kohsuke.github.HttpConnector;
+
+/**
+ * Serves GitHub API requests from recorded payloads, so that github-api objects can be built and walked without
+ * network access. Paths are matched without their query string, unknown paths answer <code>404</code>.
+ */
+class FixtureConnector implements HttpConnector {
+
+    private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+
+    /**
+     * Answer the requests for <code>path</code> with the given fixture.
+     *
+     * @param path the API path, e.g. <code>/repos/wildfly/wildfly</code>
+     * @param fixture the name of the fixture, relative to <code>fixtures/</code>
+     * @return this connector
+     */
+    FixtureConnector serve(String path, String fixture) {
+        responses.put(path, Fixtures.read(fixture).getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    @Override
+    public HttpURLConnection connect(URL url) {
+        return new FixtureConnection(url, responses.get(url.getPath()));
+    }
+
+    private static class FixtureConnection extends HttpURLConnection {
+
+        private final byte[] body;
+
+        FixtureConnection(URL url, byte[] body) {
+            super(url);
+            this.body = body;
+        }
+
+        @Override
+        public void connect() {
+            connected = true;
+        }
+
+        @Override
+        public void disconnect() {
+            connected = false;
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return body == null ? HTTP_NOT_FOUND : HTTP_OK;
+        }
+
+        @Override
+        public String getResponseMessage() {
+            return body == null ? "Not Found" : "OK";
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/json; charset=utf-8";
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            if (body == null)
+                throw new FileNotFoundException(url.toString());
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return body == null ? new ByteArrayInputStream("{\"message\":\"Not Found\"}".getBytes(StandardCharsets.UTF_8)) : null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link GitHubWrapper#pullRequestToPullRequest(GHPullRequest, org.jboss.set.aphrodite.domain.spi.PullRequestHome)}
+ * on the pull request recorded in <code>fixtures/github</code>. The pull request itself is fetched once during setup,
+ * the commits it lists on every conversion are served by a {@link FixtureConnector}, so the score covers the mapping
+ * and the decoding of the commits page but no network time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GitHubWrapperBenchmark {
+
+    private static final String REPOSITORY = "/repos/wildfly/wildfly";
+    private static final int NUMBER = 17242;
+
+    private GitHubWrapper wrapper;
+    private GHPullRequest pullRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        FixtureConnector connector = new FixtureConnector()
+                .serve(REPOSITORY, "github/repository.json")
+                .serve(REPOSITORY + "/pulls/" + NUMBER, "github/pull-request.json")
+                .serve(REPOSITORY + "/pulls/" + NUMBER + "/commits", "github/pull-request-commits.json");
+        GitHub github = new GitHubBuilder().withConnector(connector).build();
+
+        wrapper = new GitHubWrapper();
+        pullRequest = github.getRepository("wildfly/wildfly").getPullRequest(NUMBER);
+        if (wrapper.pullRequestToPullRequest(pullRequest, null) == null)
+            throw new IllegalStateException("The recorded pull request could not be converted");
+    }
+
+    @Benchmark
+    public PullRequest pullRequestToPullRequest() {
+        return wrapper.pullRequestToPullRequest(pullRequest, null);
+    }
+}
@@ -34,6 +34,7 @@ import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.FIL
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ID;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ISSUE_IDS;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ISSUE_TYPE;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.LAST_UPDATED;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_ADD_COMMENT;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_CREATE_BUG;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_FILTER_SEARCH;
@@ -60,6 +61,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -67,7 +69,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -89,8 +91,11 @@ import org.jboss.set.aphrodite.domain.FlagStatus;
 import org.jboss.set.aphrodite.domain.Issue;
 import org.jboss.set.aphrodite.domain.IssueStatus;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
+import org.jboss.set.aphrodite.issue.trackers.common.AbstractIssueTracker;
 import org.jboss.set.aphrodite.spi.AphroditeException;
 import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.jboss.set.aphrodite.spi.Tracer.Span;
+import org.jboss.set.aphrodite.tracing.Tracing;
 
 /**
  * @author Ryan Emerson
@@ -103,17 +108,19 @@ public class BugzillaClient {
     static final Pattern FILTER_NAME_PARAM_PATTERN = Pattern.compile("namedcmd=([^&]+)");
     static final Pattern SHARER_ID_PARAM_PATTERN = Pattern.compile("sharer_id=([^&]+)");
 
-    private final ExecutorService executorService;
+    private final Executor executor;
     private final IssueWrapper WRAPPER = new IssueWrapper();
     private final URL baseURL;
+    private final String trackerId;
     private final String apiKey;
 
-    public BugzillaClient(URL baseURL, String apiKey, ExecutorService executorService) throws IllegalStateException {
+    public BugzillaClient(URL baseURL, String apiKey, Executor executor) throws IllegalStateException {
         this.baseURL = baseURL;
+        this.trackerId = AbstractIssueTracker.convertToTrackerID(baseURL);
         // remove old authentication login via username and password in call parameters.
         // set header with API key later in XmlRpcClient for every call.
         this.apiKey = apiKey;
-        this.executorService = executorService;
+        this.executor = executor;
     }
 
     public Issue getIssue(String trackerId) throws NotFoundException {
@@ -259,12 +266,18 @@ public class BugzillaClient {
     }
 
     public List<Issue> searchIssuesByFilter(URL filterUrl) throws NotFoundException {
+        return searchIssuesByFilter(filterUrl, null);
+    }
+
+    public List<Issue> searchIssuesByFilter(URL filterUrl, Date updatedSince) throws NotFoundException {
         String filterName = Utils.getParamaterFromUrl(FILTER_NAME_PARAM_PATTERN, filterUrl);
         int sharerId = Integer.parseInt(Utils.getParamaterFromUrl(SHARER_ID_PARAM_PATTERN, filterUrl));
         Map<String, Object> queryMap = new HashMap<>();
         queryMap.put(METHOD_FILTER_SEARCH, filterName);
         queryMap.put(FILTER_SHARER_ID, sharerId);
         queryMap.put(RESULT_INCLUDE_FIELDS, RESULT_FIELDS);
+        if (updatedSince != null)
+            queryMap.put(LAST_UPDATED, BugzillaQueryBuilder.lastChangeTime(updatedSince));
 
         try {
             return searchIssues(queryMap);
@@ -348,34 +361,40 @@ public class BugzillaClient {
     }
 
     public boolean postComment(Map<Issue, Comment> commentMap) {
-        List<CompletableFuture<Boolean>> requests = commentMap.entrySet().stream()
-                .map(entry -> CompletableFuture.supplyAsync(
-                        () -> postCommentAndLogExceptions(entry.getKey(), entry.getValue()), executorService))
-                .collect(Collectors.toList());
+        return Tracing.trace("bugzilla.addComments", trackerId, () -> {
+            List<CompletableFuture<Boolean>> requests = commentMap.entrySet().stream()
+                    .map(entry -> CompletableFuture.supplyAsync(
+                            () -> postCommentAndLogExceptions(entry.getKey(), entry.getValue()), executor))
+                    .collect(Collectors.toList());
 
-        return requests.stream()
-                .map(CompletableFuture::join)
-                .noneMatch(failed -> !failed);
+            return requests.stream()
+                    .map(CompletableFuture::join)
+                    .noneMatch(failed -> !failed);
+        });
     }
 
     public boolean postComment(Collection<Issue> issues, Comment comment) {
-        List<CompletableFuture<Boolean>> requests = issues.stream()
-                .map(issue -> CompletableFuture.supplyAsync(
-                        () -> postCommentAndLogExceptions(issue, comment), executorService))
-                .collect(Collectors.toList());
+        return Tracing.trace("bugzilla.addComments", trackerId, () -> {
+            List<CompletableFuture<Boolean>> requests = issues.stream()
+                    .map(issue -> CompletableFuture.supplyAsync(
+                            () -> postCommentAndLogExceptions(issue, comment), executor))
+                    .collect(Collectors.toList());
 
-        return requests.stream()
-                .map(CompletableFuture::join)
-                .noneMatch(failed -> !failed);
+            return requests.stream()
+                    .map(CompletableFuture::join)
+                    .noneMatch(failed -> !failed);
+        });
     }
 
     private boolean postCommentAndLogExceptions(Issue issue, Comment comment) {
-        try {
-            return postComment(issue, comment);
-        } catch (NotFoundException e) {
-            Utils.logException(LOG, e);
-            return false;
-        }
+        return Tracing.trace("bugzilla.addComment", trackerId, () -> {
+            try {
+                return postComment(issue, comment);
+            } catch (NotFoundException e) {
+                Utils.logException(LOG, e);
+                return false;
+            }
+        });
     }
 
     public boolean updateFlags(int ids, String name, FlagStatus status) {
@@ -426,14 +445,22 @@ public class BugzillaClient {
     }
 
     private <T> T executeRequest(final XMLRPC<T> type, String method, Object... params) {
+        Span span = startRequestSpan(method);
         try {
             return type.cast(getRpcClient().execute(method, params));
         } catch (XmlRpcException e) {
+            span.recordException(e);
             Utils.logException(LOG, e);
             throw new RuntimeException(e); // TODO improve exception handling
+        } finally {
+            span.end();
         }
     }
 
+    private Span startRequestSpan(String method) {
+        return Tracing.startSpan("bugzilla." + method, trackerId).setAttribute("rpc.method", method);
+    }
+
     private XmlRpcClient getRpcClient() {
         String apiURL = baseURL + API_URL;
         XmlRpcClient rpcClient = new XmlRpcClient();
@@ -472,11 +499,15 @@ public class BugzillaClient {
     }
 
     private boolean runCommand(String method, Object... params) {
+        Span span = startRequestSpan(method);
         try {
             getRpcClient().execute(method, params);
             return true;
         } catch (XmlRpcException e) {
+            span.recordException(e);
             throw new IllegalStateException(e);
+        } finally {
+            span.end();
         }
     }
 
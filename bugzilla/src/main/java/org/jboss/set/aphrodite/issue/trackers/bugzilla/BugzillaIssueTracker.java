@@ -39,6 +39,7 @@ import org.jboss.set.aphrodite.spi.NotFoundException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -69,7 +70,7 @@ public class BugzillaIssueTracker extends AbstractIssueTracker {
 
         try {
             // TODO update the IssueTrackerConfig attributes
-            bzClient = new BugzillaClient(baseUrl, config.getPassword(), executorService);
+            bzClient = new BugzillaClient(baseUrl, config.getPassword(), executor);
         } catch (IllegalStateException e) {
             Utils.logException(LOG, e);
             return false;
@@ -92,6 +93,20 @@ public class BugzillaIssueTracker extends AbstractIssueTracker {
         return bzClient.getIssues(urls);
     }
 
+    @Override
+    protected String issueKey(URL url) {
+        try {
+            return Utils.getParamaterFromUrl(BugzillaClient.ID_PARAM_PATTERN, url);
+        } catch (NotFoundException e) {
+            return url.toExternalForm();
+        }
+    }
+
+    @Override
+    protected String issueKey(Issue issue) {
+        return issue.getTrackerId().orElseGet(() -> issueKey(issue.getURL()));
+    }
+
     @Override
     public List<Issue> searchIssues(SearchCriteria searchCriteria) {
         return bzClient.searchIssues(searchCriteria, config.getDefaultIssueLimit());
@@ -103,6 +118,12 @@ public class BugzillaIssueTracker extends AbstractIssueTracker {
         return bzClient.searchIssuesByFilter(filterUrl);
     }
 
+    @Override
+    public List<Issue> searchIssuesByFilter(URL filterUrl, Date updatedSince) throws NotFoundException {
+        checkHost(filterUrl);
+        return bzClient.searchIssuesByFilter(filterUrl, updatedSince);
+    }
+
     @Override
     public boolean updateIssue(Issue issue) throws NotFoundException, AphroditeException {
         checkHost(issue.getURL());
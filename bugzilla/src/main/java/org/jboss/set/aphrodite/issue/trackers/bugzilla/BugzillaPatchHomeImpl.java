@@ -25,7 +25,6 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
@@ -37,8 +36,8 @@ import org.jboss.set.aphrodite.domain.Patch;
 import org.jboss.set.aphrodite.domain.PatchState;
 import org.jboss.set.aphrodite.domain.PatchType;
 import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.internal.URLScanner;
 import org.jboss.set.aphrodite.domain.spi.PatchHome;
-import org.jboss.set.aphrodite.repository.services.common.RepositoryUtils;
 import org.jboss.set.aphrodite.spi.AphroditeException;
 import org.jboss.set.aphrodite.spi.NotFoundException;
 
@@ -54,16 +53,14 @@ public class BugzillaPatchHomeImpl implements PatchHome {
     }
 
     private void extractPullRequests(List<URL> pullRequests, String messageBody) {
-        Matcher matcher = RepositoryUtils.RELATED_PR_PATTERN.matcher(messageBody);
-        while (matcher.find()) {
-            if (matcher.groupCount() == 3) {
-                String urlStr = "https://github.com/" + matcher.group(1) + "/" + matcher.group(2) + "/pull/" + matcher.group(3);
-                try {
-                    URL url = new URL(urlStr);
-                    pullRequests.add(url);
-                } catch (MalformedURLException e) {
-                    throw new IllegalArgumentException("Invalid URL:" + urlStr, e);
-                }
+        URLScanner links = URLScanner.scan(URLScanner.Syntax.PULL_REQUEST_LINK, messageBody);
+        while (links.find()) {
+            String urlStr = "https://github.com/" + links.owner() + "/" + links.repository() + "/pull/" + links.number();
+            try {
+                URL url = new URL(urlStr);
+                pullRequests.add(url);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid URL:" + urlStr, e);
             }
         }
     }
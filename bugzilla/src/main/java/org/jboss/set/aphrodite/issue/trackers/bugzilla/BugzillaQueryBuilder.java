@@ -31,7 +31,11 @@ import org.jboss.set.aphrodite.domain.IssueStatus;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
 import org.jboss.set.aphrodite.domain.Stream;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -80,6 +84,10 @@ class BugzillaQueryBuilder {
         criteria.getAssignee().ifPresent(assignee -> queryMap.put(ASSIGNEE, assignee));
         criteria.getReporter().ifPresent(reporter -> queryMap.put(REPORTER, reporter));
         criteria.getStartDate().ifPresent(date -> queryMap.put(LAST_UPDATED, date.atStartOfDay().toString()));
+        // the later of the two bounds wins, both are formatted as ISO local date times
+        criteria.getUpdatedSince().map(BugzillaQueryBuilder::lastChangeTime)
+                .filter(since -> !queryMap.containsKey(LAST_UPDATED) || since.compareTo((String) queryMap.get(LAST_UPDATED)) > 0)
+                .ifPresent(since -> queryMap.put(LAST_UPDATED, since));
         criteria.getProduct().ifPresent(product -> queryMap.put(PRODUCT, product));
         criteria.getComponent().ifPresent(component -> queryMap.put(COMPONENT, component));
         criteria.getRelease().ifPresent(release -> {
@@ -105,6 +113,13 @@ class BugzillaQueryBuilder {
         return queryMap;
     }
 
+    /**
+     * Bugzilla reports and compares times of its web services in UTC.
+     */
+    static String lastChangeTime(Date since) {
+        return LocalDateTime.ofInstant(since.toInstant(), ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS).toString();
+    }
+
     private void addStreamsAndStageToQueryMap() {
         Map<Stream, FlagStatus> streams = criteria.getStreams().orElse(Collections.emptyMap());
         if (streams.isEmpty())
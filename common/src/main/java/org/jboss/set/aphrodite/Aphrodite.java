@@ -30,14 +30,20 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -49,6 +55,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.config.AphroditeConfig;
+import org.jboss.set.aphrodite.config.ExecutorMetrics;
 import org.jboss.set.aphrodite.domain.Codebase;
 import org.jboss.set.aphrodite.domain.Comment;
 import org.jboss.set.aphrodite.domain.Commit;
@@ -63,17 +70,29 @@ import org.jboss.set.aphrodite.domain.Repository;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
 import org.jboss.set.aphrodite.domain.Stream;
 import org.jboss.set.aphrodite.domain.StreamComponent;
+import org.jboss.set.aphrodite.domain.SymbolTable;
 import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
 import org.jboss.set.aphrodite.issue.trackers.common.AbstractIssueTracker;
 import org.jboss.set.aphrodite.issue.trackers.common.IssueCreationDetails;
+import org.jboss.set.aphrodite.metrics.Metrics;
+import org.jboss.set.aphrodite.metrics.OperationMetrics;
 import org.jboss.set.aphrodite.repository.services.common.AbstractRepositoryService;
+import org.jboss.set.aphrodite.repository.services.common.PullRequestGraph;
+import org.jboss.set.aphrodite.repository.services.common.PullRequestGraphResolver;
 import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
 import org.jboss.set.aphrodite.simplecontainer.SimpleContainer;
+import org.jboss.set.aphrodite.snapshot.SnapshotMode;
+import org.jboss.set.aphrodite.snapshot.SnapshotStore;
 import org.jboss.set.aphrodite.spi.AphroditeException;
 import org.jboss.set.aphrodite.spi.IssueTrackerService;
+import org.jboss.set.aphrodite.spi.MetricsRecorder;
 import org.jboss.set.aphrodite.spi.NotFoundException;
 import org.jboss.set.aphrodite.spi.RepositoryService;
 import org.jboss.set.aphrodite.spi.StreamService;
+import org.jboss.set.aphrodite.spi.Tracer;
+import org.jboss.set.aphrodite.sync.IssueSync;
+import org.jboss.set.aphrodite.sync.PullRequestSync;
+import org.jboss.set.aphrodite.tracing.Tracing;
 
 public class Aphrodite implements AutoCloseable {
 
@@ -125,10 +144,13 @@ public class Aphrodite implements AutoCloseable {
     @Override
     public void close() throws Exception {
         executorService.shutdown();
+        config.shutdownServiceExecutors();
         issueTrackers.values().forEach(IssueTrackerService::destroy);
         issueTrackers.clear();
         repositories.forEach(RepositoryService::destroy);
         repositories.clear();
+        if (snapshots != null)
+            snapshots.close();
     }
 
     private final Map<String,IssueTrackerService> issueTrackers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
@@ -139,6 +161,13 @@ public class Aphrodite implements AutoCloseable {
 
     private AphroditeConfig config;
 
+    private SnapshotStore snapshots;
+    private SnapshotMode snapshotMode;
+    private SymbolTable symbols;
+    private final long startedAt = System.currentTimeMillis();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Set<String> revalidatedLists = ConcurrentHashMap.newKeySet();
+
     private Aphrodite() throws AphroditeException {
         String propFileLocationProperty = System.getProperty(FILE_PROPERTY);
         String propFileLocation = propFileLocationProperty != null ? propFileLocationProperty : System.getenv().get(FILE_PROPERTY);
@@ -162,8 +191,6 @@ public class Aphrodite implements AutoCloseable {
         if (LOG.isInfoEnabled())
             LOG.info("Initiating Aphrodite ...");
 
-        boolean failed = false;
-        StringBuilder error = new StringBuilder();
         this.config = config;
         SimpleContainer container = (SimpleContainer) SimpleContainer.instance();
 
@@ -171,6 +198,49 @@ public class Aphrodite implements AutoCloseable {
         // Create new config object, as the object passed to init() will have its state changed.
         AphroditeConfig mutableConfig = new AphroditeConfig(config);
 
+        if (config.isCompactIssues())
+            symbols = new SymbolTable();
+
+        if (config.getSnapshotDirectory() != null) {
+            try {
+                snapshots = new SnapshotStore(config.getSnapshotDirectory().toPath());
+                snapshotMode = config.getSnapshotMode();
+            } catch (IOException e) {
+                Utils.logException(LOG, "Unable to open the snapshot store in " + config.getSnapshotDirectory(), e);
+                throw new AphroditeException(e);
+            }
+        }
+
+        for (MetricsRecorder recorder : ServiceLoader.load(MetricsRecorder.class)) {
+            Metrics.setRecorder(recorder);
+            break;
+        }
+        for (Tracer tracer : ServiceLoader.load(Tracer.class)) {
+            Tracing.setTracer(tracer);
+            break;
+        }
+
+        if (snapshotMode == SnapshotMode.OFFLINE) {
+            if (LOG.isInfoEnabled())
+                LOG.info("Aphrodite is offline, serving " + snapshots.size() + " snapshots from " + config.getSnapshotDirectory());
+        } else {
+            initialiseServices(mutableConfig, container);
+        }
+
+        initialiseStreams(mutableConfig);
+
+        int period = config.getStreamServiceUpdateRate();
+        int initialDelay = config.getInitialDelay();
+        if (period > 0) {
+            this.executorService.scheduleAtFixedRate(new UpdateStreamServices(), initialDelay, config.getStreamServiceUpdateRate(), TimeUnit.MINUTES);
+        }
+        if (LOG.isInfoEnabled())
+            LOG.info("Aphrodite Initialisation Complete");
+    }
+
+    private void initialiseServices(AphroditeConfig mutableConfig, SimpleContainer container) throws AphroditeException {
+        boolean failed = false;
+        StringBuilder error = new StringBuilder();
         for (IssueTrackerService is : ServiceLoader.load(IssueTrackerService.class)) {
             boolean initialised = is.init(mutableConfig);
             if (initialised) {
@@ -194,23 +264,14 @@ public class Aphrodite implements AutoCloseable {
 
         if (failed)
             throw new AphroditeException("Unable to initiatilise Aphrodite.\n" + error.toString());
-
-        initialiseStreams(mutableConfig);
-
-        int period = config.getStreamServiceUpdateRate();
-        int initialDelay = config.getInitialDelay();
-        if (period > 0) {
-            this.executorService.scheduleAtFixedRate(new UpdateStreamServices(), initialDelay, config.getStreamServiceUpdateRate(), TimeUnit.MINUTES);
-        }
-        if (LOG.isInfoEnabled())
-            LOG.info("Aphrodite Initialisation Complete");
     }
 
     private void initialiseStreams(AphroditeConfig mutableConfig) throws AphroditeException {
         if (mutableConfig.getStreamConfigs().isEmpty()) {
             return;
         }
-        if (repositories.isEmpty()) {
+        // offline, the pull requests of the streams are served from the snapshots
+        if (repositories.isEmpty() && snapshotMode != SnapshotMode.OFFLINE) {
             throw new AphroditeException("Unable to initialise any Stream Services as no " +
                     RepositoryService.class.getName() + " have been created.");
         }
@@ -237,14 +298,47 @@ public class Aphrodite implements AutoCloseable {
      */
     public Issue getIssue(URL url) throws NotFoundException {
         Objects.requireNonNull(url, "url cannot be null");
+        Optional<Issue> snapshot = issueSnapshot(url);
+        if (snapshot.isPresent())
+            return snapshot.get();
+
         checkIssueTrackerExists();
         final IssueTrackerService its = getTrackerFor(url);
         if(its != null){
-           return its.getIssue(url);
+           return storeIssue(Tracing.trace("Aphrodite.getIssue", its.getTrackerID(),
+                   () -> Metrics.time(its.getTrackerID(), "getIssue", () -> its.getIssue(url))));
         }
         throw new NotFoundException("No tracker for issue url: " + url);
     }
 
+    /**
+     * Asynchronous variant of {@link #getIssue(URL)}.
+     *
+     * @param url the <code>URL</code> of the issue to be retrieved.
+     * @return a <code>CompletableFuture</code> completed with the <code>Issue</code> associated with the provided
+     *         <code>URL</code>, or completed exceptionally with a <code>NotFoundException</code> as cause if the
+     *         <code>URL</code> is not associated with an issue at any of the active issuetrackers.
+     */
+    public CompletableFuture<Issue> getIssueAsync(URL url) {
+        Objects.requireNonNull(url, "url cannot be null");
+        try {
+            Optional<Issue> snapshot = issueSnapshot(url);
+            if (snapshot.isPresent())
+                return CompletableFuture.completedFuture(snapshot.get());
+        } catch (NotFoundException e) {
+            return CompletableFuture.failedFuture(new CompletionException(e));
+        }
+
+        checkIssueTrackerExists();
+        final IssueTrackerService its = getTrackerFor(url);
+        if (its != null) {
+            return Tracing.traceAsync("Aphrodite.getIssue", its.getTrackerID(),
+                    () -> Metrics.timeAsync(its.getTrackerID(), "getIssue", () -> its.getIssueAsync(url)))
+                    .thenApply(this::storeIssue);
+        }
+        return CompletableFuture.failedFuture(new CompletionException(new NotFoundException("No tracker for issue url: " + url)));
+    }
+
     /**
      * Create skeletal issue.
      * @param trackerURL - URL of tracker in which issue should be created
@@ -415,19 +509,56 @@ public class Aphrodite implements AutoCloseable {
      * @return a list of <code>Issue</code> objects associated with the provided urls.
      */
     public List<Issue> getIssues(Collection<URL> urls) {
+        return getIssuesAsync(urls).join();
+    }
+
+    /**
+     * Asynchronous variant of {@link #getIssues(Collection)}. The request is sent to all issue trackers concurrently,
+     * using the non-blocking client of a tracker where one is available.
+     *
+     * @param urls a collection of issue URLs.
+     * @return a <code>CompletableFuture</code> completed with the list of <code>Issue</code> objects associated
+     *         with the provided urls.
+     */
+    public CompletableFuture<List<Issue>> getIssuesAsync(Collection<URL> urls) {
         Objects.requireNonNull(urls, "the collection of urls cannot be null");
 
         if (urls.isEmpty())
-            return new ArrayList<>();
-        List<CompletableFuture<List<Issue>>> requests =
-                issueTrackers.values().stream()
-                        .map(tracker -> CompletableFuture.supplyAsync(() -> tracker.getIssues(urls), executorService))
-                        .collect(Collectors.toList());
+            return CompletableFuture.completedFuture(new ArrayList<>());
 
-        return requests.stream()
-                .map(CompletableFuture::join)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        List<Issue> issues = new ArrayList<>();
+        Collection<URL> missing = urls;
+        if (snapshots != null && snapshotMode != SnapshotMode.WRITE_THROUGH) {
+            missing = new ArrayList<>();
+            List<URL> found = new ArrayList<>();
+            for (URL url : urls) {
+                Optional<Issue> snapshot = snapshots.getIssue(url);
+                if (snapshot.isPresent()) {
+                    issues.add(compactIssue(snapshot.get()));
+                    found.add(url);
+                } else {
+                    missing.add(url);
+                }
+            }
+            revalidateIssues(found);
+            if (snapshotMode == SnapshotMode.OFFLINE || missing.isEmpty())
+                return CompletableFuture.completedFuture(issues);
+        }
+
+        Collection<URL> requested = missing;
+        return Tracing.traceAsync("Aphrodite.getIssues", null, () -> {
+            List<CompletableFuture<List<Issue>>> requests =
+                    issueTrackers.values().stream()
+                            .map(tracker -> Tracing.traceAsync("getIssues", tracker.getTrackerID(),
+                                    () -> Metrics.timeAsync(tracker.getTrackerID(), "getIssues", () -> tracker.getIssuesAsync(requested), List::size)))
+                            .collect(Collectors.toList());
+
+            return allAsList(requests);
+        }).thenApply(fetched -> {
+            storeIssues(fetched);
+            issues.addAll(fetched);
+            return issues;
+        });
     }
 
     /**
@@ -438,21 +569,45 @@ public class Aphrodite implements AutoCloseable {
      *         or an empty list if no issues match the searched criteria.
      */
     public List<Issue> searchIssues(SearchCriteria searchCriteria) {
+        return searchIssuesAsync(searchCriteria).join();
+    }
+
+    /**
+     * Asynchronous variant of {@link #searchIssues(SearchCriteria)}. The search is sent to all issue trackers
+     * concurrently, using the non-blocking client of a tracker where one is available.
+     *
+     * @param searchCriteria all set fields will be search for.
+     * @return a <code>CompletableFuture</code> completed with the list of all <code>Issue</code> objects which
+     *         match the specified searchCriteria.
+     */
+    public CompletableFuture<List<Issue>> searchIssuesAsync(SearchCriteria searchCriteria) {
         Objects.requireNonNull(searchCriteria, "searchCriteria cannot be null");
+        if (snapshotMode == SnapshotMode.OFFLINE) {
+            Utils.logWarnMessage(LOG, "Issues can not be searched offline, use getIssues() instead");
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
         checkIssueTrackerExists();
 
         if (searchCriteria.isEmpty())
-            return new ArrayList<>();
+            return CompletableFuture.completedFuture(new ArrayList<>());
 
-        List<CompletableFuture<List<Issue>>> searchRequests =
-                issueTrackers.values().stream()
-                        .map(tracker -> CompletableFuture.supplyAsync(() -> tracker.searchIssues(searchCriteria), executorService))
-                        .collect(Collectors.toList());
+        return Tracing.traceAsync("Aphrodite.searchIssues", null, () -> {
+            List<CompletableFuture<List<Issue>>> searchRequests =
+                    issueTrackers.values().stream()
+                            .map(tracker -> Tracing.traceAsync("searchIssues", tracker.getTrackerID(),
+                                    () -> Metrics.timeAsync(tracker.getTrackerID(), "searchIssues", () -> tracker.searchIssuesAsync(searchCriteria), List::size)))
+                            .collect(Collectors.toList());
 
-        return searchRequests.stream()
-                .map(CompletableFuture::join)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+            return allAsList(searchRequests);
+        }).thenApply(this::storeIssues);
+    }
+
+    private static <T> CompletableFuture<List<T>> allAsList(List<CompletableFuture<List<T>>> requests) {
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture[0]))
+                .thenApply(v -> requests.stream()
+                        .map(CompletableFuture::join)
+                        .flatMap(Collection::stream)
+                        .collect(Collectors.toList()));
     }
 
     /**
@@ -463,17 +618,56 @@ public class Aphrodite implements AutoCloseable {
      * @throws NotFoundException if the filterURL is not associated with any filters at any of the Issue Trackers.
      */
     public List<Issue> searchIssuesByFilter(URL filterUrl) throws NotFoundException {
+        return searchIssuesByFilter(filterUrl, null);
+    }
+
+    /**
+     * Return the issues which match the provided filter and were updated at or after <code>updatedSince</code>.
+     *
+     * @param filterUrl the url of the issue tracker filtered to be applied.
+     * @param updatedSince the earliest update time of the returned issues, or <code>null</code> for all issues.
+     * @return a list of the <code>Issue</code> objects returned by the filter which were updated since the given time.
+     * @throws NotFoundException if the filterURL is not associated with any filters at any of the Issue Trackers.
+     */
+    public List<Issue> searchIssuesByFilter(URL filterUrl, Date updatedSince) throws NotFoundException {
         Objects.requireNonNull(filterUrl, "filterUrl cannot be null");
         checkIssueTrackerExists();
 
         final IssueTrackerService its = getTrackerFor(filterUrl);
         if(its != null){
-           return its.searchIssuesByFilter(filterUrl);
+           return compactIssues(Tracing.trace("Aphrodite.searchIssuesByFilter", its.getTrackerID(),
+                   () -> Metrics.time(its.getTrackerID(), "searchIssuesByFilter", () -> its.searchIssuesByFilter(filterUrl, updatedSince), List::size)));
         }
 
         throw new NotFoundException("No filter found which correspond to url: " + filterUrl);
     }
 
+    /**
+     * Create an {@link IssueSync} which keeps the issues matching the passed <code>SearchCriteria</code> up to date,
+     * asking the Issue Trackers only for the issues updated since the previous sync.
+     *
+     * @param searchCriteria the saved query, its <code>updatedSince</code> is replaced by every sync.
+     * @return a new <code>IssueSync</code>, nothing is searched before its first <code>sync()</code>.
+     */
+    public IssueSync syncIssues(SearchCriteria searchCriteria) {
+        Objects.requireNonNull(searchCriteria, "searchCriteria cannot be null");
+        return new IssueSync(updatedSince -> searchIssues(new SearchCriteria.Builder(searchCriteria)
+                .setUpdatedSince(updatedSince)
+                .build()));
+    }
+
+    /**
+     * Create an {@link IssueSync} which keeps the issues returned by the provided filter up to date, asking the
+     * Issue Tracker only for the issues updated since the previous sync.
+     *
+     * @param filterUrl the url of the issue tracker filtered to be applied.
+     * @return a new <code>IssueSync</code>, nothing is searched before its first <code>sync()</code>.
+     */
+    public IssueSync syncIssuesByFilter(URL filterUrl) {
+        Objects.requireNonNull(filterUrl, "filterUrl cannot be null");
+        return new IssueSync(updatedSince -> searchIssuesByFilter(filterUrl, updatedSince));
+    }
+
     /**
      * Update a specific <code>Issue</code> at the remote issue tracker service.
      *
@@ -511,7 +705,7 @@ public class Aphrodite implements AutoCloseable {
 
         final IssueTrackerService its = getTrackerFor(issue.getURL());
         if(its != null){
-            its.addCommentToIssue(issue, comment);
+            addCommentToIssue(its, issue, comment);
             return;
         }
 
@@ -529,22 +723,24 @@ public class Aphrodite implements AutoCloseable {
         checkIssueTrackerExists();
         Objects.requireNonNull(commentMap, "commentMap cannot be null");
 
-        boolean isSuccess = true;
-        for(Entry<Issue, Comment> ie:commentMap.entrySet()){
-            final IssueTrackerService its = getTrackerFor(ie.getKey().getURL());
-            if(its != null){
-                try {
-                    its.addCommentToIssue(ie.getKey(), ie.getValue());
-                } catch (NotFoundException e) {
-                    e.printStackTrace();
+        return Tracing.trace("Aphrodite.addCommentToIssue", null, () -> {
+            boolean isSuccess = true;
+            for(Entry<Issue, Comment> ie:commentMap.entrySet()){
+                final IssueTrackerService its = getTrackerFor(ie.getKey().getURL());
+                if(its != null){
+                    try {
+                        addCommentToIssue(its, ie.getKey(), ie.getValue());
+                    } catch (NotFoundException e) {
+                        e.printStackTrace();
+                        isSuccess = false;
+                    }
+                } else {
                     isSuccess = false;
                 }
-            } else {
-                isSuccess = false;
             }
-        }
 
-        return isSuccess;
+            return isSuccess;
+        });
     }
 
     /**
@@ -559,21 +755,30 @@ public class Aphrodite implements AutoCloseable {
         Objects.requireNonNull(issues, "issues collection cannot be null");
         Objects.requireNonNull(comment, "comment cannot be null");
 
-        boolean isSuccess = true;
-        for (Issue i : issues) {
-            final IssueTrackerService its = getTrackerFor(i.getURL());
-            if (its != null) {
-                try {
-                    its.addCommentToIssue(i, comment);
-                } catch (NotFoundException e) {
-                    e.printStackTrace();
+        return Tracing.trace("Aphrodite.addCommentToIssue", null, () -> {
+            boolean isSuccess = true;
+            for (Issue i : issues) {
+                final IssueTrackerService its = getTrackerFor(i.getURL());
+                if (its != null) {
+                    try {
+                        addCommentToIssue(its, i, comment);
+                    } catch (NotFoundException e) {
+                        e.printStackTrace();
+                        isSuccess = false;
+                    }
+                } else {
                     isSuccess = false;
                 }
-            } else {
-                isSuccess = false;
             }
-        }
-        return isSuccess;
+            return isSuccess;
+        });
+    }
+
+    private static void addCommentToIssue(IssueTrackerService its, Issue issue, Comment comment) throws NotFoundException {
+        Tracing.trace("addCommentToIssue", its.getTrackerID(), () -> Metrics.time(its.getTrackerID(), "addCommentToIssue", () -> {
+            its.addCommentToIssue(issue, comment);
+            return null;
+        }));
     }
 
     /**
@@ -596,6 +801,50 @@ public class Aphrodite implements AutoCloseable {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieve the Issues associated with each of the provided pull requests. The issue links in the descriptions
+     * of all pull requests are collected first, so that every issue tracker receives a single bulk request in
+     * which each issue is requested once, and the issue trackers are queried concurrently.
+     *
+     * @param pullRequests the <code>PullRequest</code> objects whose associated Issues should be returned.
+     * @return the associated <code>Issue</code> objects of every pull request, in the order of
+     *         <code>pullRequests</code>. Pull requests without issues map to an empty list.
+     */
+    public Map<PullRequest, List<Issue>> getIssuesAssociatedWith(Collection<PullRequest> pullRequests) {
+        return getIssuesAssociatedWithAsync(pullRequests).join();
+    }
+
+    /**
+     * Asynchronous variant of {@link #getIssuesAssociatedWith(Collection)}.
+     *
+     * @param pullRequests the <code>PullRequest</code> objects whose associated Issues should be returned.
+     * @return a <code>CompletableFuture</code> completed with the associated <code>Issue</code> objects of every
+     *         pull request.
+     */
+    public CompletableFuture<Map<PullRequest, List<Issue>>> getIssuesAssociatedWithAsync(Collection<PullRequest> pullRequests) {
+        checkIssueTrackerExists();
+        Objects.requireNonNull(pullRequests, "the collection of pull requests cannot be null");
+
+        List<CompletableFuture<Map<PullRequest, List<Issue>>>> requests =
+                issueTrackers.values().stream()
+                        .map(tracker -> tracker.getIssuesAssociatedWithAsync(pullRequests))
+                        .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    Map<PullRequest, List<Issue>> issues = new LinkedHashMap<>();
+                    for (PullRequest pullRequest : pullRequests)
+                        issues.putIfAbsent(pullRequest, new ArrayList<>());
+                    for (CompletableFuture<Map<PullRequest, List<Issue>>> request : requests)
+                        request.join().forEach((pullRequest, associated) -> {
+                            List<Issue> list = issues.get(pullRequest);
+                            if (list != null) // ignore pull requests which were not asked for
+                                list.addAll(associated);
+                        });
+                    return issues;
+                });
+    }
+
     /**
      * Get the repository located at the provided <code>URL</code>.
      *
@@ -643,17 +892,92 @@ public class Aphrodite implements AutoCloseable {
      * @throws NotFoundException if an exception is encountered when trying to retrieve pullRequests from a RepositoryService
      */
     public List<PullRequest> getPullRequestsByState(Repository repository, PullRequestState state) throws NotFoundException {
-        checkRepositoryServiceExists();
         Objects.requireNonNull(repository, "repository cannot be null");
         Objects.requireNonNull(state, "state cannot be null");
+        if (snapshotMode == SnapshotMode.OFFLINE)
+            return snapshots.getPullRequests(repository.getURL(), state);
+        checkRepositoryServiceExists();
 
         for (RepositoryService repositoryService : repositories) {
-            if (repositoryService.urlExists(repository.getURL()))
-                return repositoryService.getPullRequestsByState(repository, state);
+            if (repositoryService.urlExists(repository.getURL())) {
+                if (snapshotMode == SnapshotMode.WARM_START) {
+                    List<PullRequest> pullRequests = snapshots.getPullRequests(repository.getURL(), state);
+                    String key = repository.getURL() + "#" + state;
+                    if (revalidatedLists.contains(key))
+                        return pullRequests;
+                    if (!pullRequests.isEmpty()) {
+                        // unlike single entities, which carry their retrieval time, a list is revalidated on first use
+                        if (revalidating.add(key)) {
+                            CompletableFuture.runAsync(() -> {
+                                try {
+                                    storePullRequests(repository, state, repositoryService.getPullRequestsByState(repository, state));
+                                } catch (NotFoundException e) {
+                                    Utils.logException(LOG, "Unable to revalidate the pull requests of " + repository.getURL(), e);
+                                } finally {
+                                    revalidating.remove(key);
+                                }
+                            }, repositoryService.getAsyncExecutor());
+                        }
+                        return pullRequests;
+                    }
+                }
+                return storePullRequests(repository, state, Tracing.trace("Aphrodite.getPullRequestsByState", backend(repositoryService),
+                        () -> Metrics.time(backend(repositoryService), "getPullRequestsByState",
+                                () -> repositoryService.getPullRequestsByState(repository, state), List::size)));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Retrieve the pull requests of a <code>Repository</code>, in any state, which were updated at or after
+     * <code>updatedSince</code>.
+     *
+     * @param repository the <code>Repository</code> object whose associated pull requests should be returned.
+     * @param updatedSince the earliest update time of the returned pull requests.
+     * @return the pull requests updated since the given time.
+     * @throws NotFoundException if an exception is thrown when searching the RepositoryService.
+     */
+    public List<PullRequest> getPullRequestsUpdatedSince(Repository repository, Date updatedSince) throws NotFoundException {
+        Objects.requireNonNull(repository, "repository cannot be null");
+        Objects.requireNonNull(updatedSince, "updatedSince cannot be null");
+        if (snapshotMode == SnapshotMode.OFFLINE)
+            return Collections.emptyList();
+        checkRepositoryServiceExists();
+
+        for (RepositoryService repositoryService : repositories) {
+            if (repositoryService.urlExists(repository.getURL())) {
+                return storePullRequests(Tracing.trace("Aphrodite.getPullRequestsUpdatedSince", backend(repositoryService),
+                        () -> Metrics.time(backend(repositoryService), "getPullRequestsUpdatedSince",
+                                () -> repositoryService.getPullRequestsUpdatedSince(repository, updatedSince), List::size)));
+            }
         }
         return Collections.emptyList();
     }
 
+    /**
+     * Create a {@link PullRequestSync} which keeps an index of the pull requests of a <code>Repository</code> in a
+     * state, asking the RepositoryService only for the pull requests updated since the previous sync.
+     *
+     * @param repository the <code>Repository</code> whose pull requests are indexed.
+     * @param state the <code>PullRequestsState</code> of the indexed pull requests.
+     * @return a new <code>PullRequestSync</code>, nothing is listed before its first <code>sync()</code>.
+     */
+    public PullRequestSync syncPullRequests(Repository repository, PullRequestState state) {
+        Objects.requireNonNull(repository, "repository cannot be null");
+        return new PullRequestSync(new PullRequestSync.Query() {
+            @Override
+            public List<PullRequest> list() throws NotFoundException {
+                return getPullRequestsByState(repository, state);
+            }
+
+            @Override
+            public List<PullRequest> listUpdatedSince(Date updatedSince) throws NotFoundException {
+                return getPullRequestsUpdatedSince(repository, updatedSince);
+            }
+        }, state);
+    }
+
     /**
      * Get the <code>PullRequest</code> located at the provided <code>URL</code>.
      *
@@ -662,16 +986,47 @@ public class Aphrodite implements AutoCloseable {
      * @throws NotFoundException if a <code>PullRequest</code> cannot be found at the provided base url.
      */
     public PullRequest getPullRequest(URL url) throws NotFoundException {
-        checkRepositoryServiceExists();
         Objects.requireNonNull(url, "url cannot be null");
+        Optional<PullRequest> snapshot = pullRequestSnapshot(url);
+        if (snapshot.isPresent())
+            return snapshot.get();
+        checkRepositoryServiceExists();
 
         for (RepositoryService repositoryService : repositories) {
             if (repositoryService.urlExists(url) && repositoryService.repositoryAccessable(url))
-                return repositoryService.getPullRequest(url);
+                return storePullRequest(Tracing.trace("Aphrodite.getPullRequest", backend(repositoryService),
+                        () -> Metrics.time(backend(repositoryService), "getPullRequest", () -> repositoryService.getPullRequest(url))));
         }
         throw new NotFoundException("No pull request found which corresponds to url: " + url);
     }
 
+    /**
+     * Asynchronous variant of {@link #getPullRequest(URL)}.
+     *
+     * @param url the <code>URL</code> of the pullRequest to be retrieved.
+     * @return a <code>CompletableFuture</code> completed with the <code>PullRequest</code>, or completed exceptionally
+     *         with a <code>NotFoundException</code> as cause if it cannot be found at the provided base url.
+     */
+    public CompletableFuture<PullRequest> getPullRequestAsync(URL url) {
+        Objects.requireNonNull(url, "url cannot be null");
+        try {
+            Optional<PullRequest> snapshot = pullRequestSnapshot(url);
+            if (snapshot.isPresent())
+                return CompletableFuture.completedFuture(snapshot.get());
+        } catch (NotFoundException e) {
+            return CompletableFuture.failedFuture(new CompletionException(e));
+        }
+        checkRepositoryServiceExists();
+
+        for (RepositoryService repositoryService : repositories) {
+            if (repositoryService.urlExists(url))
+                return Tracing.traceAsync("Aphrodite.getPullRequest", backend(repositoryService),
+                        () -> Metrics.timeAsync(backend(repositoryService), "getPullRequest", () -> repositoryService.getPullRequestAsync(url)))
+                        .thenApply(this::storePullRequest);
+        }
+        return CompletableFuture.failedFuture(new CompletionException(new NotFoundException("No pull request found which corresponds to url: " + url)));
+    }
+
     public Map<RepositoryType, RateLimit> getRateLimits() throws NotFoundException {
         Map<RepositoryType, RateLimit> rateLimits = new HashMap<>();
         for (RepositoryService repositoryService : repositories) {
@@ -694,7 +1049,8 @@ public class Aphrodite implements AutoCloseable {
 
         for (RepositoryService repositoryService : repositories) {
             if (repositoryService.urlExists(repository.getURL()))
-                return repositoryService.getLabelsFromRepository(repository);
+                return Metrics.time(backend(repositoryService), "getLabelsFromRepository",
+                        () -> repositoryService.getLabelsFromRepository(repository), List::size);
         }
         return Collections.emptyList();
     }
@@ -713,7 +1069,8 @@ public class Aphrodite implements AutoCloseable {
 
         for (RepositoryService repositoryService : repositories) {
             if (repositoryService.urlExists(pullRequest.getURL()))
-                return repositoryService.getLabelsFromPullRequest(pullRequest);
+                return Metrics.time(backend(repositoryService), "getLabelsFromPullRequest",
+                        () -> repositoryService.getLabelsFromPullRequest(pullRequest), List::size);
         }
         return Collections.emptyList();
     }
@@ -752,8 +1109,12 @@ public class Aphrodite implements AutoCloseable {
         Objects.requireNonNull(labels, "labels cannot be null");
 
         for (RepositoryService repositoryService : repositories) {
-            if (repositoryService.urlExists(pullRequest.getURL()))
-                repositoryService.setLabelsToPullRequest(pullRequest, labels);
+            if (repositoryService.urlExists(pullRequest.getURL())) {
+                Metrics.<Void, NotFoundException, AphroditeException>time2(backend(repositoryService), "setLabelsToPullRequest", () -> {
+                    repositoryService.setLabelsToPullRequest(pullRequest, labels);
+                    return null;
+                });
+            }
         }
     }
 
@@ -772,8 +1133,12 @@ public class Aphrodite implements AutoCloseable {
         Objects.requireNonNull(name, "labelname cannot be null");
 
         for (RepositoryService repositoryService : repositories) {
-            if (repositoryService.urlExists(pullRequest.getURL()))
-                repositoryService.removeLabelFromPullRequest(pullRequest, name);
+            if (repositoryService.urlExists(pullRequest.getURL())) {
+                Metrics.time(backend(repositoryService), "removeLabelFromPullRequest", () -> {
+                    repositoryService.removeLabelFromPullRequest(pullRequest, name);
+                    return null;
+                });
+            }
         }
     }
 
@@ -794,7 +1159,10 @@ public class Aphrodite implements AutoCloseable {
 
         for (RepositoryService repositoryService : repositories) {
             if (repositoryService.urlExists(pullRequest.getURL())) {
-                repositoryService.addCommentToPullRequest(pullRequest, comment);
+                Metrics.time(backend(repositoryService), "addCommentToPullRequest", () -> {
+                    repositoryService.addCommentToPullRequest(pullRequest, comment);
+                    return null;
+                });
                 return;
             }
         }
@@ -818,8 +1186,12 @@ public class Aphrodite implements AutoCloseable {
         Objects.requireNonNull(labelName, "labelName cannot be null");
 
         for (RepositoryService repositoryService : repositories) {
-            if (repositoryService.urlExists(pullRequest.getURL()))
-                repositoryService.addLabelToPullRequest(pullRequest, labelName);
+            if (repositoryService.urlExists(pullRequest.getURL())) {
+                Metrics.time(backend(repositoryService), "addLabelToPullRequest", () -> {
+                    repositoryService.addLabelToPullRequest(pullRequest, labelName);
+                    return null;
+                });
+            }
         }
     }
 
@@ -863,6 +1235,38 @@ public class Aphrodite implements AutoCloseable {
         throw new NotFoundException("No commit status found for pull request:" + pullRequest.getURL());
     }
 
+    /**
+     * Retrieve the current CI status of the latest commit of each of the given pull requests, querying each
+     * repository service once for all of its pull requests.
+     *
+     * @param pullRequests the <code>PullRequest</code> objects whose status is to be queried
+     * @return the CI status of every pull request, in the order of <code>pullRequests</code>. Pull requests which
+     *         belong to no repository service are not included.
+     */
+    public Map<PullRequest, CommitStatus> getCommitStatuses(Collection<PullRequest> pullRequests) {
+        checkRepositoryServiceExists();
+        Objects.requireNonNull(pullRequests, "pull requests cannot be null");
+
+        Map<RepositoryService, List<PullRequest>> byService = new LinkedHashMap<>();
+        for (PullRequest pullRequest : pullRequests) {
+            repositories.stream()
+                    .filter(service -> service.urlExists(pullRequest.getURL()))
+                    .findFirst()
+                    .ifPresent(service -> byService.computeIfAbsent(service, s -> new ArrayList<>()).add(pullRequest));
+        }
+
+        Map<PullRequest, CommitStatus> found = new HashMap<>();
+        byService.forEach((service, serviceRequests) -> found.putAll(service.getPullRequestHome().getCommitStatuses(serviceRequests)));
+
+        Map<PullRequest, CommitStatus> statuses = new LinkedHashMap<>();
+        for (PullRequest pullRequest : pullRequests) {
+            CommitStatus status = found.get(pullRequest);
+            if (status != null)
+                statuses.put(pullRequest, status);
+        }
+        return statuses;
+    }
+
     /**
      * Returns the streams discovered by all of the active StreamServices
      * @return a list of all streams discovered by all <code>StreamService</code> instances.
@@ -1033,6 +1437,211 @@ public class Aphrodite implements AutoCloseable {
         return null;
     }
 
+    /**
+     * Return the queue depth and activity of the executors used for scheduled maintenance, bulk I/O and CPU bound work.
+     *
+     * @return a snapshot of the metrics of each executor, keyed by its role.
+     */
+    public Map<ExecutorMetrics.Role, ExecutorMetrics> getExecutorMetrics() {
+        return config.getExecutorMetrics();
+    }
+
+    /**
+     * Replace the recorder receiving the request latencies, payload sizes, cache accesses and errors of all issue
+     * trackers and repositories. By default the first {@link MetricsRecorder} found through the
+     * <code>ServiceLoader</code> is used, or no measurements are taken if there is none.
+     *
+     * @param recorder the recorder to use, {@link MetricsRecorder#NO_OP} to disable measurements.
+     */
+    public void setMetricsRecorder(MetricsRecorder recorder) {
+        Metrics.setRecorder(recorder);
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return Metrics.recorder();
+    }
+
+    /**
+     * Return the measurements aggregated by the current {@link MetricsRecorder}, e.g. to alert on slow issue trackers.
+     *
+     * @return a snapshot of the metrics of each operation, per backend, or an empty list if the recorder does not
+     *         aggregate them itself.
+     */
+    public List<OperationMetrics> getOperationMetrics() {
+        return Metrics.recorder().snapshot();
+    }
+
+    /**
+     * Replace the tracer creating spans around facade calls and the tracker, page and HTTP requests they fan out to.
+     * By default the first {@link Tracer} found through the <code>ServiceLoader</code> is used, or no spans are
+     * created if there is none.
+     *
+     * @param tracer the tracer to use, {@link Tracer#NO_OP} to disable tracing.
+     */
+    public void setTracer(Tracer tracer) {
+        Tracing.setTracer(tracer);
+    }
+
+    public Tracer getTracer() {
+        return Tracing.tracer();
+    }
+
+    /**
+     * @return the snapshot store, or <code>null</code> if no snapshots are kept.
+     */
+    public SnapshotStore getSnapshotStore() {
+        return snapshots;
+    }
+
+    /**
+     * Forget anything cached about the issue, pull request, commit or repository at the given URL, so that the next
+     * request retrieves it again. Meant for notifications such as webhooks which report that something changed.
+     *
+     * @param url the <code>URL</code> which is known to have changed.
+     */
+    public void invalidate(URL url) {
+        Objects.requireNonNull(url, "url cannot be null");
+        for (RepositoryService repositoryService : repositories) {
+            if (repositoryService.urlExists(url))
+                repositoryService.invalidate(url);
+        }
+        if (snapshots != null && snapshotMode != SnapshotMode.OFFLINE)
+            snapshots.remove(url);
+    }
+
+    /**
+     * Look up the snapshot of an issue when reads are served from the snapshot store, scheduling its revalidation in
+     * {@link SnapshotMode#WARM_START} mode.
+     *
+     * @return the snapshot, or an empty <code>Optional</code> if the issue has to be retrieved from its tracker.
+     * @throws NotFoundException if Aphrodite is offline and there is no snapshot of the issue.
+     */
+    private Optional<Issue> issueSnapshot(URL url) throws NotFoundException {
+        if (snapshots == null || snapshotMode == SnapshotMode.WRITE_THROUGH)
+            return Optional.empty();
+
+        Optional<Issue> snapshot = snapshots.getIssue(url);
+        if (snapshotMode == SnapshotMode.OFFLINE && snapshot.isEmpty())
+            throw new NotFoundException("No snapshot of issue: " + url);
+        if (snapshot.isPresent())
+            revalidateIssues(Collections.singletonList(url));
+        return snapshot.map(this::compactIssue);
+    }
+
+    private Optional<PullRequest> pullRequestSnapshot(URL url) throws NotFoundException {
+        if (snapshots == null || snapshotMode == SnapshotMode.WRITE_THROUGH)
+            return Optional.empty();
+
+        Optional<PullRequest> snapshot = snapshots.getPullRequest(url);
+        if (snapshotMode == SnapshotMode.OFFLINE && snapshot.isEmpty())
+            throw new NotFoundException("No snapshot of pull request: " + url);
+        if (snapshot.isPresent() && isStale(url) && revalidating.add(url.toString())) {
+            for (RepositoryService repositoryService : repositories) {
+                if (repositoryService.urlExists(url)) {
+                    repositoryService.getPullRequestAsync(url).whenComplete((pullRequest, e) -> {
+                        if (pullRequest != null)
+                            storePullRequest(pullRequest);
+                        revalidating.remove(url.toString());
+                    });
+                    return snapshot;
+                }
+            }
+            revalidating.remove(url.toString());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Retrieve the issues whose snapshot has not been refreshed since Aphrodite was started, in the background.
+     */
+    private void revalidateIssues(Collection<URL> urls) {
+        if (snapshotMode != SnapshotMode.WARM_START)
+            return;
+
+        Map<IssueTrackerService, List<URL>> stale = new HashMap<>();
+        for (URL url : urls) {
+            IssueTrackerService its = getTrackerFor(url);
+            if (its != null && isStale(url) && revalidating.add(url.toString()))
+                stale.computeIfAbsent(its, k -> new ArrayList<>()).add(url);
+        }
+        stale.forEach((its, trackerUrls) -> its.getIssuesAsync(trackerUrls).whenComplete((issues, e) -> {
+            if (issues != null)
+                storeIssues(issues);
+            else
+                Utils.logWarnMessage(LOG, "Unable to revalidate the snapshots of " + trackerUrls + ": " + e);
+            trackerUrls.forEach(url -> revalidating.remove(url.toString()));
+        }));
+    }
+
+    private boolean isStale(URL url) {
+        return snapshots.getRetrievedAt(url).map(retrievedAt -> retrievedAt.getTime() < startedAt).orElse(true);
+    }
+
+    private Issue compactIssue(Issue issue) {
+        return symbols != null ? symbols.compact(issue) : issue;
+    }
+
+    private List<Issue> compactIssues(List<Issue> issues) {
+        if (symbols != null)
+            issues.forEach(symbols::compact);
+        return issues;
+    }
+
+    private Issue storeIssue(Issue issue) {
+        compactIssue(issue);
+        if (snapshots != null && issue != null) {
+            try {
+                snapshots.putIssue(issue);
+            } catch (RuntimeException e) {
+                Utils.logException(LOG, "Unable to store the snapshot of " + issue.getURL(), e);
+            }
+        }
+        return issue;
+    }
+
+    private List<Issue> storeIssues(List<Issue> issues) {
+        if (snapshots != null || symbols != null)
+            issues.forEach(this::storeIssue);
+        return issues;
+    }
+
+    private PullRequest storePullRequest(PullRequest pullRequest) {
+        if (snapshots != null && pullRequest != null) {
+            try {
+                snapshots.putPullRequest(pullRequest);
+            } catch (RuntimeException e) {
+                Utils.logException(LOG, "Unable to store the snapshot of " + pullRequest.getURL(), e);
+            }
+        }
+        return pullRequest;
+    }
+
+    private List<PullRequest> storePullRequests(List<PullRequest> pullRequests) {
+        if (snapshots != null)
+            pullRequests.forEach(this::storePullRequest);
+        return pullRequests;
+    }
+
+    /**
+     * Store all the pull requests of a repository which have the given state, replacing the snapshots of those which
+     * no longer have it.
+     */
+    private List<PullRequest> storePullRequests(Repository repository, PullRequestState state, List<PullRequest> pullRequests) {
+        if (snapshots != null) {
+            try {
+                snapshots.putPullRequests(repository.getURL(), state, pullRequests);
+                revalidatedLists.add(repository.getURL() + "#" + state);
+            } catch (RuntimeException e) {
+                Utils.logException(LOG, "Unable to store the snapshots of the pull requests of " + repository.getURL(), e);
+            }
+        }
+        return pullRequests;
+    }
+
+    private static String backend(RepositoryService repositoryService) {
+        return String.valueOf(repositoryService.getRepositoryType());
+    }
+
     public AphroditeConfig getConfig() {
         // allow to get configuration to initialize service outside Aphrodite
         return config;
@@ -1056,6 +1665,33 @@ public class Aphrodite implements AutoCloseable {
         return res;
     }
 
+    /**
+     * Resolve all the pull requests a given PR transitively depends on, following the <code>Depends:</code> and
+     * upstream pull request links of every PR, across all the repositories defined in the instance.
+     *
+     * @param pullRequest The PR to resolve the dependencies of
+     * @param maxDepth The number of links to follow from <code>pullRequest</code>
+     * @return The graph of the PRs reachable from <code>pullRequest</code>
+     */
+    public PullRequestGraph resolvePullRequestGraph(PullRequest pullRequest, int maxDepth) {
+        return resolvePullRequestGraphAsync(pullRequest, maxDepth).join();
+    }
+
+    /**
+     * Resolve the graph of a PR like {@link #resolvePullRequestGraph(PullRequest, int)}, fetching the PRs found at
+     * each depth concurrently.
+     *
+     * @param pullRequest The PR to resolve the dependencies of
+     * @param maxDepth The number of links to follow from <code>pullRequest</code>
+     * @return a future completed with the graph of the PRs reachable from <code>pullRequest</code>
+     */
+    public CompletableFuture<PullRequestGraph> resolvePullRequestGraphAsync(PullRequest pullRequest, int maxDepth) {
+        checkRepositoryServiceExists();
+        Objects.requireNonNull(pullRequest, "pull request cannot be null");
+
+        return new PullRequestGraphResolver(this::getPullRequestAsync, maxDepth).resolve(pullRequest);
+    }
+
     /**
      * Returns a list of commits on a given branch between a given date and now
      *
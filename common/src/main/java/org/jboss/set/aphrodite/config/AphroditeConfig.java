@@ -24,8 +24,12 @@ package org.jboss.set.aphrodite.config;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -37,6 +41,7 @@ import javax.json.JsonObject;
 
 import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
+import org.jboss.set.aphrodite.snapshot.SnapshotMode;
 
 /**
  * @author Ryan Emerson
@@ -45,6 +50,9 @@ public class AphroditeConfig {
     private static final int DEFAULT_STREAM_SERVICE_UPDATE_RATE = 0; // default to 0 means no auto stream update
     private static final int DEFAULT_INITIAL_DELAY = 0; // default to 0 means no initial delay
     private static final int DEFAULT_MAX_THREADS = 2;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 10;
+    private static final int DEFAULT_SCHEDULED_THREADS = 1;
+    private static final int DEFAULT_CPU_THREADS = Runtime.getRuntime().availableProcessors();
     private final ScheduledExecutorService executorService;
     private final List<IssueTrackerConfig> issueTrackerConfigs;
     private final List<RepositoryConfig> repositoryConfigs;
@@ -52,6 +60,10 @@ public class AphroditeConfig {
     private final int streamServiceUpdateRate;
     private final int initialDelay;
     private int threadCount;
+    private final ServiceExecutors serviceExecutors;
+    private File snapshotDirectory;
+    private SnapshotMode snapshotMode = SnapshotMode.WRITE_THROUGH;
+    private boolean compactIssues;
 
     static class DefaultThreadFactory implements ThreadFactory {
         private static final AtomicInteger poolNumber = new AtomicInteger(1);
@@ -60,10 +72,14 @@ public class AphroditeConfig {
         private final String namePrefix;
 
         DefaultThreadFactory() {
+            this("pool");
+        }
+
+        DefaultThreadFactory(String role) {
             SecurityManager s = System.getSecurityManager();
             group = (s != null) ? s.getThreadGroup() :
                     Thread.currentThread().getThreadGroup();
-            namePrefix = "pool-" +
+            namePrefix = role + "-" +
                     poolNumber.getAndIncrement() +
                     "-thread-";
         }
@@ -101,20 +117,27 @@ public class AphroditeConfig {
     }
 
     public AphroditeConfig(List<IssueTrackerConfig> issueTrackerConfigs, List<RepositoryConfig> repositoryConfigs, List<StreamConfig> streamConfigs) {
-       this(Executors.newScheduledThreadPool(DEFAULT_MAX_THREADS, new DefaultThreadFactory()), issueTrackerConfigs, repositoryConfigs, streamConfigs, DEFAULT_STREAM_SERVICE_UPDATE_RATE, DEFAULT_INITIAL_DELAY,DEFAULT_MAX_THREADS);
+       this(Executors.newScheduledThreadPool(DEFAULT_SCHEDULED_THREADS, new DefaultThreadFactory("scheduled")), issueTrackerConfigs, repositoryConfigs, streamConfigs, DEFAULT_STREAM_SERVICE_UPDATE_RATE, DEFAULT_INITIAL_DELAY,DEFAULT_MAX_THREADS);
     }
 
     public AphroditeConfig(List<IssueTrackerConfig> issueTrackerConfigs, List<RepositoryConfig> repositoryConfigs, List<StreamConfig> streamConfigs, int streamServiceUpdateRate, int initialDelay) {
-       this(Executors.newScheduledThreadPool(DEFAULT_MAX_THREADS, new DefaultThreadFactory()), issueTrackerConfigs, repositoryConfigs, streamConfigs, streamServiceUpdateRate, initialDelay,DEFAULT_MAX_THREADS);
+       this(Executors.newScheduledThreadPool(DEFAULT_SCHEDULED_THREADS, new DefaultThreadFactory("scheduled")), issueTrackerConfigs, repositoryConfigs, streamConfigs, streamServiceUpdateRate, initialDelay,DEFAULT_MAX_THREADS);
     }
 
     public AphroditeConfig(List<IssueTrackerConfig> issueTrackerConfigs, List<RepositoryConfig> repositoryConfigs, List<StreamConfig> streamConfigs, int streamServiceUpdateRate, int initialDelay, int maxThreads) {
-       this(Executors.newScheduledThreadPool(maxThreads, new DefaultThreadFactory()), issueTrackerConfigs, repositoryConfigs, streamConfigs, streamServiceUpdateRate, initialDelay,maxThreads);
+       this(Executors.newScheduledThreadPool(maxThreads, new DefaultThreadFactory("scheduled")), issueTrackerConfigs, repositoryConfigs, streamConfigs, streamServiceUpdateRate, initialDelay,maxThreads);
     }
 
     public AphroditeConfig(ScheduledExecutorService executorService, List<IssueTrackerConfig> issueTrackerConfigs,
             List<RepositoryConfig> repositoryConfigs, List<StreamConfig> streamConfigs, int streamServiceUpdateRate,
             int initialDelay, int threadCount) {
+        this(executorService, issueTrackerConfigs, repositoryConfigs, streamConfigs, streamServiceUpdateRate, initialDelay,
+                threadCount, new ServiceExecutors(threadCount, DEFAULT_CPU_THREADS));
+    }
+
+    private AphroditeConfig(ScheduledExecutorService executorService, List<IssueTrackerConfig> issueTrackerConfigs,
+            List<RepositoryConfig> repositoryConfigs, List<StreamConfig> streamConfigs, int streamServiceUpdateRate,
+            int initialDelay, int threadCount, ServiceExecutors serviceExecutors) {
         super();
         this.executorService = executorService;
         this.issueTrackerConfigs = issueTrackerConfigs;
@@ -123,21 +146,141 @@ public class AphroditeConfig {
         this.streamServiceUpdateRate = streamServiceUpdateRate;
         this.initialDelay = initialDelay;
         this.threadCount = threadCount;
+        this.serviceExecutors = serviceExecutors;
     }
 
     public AphroditeConfig(AphroditeConfig config) {
-        this(config.getExecutorService(), new ArrayList<>(config.getIssueTrackerConfigs()), new ArrayList<>(config.getRepositoryConfigs()), new ArrayList<>(config.getStreamConfigs()), config.getStreamServiceUpdateRate(), config.getInitialDelay(), config.getThreadCount());
+        this(config.getExecutorService(), new ArrayList<>(config.getIssueTrackerConfigs()), new ArrayList<>(config.getRepositoryConfigs()), new ArrayList<>(config.getStreamConfigs()), config.getStreamServiceUpdateRate(), config.getInitialDelay(), config.getThreadCount(),
+                config.serviceExecutors);
+        this.snapshotDirectory = config.snapshotDirectory;
+        this.snapshotMode = config.snapshotMode;
+        this.compactIssues = config.compactIssues;
     }
 
     public AphroditeConfig(List<IssueTrackerConfig> issueTrackerConfigs, List<RepositoryConfig> repositoryConfigs,
             List<StreamConfig> streamConfigs, int maxThreadCount) {
-        this(Executors.newScheduledThreadPool(DEFAULT_MAX_THREADS, new DefaultThreadFactory()), issueTrackerConfigs, repositoryConfigs, streamConfigs, DEFAULT_STREAM_SERVICE_UPDATE_RATE, DEFAULT_INITIAL_DELAY, DEFAULT_MAX_THREADS);
+        this(Executors.newScheduledThreadPool(DEFAULT_SCHEDULED_THREADS, new DefaultThreadFactory("scheduled")), issueTrackerConfigs, repositoryConfigs, streamConfigs, DEFAULT_STREAM_SERVICE_UPDATE_RATE, DEFAULT_INITIAL_DELAY, DEFAULT_MAX_THREADS);
     }
 
     public ScheduledExecutorService getExecutorService() {
         return executorService;
     }
 
+    /**
+     * Run the I/O work of the services on virtual threads instead of the fixed size I/O pool. Each service may run
+     * at most <code>maxConcurrentRequests</code> requests at a time. Virtual threads require Java 21, on older
+     * runtimes a cached pool of daemon threads is used instead, still bounded by the per service limit.
+     *
+     * @param maxConcurrentRequests the maximum number of concurrent requests per service.
+     * @return this config.
+     */
+    public AphroditeConfig useVirtualThreads(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1)
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1");
+
+        serviceExecutors.useVirtualThreads(maxConcurrentRequests);
+        return this;
+    }
+
+    public boolean isVirtualThreads() {
+        return serviceExecutors.isVirtualThreads();
+    }
+
+    /**
+     * Keep snapshots of the issues and pull requests retrieved by Aphrodite in the given directory, see
+     * {@link org.jboss.set.aphrodite.snapshot.SnapshotStore}.
+     *
+     * @param directory the directory of the store, created if it does not exist.
+     * @param mode how reads use the store.
+     * @return this config.
+     */
+    public AphroditeConfig useSnapshotStore(File directory, SnapshotMode mode) {
+        this.snapshotDirectory = Objects.requireNonNull(directory, "directory cannot be null");
+        this.snapshotMode = Objects.requireNonNull(mode, "mode cannot be null");
+        return this;
+    }
+
+    /**
+     * @return the directory of the snapshot store, or <code>null</code> if no snapshots are kept.
+     */
+    public File getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    public SnapshotMode getSnapshotMode() {
+        return snapshotMode;
+    }
+
+    /**
+     * Share the values repeated across the retrieved issues through one
+     * {@link org.jboss.set.aphrodite.domain.SymbolTable}, and store their lists in immutable compact copies. Meant for
+     * reports which hold tens of thousands of issues, the lists of the returned issues can then no longer be modified in
+     * place. The issues are compacted in place rather than copied, so this also applies to the instances a tracker keeps
+     * in its cache and returns to later callers.
+     *
+     * @return this config.
+     */
+    public AphroditeConfig compactIssues() {
+        this.compactIssues = true;
+        return this;
+    }
+
+    public boolean isCompactIssues() {
+        return compactIssues;
+    }
+
+    /**
+     * Return the executor a service should use for blocking I/O work. This executor is separate from the scheduled
+     * executor returned by {@link #getExecutorService()}, which only runs maintenance tasks such as the stream refresh.
+     *
+     * @param service a key identifying the service, services sharing a key share their concurrency limit.
+     * @return the concurrency limited virtual thread executor of the service if virtual threads are enabled,
+     *         otherwise the shared I/O pool of <code>maxThreadCount</code> threads.
+     */
+    public Executor getIoExecutor(String service) {
+        return serviceExecutors.getIoExecutor(service);
+    }
+
+    /**
+     * @return the executor backing {@link #getIoExecutor(String)}.
+     */
+    public ExecutorService getIoExecutorService() {
+        return serviceExecutors.getIoExecutorService();
+    }
+
+    /**
+     * @return the executor for CPU bound work, such as converting remote entities into domain objects.
+     */
+    public ExecutorService getCpuExecutorService() {
+        return serviceExecutors.getCpuExecutorService();
+    }
+
+    /**
+     * @return an executor delegating to {@link #getCpuExecutorService()}, which creates the pool on its first task
+     *         rather than when it is handed out.
+     */
+    public Executor getCpuExecutor() {
+        return serviceExecutors.getCpuExecutor();
+    }
+
+    /**
+     * @return a snapshot of the queue depth and activity of the scheduled, I/O and CPU executors.
+     */
+    public Map<ExecutorMetrics.Role, ExecutorMetrics> getExecutorMetrics() {
+        Map<ExecutorMetrics.Role, ExecutorMetrics> metrics = new EnumMap<>(ExecutorMetrics.Role.class);
+        metrics.put(ExecutorMetrics.Role.SCHEDULED, ServiceExecutors.metrics(ExecutorMetrics.Role.SCHEDULED, executorService));
+        metrics.put(ExecutorMetrics.Role.IO, serviceExecutors.ioMetrics());
+        metrics.put(ExecutorMetrics.Role.CPU, serviceExecutors.cpuMetrics());
+        return metrics;
+    }
+
+    /**
+     * Shut down the I/O and CPU executors. The scheduled executor is left to its owner.
+     */
+    public void shutdownServiceExecutors() {
+        serviceExecutors.shutdown();
+    }
+
     public List<IssueTrackerConfig> getIssueTrackerConfigs() {
         return issueTrackerConfigs;
     }
@@ -168,6 +311,8 @@ public class AphroditeConfig {
 
     public static AphroditeConfig fromJson(JsonObject jsonObject) {
         int maxThreadCount = jsonObject.getInt("maxThreadCount", DEFAULT_MAX_THREADS);
+        int cpuThreadCount = jsonObject.getInt("cpuThreadCount", DEFAULT_CPU_THREADS);
+        int scheduledThreadCount = jsonObject.getInt("scheduledThreadCount", DEFAULT_SCHEDULED_THREADS);
         int streamServiceUpdateRate = jsonObject.getInt("streamServiceUpdateRate", DEFAULT_STREAM_SERVICE_UPDATE_RATE);
         int initialDelay = jsonObject.getInt("initialDelay", DEFAULT_INITIAL_DELAY);
 
@@ -175,8 +320,16 @@ public class AphroditeConfig {
         List<RepositoryConfig> repositoryConfigs = getRepositoryConfigs(jsonObject);
         List<StreamConfig> streamConfigs = getStreamConfigs(jsonObject);
 
-        return new AphroditeConfig(Executors.newScheduledThreadPool(maxThreadCount, new DefaultThreadFactory()), issueTrackerConfigs,
-                    repositoryConfigs, streamConfigs, streamServiceUpdateRate, initialDelay, maxThreadCount);
+        AphroditeConfig config = new AphroditeConfig(Executors.newScheduledThreadPool(scheduledThreadCount, new DefaultThreadFactory("scheduled")), issueTrackerConfigs,
+                    repositoryConfigs, streamConfigs, streamServiceUpdateRate, initialDelay, maxThreadCount, new ServiceExecutors(maxThreadCount, cpuThreadCount));
+        if (jsonObject.getBoolean("virtualThreads", false))
+            config.useVirtualThreads(jsonObject.getInt("maxConcurrentRequestsPerService", DEFAULT_MAX_CONCURRENT_REQUESTS));
+        String snapshotDirectory = jsonObject.getString("snapshotDirectory", null);
+        if (snapshotDirectory != null)
+            config.useSnapshotStore(new File(snapshotDirectory), SnapshotMode.fromString(jsonObject.getString("snapshotMode", null)));
+        if (jsonObject.getBoolean("compactIssues", false))
+            config.compactIssues();
+        return config;
     }
 
     private static List<IssueTrackerConfig> getIssueTrackerConfigs(JsonObject jsonObject) {
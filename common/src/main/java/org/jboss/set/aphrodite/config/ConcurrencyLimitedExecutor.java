@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.config;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+
+/**
+ * An <code>Executor</code> which hands at most <code>maxConcurrency</code> tasks at a time to its delegate and queues the
+ * rest. Acts as a per service semaphore that does not park a thread while waiting for a permit, so it can front a
+ * thread-per-task executor without creating blocked threads.
+ * <p>
+ * A queued task which the delegate rejects, for instance because it was shut down, is run by the thread which tried to
+ * hand it over, so that the futures waiting on it complete. Only the task of the caller of {@link #execute(Runnable)}
+ * is rejected to that caller.
+ */
+class ConcurrencyLimitedExecutor implements Executor {
+
+    private static final Log LOG = LogFactory.getLog(ConcurrencyLimitedExecutor.class);
+
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+
+    ConcurrencyLimitedExecutor(Executor delegate, int maxConcurrency) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        queue.add(command);
+        drain(command);
+    }
+
+    int getActiveCount() {
+        return active.get();
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    long getCompletedTaskCount() {
+        return completed.get();
+    }
+
+    /**
+     * @param command the task of the current caller, which is rejected to it rather than run, or <code>null</code> in
+     *        a worker of the delegate, which never throws.
+     */
+    private void drain(Runnable command) {
+        RejectedExecutionException rejected = null;
+        while (!queue.isEmpty()) {
+            int running = active.get();
+            if (running >= maxConcurrency)
+                return;
+            if (!active.compareAndSet(running, running + 1))
+                continue;
+
+            Runnable task = queue.poll();
+            if (task == null) {
+                // another thread took the last task, give the permit back and check again
+                active.decrementAndGet();
+                continue;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        completed.incrementAndGet();
+                        active.decrementAndGet();
+                        drain(null);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (task == command) {
+                    active.decrementAndGet();
+                    rejected = e;
+                } else {
+                    runRejected(task);
+                }
+            }
+        }
+        if (rejected != null)
+            throw rejected;
+    }
+
+    private void runRejected(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            Utils.logException(LOG, "Task rejected by " + delegate + " failed", e);
+        } finally {
+            completed.incrementAndGet();
+            active.decrementAndGet();
+        }
+    }
+}
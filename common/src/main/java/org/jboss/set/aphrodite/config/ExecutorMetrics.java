@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.config;
+
+/**
+ * A point in time snapshot of the load on one of the executors managed by {@link AphroditeConfig}.
+ * Values which the underlying executor does not expose are reported as <code>-1</code>.
+ */
+public class ExecutorMetrics {
+
+    /**
+     * The role an executor plays within Aphrodite.
+     */
+    public enum Role {
+        /** Periodic maintenance, e.g. the stream refresh task. */
+        SCHEDULED,
+        /** Blocking requests to issue trackers and repositories. */
+        IO,
+        /** CPU bound work such as converting remote entities into domain objects. */
+        CPU
+    }
+
+    private final Role role;
+    private final int queueDepth;
+    private final int activeCount;
+    private final int poolSize;
+    private final long completedTaskCount;
+
+    public ExecutorMetrics(Role role, int queueDepth, int activeCount, int poolSize, long completedTaskCount) {
+        this.role = role;
+        this.queueDepth = queueDepth;
+        this.activeCount = activeCount;
+        this.poolSize = poolSize;
+        this.completedTaskCount = completedTaskCount;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * @return the number of tasks waiting to be executed.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTaskCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorMetrics{" +
+                "role=" + role +
+                ", queueDepth=" + queueDepth +
+                ", activeCount=" + activeCount +
+                ", poolSize=" + poolSize +
+                ", completedTaskCount=" + completedTaskCount +
+                '}';
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.config.AphroditeConfig.DefaultThreadFactory;
+
+/**
+ * The I/O and CPU executors used by the services, kept apart from the scheduled executor so that a slow stream refresh
+ * can not stall user facing requests. Shared between an <code>AphroditeConfig</code> and its copies, so that all
+ * services observe the same executors and concurrency limits. The pools are created on first use.
+ */
+class ServiceExecutors {
+
+    private static final Log LOG = LogFactory.getLog(ServiceExecutors.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final int ioThreadCount;
+    private final int cpuThreadCount;
+    private final Executor io = task -> getIoExecutorService().execute(task);
+    private final Executor cpu = task -> getCpuExecutorService().execute(task);
+    private final Map<String, ConcurrencyLimitedExecutor> limitedExecutors = new ConcurrentHashMap<>();
+    private volatile ExecutorService ioExecutor;
+    private volatile ThreadPoolExecutor cpuExecutor;
+    private volatile int maxConcurrentRequests; // 0 means no per service limit
+    private boolean shutdown; // guarded by this
+
+    ServiceExecutors(int ioThreadCount, int cpuThreadCount) {
+        this.ioThreadCount = ioThreadCount;
+        this.cpuThreadCount = cpuThreadCount;
+    }
+
+    synchronized void useVirtualThreads(int maxConcurrentRequests) {
+        ExecutorService previous = ioExecutor;
+        limitedExecutors.clear();
+        this.ioExecutor = newVirtualThreadPerTaskExecutor();
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        if (previous != null)
+            previous.shutdown();
+    }
+
+    boolean isVirtualThreads() {
+        return maxConcurrentRequests > 0;
+    }
+
+    ExecutorService getIoExecutorService() {
+        ExecutorService executor = ioExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (ioExecutor == null)
+                    ioExecutor = newFixedPool("io", ioThreadCount);
+                executor = ioExecutor;
+            }
+        }
+        return executor;
+    }
+
+    Executor getIoExecutor(String service) {
+        if (!isVirtualThreads())
+            return io;
+        return limitedExecutors.computeIfAbsent(service, s -> new ConcurrencyLimitedExecutor(ioExecutor, maxConcurrentRequests));
+    }
+
+    ExecutorService getCpuExecutorService() {
+        ThreadPoolExecutor executor = cpuExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (cpuExecutor == null)
+                    cpuExecutor = newFixedPool("cpu", cpuThreadCount);
+                executor = cpuExecutor;
+            }
+        }
+        return executor;
+    }
+
+    Executor getCpuExecutor() {
+        return cpu;
+    }
+
+    ExecutorMetrics ioMetrics() {
+        if (!isVirtualThreads())
+            return metrics(ExecutorMetrics.Role.IO, ioExecutor);
+
+        int queued = 0;
+        int active = 0;
+        long completed = 0;
+        for (ConcurrencyLimitedExecutor executor : limitedExecutors.values()) {
+            queued += executor.getQueueSize();
+            active += executor.getActiveCount();
+            completed += executor.getCompletedTaskCount();
+        }
+        // virtual threads are created per task, so there is no pool to report
+        return new ExecutorMetrics(ExecutorMetrics.Role.IO, queued, active, -1, completed);
+    }
+
+    ExecutorMetrics cpuMetrics() {
+        return metrics(ExecutorMetrics.Role.CPU, cpuExecutor);
+    }
+
+    synchronized void shutdown() {
+        shutdown = true;
+        if (ioExecutor != null)
+            ioExecutor.shutdown();
+        if (cpuExecutor != null)
+            cpuExecutor.shutdown();
+    }
+
+    static ExecutorMetrics metrics(ExecutorMetrics.Role role, Executor executor) {
+        if (executor == null)
+            return new ExecutorMetrics(role, 0, 0, 0, 0); // not used yet
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            return new ExecutorMetrics(role, pool.getQueue().size(), pool.getActiveCount(), pool.getPoolSize(),
+                    pool.getCompletedTaskCount());
+        }
+        return new ExecutorMetrics(role, -1, -1, -1, -1);
+    }
+
+    // called with the monitor held, a pool first used after shutdown() rejects its tasks like the others
+    private ThreadPoolExecutor newFixedPool(String role, int threadCount) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DefaultThreadFactory(role));
+        executor.allowCoreThreadTimeOut(true);
+        if (shutdown)
+            executor.shutdown();
+        return executor;
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            Utils.logWarnMessage(LOG, "Virtual threads are not supported by this JVM, using a cached thread pool for I/O work instead");
+            return Executors.newCachedThreadPool(new DefaultThreadFactory("io"));
+        }
+    }
+}
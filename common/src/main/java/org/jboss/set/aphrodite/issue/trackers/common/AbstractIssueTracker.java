@@ -30,19 +30,26 @@ import org.jboss.set.aphrodite.config.TrackerType;
 import org.jboss.set.aphrodite.domain.Comment;
 import org.jboss.set.aphrodite.domain.Issue;
 import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.internal.URLScanner;
 import org.jboss.set.aphrodite.spi.IssueTrackerService;
 import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.jboss.set.aphrodite.tracing.Tracing;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -52,11 +59,19 @@ import java.util.stream.Collectors;
  * @author Ryan Emerson
  */
 public abstract class AbstractIssueTracker implements IssueTrackerService {
+    /** Issue links are now matched by {@link URLScanner.Syntax#ISSUE_LINK}. */
     public static final Pattern URL_REGEX = Pattern
             .compile("(http|ftp|https)://([\\w_-]+(?:(?:\\.[\\w_-]+)+))([\\w.,@?^=%&:/~+#-]*[\\w@?^=%&/~+#-])?\\d+");
 
     protected final TrackerType TRACKER_TYPE;
+    /**
+     * @deprecated the scheduled executor of the configuration, kept for subclasses written against it. Use
+     *             {@link #executor} for I/O work.
+     */
+    @Deprecated
     protected ExecutorService executorService;
+    protected Executor executor;
+    protected Executor cpuExecutor;
     protected IssueTrackerConfig config;
     protected URL baseUrl;
 
@@ -75,6 +90,8 @@ public abstract class AbstractIssueTracker implements IssueTrackerService {
             IssueTrackerConfig config = i.next();
             if (config.getTracker() == TRACKER_TYPE) {
                 i.remove(); // Remove so that this service cannot be instantiated twice
+                executor = Tracing.propagating(aphroditeConfig.getIoExecutor(config.getUrl()));
+                cpuExecutor = Tracing.propagating(aphroditeConfig.getCpuExecutor());
                 return init(config);
             }
         }
@@ -99,24 +116,120 @@ public abstract class AbstractIssueTracker implements IssueTrackerService {
         return true;
     }
 
+    @Override
+    public Executor getAsyncExecutor() {
+        return executor != null ? executor : IssueTrackerService.super.getAsyncExecutor();
+    }
+
+    /**
+     * @return the executor for CPU bound work such as converting remote entities into <code>Issue</code> objects.
+     */
+    protected Executor getCpuExecutor() {
+        return cpuExecutor != null ? cpuExecutor : IssueTrackerService.super.getAsyncExecutor();
+    }
+
     @Override
     public List<Issue> getIssuesAssociatedWith(PullRequest pullRequest) {
         List<Issue> issues = new ArrayList<>();
-        Matcher m = URL_REGEX.matcher(pullRequest.getTitle() + pullRequest.getBody());
-        while (m.find()) {
-            String link = m.group();
+        for (URL url : getIssueLinks(pullRequest)) {
             try {
-                URL url = new URL(link);
+                issues.add(getIssue(url));
+            } catch (NotFoundException e) {
+                Utils.logException(getLog(), "Unable to retrieve Issue at " + url + ":", e);
+            }
+        }
+        return issues;
+    }
+
+    /**
+     * Fetch the issues of all pull requests with a single call of {@link #getIssuesAsync(Collection)}, requesting
+     * every issue once even if several pull requests link to it. The returned issues are matched with the links
+     * through {@link #issueKey(URL)} and {@link #issueKey(Issue)}. If the request fails it is logged, and the pull
+     * requests map to empty lists, as issues which can not be retrieved are left out by
+     * {@link #getIssuesAssociatedWith(PullRequest)}.
+     */
+    @Override
+    public CompletableFuture<Map<PullRequest, List<Issue>>> getIssuesAssociatedWithAsync(Collection<PullRequest> pullRequests) {
+        Objects.requireNonNull(pullRequests);
+
+        Map<PullRequest, Map<String, URL>> linksByPullRequest = new LinkedHashMap<>();
+        Map<String, URL> links = new LinkedHashMap<>();
+        for (PullRequest pullRequest : pullRequests) {
+            Map<String, URL> pullRequestLinks = linksByPullRequest.computeIfAbsent(pullRequest, pr -> new LinkedHashMap<>());
+            for (URL url : getIssueLinks(pullRequest)) {
+                String key = issueKey(url);
+                pullRequestLinks.putIfAbsent(key, url);
+                links.putIfAbsent(key, url);
+            }
+        }
+
+        CompletableFuture<List<Issue>> request = links.isEmpty()
+                ? CompletableFuture.completedFuture(Collections.emptyList())
+                : getIssuesAsync(new ArrayList<>(links.values()));
+        return request.handle((issues, t) -> {
+            Map<String, Issue> issuesByKey = new HashMap<>();
+            if (t != null) {
+                Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                if (getLog().isErrorEnabled())
+                    getLog().error("Unable to retrieve the " + links.size() + " issues associated with "
+                            + linksByPullRequest.size() + " pull requests:", cause);
+            } else {
+                for (Issue issue : issues)
+                    issuesByKey.putIfAbsent(issueKey(issue), issue);
+            }
+
+            Map<PullRequest, List<Issue>> result = new LinkedHashMap<>();
+            linksByPullRequest.forEach((pullRequest, pullRequestLinks) -> {
+                List<Issue> associated = new ArrayList<>();
+                pullRequestLinks.forEach((key, url) -> {
+                    Issue issue = issuesByKey.get(key);
+                    if (issue != null)
+                        associated.add(issue);
+                    else if (t == null)
+                        Utils.logWarnMessage(getLog(), "Unable to retrieve Issue at " + url);
+                });
+                result.put(pullRequest, associated);
+            });
+            return result;
+        });
+    }
+
+    /**
+     * @return the links of the pull request title and description which point to this tracker.
+     */
+    protected List<URL> getIssueLinks(PullRequest pullRequest) {
+        List<URL> urls = new ArrayList<>();
+        URLScanner links = URLScanner.scan(URLScanner.Syntax.ISSUE_LINK, pullRequest.getTitle() + pullRequest.getBody());
+        while (links.find()) {
+            try {
+                URL url = new URL(links.group());
                 if (url.getHost().equals(baseUrl.getHost()))
-                    issues.add(getIssue(url));
+                    urls.add(url);
             } catch (MalformedURLException e) {
                 if (getLog().isTraceEnabled())
                     getLog().trace(e);
-            } catch (NotFoundException e) {
-                Utils.logException(getLog(), "Unable to retrieve Issue at " + link + ":", e);
             }
         }
-        return issues;
+        return urls;
+    }
+
+    /**
+     * Identify the issue an URL points to, so that different links to the same issue are only fetched once. Must
+     * agree with {@link #issueKey(Issue)}. By default the URL itself is the key.
+     *
+     * @param url the <code>URL</code> of an issue at this tracker.
+     * @return the key of the issue.
+     */
+    protected String issueKey(URL url) {
+        return url.toExternalForm();
+    }
+
+    /**
+     * @param issue an issue retrieved from this tracker.
+     * @return the key of the issue, as {@link #issueKey(URL)} returns it for the links to the issue.
+     */
+    protected String issueKey(Issue issue) {
+        return issueKey(issue.getURL());
     }
 
     @Override
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.set.aphrodite.spi.MetricsRecorder;
+
+/**
+ * Aggregates measurements in memory, in the way a Micrometer <code>SimpleMeterRegistry</code> would, so that they
+ * can be read back through {@link #snapshot()}. Every backend and operation pair gets a timer named
+ * {@value #REQUESTS} tagged with <code>backend</code>, <code>operation</code> and <code>outcome</code>, a
+ * distribution summary named {@value #PAYLOAD_SIZE} and, for caches, a counter named {@value #CACHE_GETS}
+ * tagged with <code>result</code>. The names are used by {@link #toString()} and are meant to be kept when bridging
+ * to a metrics library.
+ */
+public class InMemoryMetricsRecorder implements MetricsRecorder {
+
+    public static final String REQUESTS = "aphrodite.requests";
+    public static final String PAYLOAD_SIZE = "aphrodite.payload.size";
+    public static final String CACHE_GETS = "aphrodite.cache.gets";
+
+    private final Map<Key, Meters> meters = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordRequest(String backend, String operation, long durationNanos, Throwable error) {
+        Meters m = meters(backend, operation);
+        m.requests.increment();
+        if (error != null)
+            m.errors.increment();
+        m.totalTime.add(durationNanos);
+        m.maxTime.accumulate(durationNanos);
+        m.latency[bucket(durationNanos)].increment();
+    }
+
+    @Override
+    public void recordPayloadSize(String backend, String operation, long size) {
+        Meters m = meters(backend, operation);
+        m.payloads.increment();
+        m.payloadTotal.add(size);
+    }
+
+    @Override
+    public void recordCacheAccess(String backend, String cache, boolean hit) {
+        Meters m = meters(backend, cache);
+        (hit ? m.cacheHits : m.cacheMisses).increment();
+    }
+
+    @Override
+    public List<OperationMetrics> snapshot() {
+        List<OperationMetrics> snapshot = new ArrayList<>(meters.size());
+        meters.forEach((key, m) -> {
+            long[] histogram = new long[m.latency.length];
+            for (int i = 0; i < histogram.length; i++)
+                histogram[i] = m.latency[i].sum();
+            snapshot.add(new OperationMetrics(key.backend, key.operation, m.requests.sum(), m.errors.sum(), m.totalTime.sum(),
+                    m.maxTime.get(), histogram, m.payloads.sum(), m.payloadTotal.sum(), m.cacheHits.sum(), m.cacheMisses.sum()));
+        });
+        snapshot.sort((a, b) -> a.getBackend().equals(b.getBackend())
+                ? a.getOperation().compareTo(b.getOperation()) : a.getBackend().compareTo(b.getBackend()));
+        return snapshot;
+    }
+
+    public void clear() {
+        meters.clear();
+    }
+
+    private Meters meters(String backend, String operation) {
+        return meters.computeIfAbsent(new Key(String.valueOf(backend), String.valueOf(operation)), k -> new Meters());
+    }
+
+    static int bucket(long durationNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        long[] bounds = OperationMetrics.LATENCY_BUCKETS_MILLIS;
+        for (int i = 0; i < bounds.length - 1; i++) {
+            if (millis <= bounds[i])
+                return i;
+        }
+        return bounds.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (OperationMetrics m : snapshot()) {
+            String tags = "{backend=" + m.getBackend() + ", operation=" + m.getOperation();
+            if (m.getRequestCount() > 0) {
+                sb.append(REQUESTS).append(tags).append("} count=").append(m.getRequestCount())
+                        .append(" errors=").append(m.getErrorCount())
+                        .append(" mean=").append(m.getMeanTime(TimeUnit.MILLISECONDS)).append("ms")
+                        .append(" max=").append(m.getMaxTime(TimeUnit.MILLISECONDS)).append("ms\n");
+            }
+            if (m.getPayloadCount() > 0)
+                sb.append(PAYLOAD_SIZE).append(tags).append("} count=").append(m.getPayloadCount())
+                        .append(" total=").append(m.getPayloadTotal()).append('\n');
+            if (m.getCacheHits() + m.getCacheMisses() > 0)
+                sb.append(CACHE_GETS).append(tags).append("} hit=").append(m.getCacheHits())
+                        .append(" miss=").append(m.getCacheMisses()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static final class Key {
+        private final String backend;
+        private final String operation;
+
+        Key(String backend, String operation) {
+            this.backend = backend;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key key = (Key) o;
+            return backend.equals(key.backend) && operation.equals(key.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * backend.hashCode() + operation.hashCode();
+        }
+    }
+
+    private static final class Meters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] latency = new LongAdder[OperationMetrics.LATENCY_BUCKETS_MILLIS.length];
+        private final LongAdder payloads = new LongAdder();
+        private final LongAdder payloadTotal = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+
+        Meters() {
+            for (int i = 0; i < latency.length; i++)
+                latency[i] = new LongAdder();
+        }
+    }
+}
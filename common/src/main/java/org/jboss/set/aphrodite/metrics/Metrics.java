@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.jboss.set.aphrodite.spi.MetricsRecorder;
+
+/**
+ * Holds the {@link MetricsRecorder} shared by Aphrodite and its services, and times operations against it.
+ */
+public final class Metrics {
+
+    private static volatile MetricsRecorder recorder = MetricsRecorder.NO_OP;
+
+    /**
+     * An operation which may throw a checked exception.
+     */
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * An operation which may throw either of two unrelated checked exceptions.
+     */
+    @FunctionalInterface
+    public interface Operation2<T, E1 extends Exception, E2 extends Exception> {
+        T call() throws E1, E2;
+    }
+
+    private Metrics() {
+    }
+
+    public static MetricsRecorder recorder() {
+        return recorder;
+    }
+
+    public static void setRecorder(MetricsRecorder recorder) {
+        Metrics.recorder = Objects.requireNonNull(recorder, "recorder cannot be null");
+    }
+
+    /**
+     * Execute the operation and record its duration and outcome.
+     *
+     * @param backend the issue tracker or repository the operation is sent to.
+     * @param name the name of the operation.
+     * @param operation the operation to execute.
+     * @return the result of <code>operation</code>
+     * @throws E if <code>operation</code> throws an exception, which is recorded as an error
+     */
+    public static <T, E extends Exception> T time(String backend, String name, Operation<T, E> operation) throws E {
+        MetricsRecorder current = recorder;
+        if (current == MetricsRecorder.NO_OP)
+            return operation.call();
+
+        long start = System.nanoTime();
+        try {
+            T result = operation.call();
+            current.recordRequest(backend, name, System.nanoTime() - start, null);
+            return result;
+        } catch (Exception | Error e) {
+            current.recordRequest(backend, name, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@link #time(String, String, Operation)} for an operation which throws two checked exceptions. The compiler does
+     * not infer both, so they are given as type arguments, e.g.
+     * <code>Metrics.&lt;Void, NotFoundException, AphroditeException&gt;time2(...)</code>.
+     *
+     * @throws E1 if <code>operation</code> throws it, which is recorded as an error
+     * @throws E2 if <code>operation</code> throws it, which is recorded as an error
+     */
+    public static <T, E1 extends Exception, E2 extends Exception> T time2(String backend, String name,
+            Operation2<T, E1, E2> operation) throws E1, E2 {
+        MetricsRecorder current = recorder;
+        if (current == MetricsRecorder.NO_OP)
+            return operation.call();
+
+        long start = System.nanoTime();
+        try {
+            T result = operation.call();
+            current.recordRequest(backend, name, System.nanoTime() - start, null);
+            return result;
+        } catch (Exception | Error e) {
+            current.recordRequest(backend, name, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Execute the operation, recording its duration and outcome, and the size of its result if it succeeds.
+     *
+     * @param size computes the number of entities in the result of <code>operation</code>
+     * @see #time(String, String, Operation)
+     */
+    public static <T, E extends Exception> T time(String backend, String name, Operation<T, E> operation,
+            ToLongFunction<? super T> size) throws E {
+        T result = time(backend, name, operation);
+        MetricsRecorder current = recorder;
+        if (current != MetricsRecorder.NO_OP && result != null)
+            current.recordPayloadSize(backend, name, size.applyAsLong(result));
+        return result;
+    }
+
+    /**
+     * Start the asynchronous operation and record its duration and outcome once the returned future completes.
+     *
+     * @param backend the issue tracker or repository the operation is sent to.
+     * @param name the name of the operation.
+     * @param operation starts the operation.
+     * @return the future returned by <code>operation</code>
+     */
+    public static <T> CompletableFuture<T> timeAsync(String backend, String name, Supplier<CompletableFuture<T>> operation) {
+        MetricsRecorder current = recorder;
+        if (current == MetricsRecorder.NO_OP)
+            return operation.get();
+
+        long start = System.nanoTime();
+        return operation.get().whenComplete((result, e) -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            current.recordRequest(backend, name, System.nanoTime() - start, cause);
+        });
+    }
+
+    /**
+     * Start the asynchronous operation, recording its duration and outcome, and the size of its result if it succeeds.
+     *
+     * @param size computes the number of entities in the result of <code>operation</code>
+     * @see #timeAsync(String, String, Supplier)
+     */
+    public static <T> CompletableFuture<T> timeAsync(String backend, String name, Supplier<CompletableFuture<T>> operation,
+            ToLongFunction<? super T> size) {
+        MetricsRecorder current = recorder;
+        if (current == MetricsRecorder.NO_OP)
+            return operation.get();
+
+        return timeAsync(backend, name, operation).whenComplete((result, e) -> {
+            if (result != null)
+                current.recordPayloadSize(backend, name, size.applyAsLong(result));
+        });
+    }
+
+    public static void recordPayloadSize(String backend, String name, long size) {
+        recorder.recordPayloadSize(backend, name, size);
+    }
+
+    public static void recordCacheAccess(String backend, String cache, boolean hit) {
+        recorder.recordCacheAccess(backend, cache, hit);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time snapshot of the measurements recorded for one operation of one backend. Cache lookups are
+ * reported under the name of the cache, with the request and payload values left at <code>0</code>.
+ */
+public class OperationMetrics {
+
+    /**
+     * The inclusive upper bounds, in milliseconds, of the latency histogram buckets. The last bucket is unbounded.
+     */
+    public static final long[] LATENCY_BUCKETS_MILLIS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, Long.MAX_VALUE };
+
+    private final String backend;
+    private final String operation;
+    private final long requestCount;
+    private final long errorCount;
+    private final long totalTimeNanos;
+    private final long maxTimeNanos;
+    private final long[] latencyHistogram;
+    private final long payloadCount;
+    private final long payloadTotal;
+    private final long cacheHits;
+    private final long cacheMisses;
+
+    public OperationMetrics(String backend, String operation, long requestCount, long errorCount, long totalTimeNanos,
+            long maxTimeNanos, long[] latencyHistogram, long payloadCount, long payloadTotal, long cacheHits, long cacheMisses) {
+        if (latencyHistogram.length != LATENCY_BUCKETS_MILLIS.length)
+            throw new IllegalArgumentException("latencyHistogram must have " + LATENCY_BUCKETS_MILLIS.length + " buckets");
+
+        this.backend = backend;
+        this.operation = operation;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.totalTimeNanos = totalTimeNanos;
+        this.maxTimeNanos = maxTimeNanos;
+        this.latencyHistogram = latencyHistogram.clone();
+        this.payloadCount = payloadCount;
+        this.payloadTotal = payloadTotal;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the number of completed requests, including those which failed.
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert(totalTimeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxTime(TimeUnit unit) {
+        return unit.convert(maxTimeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public double getMeanTime(TimeUnit unit) {
+        return requestCount == 0 ? 0 : (double) totalTimeNanos / requestCount / unit.toNanos(1);
+    }
+
+    /**
+     * @return the number of requests per bucket of {@link #LATENCY_BUCKETS_MILLIS}.
+     */
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    /**
+     * Estimate a latency percentile from the histogram.
+     *
+     * @param percentile a value between <code>0</code> and <code>1</code>, e.g. <code>0.99</code>
+     * @return the upper bound in milliseconds of the bucket containing the percentile, bounded by the maximum
+     *         recorded latency, or <code>0</code> if no request has been recorded.
+     */
+    public long getLatencyPercentileMillis(double percentile) {
+        if (percentile < 0 || percentile > 1)
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+
+        long total = Arrays.stream(latencyHistogram).sum();
+        if (total == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        long max = getMaxTime(TimeUnit.MILLISECONDS);
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            seen += latencyHistogram[i];
+            if (seen >= rank && seen > 0)
+                return Math.min(LATENCY_BUCKETS_MILLIS[i], max);
+        }
+        return max;
+    }
+
+    /**
+     * @return the number of responses whose size has been recorded.
+     */
+    public long getPayloadCount() {
+        return payloadCount;
+    }
+
+    /**
+     * @return the total number of entities received in the recorded responses.
+     */
+    public long getPayloadTotal() {
+        return payloadTotal;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationMetrics{" +
+                "backend=" + backend +
+                ", operation=" + operation +
+                ", requestCount=" + requestCount +
+                ", errorCount=" + errorCount +
+                ", meanTimeMillis=" + getMeanTime(TimeUnit.MILLISECONDS) +
+                ", maxTimeMillis=" + getMaxTime(TimeUnit.MILLISECONDS) +
+                ", payloadCount=" + payloadCount +
+                ", payloadTotal=" + payloadTotal +
+                ", cacheHits=" + cacheHits +
+                ", cacheMisses=" + cacheMisses +
+                '}';
+    }
+}
@@ -27,11 +27,15 @@ import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.config.AphroditeConfig;
 import org.jboss.set.aphrodite.config.RepositoryConfig;
 import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.jboss.set.aphrodite.tracing.Tracing;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Ryan Emerson
@@ -41,6 +45,12 @@ public abstract class AbstractRepositoryService {
     protected final RepositoryType repositoryType;
     protected RepositoryConfig config;
     protected URL baseUrl;
+    /**
+     * @deprecated use {@link #executor}, which honours the per service concurrency limit.
+     */
+    @Deprecated
+    protected ExecutorService executorService;
+    protected Executor executor;
 
     protected abstract Log getLog();
 
@@ -49,10 +59,13 @@ public abstract class AbstractRepositoryService {
     }
 
     public boolean init(AphroditeConfig aphroditeConfig) {
+        executorService = aphroditeConfig.getExecutorService();
+
         Iterator<RepositoryConfig> i = aphroditeConfig.getRepositoryConfigs().iterator();
         while (i.hasNext()) {
             RepositoryConfig config = i.next();
             if (config.getType() == repositoryType) {
+                executor = Tracing.propagating(aphroditeConfig.getIoExecutor(config.getUrl()));
                 // i.remove(); // Remove so that this service cannot be instantiated twice
                 // Don't remove anymore, GitHubRepositoryService is initialized from Aphrodite instance,
                 // GithubPullRequestHomeService is initialize from container.
@@ -97,4 +110,8 @@ public abstract class AbstractRepositoryService {
     public URL getBaseUrl() {
         return baseUrl;
     }
+
+    public Executor getAsyncExecutor() {
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
 }
\ No newline at end of file
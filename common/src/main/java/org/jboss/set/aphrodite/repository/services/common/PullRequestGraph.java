@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.common;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.set.aphrodite.domain.PullRequest;
+
+/**
+ * The pull requests reachable from a root pull request through its <code>Depends:</code> and upstream pull request
+ * links, as resolved by {@link PullRequestGraphResolver}.
+ * <p>
+ * The references form a directed acyclic graph: a reference which would close a cycle is left out of
+ * {@link #getReferences(PullRequest)} and the cycle is reported by {@link #getCycles()} instead.
+ */
+public final class PullRequestGraph {
+
+    private final PullRequest root;
+    private final List<PullRequest> pullRequests;
+    private final Map<PullRequest, List<PullRequest>> references;
+    private final List<PullRequest> topologicalOrder;
+    private final List<List<PullRequest>> cycles;
+    private final List<URL> unresolved;
+    private final List<URL> truncated;
+
+    PullRequestGraph(PullRequest root, List<PullRequest> pullRequests, IdentityHashMap<PullRequest, List<PullRequest>> references,
+            List<PullRequest> topologicalOrder, List<List<PullRequest>> cycles, List<URL> unresolved, List<URL> truncated) {
+        this.root = root;
+        this.pullRequests = Collections.unmodifiableList(pullRequests);
+        this.references = references;
+        this.topologicalOrder = Collections.unmodifiableList(topologicalOrder);
+        this.cycles = Collections.unmodifiableList(cycles);
+        this.unresolved = Collections.unmodifiableList(unresolved);
+        this.truncated = Collections.unmodifiableList(truncated);
+    }
+
+    public PullRequest getRoot() {
+        return root;
+    }
+
+    /**
+     * @return all pull requests of the graph, in the breadth-first order they were found, starting with the root.
+     */
+    public List<PullRequest> getPullRequests() {
+        return pullRequests;
+    }
+
+    /**
+     * @param pullRequest a pull request of this graph.
+     * @return the pull requests referenced by <code>pullRequest</code>, except those which close a cycle.
+     */
+    public List<PullRequest> getReferences(PullRequest pullRequest) {
+        List<PullRequest> result = references.get(pullRequest);
+        return result != null ? Collections.unmodifiableList(result) : Collections.emptyList();
+    }
+
+    /**
+     * @return all pull requests of the graph, every pull request following the ones it references. This is the
+     *         order in which they can be merged.
+     */
+    public List<PullRequest> getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    public boolean hasCycles() {
+        return !cycles.isEmpty();
+    }
+
+    /**
+     * @return the cycles found, each as the pull requests along it, where the last one references the first one.
+     */
+    public List<List<PullRequest>> getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return the referenced pull requests which could not be retrieved.
+     */
+    public List<URL> getUnresolved() {
+        return unresolved;
+    }
+
+    /**
+     * @return the pull requests referenced beyond the depth limit, which were not retrieved.
+     */
+    public List<URL> getTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public String toString() {
+        return "PullRequestGraph{" +
+                "root=" + root.getURL() +
+                ", pullRequests=" + pullRequests.size() +
+                ", cycles=" + cycles.size() +
+                ", unresolved=" + unresolved +
+                ", truncated=" + truncated +
+                '}';
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.common;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.PullRequest;
+
+/**
+ * Resolves the transitive closure of the <code>Depends:</code> and upstream pull request links of a pull request,
+ * across repositories.
+ * <p>
+ * The graph is walked breadth-first. All pull requests newly referenced by one level are fetched concurrently, and
+ * every pull request is fetched at most once, however many pull requests reference it and under whichever form of
+ * its URL. Pull requests deeper than the depth limit are not fetched, and those which can not be fetched are
+ * reported rather than failing the resolution.
+ */
+public class PullRequestGraphResolver {
+
+    private static final Log LOG = LogFactory.getLog(PullRequestGraphResolver.class);
+
+    public static final int DEFAULT_MAX_DEPTH = 10;
+
+    private final Function<URL, CompletableFuture<PullRequest>> fetcher;
+    private final int maxDepth;
+
+    /**
+     * @param fetcher retrieves the pull request at an URL, such as <code>Aphrodite::getPullRequestAsync</code>.
+     * @param maxDepth the number of links followed from the root, at least <code>0</code>.
+     */
+    public PullRequestGraphResolver(Function<URL, CompletableFuture<PullRequest>> fetcher, int maxDepth) {
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("maxDepth cannot be negative");
+
+        this.fetcher = fetcher;
+        this.maxDepth = maxDepth;
+    }
+
+    public CompletableFuture<PullRequestGraph> resolve(PullRequest root) {
+        Resolution resolution = new Resolution(root);
+        return resolution.walk(Collections.singletonList(key(root.getURL())), 0)
+                .thenApply(v -> resolution.build());
+    }
+
+    /**
+     * The links followed from a pull request, its dependencies first.
+     */
+    static List<URL> getLinks(PullRequest pullRequest) {
+        List<URL> links = new ArrayList<>();
+        try {
+            links.addAll(pullRequest.findDependencyPullRequestsURL());
+            URL upstream = pullRequest.findUpstreamPullRequestURL();
+            if (upstream != null)
+                links.add(upstream);
+        } catch (MalformedURLException e) {
+            Utils.logException(LOG, "Unable to read the links of pull request " + pullRequest.getURL(), e);
+        }
+        return links;
+    }
+
+    /**
+     * Identify a pull request by its URL, whatever the protocol, the case, a trailing slash, or <code>pulls</code>
+     * rather than <code>pull</code> in the path. Repository owners and names are case insensitive on GitHub and
+     * GitLab, and should the key of two pull requests still collide, the fetched pull request tells its own URL.
+     */
+    static String key(URL url) {
+        String path = url.getPath().toLowerCase(Locale.ENGLISH).replace("/pulls/", "/pull/");
+        if (path.endsWith("/"))
+            path = path.substring(0, path.length() - 1);
+        return url.getHost().toLowerCase(Locale.ENGLISH) + (url.getPort() > 0 ? ":" + url.getPort() : "") + path;
+    }
+
+    /**
+     * The state of a single resolution. It is only modified once a level has been fetched, so levels never
+     * modify it concurrently.
+     */
+    private final class Resolution {
+        private final PullRequest root;
+        private final Map<String, PullRequest> nodes = new LinkedHashMap<>();
+        private final Map<String, Set<String>> links = new HashMap<>();
+        // the key of the URL a pull request was fetched from, to the key of the URL it reports itself
+        private final Map<String, String> aliases = new HashMap<>();
+        private final Map<String, URL> unresolved = new LinkedHashMap<>();
+        private final Map<String, URL> truncated = new LinkedHashMap<>();
+
+        Resolution(PullRequest root) {
+            this.root = root;
+            nodes.put(key(root.getURL()), root);
+        }
+
+        CompletableFuture<Void> walk(List<String> level, int depth) {
+            Map<String, URL> toFetch = new LinkedHashMap<>();
+            for (String from : level) {
+                Set<String> targets = links.computeIfAbsent(from, k -> new LinkedHashSet<>());
+                for (URL url : getLinks(nodes.get(from))) {
+                    String target = key(url);
+                    targets.add(target);
+                    if (isKnown(target) || toFetch.containsKey(target))
+                        continue;
+                    if (depth < maxDepth)
+                        toFetch.put(target, url);
+                    else
+                        truncated.putIfAbsent(target, url);
+                }
+            }
+            if (toFetch.isEmpty())
+                return CompletableFuture.completedFuture(null);
+
+            Map<String, CompletableFuture<PullRequest>> requests = new LinkedHashMap<>();
+            toFetch.forEach((target, url) -> requests.put(target, fetch(url)));
+            return CompletableFuture.allOf(requests.values().toArray(new CompletableFuture[0]))
+                    .thenCompose(v -> {
+                        List<String> next = new ArrayList<>();
+                        requests.forEach((target, request) -> {
+                            PullRequest pullRequest = request.join();
+                            if (pullRequest == null) {
+                                unresolved.put(target, toFetch.get(target));
+                                return;
+                            }
+                            String actual = key(pullRequest.getURL());
+                            if (!actual.equals(target)) {
+                                aliases.put(target, actual);
+                                if (nodes.containsKey(actual))
+                                    return;
+                            }
+                            nodes.put(actual, pullRequest);
+                            next.add(actual);
+                        });
+                        return walk(next, depth + 1);
+                    });
+        }
+
+        private boolean isKnown(String key) {
+            return nodes.containsKey(key) || aliases.containsKey(key) || unresolved.containsKey(key) || truncated.containsKey(key);
+        }
+
+        private CompletableFuture<PullRequest> fetch(URL url) {
+            CompletableFuture<PullRequest> request;
+            try {
+                request = fetcher.apply(url);
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            return request.handle((pullRequest, t) -> {
+                if (t != null)
+                    Utils.logWarnMessage(LOG, "Unable to retrieve pull request " + url + ": " + t.getMessage());
+                return t != null ? null : pullRequest;
+            });
+        }
+
+        PullRequestGraph build() {
+            IdentityHashMap<PullRequest, List<PullRequest>> references = new IdentityHashMap<>();
+            List<PullRequest> topologicalOrder = new ArrayList<>();
+            List<List<PullRequest>> cycles = new ArrayList<>();
+
+            // depth-first from the root, a link to a pull request still on the path closes a cycle
+            Map<String, Boolean> onPath = new HashMap<>();
+            List<String> path = new ArrayList<>();
+            List<Links> stack = new ArrayList<>();
+            String rootKey = key(root.getURL());
+            push(rootKey, path, stack, onPath, references);
+            while (!stack.isEmpty()) {
+                Links top = stack.get(stack.size() - 1);
+                String from = path.get(path.size() - 1);
+                if (!top.hasNext()) {
+                    stack.remove(stack.size() - 1);
+                    path.remove(path.size() - 1);
+                    onPath.put(from, false);
+                    topologicalOrder.add(nodes.get(from));
+                    continue;
+                }
+                String target = top.next();
+                Boolean state = onPath.get(target);
+                if (state == null) {
+                    references.get(nodes.get(from)).add(nodes.get(target));
+                    push(target, path, stack, onPath, references);
+                } else if (state) {
+                    List<PullRequest> cycle = new ArrayList<>();
+                    for (String key : path.subList(path.lastIndexOf(target), path.size()))
+                        cycle.add(nodes.get(key));
+                    cycles.add(cycle);
+                } else {
+                    references.get(nodes.get(from)).add(nodes.get(target));
+                }
+            }
+
+            return new PullRequestGraph(root, new ArrayList<>(nodes.values()), references, topologicalOrder, cycles,
+                    new ArrayList<>(unresolved.values()), new ArrayList<>(truncated.values()));
+        }
+
+        private void push(String key, List<String> path, List<Links> stack, Map<String, Boolean> onPath,
+                IdentityHashMap<PullRequest, List<PullRequest>> references) {
+            path.add(key);
+            onPath.put(key, true);
+            references.put(nodes.get(key), new ArrayList<>());
+            stack.add(new Links(key));
+        }
+
+        /**
+         * The links of a pull request to the other pull requests of the graph.
+         */
+        private final class Links {
+            private final Iterator<String> targets;
+            private String next;
+
+            Links(String from) {
+                targets = links.getOrDefault(from, Collections.emptySet()).iterator();
+            }
+
+            boolean hasNext() {
+                while (next == null && targets.hasNext()) {
+                    String target = targets.next();
+                    target = aliases.getOrDefault(target, target);
+                    if (nodes.containsKey(target))
+                        next = target;
+                }
+                return next != null;
+            }
+
+            String next() {
+                String result = next;
+                next = null;
+                return result;
+            }
+        }
+    }
+}
@@ -22,21 +22,19 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.jboss.set.aphrodite.domain.internal.URLScanner;
+
 /**
  * @author wangc
  *
  */
 public class RepositoryUtils {
 
+    /** See {@link URLScanner.Syntax#PULL_REQUEST_LINK}, which does the matching. */
     public static final Pattern RELATED_PR_PATTERN = Pattern
             .compile(".*github\\.com.*?/([a-zA-Z_0-9-]*)/([a-zA-Z_0-9-]*)/pull.?/(\\d+)", Pattern.CASE_INSENSITIVE);
-    private static final Pattern ABBREVIATED_RELATED_PR_PATTERN = Pattern.compile("([a-zA-Z_0-9-//]*)#(\\d+)",
-            Pattern.CASE_INSENSITIVE);
-    private static final Pattern ABBREVIATED_RELATED_PR_PATTERN_EXTERNAL_REPO = Pattern
-            .compile("([a-zA-Z_0-9-]*)/([a-zA-Z_0-9-]*)#(\\d+)", Pattern.CASE_INSENSITIVE);
 
     public static String createRepositoryIdFromUrl(URL url) {
         return url != null ? createRepositoryIdFromId(url.getPath()) : null;
@@ -60,35 +58,27 @@ public class RepositoryUtils {
 
     public static List<URL> getPRFromDescription(URL url, String content) throws MalformedURLException, URISyntaxException {
         String[] paths = url.getPath().split("/");
-        Matcher matcher = RELATED_PR_PATTERN.matcher(content);
+        URLScanner links = URLScanner.scan(URLScanner.Syntax.PULL_REQUEST_LINK, content);
         List<URL> relatedPullRequests = new ArrayList<>();
-        while (matcher.find()) {
-            if (matcher.groupCount() == 3) {
-                URL relatedPullRequest = new URI(
-                        "https://github.com/" + matcher.group(1) + "/" + matcher.group(2) + "/pulls/" + matcher.group(3))
-                                .toURL();
-                relatedPullRequests.add(relatedPullRequest);
-            }
+        while (links.find()) {
+            URL relatedPullRequest = new URI(
+                    "https://github.com/" + links.owner() + "/" + links.repository() + "/pulls/" + links.number())
+                            .toURL();
+            relatedPullRequests.add(relatedPullRequest);
         }
-        Matcher abbreviatedMatcher = ABBREVIATED_RELATED_PR_PATTERN.matcher(content);
-        while (abbreviatedMatcher.find()) {
-            String match = abbreviatedMatcher.group();
-            Matcher abbreviatedExternalMatcher = ABBREVIATED_RELATED_PR_PATTERN_EXTERNAL_REPO.matcher(match);
-            if (abbreviatedExternalMatcher.find()) {
-                if (abbreviatedExternalMatcher.groupCount() == 3) {
-                    URL relatedPullRequest = new URI("https://github.com/" + abbreviatedExternalMatcher.group(1) + "/"
-                            + abbreviatedExternalMatcher.group(2) + "/pull/" + abbreviatedExternalMatcher.group(3)).toURL();
-                    relatedPullRequests.add(relatedPullRequest);
-                    continue;
-                }
-            }
-
-            if (abbreviatedMatcher.groupCount() == 2) {
-                URL relatedPullRequest = new URI(
-                        "https://github.com/" + paths[1] + "/" + paths[2] + "/" + "/pulls/" + abbreviatedMatcher.group(2))
-                                .toURL();
+        URLScanner references = URLScanner.scan(URLScanner.Syntax.PULL_REQUEST_REFERENCE, content);
+        while (references.find()) {
+            if (references.repository() != null) {
+                URL relatedPullRequest = new URI("https://github.com/" + references.owner() + "/"
+                        + references.repository() + "/pull/" + references.number()).toURL();
                 relatedPullRequests.add(relatedPullRequest);
+                continue;
             }
+
+            URL relatedPullRequest = new URI(
+                    "https://github.com/" + paths[1] + "/" + paths[2] + "/" + "/pulls/" + references.number())
+                            .toURL();
+            relatedPullRequests.add(relatedPullRequest);
         }
         return relatedPullRequests;
     }
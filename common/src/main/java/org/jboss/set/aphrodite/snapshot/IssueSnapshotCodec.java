@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.snapshot;
+
+import java.net.URL;
+
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.domain.Issue;
+
+/**
+ * Keeps the fields an issue tracker adds to its <code>Issue</code> subclass in a {@link SnapshotStore}, so that a
+ * restored issue has the type the tracker expects when it is updated. The <code>Issue</code> fields are kept by the
+ * store itself.
+ * <p>
+ * Implementations are found through the <code>ServiceLoader</code>, the issues of a tracker without one are
+ * restored as a plain <code>Issue</code>.
+ */
+public interface IssueSnapshotCodec<T extends Issue> {
+
+    /**
+     * @return the tracker whose issues are encoded by this codec.
+     */
+    TrackerType getTrackerType();
+
+    Class<T> getIssueClass();
+
+    /**
+     * Create the issue a snapshot is restored into, before its fields are set.
+     */
+    T newIssue(URL url);
+
+    /**
+     * Add the fields of the subclass to the snapshot of an issue.
+     */
+    void encode(T issue, JsonObjectBuilder json);
+
+    /**
+     * Restore the fields added by {@link #encode(Issue, JsonObjectBuilder)}.
+     */
+    void decode(JsonObject json, T issue);
+}
@@ -0,0 +1,295 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.snapshot;
+
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Comment;
+import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.Flag;
+import org.jboss.set.aphrodite.domain.FlagStatus;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.IssueEstimation;
+import org.jboss.set.aphrodite.domain.IssuePriority;
+import org.jboss.set.aphrodite.domain.IssueStatus;
+import org.jboss.set.aphrodite.domain.IssueType;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.domain.Release;
+import org.jboss.set.aphrodite.domain.Repository;
+import org.jboss.set.aphrodite.domain.User;
+
+/**
+ * Converts issues and pull requests to and from the JSON documents kept in a {@link SnapshotStore}. The fields of
+ * tracker specific subclasses such as <code>JiraIssue</code> are kept by the {@link IssueSnapshotCodec} of the
+ * tracker, without one an issue is restored as a plain <code>Issue</code>.
+ */
+class SnapshotCodec {
+
+    private static final Map<TrackerType, IssueSnapshotCodec<?>> ISSUE_CODECS = new HashMap<>();
+
+    static {
+        for (IssueSnapshotCodec<?> codec : ServiceLoader.load(IssueSnapshotCodec.class))
+            ISSUE_CODECS.putIfAbsent(codec.getTrackerType(), codec);
+    }
+
+    private SnapshotCodec() {
+    }
+
+    static String encode(Issue issue) {
+        JsonObjectBuilder json = Json.createObjectBuilder()
+                .add("url", issue.getURL().toString());
+        add(json, "trackerType", issue.getTrackerType());
+        issue.getTrackerId().ifPresent(id -> json.add("trackerId", id));
+        issue.getProduct().ifPresent(product -> json.add("product", product));
+        json.add("components", strings(issue.getComponents()));
+        issue.getSummary().ifPresent(summary -> json.add("summary", summary));
+        issue.getDescription().ifPresent(description -> json.add("description", description));
+        issue.getAssignee().ifPresent(user -> json.add("assignee", user(user)));
+        issue.getReporter().ifPresent(user -> json.add("reporter", user(user)));
+        if (issue.getStage() != null) {
+            JsonObjectBuilder stage = Json.createObjectBuilder();
+            issue.getStage().getStateMap().forEach((flag, status) -> stage.add(flag.name(), status.name()));
+            json.add("stage", stage);
+        }
+        add(json, "status", issue.getStatus());
+        add(json, "rawStatus", issue.getRawStatus());
+        add(json, "priority", issue.getPriority());
+        add(json, "type", issue.getType());
+        add(json, "rawType", issue.getRawType());
+        json.add("affectedVersions", strings(issue.getAffectedVersions()));
+        JsonArrayBuilder releases = Json.createArrayBuilder();
+        for (Release release : issue.getReleases()) {
+            JsonObjectBuilder r = Json.createObjectBuilder();
+            release.getVersion().ifPresent(version -> r.add("version", version));
+            release.getMilestone().ifPresent(milestone -> r.add("milestone", milestone));
+            releases.add(r);
+        }
+        json.add("releases", releases);
+        JsonObjectBuilder streamStatus = Json.createObjectBuilder();
+        issue.getStreamStatus().forEach((stream, status) -> streamStatus.add(stream, status.name()));
+        json.add("streamStatus", streamStatus);
+        json.add("dependsOn", strings(issue.getDependsOn()));
+        json.add("blocks", strings(issue.getBlocks()));
+        issue.getCreationTime().ifPresent(date -> json.add("creationTime", date.getTime()));
+        issue.getLastUpdated().ifPresent(date -> json.add("lastUpdated", date.getTime()));
+        issue.getEstimation().ifPresent(estimation -> json.add("estimation", Json.createObjectBuilder()
+                .add("initialEstimate", estimation.getInitialEstimate())
+                .add("hoursWorked", estimation.getHoursWorked())));
+        JsonArrayBuilder comments = Json.createArrayBuilder();
+        for (Comment comment : issue.getComments()) {
+            JsonObjectBuilder c = Json.createObjectBuilder();
+            comment.getParentIssueId().ifPresent(id -> c.add("parentIssueId", id));
+            comment.getId().ifPresent(id -> c.add("id", id));
+            add(c, "body", comment.getBody());
+            comments.add(c.add("private", comment.isPrivate()));
+        }
+        json.add("comments", comments);
+        IssueSnapshotCodec<?> codec = ISSUE_CODECS.get(issue.getTrackerType());
+        if (codec != null && codec.getIssueClass().isInstance(issue))
+            json.add("extension", encodeExtension(codec, issue));
+        return json.build().toString();
+    }
+
+    static Issue decodeIssue(String document) throws MalformedURLException {
+        JsonObject json = read(document);
+        String trackerType = json.getString("trackerType", null);
+        URL url = new URL(json.getString("url"));
+        IssueSnapshotCodec<?> codec = trackerType != null ? ISSUE_CODECS.get(TrackerType.valueOf(trackerType)) : null;
+        Issue issue = codec != null ? codec.newIssue(url) : new Issue(url, trackerType != null ? TrackerType.valueOf(trackerType) : null);
+        issue.setTrackerId(json.getString("trackerId", null));
+        issue.setProduct(json.getString("product", null));
+        issue.setComponents(strings(json.getJsonArray("components"), Function.identity()));
+        issue.setSummary(json.getString("summary", null));
+        issue.setDescription(json.getString("description", null));
+        issue.setAssignee(user(json.getJsonObject("assignee")));
+        issue.setReporter(user(json.getJsonObject("reporter")));
+        JsonObject stage = json.getJsonObject("stage");
+        if (stage != null)
+            stage.forEach((flag, status) -> issue.getStage().setStatus(Flag.valueOf(flag), FlagStatus.valueOf(((JsonString) status).getString())));
+        if (json.containsKey("status"))
+            issue.setStatus(IssueStatus.valueOf(json.getString("status")), json.getString("rawStatus", null));
+        if (json.containsKey("priority"))
+            issue.setPriority(IssuePriority.valueOf(json.getString("priority")));
+        if (json.containsKey("type"))
+            issue.setType(IssueType.valueOf(json.getString("type")), json.getString("rawType", null));
+        issue.setAffectedVersions(strings(json.getJsonArray("affectedVersions"), Function.identity()));
+        List<Release> releases = new ArrayList<>();
+        for (JsonObject release : json.getJsonArray("releases").getValuesAs(JsonObject.class))
+            releases.add(new Release(release.getString("version", null), release.getString("milestone", null)));
+        issue.setReleases(releases);
+        Map<String, FlagStatus> streamStatus = new HashMap<>();
+        json.getJsonObject("streamStatus").forEach((stream, status) -> streamStatus.put(stream, FlagStatus.valueOf(((JsonString) status).getString())));
+        issue.setStreamStatus(streamStatus);
+        issue.setDependsOn(strings(json.getJsonArray("dependsOn"), SnapshotCodec::url));
+        issue.setBlocks(strings(json.getJsonArray("blocks"), SnapshotCodec::url));
+        issue.setCreationTime(date(json, "creationTime"));
+        issue.setLastUpdated(date(json, "lastUpdated"));
+        JsonObject estimation = json.getJsonObject("estimation");
+        if (estimation != null)
+            issue.setEstimation(new IssueEstimation(estimation.getJsonNumber("initialEstimate").doubleValue(),
+                    estimation.getJsonNumber("hoursWorked").doubleValue()));
+        List<Comment> comments = new ArrayList<>();
+        for (JsonObject comment : json.getJsonArray("comments").getValuesAs(JsonObject.class))
+            comments.add(new Comment(comment.getString("parentIssueId", null), comment.getString("id", null),
+                    comment.getString("body", null), comment.getBoolean("private", false)));
+        issue.setComments(comments);
+        if (codec != null && json.containsKey("extension"))
+            decodeExtension(codec, json.getJsonObject("extension"), issue);
+        return issue;
+    }
+
+    private static <T extends Issue> JsonObjectBuilder encodeExtension(IssueSnapshotCodec<T> codec, Issue issue) {
+        JsonObjectBuilder json = Json.createObjectBuilder();
+        codec.encode(codec.getIssueClass().cast(issue), json);
+        return json;
+    }
+
+    private static <T extends Issue> void decodeExtension(IssueSnapshotCodec<T> codec, JsonObject json, Issue issue) {
+        codec.decode(json, codec.getIssueClass().cast(issue));
+    }
+
+    static String encode(PullRequest pullRequest) {
+        JsonObjectBuilder json = Json.createObjectBuilder()
+                .add("url", pullRequest.getURL().toString());
+        add(json, "id", pullRequest.getId());
+        if (pullRequest.getRepository() != null)
+            json.add("repository", pullRequest.getRepository().getURL().toString());
+        if (pullRequest.getCodebase() != null)
+            add(json, "codebase", pullRequest.getCodebase().getName());
+        add(json, "state", pullRequest.getState());
+        add(json, "title", pullRequest.getTitle());
+        add(json, "body", pullRequest.getBody());
+        json.add("mergeable", pullRequest.isMergeable());
+        json.add("merged", pullRequest.isMerged());
+        add(json, "mergeableState", pullRequest.getMergableState());
+        if (pullRequest.getMergedAt() != null)
+            json.add("mergedAt", pullRequest.getMergedAt().getTime());
+        if (pullRequest.getUpdatedAt() != null)
+            json.add("updatedAt", pullRequest.getUpdatedAt().getTime());
+        JsonArrayBuilder commits = Json.createArrayBuilder();
+        for (Commit commit : pullRequest.getCommits()) {
+            JsonObjectBuilder c = Json.createObjectBuilder();
+            add(c, "sha", commit.getSha());
+            add(c, "message", commit.getMessage());
+            commits.add(c);
+        }
+        json.add("commits", commits);
+        return json.build().toString();
+    }
+
+    static PullRequest decodePullRequest(String document) throws MalformedURLException {
+        JsonObject json = read(document);
+        String repository = json.getString("repository", null);
+        String codebase = json.getString("codebase", null);
+        String state = json.getString("state", null);
+        String mergeableState = json.getString("mergeableState", null);
+        List<Commit> commits = new ArrayList<>();
+        for (JsonObject commit : json.getJsonArray("commits").getValuesAs(JsonObject.class))
+            commits.add(new Commit(commit.getString("sha", null), commit.getString("message", null)));
+        PullRequest pullRequest = new PullRequest(json.getString("id", null), new URL(json.getString("url")),
+                repository != null ? new Repository(new URL(repository)) : null,
+                codebase != null ? new Codebase(codebase) : null,
+                state != null ? PullRequestState.valueOf(state) : null,
+                json.getString("title", null), json.getString("body", null),
+                json.getBoolean("mergeable", false), json.getBoolean("merged", false),
+                mergeableState != null ? MergeableState.valueOf(mergeableState) : null,
+                date(json, "mergedAt"), commits);
+        pullRequest.setUpdatedAt(date(json, "updatedAt"));
+        return pullRequest;
+    }
+
+    private static JsonObject read(String document) {
+        try (JsonReader reader = Json.createReader(new StringReader(document))) {
+            return reader.readObject();
+        }
+    }
+
+    private static void add(JsonObjectBuilder json, String name, Object value) {
+        if (value instanceof Enum)
+            json.add(name, ((Enum<?>) value).name());
+        else if (value != null)
+            json.add(name, value.toString());
+    }
+
+    private static JsonArrayBuilder strings(Collection<?> values) {
+        JsonArrayBuilder array = Json.createArrayBuilder();
+        if (values != null)
+            values.forEach(value -> array.add(value.toString()));
+        return array;
+    }
+
+    private static <T> List<T> strings(JsonArray array, Function<String, T> converter) {
+        List<T> values = new ArrayList<>();
+        if (array != null) {
+            for (JsonValue value : array)
+                values.add(converter.apply(((JsonString) value).getString()));
+        }
+        return values;
+    }
+
+    private static JsonObjectBuilder user(User user) {
+        JsonObjectBuilder json = Json.createObjectBuilder();
+        user.getEmail().ifPresent(email -> json.add("email", email));
+        user.getName().ifPresent(name -> json.add("name", name));
+        return json;
+    }
+
+    private static User user(JsonObject json) {
+        return json != null ? new User(json.getString("email", null), json.getString("name", null)) : null;
+    }
+
+    private static Date date(JsonObject json, String name) {
+        return json.containsKey(name) ? new Date(json.getJsonNumber(name).longValue()) : null;
+    }
+
+    private static URL url(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.snapshot;
+
+/**
+ * How Aphrodite uses its {@link SnapshotStore}.
+ */
+public enum SnapshotMode {
+    /** Every issue and pull request retrieved from a remote service is stored, reads always go to the service. */
+    WRITE_THROUGH,
+    /**
+     * Reads are served from the store when it has a snapshot, which is revalidated against the remote service in the
+     * background once per run. Anything not in the store is retrieved and stored.
+     */
+    WARM_START,
+    /** Reads are only served from the store, no remote service is contacted. */
+    OFFLINE;
+
+    public static SnapshotMode fromString(String mode) {
+        if (mode == null)
+            return WRITE_THROUGH;
+        return valueOf(mode.trim().toUpperCase().replace('-', '_'));
+    }
+}
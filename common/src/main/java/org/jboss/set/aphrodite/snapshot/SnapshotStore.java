@@ -0,0 +1,429 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+
+/**
+ * An on-disk store of <code>Issue</code> and <code>PullRequest</code> snapshots keyed by URL, so that a new process
+ * can start from what the previous one retrieved.
+ * <p>
+ * Snapshots are appended to a single log file, a newer snapshot of the same URL supersedes the older one. Each
+ * record consists of a header holding its kind, the time it was retrieved, the last update time reported by the
+ * remote service, its lengths and the CRC-32 of its content, followed by the URL and the snapshot as a UTF-8 JSON
+ * document. The index of the latest record of every URL is kept in memory and rebuilt by scanning the log when the
+ * store is opened; the log is truncated at the first record which is incomplete or does not match its checksum, as
+ * left by a crash. Removing a URL appends a record without a snapshot. The log is compacted as soon as more than half
+ * of it is taken by superseded records.
+ */
+public class SnapshotStore implements AutoCloseable {
+
+    private static final Log LOG = LogFactory.getLog(SnapshotStore.class);
+
+    static final String LOG_FILE = "snapshots.log";
+    private static final int MAGIC = 0x41504832; // APH2
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 8 + 4 + 4 + 4;
+    private static final byte ISSUE = 'I';
+    private static final byte PULL_REQUEST = 'P';
+    private static final byte REMOVED = 'R';
+    private static final long MIN_COMPACTION_SIZE = 1024 * 1024;
+
+    private final Path directory;
+    private final Path file;
+    private final long minCompactionSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private FileChannel channel;
+    private long size;
+    private long liveBytes;
+
+    /**
+     * Open the store kept in the given directory, creating it if needed.
+     *
+     * @param directory the directory holding the log file.
+     * @throws IOException if the log can not be read or created.
+     */
+    public SnapshotStore(Path directory) throws IOException {
+        this(directory, MIN_COMPACTION_SIZE);
+    }
+
+    SnapshotStore(Path directory, long minCompactionSize) throws IOException {
+        this.directory = directory;
+        this.file = directory.resolve(LOG_FILE);
+        this.minCompactionSize = minCompactionSize;
+        Files.createDirectories(directory);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        load();
+        if (size >= minCompactionSize)
+            compactIfWasteful();
+    }
+
+    public Optional<Issue> getIssue(URL url) {
+        return read(url, ISSUE).map(document -> {
+            try {
+                return SnapshotCodec.decodeIssue(document);
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException("Corrupt snapshot of " + url, e);
+            }
+        });
+    }
+
+    public Optional<PullRequest> getPullRequest(URL url) {
+        return read(url, PULL_REQUEST).map(document -> {
+            try {
+                return SnapshotCodec.decodePullRequest(document);
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException("Corrupt snapshot of " + url, e);
+            }
+        });
+    }
+
+    /**
+     * Return the pull requests of a repository which have the given state.
+     *
+     * @param repository the URL of the repository.
+     * @param state the state of the pull requests, or <code>null</code> for any state.
+     * @return the matching pull requests, in no particular order.
+     */
+    public List<PullRequest> getPullRequests(URL repository, PullRequestState state) {
+        String prefix = repository.toString().endsWith("/") ? repository.toString() : repository + "/";
+        List<PullRequest> pullRequests = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : index.entrySet()) {
+            if (entry.getValue().kind == PULL_REQUEST && entry.getKey().startsWith(prefix)) {
+                try {
+                    getPullRequest(new URL(entry.getKey()))
+                            .filter(pullRequest -> state == null || pullRequest.getState() == state)
+                            .ifPresent(pullRequests::add);
+                } catch (MalformedURLException e) {
+                    Utils.logException(LOG, e);
+                }
+            }
+        }
+        return pullRequests;
+    }
+
+    /**
+     * @return the time the latest snapshot of the URL was retrieved, if there is one.
+     */
+    public Optional<Date> getRetrievedAt(URL url) {
+        Entry entry = index.get(url.toString());
+        return entry != null ? Optional.of(new Date(entry.retrievedAt)) : Optional.empty();
+    }
+
+    /**
+     * @return the last update time the remote service reported for the latest snapshot of the URL, if known.
+     */
+    public Optional<Date> getLastUpdated(URL url) {
+        Entry entry = index.get(url.toString());
+        return entry != null && entry.lastUpdated > 0 ? Optional.of(new Date(entry.lastUpdated)) : Optional.empty();
+    }
+
+    public void putIssue(Issue issue) {
+        long lastUpdated = issue.getLastUpdated().map(Date::getTime).orElse(0L);
+        append(issue.getURL().toString(), ISSUE, lastUpdated, SnapshotCodec.encode(issue));
+    }
+
+    public void putPullRequest(PullRequest pullRequest) {
+        long lastUpdated = pullRequest.getUpdatedAt() != null ? pullRequest.getUpdatedAt().getTime() : 0;
+        append(pullRequest.getURL().toString(), PULL_REQUEST, lastUpdated, SnapshotCodec.encode(pullRequest));
+    }
+
+    /**
+     * Replace the pull requests of a repository which have the given state by a freshly retrieved list of them. The
+     * snapshots of those which are no longer in the list are removed, as their new state is not known.
+     *
+     * @param repository the URL of the repository.
+     * @param state the state of the pull requests.
+     * @param pullRequests all the pull requests of the repository which have the given state.
+     */
+    public void putPullRequests(URL repository, PullRequestState state, List<PullRequest> pullRequests) {
+        Set<String> urls = new HashSet<>();
+        for (PullRequest pullRequest : pullRequests)
+            urls.add(pullRequest.getURL().toString());
+
+        lock.writeLock().lock();
+        try {
+            for (PullRequest stored : getPullRequests(repository, state)) {
+                if (!urls.contains(stored.getURL().toString()))
+                    remove(stored.getURL());
+            }
+            pullRequests.forEach(this::putPullRequest);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forget the snapshot of a URL, for instance because it is known to be out of date.
+     *
+     * @return <code>true</code> if there was a snapshot of the URL.
+     */
+    public boolean remove(URL url) {
+        if (!index.containsKey(url.toString()))
+            return false;
+        append(url.toString(), REMOVED, 0, "");
+        return true;
+    }
+
+    /**
+     * @return the number of URLs with a snapshot.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Rewrite the log with only the latest snapshot of every URL.
+     *
+     * @throws IOException if the log can not be rewritten, in which case the current log is kept.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            Path compacted = directory.resolve(LOG_FILE + ".compact");
+            Map<String, Entry> entries = new ConcurrentHashMap<>();
+            long position = 0;
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Map.Entry<String, Entry> e : index.entrySet()) {
+                    Entry entry = e.getValue();
+                    ByteBuffer record = ByteBuffer.allocate(entry.length);
+                    readFully(record, entry.offset);
+                    record.flip();
+                    while (record.hasRemaining())
+                        out.write(record);
+                    entries.put(e.getKey(), new Entry(entry.kind, position, entry.length, entry.documentOffset, entry.retrievedAt, entry.lastUpdated));
+                    position += entry.length;
+                }
+                out.force(true);
+            }
+            channel.close();
+            try {
+                replaceLog(compacted);
+            } finally {
+                // the compacted log if it replaced the current one, the current one otherwise
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            index.clear();
+            index.putAll(entries);
+            size = position;
+            liveBytes = position;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!channel.isOpen())
+                return;
+            if (size >= minCompactionSize)
+                compactQuietly();
+            channel.force(true);
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void replaceLog(Path compacted) throws IOException {
+        try {
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+    }
+
+    private void compactIfWasteful() throws IOException {
+        if (liveBytes * 2 < size)
+            compact();
+    }
+
+    private void compactQuietly() {
+        try {
+            compactIfWasteful();
+        } catch (IOException e) {
+            // the record is stored, a log which can not be compacted is only larger than needed
+            Utils.logException(LOG, "Unable to compact " + file, e);
+        }
+    }
+
+    private Optional<String> read(URL url, byte kind) {
+        lock.readLock().lock();
+        try {
+            Entry entry = index.get(url.toString());
+            if (entry == null || entry.kind != kind)
+                return Optional.empty();
+
+            int documentLength = entry.length - entry.documentOffset;
+            ByteBuffer document = ByteBuffer.allocate(documentLength);
+            readFully(document, entry.offset + entry.documentOffset);
+            return Optional.of(new String(document.array(), 0, documentLength, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read the snapshot of " + url, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(String url, byte kind, long lastUpdated, String document) {
+        byte[] key = url.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        long retrievedAt = System.currentTimeMillis();
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        crc.update(bytes);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + key.length + bytes.length);
+        record.putInt(MAGIC).put(kind).putLong(retrievedAt).putLong(lastUpdated).putInt(key.length).putInt(bytes.length)
+                .putInt((int) crc.getValue()).put(key).put(bytes).flip();
+
+        lock.writeLock().lock();
+        try {
+            long offset = size;
+            while (record.hasRemaining())
+                channel.write(record, offset + record.position());
+            size += record.limit();
+            Entry previous;
+            if (kind == REMOVED) {
+                previous = index.remove(url);
+            } else {
+                liveBytes += record.limit();
+                previous = index.put(url, new Entry(kind, offset, record.limit(), HEADER_SIZE + key.length, retrievedAt, lastUpdated));
+            }
+            if (previous != null)
+                liveBytes -= previous.length;
+            if (size >= minCompactionSize)
+                compactQuietly();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to store the snapshot of " + url, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        long fileSize = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (position + HEADER_SIZE <= fileSize) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int magic = header.getInt();
+            byte kind = header.get();
+            long retrievedAt = header.getLong();
+            long lastUpdated = header.getLong();
+            int urlLength = header.getInt();
+            int documentLength = header.getInt();
+            int checksum = header.getInt();
+            if (magic != MAGIC || urlLength < 0 || documentLength < 0
+                    || position + HEADER_SIZE + urlLength + documentLength > fileSize)
+                break;
+
+            int recordLength = HEADER_SIZE + urlLength + documentLength;
+            ByteBuffer content = ByteBuffer.allocate(urlLength + documentLength);
+            readFully(content, position + HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(content.array());
+            if ((int) crc.getValue() != checksum)
+                break;
+            String key = new String(content.array(), 0, urlLength, StandardCharsets.UTF_8);
+            Entry previous;
+            if (kind == REMOVED) {
+                previous = index.remove(key);
+            } else {
+                liveBytes += recordLength;
+                previous = index.put(key, new Entry(kind, position, recordLength, HEADER_SIZE + urlLength, retrievedAt, lastUpdated));
+            }
+            if (previous != null)
+                liveBytes -= previous.length;
+            position += recordLength;
+        }
+        if (position < fileSize) {
+            Utils.logWarnMessage(LOG, "Truncating " + (fileSize - position) + " bytes of incomplete or corrupt snapshots from " + file);
+            channel.truncate(position);
+        }
+        size = position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0)
+                throw new IOException("Unexpected end of " + file);
+        }
+    }
+
+    private static final class Entry {
+        private final byte kind;
+        private final long offset;
+        private final int length;
+        private final int documentOffset;
+        private final long retrievedAt;
+        private final long lastUpdated;
+
+        Entry(byte kind, long offset, int length, int documentOffset, long retrievedAt, long lastUpdated) {
+            this.kind = kind;
+            this.offset = offset;
+            this.length = length;
+            this.documentOffset = documentOffset;
+            this.retrievedAt = retrievedAt;
+            this.lastUpdated = lastUpdated;
+        }
+    }
+}
@@ -34,8 +34,15 @@ import org.jboss.set.aphrodite.issue.trackers.common.IssueCreationDetails;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 public interface IssueTrackerService {
 
@@ -121,6 +128,110 @@ public interface IssueTrackerService {
      */
     List<Issue> searchIssuesByFilter(URL filterUrl) throws NotFoundException;
 
+    /**
+     * Return the issues which match the provided filter and were updated at or after <code>updatedSince</code>. The
+     * default implementation runs the whole filter and drops the older issues, services should override it to send
+     * the restriction to the issue tracker.
+     *
+     * @param filterUrl the url of the issue tracker filtered to be applied.
+     * @param updatedSince the earliest update time of the returned issues, or <code>null</code> for all issues.
+     * @return a list of the <code>Issue</code> objects returned by the filter which were updated since the given time.
+     * @throws NotFoundException if the filterURL is not associated with any filters.
+     */
+    default List<Issue> searchIssuesByFilter(URL filterUrl, Date updatedSince) throws NotFoundException {
+        List<Issue> issues = searchIssuesByFilter(filterUrl);
+        if (updatedSince == null)
+            return issues;
+
+        return issues.stream()
+                .filter(issue -> issue.getLastUpdated().map(lastUpdated -> !lastUpdated.before(updatedSince)).orElse(true))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Return the <code>Executor</code> used by the default asynchronous methods of this service to offload
+     * their blocking counterparts. Implementations should return the executor of the <code>AphroditeConfig</code>
+     * they were initialised with.
+     *
+     * @return the <code>Executor</code> used for asynchronous requests.
+     */
+    default Executor getAsyncExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Asynchronous variant of {@link #getIssue(URL)}. The default implementation runs the blocking method on
+     * {@link #getAsyncExecutor()}, services with a non-blocking client should override it.
+     *
+     * @param url the <code>URL</code> of the issue to be retrieved.
+     * @return a <code>CompletableFuture</code> completed with the <code>Issue</code> associated with the provided
+     *         <code>URL</code>, or completed exceptionally with a <code>NotFoundException</code> as cause if the
+     *         <code>URL</code> is not associated with an issue.
+     */
+    default CompletableFuture<Issue> getIssueAsync(URL url) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getIssue(url);
+            } catch (NotFoundException e) {
+                throw new CompletionException(e);
+            }
+        }, getAsyncExecutor());
+    }
+
+    /**
+     * Asynchronous variant of {@link #getIssues(Collection)}.
+     *
+     * @param urls a collection of issue URLs.
+     * @return a <code>CompletableFuture</code> completed with the list of <code>Issue</code> objects associated
+     *         with the provided urls.
+     */
+    default CompletableFuture<List<Issue>> getIssuesAsync(Collection<URL> urls) {
+        return CompletableFuture.supplyAsync(() -> getIssues(urls), getAsyncExecutor());
+    }
+
+    /**
+     * Asynchronous variant of {@link #searchIssues(SearchCriteria)}.
+     *
+     * @param searchCriteria all set fields will be search for.
+     * @return a <code>CompletableFuture</code> completed with the list of all <code>Issue</code> objects which
+     *         match the specified searchCriteria.
+     */
+    default CompletableFuture<List<Issue>> searchIssuesAsync(SearchCriteria searchCriteria) {
+        return CompletableFuture.supplyAsync(() -> searchIssues(searchCriteria), getAsyncExecutor());
+    }
+
+    /**
+     * Asynchronous variant of {@link #getIssuesAssociatedWith(PullRequest)}.
+     *
+     * @param pullRequest the <code>PullRequest</code> object whoms associated Issues should be returned.
+     * @return a <code>CompletableFuture</code> completed with the list of all associated <code>Issue</code> objects.
+     */
+    default CompletableFuture<List<Issue>> getIssuesAssociatedWithAsync(PullRequest pullRequest) {
+        return CompletableFuture.supplyAsync(() -> getIssuesAssociatedWith(pullRequest), getAsyncExecutor());
+    }
+
+    /**
+     * Bulk variant of {@link #getIssuesAssociatedWithAsync(PullRequest)}. The default implementation requests the
+     * issues of every pull request separately, services should override it to fetch the issues of all pull requests
+     * at once through {@link #getIssuesAsync(Collection)}.
+     *
+     * @param pullRequests the <code>PullRequest</code> objects whose associated Issues should be returned.
+     * @return a <code>CompletableFuture</code> completed with the associated <code>Issue</code> objects of every
+     *         pull request, in the order of <code>pullRequests</code>. Pull requests without issues map to an empty list.
+     */
+    default CompletableFuture<Map<PullRequest, List<Issue>>> getIssuesAssociatedWithAsync(Collection<PullRequest> pullRequests) {
+        Map<PullRequest, CompletableFuture<List<Issue>>> requests = new LinkedHashMap<>();
+        for (PullRequest pullRequest : pullRequests)
+            requests.computeIfAbsent(pullRequest, this::getIssuesAssociatedWithAsync);
+
+        return CompletableFuture.allOf(requests.values().toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    Map<PullRequest, List<Issue>> issues = new LinkedHashMap<>();
+                    requests.forEach((pullRequest, request) -> issues.put(pullRequest, request.join()));
+                    return issues;
+                });
+    }
+
     /**
      * Update an <code>Issue</code> at the remote issue tracker service.
      *
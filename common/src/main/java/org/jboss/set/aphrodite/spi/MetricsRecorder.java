@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.spi;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.set.aphrodite.metrics.OperationMetrics;
+
+/**
+ * Receives the timing, payload size and cache measurements taken by Aphrodite and its services. A backend is the
+ * issue tracker id or repository type an operation was sent to, an operation is the name of the
+ * <code>Aphrodite</code> method, e.g. <code>getIssue</code> or <code>getPullRequestsByState</code>.
+ * <p>
+ * The first implementation found through the <code>ServiceLoader</code> is used when Aphrodite is initialised,
+ * otherwise measurements are discarded by {@link #NO_OP} unless a recorder is set through
+ * {@link org.jboss.set.aphrodite.Aphrodite#setMetricsRecorder(MetricsRecorder)}. Implementations are called
+ * concurrently from the request threads and must not block.
+ */
+public interface MetricsRecorder {
+
+    MetricsRecorder NO_OP = new MetricsRecorder() {
+    };
+
+    /**
+     * Record a completed request.
+     *
+     * @param backend the issue tracker or repository the request was sent to.
+     * @param operation the name of the operation.
+     * @param durationNanos the time taken by the request.
+     * @param error the exception the request failed with, or <code>null</code> if it succeeded.
+     */
+    default void recordRequest(String backend, String operation, long durationNanos, Throwable error) { }
+
+    /**
+     * Record the size of a response.
+     *
+     * @param backend the issue tracker or repository the response was received from.
+     * @param operation the name of the operation.
+     * @param size the number of entities, e.g. issues or pull requests, in the response.
+     */
+    default void recordPayloadSize(String backend, String operation, long size) { }
+
+    /**
+     * Record a lookup in one of the caches kept by a service.
+     *
+     * @param backend the issue tracker or repository owning the cache.
+     * @param cache the name of the cache.
+     * @param hit <code>true</code> if the value was served from the cache.
+     */
+    default void recordCacheAccess(String backend, String cache, boolean hit) { }
+
+    /**
+     * @return the measurements aggregated by this recorder, or an empty list if they are published elsewhere.
+     */
+    default List<OperationMetrics> snapshot() {
+        return Collections.emptyList();
+    }
+}
@@ -23,7 +23,13 @@
 package org.jboss.set.aphrodite.spi;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import org.jboss.set.aphrodite.config.AphroditeConfig;
 import org.jboss.set.aphrodite.config.RepositoryConfig;
@@ -115,6 +121,94 @@ public interface RepositoryService {
      */
     List<PullRequest> getPullRequestsByState(Repository repository, PullRequestState state) throws NotFoundException;
 
+    /**
+     * Return the <code>Executor</code> used by the default asynchronous methods of this service to offload
+     * their blocking counterparts. Implementations should return the executor of the <code>AphroditeConfig</code>
+     * they were initialised with.
+     *
+     * @return the <code>Executor</code> used for asynchronous requests.
+     */
+    default Executor getAsyncExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Asynchronous variant of {@link #getRepository(URL)}. The default implementation runs the blocking method on
+     * {@link #getAsyncExecutor()}.
+     *
+     * @param url the <code>URL</code> of the repository to be retrieved.
+     * @return a <code>CompletableFuture</code> completed with the <code>Repository</code>, or completed exceptionally
+     *         with a <code>NotFoundException</code> as cause if it cannot be found at the provided base url.
+     */
+    default CompletableFuture<Repository> getRepositoryAsync(URL url) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getRepository(url);
+            } catch (NotFoundException e) {
+                throw new CompletionException(e);
+            }
+        }, getAsyncExecutor());
+    }
+
+    /**
+     * Asynchronous variant of {@link #getPullRequest(URL)}. The default implementation runs the blocking method on
+     * {@link #getAsyncExecutor()}.
+     *
+     * @param url the <code>URL</code> of the pull request to be retrieved.
+     * @return a <code>CompletableFuture</code> completed with the <code>PullRequest</code>, or completed exceptionally
+     *         with a <code>NotFoundException</code> as cause if it cannot be found at the provided base url.
+     */
+    default CompletableFuture<PullRequest> getPullRequestAsync(URL url) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getPullRequest(url);
+            } catch (NotFoundException e) {
+                throw new CompletionException(e);
+            }
+        }, getAsyncExecutor());
+    }
+
+    /**
+     * Retrieve the pull requests of a <code>Repository</code>, in any state, which were updated at or after
+     * <code>updatedSince</code>. Pull requests which were closed since then are included, so callers can tell them
+     * apart from those which did not change. The default implementation lists the open and the closed pull requests
+     * and drops the older ones, services should override it to only list the recently updated ones.
+     *
+     * @param repository the <code>Repository</code> object whose associated pull requests should be returned.
+     * @param updatedSince the earliest update time of the returned pull requests.
+     * @return the pull requests updated since the given time.
+     * @throws NotFoundException if the <code>Repository</code> cannot be found at the RepositoryService.
+     */
+    default List<PullRequest> getPullRequestsUpdatedSince(Repository repository, Date updatedSince) throws NotFoundException {
+        List<PullRequest> pullRequests = new ArrayList<>();
+        for (PullRequestState state : new PullRequestState[] {PullRequestState.OPEN, PullRequestState.CLOSED}) {
+            for (PullRequest pullRequest : getPullRequestsByState(repository, state)) {
+                if (pullRequest.getUpdatedAt() == null || !pullRequest.getUpdatedAt().before(updatedSince))
+                    pullRequests.add(pullRequest);
+            }
+        }
+        return pullRequests;
+    }
+
+    /**
+     * Asynchronous variant of {@link #getPullRequestsByState(Repository, PullRequestState)}.
+     *
+     * @param repository the <code>Repository</code> object whose associated pull requests should be returned.
+     * @param state the <code>PullRequestsState</code> which the returned <code>PullRequest</code> objects must have.
+     * @return a <code>CompletableFuture</code> completed with the list of all matching <code>PullRequest</code>
+     *         objects, or completed exceptionally with a <code>NotFoundException</code> as cause if the
+     *         <code>Repository</code> cannot be found at the RepositoryService.
+     */
+    default CompletableFuture<List<PullRequest>> getPullRequestsByStateAsync(Repository repository, PullRequestState state) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getPullRequestsByState(repository, state);
+            } catch (NotFoundException e) {
+                throw new CompletionException(e);
+            }
+        }, getAsyncExecutor());
+    }
+
     /**
      * Retrieve all labels associated with the provided <code>PullRequest</code> in <code>Repository</code> object.
      * @param repository the <code>Repository<code> object whose associated labels should be returned.
@@ -209,6 +303,15 @@ public interface RepositoryService {
     @Deprecated
     CommitStatus getCommitStatusFromPullRequest(PullRequest pullRequest) throws NotFoundException;
 
+    /**
+     * Forget anything cached about the pull request, commit or repository at the given URL, because it is known to
+     * have changed, for instance from a webhook. The default implementation caches nothing.
+     *
+     * @param url the <code>URL</code> of a pull request, a commit or a repository.
+     */
+    default void invalidate(URL url) {
+    }
+
     /**
      * allows to destroy and deallocate resources
      */
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.spi;
+
+/**
+ * Creates the spans traced around Aphrodite facade calls and the tracker, page and HTTP requests they fan out to.
+ * The interface follows the shape of the OpenTelemetry tracing API, so an implementation can delegate each
+ * call to an OpenTelemetry <code>Tracer</code> and <code>Span</code>.
+ * <p>
+ * The first implementation found through the <code>ServiceLoader</code> is used when Aphrodite is initialised,
+ * otherwise no spans are created by {@link #NO_OP} unless a tracer is set through
+ * {@link org.jboss.set.aphrodite.Aphrodite#setTracer(Tracer)}.
+ */
+public interface Tracer {
+
+    Tracer NO_OP = (name, parent) -> Span.NO_OP;
+
+    /**
+     * Start a new span.
+     *
+     * @param name the name of the span, e.g. <code>Aphrodite.searchIssues</code>
+     * @param parent the span the new span is a child of, or {@link Span#NO_OP} for a root span.
+     * @return the started span, which must be ended by the caller.
+     */
+    Span startSpan(String name, Span parent);
+
+    /**
+     * A unit of work traced by a {@link Tracer}.
+     */
+    interface Span {
+
+        Span NO_OP = new Span() {
+        };
+
+        default Span setAttribute(String key, String value) {
+            return this;
+        }
+
+        default Span setAttribute(String key, long value) {
+            return this;
+        }
+
+        /**
+         * Mark the span as failed with the given exception.
+         */
+        default Span recordException(Throwable exception) {
+            return this;
+        }
+
+        default void end() { }
+    }
+}
@@ -28,22 +28,21 @@ import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-
-import javax.json.Json;
-import javax.json.JsonObject;
-import javax.json.JsonWriter;
-import javax.json.JsonWriterFactory;
-import javax.json.stream.JsonGenerator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jboss.set.aphrodite.Aphrodite;
+import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.config.AphroditeConfig;
 import org.jboss.set.aphrodite.config.StreamConfig;
 import org.jboss.set.aphrodite.config.StreamType;
@@ -65,102 +64,199 @@ import org.jboss.set.aphrodite.spi.StreamService;
 public class JsonStreamService implements StreamService {
     private static final Log LOG = LogFactory.getLog(JsonStreamService.class);
 
-    private final Map<String, Stream> parsedStreamsMap = new LinkedHashMap<>();
-    // DO NOT CHANGE THIS
-    // this collection contain mapping of url to list of streams. Order of those MUST be retained
-    // as on READ operation. We write from this structure, if order change, huge diff on small change
-    // might happen. We store LinkedHashMap.values(), which retain order from map
-    private final Map<URL, Collection<Stream>> urlToParsedStreams = new LinkedHashMap<>();
-    private AphroditeConfig config;
+    // readers only ever dereference this once per call, writers build a new snapshot and swap it in under publishLock
+    private volatile StreamSnapshot snapshot = StreamSnapshot.EMPTY;
+    // serializes refreshes, held while the sources are downloaded
+    private final Object refreshLock = new Object();
+    // serializes swaps of the snapshot, never held during I/O
+    private final Object publishLock = new Object();
+    private final List<StreamSource> sources = new ArrayList<>();
+    private final List<StreamChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private Executor executor;
 
     @Override
     public boolean init(Aphrodite aphrodite, AphroditeConfig config) throws NotFoundException {
-        this.config = config;
-        return updateStreams();
+        this.executor = config.getIoExecutorService();
+        Map<URL, StreamSource> sourcesByURL = new LinkedHashMap<>();
+        for (StreamConfig streamConfig : config.getStreamConfigs()) {
+            if (streamConfig.getStreamType() != StreamType.JSON)
+                continue;
+
+            URL url = getURL(streamConfig);
+            if (url != null)
+                sourcesByURL.putIfAbsent(url, new StreamSource(url));
+        }
+        if (sourcesByURL.isEmpty())
+            return false;
+
+        synchronized (refreshLock) {
+            sources.clear();
+            sources.addAll(sourcesByURL.values());
+        }
+        updateStreams();
+        return true;
+    }
+
+    private static URL getURL(StreamConfig config) throws NotFoundException {
+        if (config.getURL().isPresent())
+            return config.getURL().get();
+
+        if (config.getStreamFile().isPresent()) {
+            try {
+                return config.getStreamFile().get().toURI().toURL();
+            } catch (MalformedURLException e) {
+                throw new NotFoundException(e);
+            }
+        }
+        LOG.error("StreamConfig requires either a URL or File to be specified");
+        return null;
     }
 
+    /**
+     * Reload the streams of every source which has changed since the previous update. All sources are checked
+     * concurrently, a source that has not changed is neither downloaded nor parsed. If any source changed, the
+     * streams of all sources are published at once and the registered {@link StreamChangeListener}s are notified.
+     * <p>
+     * A source which fails to load keeps the streams of its last successful load. The failure is rethrown once the
+     * other sources have been published.
+     * <p>
+     * Readers are never blocked by a refresh, they keep using the previous snapshot until the new one is published.
+     */
     @Override
-    public synchronized boolean updateStreams() throws NotFoundException {
-        Iterator<StreamConfig> i = this.config.getStreamConfigs().iterator();
-        while (i.hasNext()) {
-            StreamConfig streamConfig = i.next();
-            if (streamConfig.getStreamType() == StreamType.JSON) {
-                return init(streamConfig);
+    public boolean updateStreams() throws NotFoundException {
+        synchronized (refreshLock) {
+            return refresh();
+        }
+    }
+
+    private boolean refresh() throws NotFoundException {
+        Map<StreamSource, CompletableFuture<Optional<Map<String, Stream>>>> fetches = new LinkedHashMap<>();
+        for (StreamSource source : sources)
+            fetches.put(source, CompletableFuture.supplyAsync(() -> fetch(source), executor));
+
+        Map<URL, Optional<Map<String, Stream>>> loaded = new LinkedHashMap<>();
+        boolean reloaded = false;
+        NotFoundException failure = null;
+        for (Map.Entry<StreamSource, CompletableFuture<Optional<Map<String, Stream>>>> entry : fetches.entrySet()) {
+            URL url = entry.getKey().getURL();
+            try {
+                Optional<Map<String, Stream>> streams = entry.getValue().join();
+                loaded.put(url, streams);
+                reloaded |= streams.isPresent();
+            } catch (CompletionException e) {
+                loaded.put(url, Optional.empty());
+                NotFoundException cause = e.getCause() instanceof NotFoundException ? (NotFoundException) e.getCause()
+                        : new NotFoundException(e.getCause());
+                if (failure == null)
+                    failure = cause;
+                else
+                    failure.addSuppressed(cause);
             }
         }
-        return false;
+
+        if (reloaded)
+            publish(loaded);
+        if (failure != null)
+            throw failure;
+        return reloaded;
+    }
+
+    private static Optional<Map<String, Stream>> fetch(StreamSource source) {
+        try {
+            return source.fetch();
+        } catch (NotFoundException e) {
+            throw new CompletionException(e);
+        }
     }
 
-    private boolean init(StreamConfig config) throws NotFoundException {
-        URL url = null;
-        if (config.getURL().isPresent()) {
-            url = config.getURL().get();
-        } else if (config.getStreamFile().isPresent()) {
+    /**
+     * Publish a snapshot with the given streams, sources mapped to an empty <code>Optional</code> keep the streams
+     * of the current snapshot.
+     */
+    private void publish(Map<URL, Optional<Map<String, Stream>>> loaded) {
+        StreamSnapshot previous;
+        StreamSnapshot next;
+        synchronized (publishLock) {
+            previous = snapshot;
+            Map<URL, Collection<Stream>> streamsByURL = new LinkedHashMap<>();
+            for (Map.Entry<URL, Optional<Map<String, Stream>>> entry : loaded.entrySet()) {
+                Collection<Stream> current = previous.getStreams(entry.getKey());
+                Collection<Stream> streams = entry.getValue().<Collection<Stream>> map(Map::values)
+                        .orElse(current != null ? current : Collections.emptyList());
+                streamsByURL.put(entry.getKey(), streams);
+            }
+            next = StreamSnapshot.build(streamsByURL);
+            snapshot = next;
+        }
+
+        StreamChangeSet changes = StreamChangeSet.between(previous.getStreams(), next.getStreams());
+        if (changes.isEmpty())
+            return;
+
+        Utils.logDebugMessage(LOG, "Streams changed: " + changes);
+        for (StreamChangeListener listener : listeners) {
             try {
-                url = config.getStreamFile().get().toURI().toURL();
-            } catch (MalformedURLException e) {
-                throw new NotFoundException(e);
+                listener.streamsChanged(changes);
+            } catch (Exception e) {
+                Utils.logException(LOG, "Stream change listener " + listener + " failed", e);
             }
-        } else {
-            LOG.error("StreamConfig requires either a URL or File to be specified");
-            return false;
         }
-        Map<String, Stream> streamsMap = StreamsJsonParser.parse(url);
-        this.parsedStreamsMap.putAll(streamsMap);
-        this.urlToParsedStreams.put(url, streamsMap.values());
-        return true;
     }
 
+    /**
+     * Register a listener which is notified whenever {@link #updateStreams()} changes the streams.
+     *
+     * @param listener the listener to add.
+     */
+    public void addChangeListener(StreamChangeListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeChangeListener(StreamChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the streams of the current snapshot as an unmodifiable list, shared between callers.
+     */
     @Override
-    public synchronized List<Stream> getStreams() {
-        return new ArrayList<>(parsedStreamsMap.values());
+    public List<Stream> getStreams() {
+        return snapshot.getStreams();
     }
 
     @Override
-    public synchronized Stream getStream(String streamName) {
-        return parsedStreamsMap.get(streamName);
+    public Stream getStream(String streamName) {
+        return snapshot.getStream(streamName);
     }
 
     @Override
     public List<URI> getDistinctURLRepositories() {
-        return getStreams().stream().flatMap(stream -> getDistinctURLRepositoriesByStream(stream.getName()).stream())
-                .collect(Collectors.toList());
+        return new ArrayList<>(snapshot.getDistinctURLRepositories());
     }
 
     @Override
     public List<URI> getDistinctURLRepositoriesByStream(String streamName) {
-        Stream stream = getStream(streamName);
-        if (stream == null)
-            return new ArrayList<>();
+        return new ArrayList<>(snapshot.getDistinctURLRepositoriesByStream(streamName));
+    }
 
-        return stream.getAllComponents().stream().map(StreamComponent::getRepositoryURL).distinct()
-                .collect(Collectors.toList());
+    /**
+     * Retrieve all streams which contain a component hosted in the given repository, regardless of its codebase.
+     *
+     * @param repositoryURL the URL of the repository
+     * @return a list of streams, in the order they are defined, or an empty list if none match
+     */
+    public List<Stream> getStreamsBy(URI repositoryURL) {
+        return new ArrayList<>(snapshot.getStreamsBy(repositoryURL));
     }
 
     @Override
     public List<Stream> getStreamsBy(URI repositoryURL, Codebase codebase) {
-        List<Stream> streams = new ArrayList<>();
-        for (Stream stream : getStreams()) {
-            for (StreamComponent component : stream.getAllComponents()) {
-                if (component.getRepositoryURL().equals(repositoryURL) && component.getCodebase().equals(codebase)) {
-                    streams.add(stream);
-                    break; // Go to next stream
-                }
-            }
-        }
-        return streams;
+        return new ArrayList<>(snapshot.getStreamsBy(repositoryURL, codebase));
     }
 
     @Override
     public StreamComponent getComponentBy(URI repositoryURL, Codebase codebase) {
-        for (Stream stream : getStreams()) {
-            for (StreamComponent component : stream.getAllComponents()) {
-                if (component.getRepositoryURL().equals(repositoryURL) && component.getCodebase().equals(codebase)) {
-                    return component;
-                }
-            }
-        }
-        return null;
+        return snapshot.getComponentBy(repositoryURL, codebase);
     }
 
     @Override
@@ -174,29 +270,19 @@ public class JsonStreamService implements StreamService {
         }
         // LinkedHashMap, DO NOT PERFORM REMOVE
         owner.updateComponent(streamComponent);
+        // the component may have moved to another repository or codebase
+        synchronized (publishLock) {
+            snapshot = StreamSnapshot.build(snapshot.getStreamsByURL());
+        }
         return streamComponent;
     }
 
     @Override
     public void serializeStreams(URL url, OutputStream out) throws NotFoundException {
-        final Collection<Stream> streams = this.urlToParsedStreams.get(url);
+        final Collection<Stream> streams = snapshot.getStreams(url);
         if (streams == null) {
             throw new NotFoundException("No matching set of streams for '" + url + "'");
         }
-        JsonObject jsonObject = StreamsJsonParser.encode(streams);
-        // JsonWriter jsonWriter = Json.createWriter(out);
-        // jsonWriter.writeObject(jsonObject);
-        // jsonWriter.close();
-        Map<String, Boolean> config = buildConfig();
-        JsonWriterFactory writerFactory = Json.createWriterFactory(config);
-        JsonWriter jsonWriter = writerFactory.createWriter(out);
-        jsonWriter.write(jsonObject);
-        jsonWriter.close();
-    }
-
-    private static Map<String, Boolean> buildConfig() {
-        final Map<String, Boolean> config = new HashMap<String, Boolean>();
-        config.put(JsonGenerator.PRETTY_PRINTING, true);
-        return config;
+        StreamsJsonParser.encode(streams, out, true);
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.stream.services.json;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.domain.StreamComponent;
+
+/**
+ * The differences between two consecutive sets of streams. Components are matched by the name of their stream and
+ * their own name. A component is modified if any of its repository, codebase, tag, version, GAV, contacts or comment
+ * differ. Components of added and removed streams are reported as added and removed components respectively.
+ */
+public class StreamChangeSet {
+
+    private final List<Stream> addedStreams;
+    private final List<Stream> removedStreams;
+    private final List<StreamComponent> addedComponents;
+    private final List<StreamComponent> removedComponents;
+    private final List<StreamComponent> modifiedComponents;
+
+    private StreamChangeSet(List<Stream> addedStreams, List<Stream> removedStreams, List<StreamComponent> addedComponents,
+            List<StreamComponent> removedComponents, List<StreamComponent> modifiedComponents) {
+        this.addedStreams = Collections.unmodifiableList(addedStreams);
+        this.removedStreams = Collections.unmodifiableList(removedStreams);
+        this.addedComponents = Collections.unmodifiableList(addedComponents);
+        this.removedComponents = Collections.unmodifiableList(removedComponents);
+        this.modifiedComponents = Collections.unmodifiableList(modifiedComponents);
+    }
+
+    static StreamChangeSet between(Collection<Stream> previous, Collection<Stream> current) {
+        Map<String, Stream> previousByName = byName(previous);
+        Map<String, Stream> currentByName = byName(current);
+
+        List<Stream> addedStreams = new ArrayList<>();
+        List<Stream> removedStreams = new ArrayList<>();
+        List<StreamComponent> added = new ArrayList<>();
+        List<StreamComponent> removed = new ArrayList<>();
+        List<StreamComponent> modified = new ArrayList<>();
+
+        for (Stream stream : current) {
+            Stream old = previousByName.get(stream.getName());
+            if (old == null) {
+                addedStreams.add(stream);
+                added.addAll(stream.getAllComponents());
+                continue;
+            }
+            Map<String, StreamComponent> oldComponents = componentsByName(old);
+            for (StreamComponent component : stream.getAllComponents()) {
+                StreamComponent oldComponent = oldComponents.remove(component.getName());
+                if (oldComponent == null)
+                    added.add(component);
+                else if (!sameContent(oldComponent, component))
+                    modified.add(component);
+            }
+            removed.addAll(oldComponents.values());
+        }
+        for (Stream stream : previous) {
+            if (!currentByName.containsKey(stream.getName())) {
+                removedStreams.add(stream);
+                removed.addAll(stream.getAllComponents());
+            }
+        }
+        return new StreamChangeSet(addedStreams, removedStreams, added, removed, modified);
+    }
+
+    private static Map<String, Stream> byName(Collection<Stream> streams) {
+        Map<String, Stream> map = new LinkedHashMap<>();
+        for (Stream stream : streams)
+            map.put(stream.getName(), stream);
+        return map;
+    }
+
+    private static Map<String, StreamComponent> componentsByName(Stream stream) {
+        Map<String, StreamComponent> map = new LinkedHashMap<>();
+        for (StreamComponent component : stream.getAllComponents())
+            map.put(component.getName(), component);
+        return map;
+    }
+
+    private static boolean sameContent(StreamComponent a, StreamComponent b) {
+        return Objects.equals(a.getRepositoryURL(), b.getRepositoryURL())
+                && a.getRepositoryType() == b.getRepositoryType()
+                && Objects.equals(a.getCodebase(), b.getCodebase())
+                && Objects.equals(a.getTag(), b.getTag())
+                && Objects.equals(a.getVersion(), b.getVersion())
+                && Objects.equals(a.getGAV(), b.getGAV())
+                && Objects.equals(a.getContacts(), b.getContacts())
+                && Objects.equals(a.getComment(), b.getComment());
+    }
+
+    public List<Stream> getAddedStreams() {
+        return addedStreams;
+    }
+
+    public List<Stream> getRemovedStreams() {
+        return removedStreams;
+    }
+
+    public List<StreamComponent> getAddedComponents() {
+        return addedComponents;
+    }
+
+    public List<StreamComponent> getRemovedComponents() {
+        return removedComponents;
+    }
+
+    /**
+     * @return the new version of every component whose content changed.
+     */
+    public List<StreamComponent> getModifiedComponents() {
+        return modifiedComponents;
+    }
+
+    public boolean isEmpty() {
+        return addedStreams.isEmpty() && removedStreams.isEmpty() && addedComponents.isEmpty()
+                && removedComponents.isEmpty() && modifiedComponents.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamChangeSet{" +
+                "addedStreams=" + addedStreams.size() +
+                ", removedStreams=" + removedStreams.size() +
+                ", addedComponents=" + addedComponents.size() +
+                ", removedComponents=" + removedComponents.size() +
+                ", modifiedComponents=" + modifiedComponents.size() +
+                '}';
+    }
+}
@@ -23,6 +23,7 @@
 package org.jboss.set.aphrodite.stream.services.json;
 
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,6 +32,9 @@ import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -86,6 +90,107 @@ public class StreamComponentJsonParser {
         }
     }
 
+    /**
+     * Read a component from a streaming parser positioned on the <code>START_OBJECT</code> event of the component.
+     * On return the parser is positioned on the matching <code>END_OBJECT</code> event. As with
+     * {@link #parse(JsonObject)}, a component with a missing or mistyped field is logged and <code>null</code> is
+     * returned.
+     */
+    static StreamComponent parse(JsonParser parser) {
+        String name = null;
+        List<String> contacts = null;
+        String repositoryType = null;
+        String repository = null;
+        String codebase = null;
+        String tag = null;
+        String version = null;
+        String gav = null;
+        String comment = null;
+        String invalid = null;
+
+        Event event;
+        while ((event = parser.next()) != Event.END_OBJECT) {
+            final String key = parser.getString();
+            event = parser.next();
+            if (JSON_CONTACTS.equals(key)) {
+                contacts = parseContacts(parser, event);
+                if (contacts == null)
+                    invalid = key;
+                continue;
+            }
+            final String value = event == Event.VALUE_STRING ? parser.getString() : null;
+            if (value == null) {
+                StreamsJsonParser.skipValue(parser, event);
+            }
+            switch (key) {
+                case JSON_NAME:
+                    name = value;
+                    break;
+                case JSON_REPOSITORY_TYPE:
+                    repositoryType = value;
+                    break;
+                case JSON_REPOSITORY_URL:
+                    repository = value;
+                    break;
+                case JSON_CODEBASE:
+                    codebase = value;
+                    break;
+                case JSON_TAG:
+                    tag = value;
+                    break;
+                case JSON_VERSION:
+                    version = value;
+                    break;
+                case JSON_GAV:
+                    gav = value;
+                    break;
+                case JSON_COMMENT:
+                    comment = value;
+                    break;
+                default:
+                    continue;
+            }
+            if (value == null)
+                invalid = key;
+        }
+
+        if (invalid != null || name == null || contacts == null || repositoryType == null || repository == null
+                || codebase == null || tag == null || version == null || gav == null || comment == null) {
+            Utils.logWarnMessage(LOG, "Ignoring stream component '" + name + "', "
+                    + (invalid != null ? "'" + invalid + "' has an unexpected type" : "a required field is missing"));
+            return null;
+        }
+        try {
+            // TODO: retain fix from chao for now, check if we need it at all ?
+            if (!repository.endsWith("/")) {
+                repository = repository + "/";
+            }
+            return new StreamComponent(name, contacts, RepositoryType.fromType(repositoryType), new URI(repository),
+                    new Codebase(codebase), tag, version, gav, comment);
+        } catch (URISyntaxException e) {
+            Utils.logException(LOG, e);
+            return null;
+        }
+    }
+
+    private static List<String> parseContacts(JsonParser parser, Event event) {
+        if (event != Event.START_ARRAY) {
+            StreamsJsonParser.skipValue(parser, event);
+            return null;
+        }
+        List<String> contacts = new ArrayList<>();
+        boolean valid = true;
+        while ((event = parser.next()) != Event.END_ARRAY) {
+            if (event == Event.VALUE_STRING) {
+                contacts.add(parser.getString());
+            } else {
+                StreamsJsonParser.skipValue(parser, event);
+                valid = false;
+            }
+        }
+        return valid ? contacts : null;
+    }
+
     private static List<String> getContacts(JsonObject json) {
         final JsonArray contactsArray = json.getJsonArray(JSON_CONTACTS);
         final List<String> contacts = new ArrayList<>(contactsArray.size());
@@ -109,6 +214,28 @@ public class StreamComponentJsonParser {
         return object.build();
     }
 
+    /**
+     * Write the component as a JSON object with the given generator, in the same layout as
+     * {@link #encodeStreamComponent(StreamComponent)}.
+     */
+    static void encodeStreamComponent(JsonGenerator generator, StreamComponent c) {
+        generator.writeStartObject();
+        generator.write(JSON_NAME, c.getName());
+        generator.writeStartArray(JSON_CONTACTS);
+        for (String contact : c.getContacts()) {
+            generator.write(contact);
+        }
+        generator.writeEnd();
+        generator.write(JSON_REPOSITORY_TYPE, c.getRepositoryType().toString());
+        generator.write(JSON_REPOSITORY_URL, c.getRepositoryURL() == null ? "" : c.getRepositoryURL().toString());
+        generator.write(JSON_CODEBASE, c.getCodebase().getName());
+        generator.write(JSON_TAG, c.getTag());
+        generator.write(JSON_VERSION, c.getVersion());
+        generator.write(JSON_GAV, c.getGAV());
+        generator.write(JSON_COMMENT, c.getComment());
+        generator.writeEnd();
+    }
+
     private static JsonArrayBuilder encodeContacts(List<String> list) {
         final JsonArrayBuilder array = Json.createArrayBuilder();
         for (String s : list) {
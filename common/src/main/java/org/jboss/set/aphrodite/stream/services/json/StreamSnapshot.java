@@ -0,0 +1,191 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.stream.services.json;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.domain.StreamComponent;
+
+/**
+ * An immutable view of the streams loaded by {@link JsonStreamService}, together with lookup tables over them. A
+ * snapshot is built off to the side on every load or update of the streams and then published as a whole, so that
+ * readers never see a partially built snapshot and never need to lock or copy.
+ * <p>
+ * All lists preserve the order in which streams appear in the source JSON.
+ */
+final class StreamSnapshot {
+
+    static final StreamSnapshot EMPTY = build(Collections.emptyMap());
+
+    // DO NOT CHANGE THIS
+    // this collection contain mapping of url to list of streams. Order of those MUST be retained
+    // as on READ operation. We write from this structure, if order change, huge diff on small change
+    // might happen.
+    private final Map<URL, Collection<Stream>> streamsByURL;
+    private final Map<String, Stream> streamsByName;
+    private final List<Stream> streams;
+    private final Map<URI, List<Stream>> streamsByRepository;
+    private final Map<ComponentKey, List<Stream>> streamsByComponent;
+    private final Map<ComponentKey, StreamComponent> componentsByKey;
+    private final Map<String, List<URI>> repositoriesByStream;
+    private final List<URI> repositories;
+
+    private StreamSnapshot(Map<URL, Collection<Stream>> streamsByURL, Map<String, Stream> streamsByName, Map<URI, List<Stream>> streamsByRepository,
+            Map<ComponentKey, List<Stream>> streamsByComponent, Map<ComponentKey, StreamComponent> componentsByKey,
+            Map<String, List<URI>> repositoriesByStream, List<URI> repositories) {
+        this.streamsByURL = streamsByURL;
+        this.streamsByName = streamsByName;
+        this.streams = Collections.unmodifiableList(new ArrayList<>(streamsByName.values()));
+        this.streamsByRepository = streamsByRepository;
+        this.streamsByComponent = streamsByComponent;
+        this.componentsByKey = componentsByKey;
+        this.repositoriesByStream = repositoriesByStream;
+        this.repositories = repositories;
+    }
+
+    /**
+     * @param loaded the streams of every source, keyed by the location they were loaded from. Streams of a later
+     *        source replace streams of the same name loaded from an earlier one.
+     */
+    static StreamSnapshot build(Map<URL, Collection<Stream>> loaded) {
+        Map<URL, Collection<Stream>> byURL = new LinkedHashMap<>();
+        Map<String, Stream> byName = new LinkedHashMap<>();
+        for (Map.Entry<URL, Collection<Stream>> entry : loaded.entrySet()) {
+            byURL.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+            for (Stream stream : entry.getValue())
+                byName.put(stream.getName(), stream);
+        }
+
+        Map<URI, Set<Stream>> byRepository = new HashMap<>();
+        Map<ComponentKey, Set<Stream>> byComponent = new HashMap<>();
+        Map<ComponentKey, StreamComponent> components = new HashMap<>();
+        Map<String, List<URI>> repositoriesByStream = new HashMap<>();
+        List<URI> repositories = new ArrayList<>();
+
+        for (Stream stream : byName.values()) {
+            Set<URI> streamRepositories = new LinkedHashSet<>();
+            for (StreamComponent component : stream.getAllComponents()) {
+                URI repositoryURL = component.getRepositoryURL();
+                ComponentKey key = new ComponentKey(repositoryURL, component.getCodebase());
+                byRepository.computeIfAbsent(repositoryURL, k -> new LinkedHashSet<>()).add(stream);
+                byComponent.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(stream);
+                components.putIfAbsent(key, component);
+                streamRepositories.add(repositoryURL);
+            }
+            List<URI> streamRepositoryList = Collections.unmodifiableList(new ArrayList<>(streamRepositories));
+            repositoriesByStream.put(stream.getName(), streamRepositoryList);
+            repositories.addAll(streamRepositoryList);
+        }
+
+        return new StreamSnapshot(Collections.unmodifiableMap(byURL), Collections.unmodifiableMap(byName), toLists(byRepository), toLists(byComponent),
+                Collections.unmodifiableMap(components), Collections.unmodifiableMap(repositoriesByStream),
+                Collections.unmodifiableList(repositories));
+    }
+
+    private static <K> Map<K, List<Stream>> toLists(Map<K, Set<Stream>> map) {
+        Map<K, List<Stream>> result = new HashMap<>(map.size() * 4 / 3 + 1);
+        map.forEach((key, value) -> result.put(key, Collections.unmodifiableList(new ArrayList<>(value))));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @return the streams loaded from the given location, or <code>null</code> if nothing was loaded from it.
+     */
+    Collection<Stream> getStreams(URL url) {
+        return streamsByURL.get(url);
+    }
+
+    /**
+     * @return a copy of the streams of every location, to build the next snapshot from.
+     */
+    Map<URL, Collection<Stream>> getStreamsByURL() {
+        return new LinkedHashMap<>(streamsByURL);
+    }
+
+    List<Stream> getStreams() {
+        return streams;
+    }
+
+    Stream getStream(String streamName) {
+        return streamsByName.get(streamName);
+    }
+
+    List<Stream> getStreamsBy(URI repositoryURL) {
+        return streamsByRepository.getOrDefault(repositoryURL, Collections.emptyList());
+    }
+
+    List<Stream> getStreamsBy(URI repositoryURL, Codebase codebase) {
+        return streamsByComponent.getOrDefault(new ComponentKey(repositoryURL, codebase), Collections.emptyList());
+    }
+
+    StreamComponent getComponentBy(URI repositoryURL, Codebase codebase) {
+        return componentsByKey.get(new ComponentKey(repositoryURL, codebase));
+    }
+
+    List<URI> getDistinctURLRepositories() {
+        return repositories;
+    }
+
+    List<URI> getDistinctURLRepositoriesByStream(String streamName) {
+        return repositoriesByStream.getOrDefault(streamName, Collections.emptyList());
+    }
+
+    private static final class ComponentKey {
+        private final URI repositoryURL;
+        private final Codebase codebase;
+
+        private ComponentKey(URI repositoryURL, Codebase codebase) {
+            this.repositoryURL = repositoryURL;
+            this.codebase = codebase;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            ComponentKey that = (ComponentKey) o;
+            return Objects.equals(repositoryURL, that.repositoryURL) && Objects.equals(codebase, that.codebase);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(repositoryURL, codebase);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.stream.services.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.spi.NotFoundException;
+
+/**
+ * A single location streams are loaded from. The source remembers the validators of the last successful load, the
+ * <code>ETag</code> and <code>Last-Modified</code> headers for http(s) locations or the modification time and size of a
+ * local file, so that a refresh only downloads and parses the streams when they have actually changed.
+ */
+class StreamSource {
+
+    private static final String ETAG = "ETag";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+
+    private final URL url;
+
+    private String etag;
+    private long lastModified;
+    private long length = -1;
+
+    StreamSource(URL url) {
+        this.url = url;
+    }
+
+    URL getURL() {
+        return url;
+    }
+
+    /**
+     * Load the streams of this source unless they are known to be unchanged since the previous load.
+     *
+     * @return the parsed streams, or an empty <code>Optional</code> if the source has not changed.
+     * @throws NotFoundException if the source can not be read or parsed.
+     */
+    synchronized Optional<Map<String, Stream>> fetch() throws NotFoundException {
+        try {
+            if ("file".equalsIgnoreCase(url.getProtocol()))
+                return fetchFile();
+
+            URLConnection connection = url.openConnection();
+            if (connection instanceof HttpURLConnection)
+                return fetchHttp((HttpURLConnection) connection);
+
+            return fetchOther(connection);
+        } catch (IOException | URISyntaxException e) {
+            throw new NotFoundException("Unable to load streams from " + url, e);
+        }
+    }
+
+    private Optional<Map<String, Stream>> fetchFile() throws IOException, URISyntaxException, NotFoundException {
+        File file = new File(url.toURI());
+        long fileModified = file.lastModified();
+        long fileLength = file.length();
+        if (fileModified != 0 && fileModified == lastModified && fileLength == length)
+            return Optional.empty();
+
+        try (InputStream is = url.openStream()) {
+            Map<String, Stream> streams = StreamsJsonParser.parse(url, is);
+            lastModified = fileModified;
+            length = fileLength;
+            return Optional.of(streams);
+        }
+    }
+
+    private Optional<Map<String, Stream>> fetchHttp(HttpURLConnection connection) throws IOException, NotFoundException {
+        try {
+            if (etag != null)
+                connection.setRequestProperty(IF_NONE_MATCH, etag);
+            if (lastModified > 0)
+                connection.setIfModifiedSince(lastModified);
+
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED)
+                return Optional.empty();
+            if (status != HttpURLConnection.HTTP_OK)
+                throw new IOException("Unexpected response " + status + " " + connection.getResponseMessage());
+
+            try (InputStream is = connection.getInputStream()) {
+                Map<String, Stream> streams = StreamsJsonParser.parse(url, is);
+                etag = connection.getHeaderField(ETAG);
+                lastModified = connection.getLastModified();
+                return Optional.of(streams);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private Optional<Map<String, Stream>> fetchOther(URLConnection connection) throws IOException, NotFoundException {
+        long modified = connection.getLastModified();
+        if (modified > 0 && modified == lastModified) {
+            connection.getInputStream().close();
+            return Optional.empty();
+        }
+
+        try (InputStream is = connection.getInputStream()) {
+            Map<String, Stream> streams = StreamsJsonParser.parse(url, is);
+            lastModified = modified;
+            return Optional.of(streams);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamSource{url=" + url + ", etag=" + etag + ", lastModified=" + lastModified + '}';
+    }
+}
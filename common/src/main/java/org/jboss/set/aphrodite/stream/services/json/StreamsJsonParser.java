@@ -22,22 +22,25 @@
 
 package org.jboss.set.aphrodite.stream.services.json;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
 import javax.json.Json;
-import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
-import javax.json.JsonReader;
-import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+import javax.json.stream.JsonParsingException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -66,24 +69,40 @@ public class StreamsJsonParser {
 
     public static Map<String, Stream> parse(final URL url) throws NotFoundException {
         try (InputStream is = url.openStream()) {
-            BufferedReader rd = new BufferedReader(new InputStreamReader(is));
-            JsonReader jr = Json.createReader(rd);
-
-            final JsonArray jsonArray = jr.readObject().getJsonArray(JSON_STREAMS);
-            Objects.requireNonNull(jsonArray, "streams array must be specified in json file");
-            final Map<String, Stream> streamMap = new LinkedHashMap<String, Stream>();
-            for (JsonValue value : jsonArray) {
-                JsonObject json = (JsonObject) value;
-
-                String upstreamName = json.getString(JSON_UPSTREAM, null);
-                Stream upstream = streamMap.get(upstreamName);
-
-                JsonArray codebases = json.getJsonArray(JSON_CODEBASES);
-                Map<String, StreamComponent> codebaseMap = parseStreamCodebases(codebases);
+            return parse(url, is);
+        } catch (IOException e) {
+            Utils.logException(LOG, "Unable to load url: " + url.toString(), e);
+            throw new NotFoundException(e);
+        }
+    }
 
-                Stream currentStream = new Stream(url, json.getString(JSON_NAME), upstream, codebaseMap);
-                streamMap.put(currentStream.getName(), currentStream);
+    /**
+     * Parse the streams read from the given input stream. The content is read with a streaming parser, which creates
+     * the <code>Stream</code> and <code>StreamComponent</code> objects directly instead of building a JSON object tree
+     * first.
+     *
+     * @param url the location the streams were read from, recorded in every parsed <code>Stream</code>.
+     * @param is the JSON content, closed once it has been parsed.
+     * @return the parsed streams keyed by name, in the order they are defined.
+     * @throws NotFoundException if the content can not be parsed.
+     */
+    public static Map<String, Stream> parse(final URL url, final InputStream is) throws NotFoundException {
+        try (JsonParser parser = Json.createParser(is)) {
+            if (parser.next() != Event.START_OBJECT)
+                throw new JsonParsingException("streams json must be an object", parser.getLocation());
+
+            Map<String, Stream> streamMap = null;
+            Event event;
+            while ((event = parser.next()) != Event.END_OBJECT) {
+                final String key = parser.getString();
+                event = parser.next();
+                if (JSON_STREAMS.equals(key) && event == Event.START_ARRAY) {
+                    streamMap = parseStreams(url, parser);
+                } else {
+                    skipValue(parser, event);
+                }
             }
+            Objects.requireNonNull(streamMap, "streams array must be specified in json file");
             return streamMap;
         } catch (Exception e) {
             Utils.logException(LOG, "Unable to load url: " + url.toString(), e);
@@ -91,12 +110,46 @@ public class StreamsJsonParser {
         }
     }
 
-    private static Map<String, StreamComponent> parseStreamCodebases(JsonArray codebases) {
+    private static Map<String, Stream> parseStreams(final URL url, final JsonParser parser) {
+        final Map<String, Stream> streamMap = new LinkedHashMap<String, Stream>();
+        Event event;
+        while ((event = parser.next()) != Event.END_ARRAY) {
+            if (event != Event.START_OBJECT)
+                throw new JsonParsingException("stream must be an object", parser.getLocation());
+
+            String name = null;
+            String upstreamName = null;
+            Map<String, StreamComponent> codebaseMap = null;
+            while ((event = parser.next()) != Event.END_OBJECT) {
+                final String key = parser.getString();
+                event = parser.next();
+                if (JSON_NAME.equals(key) && event == Event.VALUE_STRING) {
+                    name = parser.getString();
+                } else if (JSON_UPSTREAM.equals(key) && event == Event.VALUE_STRING) {
+                    upstreamName = parser.getString();
+                } else if (JSON_CODEBASES.equals(key) && event == Event.START_ARRAY) {
+                    codebaseMap = parseStreamCodebases(parser);
+                } else {
+                    skipValue(parser, event);
+                }
+            }
+            Objects.requireNonNull(name, "stream name must be specified");
+            Objects.requireNonNull(codebaseMap, "codebases must be specified for stream " + name);
+
+            Stream currentStream = new Stream(url, name, streamMap.get(upstreamName), codebaseMap);
+            streamMap.put(currentStream.getName(), currentStream);
+        }
+        return streamMap;
+    }
+
+    private static Map<String, StreamComponent> parseStreamCodebases(final JsonParser parser) {
         final Map<String, StreamComponent> codebaseMap = new LinkedHashMap<>();
-        for (JsonValue value : codebases) {
-            JsonObject json = (JsonObject) value;
+        Event event;
+        while ((event = parser.next()) != Event.END_ARRAY) {
+            if (event != Event.START_OBJECT)
+                throw new JsonParsingException("stream component must be an object", parser.getLocation());
 
-            StreamComponent component = StreamComponentJsonParser.parse(json);
+            StreamComponent component = StreamComponentJsonParser.parse(parser);
             if (component != null) {
                 codebaseMap.put(component.getName(), component);
             }
@@ -104,6 +157,30 @@ public class StreamsJsonParser {
         return codebaseMap;
     }
 
+    /**
+     * Skip the value which starts with the given event, including all nested values of an object or array.
+     */
+    static void skipValue(final JsonParser parser, final Event event) {
+        if (event != Event.START_OBJECT && event != Event.START_ARRAY)
+            return;
+
+        int depth = 1;
+        while (depth > 0) {
+            switch (parser.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
     //this is just bread crumbing, but its easier to compartmentalize than deal with spectrum
     //of variables.
     public static JsonObject encode(Collection<Stream> toEncode) {
@@ -115,6 +192,36 @@ public class StreamsJsonParser {
         return rootBuilder.build();
     }
 
+    /**
+     * Write the streams to the given output stream with a streaming generator, without building a JSON object tree.
+     * The output has the same layout as {@link #encode(Collection)}.
+     *
+     * @param toEncode the streams to write, in the order they should appear.
+     * @param out the sink for the JSON content, closed once the streams have been written.
+     * @param prettyPrinting whether the output should be indented.
+     */
+    public static void encode(Collection<Stream> toEncode, OutputStream out, boolean prettyPrinting) {
+        final Map<String, Object> config = prettyPrinting ? Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true)
+                : Collections.emptyMap();
+        try (JsonGenerator generator = Json.createGeneratorFactory(config).createGenerator(out, StandardCharsets.UTF_8)) {
+            generator.writeStartObject();
+            generator.writeStartArray(JSON_STREAMS);
+            for (Stream stream : toEncode) {
+                generator.writeStartObject();
+                generator.write(JSON_NAME, stream.getName());
+                generator.write(JSON_UPSTREAM, stream.getUpstream() == null ? JSON_VALUE_NULL : stream.getUpstream().getName());
+                generator.writeStartArray(JSON_CODEBASES);
+                for (StreamComponent component : stream.getAllComponents()) {
+                    StreamComponentJsonParser.encodeStreamComponent(generator, component);
+                }
+                generator.writeEnd();
+                generator.writeEnd();
+            }
+            generator.writeEnd();
+            generator.writeEnd();
+        }
+    }
+
     private static JsonArrayBuilder encodeStreams(Collection<Stream> streams) {
         final JsonArrayBuilder array = Json.createArrayBuilder();
         for (Stream s : streams) {
@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.sync;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.set.aphrodite.domain.Issue;
+
+/**
+ * The changes to the result set of a query found by one {@link IssueSync#sync()}.
+ */
+public class IssueDelta {
+
+    private final List<Issue> added;
+    private final List<Issue> changed;
+    private final List<Issue> removed;
+    private final boolean full;
+
+    IssueDelta(List<Issue> added, List<Issue> changed, List<Issue> removed, boolean full) {
+        this.added = Collections.unmodifiableList(added);
+        this.changed = Collections.unmodifiableList(changed);
+        this.removed = Collections.unmodifiableList(removed);
+        this.full = full;
+    }
+
+    /**
+     * @return the issues which were not in the result set before.
+     */
+    public List<Issue> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return the issues of the result set which were updated since the previous sync.
+     */
+    public List<Issue> getChanged() {
+        return changed;
+    }
+
+    /**
+     * @return the issues which no longer match the query, as last seen. Only full syncs find removed issues.
+     */
+    public List<Issue> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return <code>true</code> if the whole query was run, rather than only the issues updated since the previous sync.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "IssueDelta{added=" + added.size() + ", changed=" + changed.size() + ", removed=" + removed.size()
+                + ", full=" + full + '}';
+    }
+}
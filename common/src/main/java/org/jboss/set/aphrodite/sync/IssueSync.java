@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.sync;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.spi.NotFoundException;
+
+/**
+ * Keeps the result set of a saved query up to date. The first {@link #sync()} runs the whole query, later ones only
+ * ask for the issues updated since the previous sync started and merge them into the result set. An issue which
+ * stops matching the query is not returned by such a search, so the whole query is run again once the full sync
+ * interval has passed to find the removed issues.
+ * <p>
+ * The high-water mark is the time a sync started on the local clock. The next search starts an overlap earlier to
+ * cover the difference between the local clock and that of the issue tracker, issues found again in the overlap are
+ * only reported if their update time changed.
+ */
+public class IssueSync {
+
+    private static final Log LOG = LogFactory.getLog(IssueSync.class);
+
+    public static final long DEFAULT_OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    public static final long DEFAULT_FULL_SYNC_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    /**
+     * Runs the saved query.
+     */
+    @FunctionalInterface
+    public interface Query {
+
+        /**
+         * @param updatedSince the earliest update time of the returned issues, or <code>null</code> for all issues.
+         * @return the issues matching the query which were updated since the given time.
+         * @throws NotFoundException if the query can not be run.
+         */
+        List<Issue> search(Date updatedSince) throws NotFoundException;
+    }
+
+    private final Query query;
+    private final long overlapMillis;
+    private final long fullSyncIntervalMillis;
+    private final LongSupplier clock;
+    private final Map<URL, Issue> issues = new LinkedHashMap<>();
+    private long watermark = -1;
+    private long lastFullSync;
+
+    public IssueSync(Query query) {
+        this(query, DEFAULT_OVERLAP_MILLIS, DEFAULT_FULL_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param query the saved query.
+     * @param overlapMillis how much earlier than the high-water mark incremental searches start.
+     * @param fullSyncIntervalMillis how often the whole query is run to find removed issues.
+     */
+    public IssueSync(Query query, long overlapMillis, long fullSyncIntervalMillis) {
+        this(query, overlapMillis, fullSyncIntervalMillis, System::currentTimeMillis);
+    }
+
+    IssueSync(Query query, long overlapMillis, long fullSyncIntervalMillis, LongSupplier clock) {
+        if (overlapMillis < 0)
+            throw new IllegalArgumentException("overlapMillis cannot be negative");
+        if (fullSyncIntervalMillis <= 0)
+            throw new IllegalArgumentException("fullSyncIntervalMillis must be positive");
+
+        this.query = Objects.requireNonNull(query, "query cannot be null");
+        this.overlapMillis = overlapMillis;
+        this.fullSyncIntervalMillis = fullSyncIntervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Bring the result set up to date, running the whole query if it was never run or the full sync interval has
+     * passed.
+     *
+     * @return the changes to the result set since the previous sync.
+     * @throws NotFoundException if the query can not be run, the result set is left unchanged.
+     */
+    public synchronized IssueDelta sync() throws NotFoundException {
+        long now = clock.getAsLong();
+        if (watermark < 0 || now - lastFullSync >= fullSyncIntervalMillis)
+            return fullSync(now);
+
+        Date since = new Date(Math.max(0, watermark - overlapMillis));
+        List<Issue> updated = query.search(since);
+        List<Issue> added = new ArrayList<>();
+        List<Issue> changed = new ArrayList<>();
+        merge(updated, added, changed);
+        watermark = now;
+        Utils.logDebugMessage(LOG, "Incremental sync since " + since + " returned " + updated.size() + " issues");
+        return new IssueDelta(added, changed, new ArrayList<>(), false);
+    }
+
+    /**
+     * Run the whole query now, whatever the time of the previous full sync.
+     *
+     * @return the changes to the result set since the previous sync, including removed issues.
+     * @throws NotFoundException if the query can not be run, the result set is left unchanged.
+     */
+    public synchronized IssueDelta resync() throws NotFoundException {
+        return fullSync(clock.getAsLong());
+    }
+
+    private IssueDelta fullSync(long now) throws NotFoundException {
+        List<Issue> matching = query.search(null);
+        List<Issue> added = new ArrayList<>();
+        List<Issue> changed = new ArrayList<>();
+        Set<URL> urls = new HashSet<>();
+        matching.forEach(issue -> urls.add(issue.getURL()));
+
+        List<Issue> removed = new ArrayList<>();
+        issues.values().removeIf(issue -> {
+            if (urls.contains(issue.getURL()))
+                return false;
+            removed.add(issue);
+            return true;
+        });
+        merge(matching, added, changed);
+        watermark = now;
+        lastFullSync = now;
+        return new IssueDelta(added, changed, removed, true);
+    }
+
+    private void merge(List<Issue> found, List<Issue> added, List<Issue> changed) {
+        for (Issue issue : found) {
+            Issue previous = issues.put(issue.getURL(), issue);
+            if (previous == null)
+                added.add(issue);
+            else if (!Objects.equals(previous.getLastUpdated(), issue.getLastUpdated()))
+                changed.add(issue);
+        }
+    }
+
+    /**
+     * @return the issues currently matching the query, as of the last sync.
+     */
+    public synchronized List<Issue> getIssues() {
+        return new ArrayList<>(issues.values());
+    }
+
+    /**
+     * @return the time the last successful sync started, if there was one.
+     */
+    public synchronized Optional<Date> getWatermark() {
+        return watermark < 0 ? Optional.empty() : Optional.of(new Date(watermark));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.sync;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.set.aphrodite.domain.PullRequest;
+
+/**
+ * The changes to the pull requests of a repository in a state found by one {@link PullRequestSync#sync()}.
+ */
+public class PullRequestDelta {
+
+    private final List<PullRequest> added;
+    private final List<PullRequest> changed;
+    private final List<PullRequest> removed;
+    private final boolean full;
+
+    PullRequestDelta(List<PullRequest> added, List<PullRequest> changed, List<PullRequest> removed, boolean full) {
+        this.added = Collections.unmodifiableList(added);
+        this.changed = Collections.unmodifiableList(changed);
+        this.removed = Collections.unmodifiableList(removed);
+        this.full = full;
+    }
+
+    /**
+     * @return the pull requests which were not in the state before.
+     */
+    public List<PullRequest> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return the pull requests in the state which were updated since the previous sync.
+     */
+    public List<PullRequest> getChanged() {
+        return changed;
+    }
+
+    /**
+     * @return the pull requests which left the state, as last seen.
+     */
+    public List<PullRequest> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return <code>true</code> if all pull requests in the state were listed, rather than only those updated since
+     *         the previous sync.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "PullRequestDelta{added=" + added.size() + ", changed=" + changed.size() + ", removed=" + removed.size()
+                + ", full=" + full + '}';
+    }
+}
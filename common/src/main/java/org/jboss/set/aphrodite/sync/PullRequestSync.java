@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.sync;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.spi.NotFoundException;
+
+/**
+ * Keeps an index of the pull requests of a repository in a state. The first {@link #sync()} lists all of them, later
+ * ones only list the pull requests updated since the previous sync started, in any state, so that the cost of a poll
+ * follows the activity of the repository rather than its size. A known pull request which is found in another state
+ * is reported as removed.
+ * <p>
+ * As for {@link IssueSync}, the high-water mark is the time a sync started on the local clock and the next listing
+ * starts an overlap earlier. All pull requests in the state are listed again once the full sync interval has passed.
+ */
+public class PullRequestSync {
+
+    private static final Log LOG = LogFactory.getLog(PullRequestSync.class);
+
+    /**
+     * Lists the pull requests of the repository.
+     */
+    public interface Query {
+
+        /**
+         * @return all pull requests in the state.
+         * @throws NotFoundException if the repository can not be found.
+         */
+        List<PullRequest> list() throws NotFoundException;
+
+        /**
+         * @param updatedSince the earliest update time of the returned pull requests.
+         * @return the pull requests updated since the given time, in any state.
+         * @throws NotFoundException if the repository can not be found.
+         */
+        List<PullRequest> listUpdatedSince(Date updatedSince) throws NotFoundException;
+    }
+
+    private final Query query;
+    private final PullRequestState state;
+    private final long overlapMillis;
+    private final long fullSyncIntervalMillis;
+    private final LongSupplier clock;
+    private final Map<URL, PullRequest> pullRequests = new LinkedHashMap<>();
+    private long watermark = -1;
+    private long lastFullSync;
+
+    public PullRequestSync(Query query, PullRequestState state) {
+        this(query, state, IssueSync.DEFAULT_OVERLAP_MILLIS, IssueSync.DEFAULT_FULL_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param query lists the pull requests of the repository.
+     * @param state the state of the indexed pull requests.
+     * @param overlapMillis how much earlier than the high-water mark incremental listings start.
+     * @param fullSyncIntervalMillis how often all pull requests in the state are listed.
+     */
+    public PullRequestSync(Query query, PullRequestState state, long overlapMillis, long fullSyncIntervalMillis) {
+        this(query, state, overlapMillis, fullSyncIntervalMillis, System::currentTimeMillis);
+    }
+
+    PullRequestSync(Query query, PullRequestState state, long overlapMillis, long fullSyncIntervalMillis, LongSupplier clock) {
+        if (overlapMillis < 0)
+            throw new IllegalArgumentException("overlapMillis cannot be negative");
+        if (fullSyncIntervalMillis <= 0)
+            throw new IllegalArgumentException("fullSyncIntervalMillis must be positive");
+
+        this.query = Objects.requireNonNull(query, "query cannot be null");
+        this.state = Objects.requireNonNull(state, "state cannot be null");
+        this.overlapMillis = overlapMillis;
+        this.fullSyncIntervalMillis = fullSyncIntervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Bring the index up to date, listing all pull requests in the state if they were never listed or the full sync
+     * interval has passed.
+     *
+     * @return the changes to the index since the previous sync.
+     * @throws NotFoundException if the repository can not be found, the index is left unchanged.
+     */
+    public synchronized PullRequestDelta sync() throws NotFoundException {
+        long now = clock.getAsLong();
+        if (watermark < 0 || now - lastFullSync >= fullSyncIntervalMillis)
+            return fullSync(now);
+
+        Date since = new Date(Math.max(0, watermark - overlapMillis));
+        List<PullRequest> updated = query.listUpdatedSince(since);
+        List<PullRequest> added = new ArrayList<>();
+        List<PullRequest> changed = new ArrayList<>();
+        List<PullRequest> removed = new ArrayList<>();
+        for (PullRequest pullRequest : updated) {
+            if (pullRequest.getState() == state) {
+                merge(pullRequest, added, changed);
+            } else {
+                PullRequest previous = pullRequests.remove(pullRequest.getURL());
+                if (previous != null)
+                    removed.add(previous);
+            }
+        }
+        watermark = now;
+        Utils.logDebugMessage(LOG, "Incremental sync since " + since + " returned " + updated.size() + " pull requests");
+        return new PullRequestDelta(added, changed, removed, false);
+    }
+
+    /**
+     * List all pull requests in the state now, whatever the time of the previous full sync.
+     *
+     * @return the changes to the index since the previous sync.
+     * @throws NotFoundException if the repository can not be found, the index is left unchanged.
+     */
+    public synchronized PullRequestDelta resync() throws NotFoundException {
+        return fullSync(clock.getAsLong());
+    }
+
+    private PullRequestDelta fullSync(long now) throws NotFoundException {
+        List<PullRequest> listed = query.list();
+        List<PullRequest> added = new ArrayList<>();
+        List<PullRequest> changed = new ArrayList<>();
+        Set<URL> urls = new HashSet<>();
+        listed.forEach(pullRequest -> urls.add(pullRequest.getURL()));
+
+        List<PullRequest> removed = new ArrayList<>();
+        pullRequests.values().removeIf(pullRequest -> {
+            if (urls.contains(pullRequest.getURL()))
+                return false;
+            removed.add(pullRequest);
+            return true;
+        });
+        listed.forEach(pullRequest -> merge(pullRequest, added, changed));
+        watermark = now;
+        lastFullSync = now;
+        return new PullRequestDelta(added, changed, removed, true);
+    }
+
+    private void merge(PullRequest pullRequest, List<PullRequest> added, List<PullRequest> changed) {
+        PullRequest previous = pullRequests.put(pullRequest.getURL(), pullRequest);
+        if (previous == null)
+            added.add(pullRequest);
+        else if (!Objects.equals(previous.getUpdatedAt(), pullRequest.getUpdatedAt()))
+            changed.add(pullRequest);
+    }
+
+    public PullRequestState getState() {
+        return state;
+    }
+
+    /**
+     * @return the pull requests currently in the state, as of the last sync.
+     */
+    public synchronized List<PullRequest> getPullRequests() {
+        return new ArrayList<>(pullRequests.values());
+    }
+
+    /**
+     * @return the time the last successful sync started, if there was one.
+     */
+    public synchronized Optional<Date> getWatermark() {
+        return watermark < 0 ? Optional.empty() : Optional.of(new Date(watermark));
+    }
+}
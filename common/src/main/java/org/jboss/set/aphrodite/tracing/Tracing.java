@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.tracing;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.jboss.set.aphrodite.metrics.Metrics.Operation;
+import org.jboss.set.aphrodite.spi.Tracer;
+import org.jboss.set.aphrodite.spi.Tracer.Span;
+
+/**
+ * Holds the {@link Tracer} shared by Aphrodite and its services, and the span current on each thread. New spans are
+ * children of the current span, which is carried over to the tasks submitted to a {@link #propagating(Executor)}
+ * executor.
+ */
+public final class Tracing {
+
+    /** The issue tracker id or repository type a span is sent to. */
+    public static final String BACKEND = "aphrodite.backend";
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static volatile Tracer tracer = Tracer.NO_OP;
+
+    private Tracing() {
+    }
+
+    public static Tracer tracer() {
+        return tracer;
+    }
+
+    public static void setTracer(Tracer tracer) {
+        Tracing.tracer = Objects.requireNonNull(tracer, "tracer cannot be null");
+    }
+
+    public static boolean isEnabled() {
+        return tracer != Tracer.NO_OP;
+    }
+
+    /**
+     * @return the span current on this thread, or {@link Span#NO_OP} if there is none.
+     */
+    public static Span current() {
+        Span span = CURRENT.get();
+        return span != null ? span : Span.NO_OP;
+    }
+
+    /**
+     * Start a child of the current span, without making it current.
+     *
+     * @param name the name of the span.
+     * @param backend the issue tracker id or repository type, or <code>null</code> if the span is not specific to one.
+     * @return the started span, which must be ended by the caller.
+     */
+    public static Span startSpan(String name, String backend) {
+        return startSpan(name, backend, current());
+    }
+
+    /**
+     * Start a child of the given span, for work which completes on a thread where that span is not current.
+     */
+    public static Span startSpan(String name, String backend, Span parent) {
+        Tracer current = tracer;
+        if (current == Tracer.NO_OP)
+            return Span.NO_OP;
+
+        Span span = current.startSpan(name, parent);
+        if (backend != null)
+            span.setAttribute(BACKEND, backend);
+        return span;
+    }
+
+    /**
+     * Execute the operation in a new child of the current span.
+     *
+     * @return the result of <code>operation</code>
+     * @throws E if <code>operation</code> throws an exception, which is recorded on the span
+     */
+    public static <T, E extends Exception> T trace(String name, String backend, Operation<T, E> operation) throws E {
+        if (tracer == Tracer.NO_OP)
+            return operation.call();
+
+        Span span = startSpan(name, backend);
+        Span previous = makeCurrent(span);
+        try {
+            return operation.call();
+        } catch (Exception | Error e) {
+            span.recordException(e);
+            throw e;
+        } finally {
+            restore(previous);
+            span.end();
+        }
+    }
+
+    /**
+     * Start the asynchronous operation in a new child of the current span, which ends when the returned future
+     * completes. The span is current while <code>operation</code> starts the work, so that the spans of the requests
+     * it submits to a {@link #propagating(Executor)} executor are its children.
+     *
+     * @return the future returned by <code>operation</code>
+     */
+    public static <T> CompletableFuture<T> traceAsync(String name, String backend, Supplier<CompletableFuture<T>> operation) {
+        if (tracer == Tracer.NO_OP)
+            return operation.get();
+
+        Span span = startSpan(name, backend);
+        Span previous = makeCurrent(span);
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException | Error e) {
+            span.recordException(e);
+            span.end();
+            throw e;
+        } finally {
+            restore(previous);
+        }
+        return future.whenComplete((result, e) -> {
+            if (e != null)
+                span.recordException(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            span.end();
+        });
+    }
+
+    /**
+     * Wrap an executor so that every task runs with the span which was current when it was submitted.
+     *
+     * @param executor the executor to wrap.
+     * @return an executor delegating to <code>executor</code>
+     */
+    public static Executor propagating(Executor executor) {
+        if (executor == null || executor instanceof PropagatingExecutor)
+            return executor;
+        return new PropagatingExecutor(executor);
+    }
+
+    private static Span makeCurrent(Span span) {
+        Span previous = CURRENT.get();
+        CURRENT.set(span);
+        return previous;
+    }
+
+    private static void restore(Span previous) {
+        if (previous == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(previous);
+    }
+
+    private static final class PropagatingExecutor implements Executor {
+        private final Executor delegate;
+
+        PropagatingExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            Span parent = CURRENT.get();
+            if (parent == null) {
+                delegate.execute(task);
+                return;
+            }
+            delegate.execute(() -> {
+                Span previous = makeCurrent(parent);
+                try {
+                    task.run();
+                } finally {
+                    restore(previous);
+                }
+            });
+        }
+    }
+}
@@ -34,11 +34,17 @@ import javax.json.JsonReader;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 import static org.jboss.set.aphrodite.config.AphroditeConfigTestUtils.assertDeepEqualsIssueConfig;
 import static org.jboss.set.aphrodite.config.AphroditeConfigTestUtils.assertDeepEqualsRepositoryConfig;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Martin Stefanko (mstefank@redhat.com)
@@ -126,6 +132,71 @@ public class AphroditeConfigJSONTest {
         assertEquals(Collections.emptyList(), result.getRepositoryConfigs());
     }
 
+    @Test
+    public void JSONWithVirtualThreadsTest() {
+        JsonObject jo = Json.createObjectBuilder()
+                .add("virtualThreads", true)
+                .add("maxConcurrentRequestsPerService", 4)
+                .add("issueTrackerConfigs", Json.createArrayBuilder().build())
+                .add("repositoryConfigs", Json.createArrayBuilder().build())
+                .build();
+
+        AphroditeConfig result = AphroditeConfig.fromJson(jo);
+        assertTrue(result.isVirtualThreads());
+        assertNotNull(result.getIoExecutorService());
+        assertSame("services sharing a url must share their limit", result.getIoExecutor("https://github.com/"),
+                new AphroditeConfig(result).getIoExecutor("https://github.com/"));
+        assertNotSame(result.getExecutorService(), result.getIoExecutor("https://github.com/"));
+        result.getIoExecutorService().shutdown();
+    }
+
+    @Test
+    public void JSONWithoutVirtualThreadsTest() {
+        JsonObject jo = Json.createObjectBuilder()
+                .add("issueTrackerConfigs", Json.createArrayBuilder().build())
+                .add("repositoryConfigs", Json.createArrayBuilder().build())
+                .build();
+
+        AphroditeConfig result = AphroditeConfig.fromJson(jo);
+        assertFalse(result.isVirtualThreads());
+        assertEquals("pools must be created on first use", 0, result.getExecutorMetrics().get(ExecutorMetrics.Role.IO).getPoolSize());
+        assertSame(result.getIoExecutor("https://github.com/"), result.getIoExecutor("https://gitlab.com/"));
+        assertNotSame("I/O work must not share the scheduled executor", result.getExecutorService(), result.getIoExecutorService());
+        result.shutdownServiceExecutors();
+    }
+
+    @Test
+    public void JSONWithExecutorSizesTest() throws Exception {
+        JsonObject jo = Json.createObjectBuilder()
+                .add("maxThreadCount", 3)
+                .add("cpuThreadCount", 2)
+                .add("issueTrackerConfigs", Json.createArrayBuilder().build())
+                .add("repositoryConfigs", Json.createArrayBuilder().build())
+                .build();
+
+        AphroditeConfig result = AphroditeConfig.fromJson(jo);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 5; i++) {
+            result.getIoExecutor("https://github.com/").execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        Map<ExecutorMetrics.Role, ExecutorMetrics> metrics = result.getExecutorMetrics();
+        assertEquals(3, metrics.get(ExecutorMetrics.Role.IO).getPoolSize());
+        assertEquals(2, metrics.get(ExecutorMetrics.Role.IO).getQueueDepth());
+        assertEquals(0, metrics.get(ExecutorMetrics.Role.CPU).getQueueDepth());
+        assertEquals(0, metrics.get(ExecutorMetrics.Role.SCHEDULED).getQueueDepth());
+
+        release.countDown();
+        result.shutdownServiceExecutors();
+        result.getExecutorService().shutdown();
+    }
+
     @Test
     public void JSONWithoutPropertiesTest() {
         expectedException.expect(NullPointerException.class);
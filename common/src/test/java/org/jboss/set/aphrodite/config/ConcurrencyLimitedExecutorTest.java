@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrencyLimitedExecutorTest {
+
+    private ExecutorService delegate;
+
+    @Before
+    public void setUp() {
+        delegate = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        delegate.shutdownNow();
+    }
+
+    @Test
+    public void neverRunsMoreThanTheLimit() throws InterruptedException {
+        ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(delegate, 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int tasks = 200;
+        CountDownLatch done = new CountDownLatch(tasks);
+
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue("not all tasks completed", done.await(30, TimeUnit.SECONDS));
+        assertTrue("more than 3 tasks ran concurrently: " + maxRunning.get(), maxRunning.get() <= 3);
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    @Test
+    public void failingTaskReleasesItsPermit() throws InterruptedException {
+        ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(delegate, 1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute(done::countDown);
+
+        assertTrue("task queued after a failing task did not run", done.await(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void completesQueuedTasksWhenDelegateShutsDown() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(single, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(CompletableFuture.runAsync(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, executor));
+        for (int i = 0; i < 5; i++)
+            futures.add(CompletableFuture.runAsync(() -> { }, executor));
+        assertEquals(5, executor.getQueueSize());
+
+        single.shutdown();
+        // queued behind the running task, as no permit is free
+        futures.add(CompletableFuture.runAsync(() -> { }, executor));
+        release.countDown();
+
+        for (CompletableFuture<Void> future : futures)
+            future.get(30, TimeUnit.SECONDS);
+        assertEquals(0, executor.getQueueSize());
+        assertEquals(0, executor.getActiveCount());
+        try {
+            CompletableFuture.runAsync(() -> { }, executor);
+            fail("a task handed to the delegate after its shutdown should be rejected");
+        } catch (RejectedExecutionException expected) {
+        }
+        assertEquals(0, executor.getQueueSize());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.config.IssueTrackerConfig;
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+
+/**
+ * Checks that the issues of many pull requests are fetched with a single bulk request.
+ */
+public class AbstractIssueTrackerTest {
+
+    private AbstractIssueTracker tracker;
+    private List<Collection<URL>> requests;
+
+    @Before
+    public void setUp() {
+        tracker = mock(AbstractIssueTracker.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+        doReturn(LogFactory.getLog(AbstractIssueTrackerTest.class)).when(tracker).getLog();
+        tracker.init(new IssueTrackerConfig("https://issues.redhat.com", "user", "password", TrackerType.JIRA, 1));
+
+        requests = new ArrayList<>();
+        doAnswer(invocation -> {
+            Collection<URL> urls = invocation.getArgument(0);
+            requests.add(urls);
+            List<Issue> issues = new ArrayList<>();
+            for (URL url : urls)
+                issues.add(new Issue(url, TrackerType.JIRA));
+            return CompletableFuture.completedFuture(issues);
+        }).when(tracker).getIssuesAsync(any());
+    }
+
+    @Test
+    public void issuesOfAllPullRequestsAreFetchedOnce() throws Exception {
+        PullRequest first = pullRequest(1, "Issue: https://issues.redhat.com/browse/JBEAP-1\n"
+                + "Upstream Issue: https://issues.redhat.com/browse/WFLY-2\n"
+                + "Upstream PR: https://github.com/wildfly/wildfly/pull/3");
+        PullRequest second = pullRequest(2, "Issue: https://issues.redhat.com/browse/WFLY-2, again https://issues.redhat.com/browse/WFLY-2\n"
+                + "Related: https://issues.redhat.com/browse/JBEAP-3");
+        PullRequest third = pullRequest(3, "No issue required");
+
+        Map<PullRequest, List<Issue>> issues = tracker.getIssuesAssociatedWithAsync(Arrays.asList(first, second, third)).join();
+
+        verify(tracker, times(1)).getIssuesAsync(any());
+        assertEquals(urls("JBEAP-1", "WFLY-2", "JBEAP-3"), requests.get(0).stream().map(URL::toString).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(first, second, third), new ArrayList<>(issues.keySet()));
+        assertEquals(urls("JBEAP-1", "WFLY-2"), issueUrls(issues.get(first)));
+        assertEquals(urls("WFLY-2", "JBEAP-3"), issueUrls(issues.get(second)));
+        assertTrue(issues.get(third).isEmpty());
+    }
+
+    @Test
+    public void failedRequestLeavesPullRequestsWithoutIssues() throws Exception {
+        CompletableFuture<List<Issue>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("tracker unavailable"));
+        doReturn(failed).when(tracker).getIssuesAsync(any());
+
+        PullRequest pullRequest = pullRequest(1, "Issue: https://issues.redhat.com/browse/JBEAP-1");
+        Map<PullRequest, List<Issue>> issues = tracker.getIssuesAssociatedWithAsync(Collections.singletonList(pullRequest)).join();
+
+        assertEquals(1, issues.size());
+        assertTrue(issues.get(pullRequest).isEmpty());
+    }
+
+    private static PullRequest pullRequest(int number, String body) throws MalformedURLException {
+        return new PullRequest(Integer.toString(number), new URL("https://github.com/jbossas/jboss-eap7/pull/" + number), null,
+                new Codebase("main"), PullRequestState.OPEN, "Backport", body, true, false, MergeableState.CLEAN, null,
+                Collections.emptyList());
+    }
+
+    private static List<String> urls(String... keys) {
+        return Arrays.stream(keys).map(key -> "https://issues.redhat.com/browse/" + key).collect(Collectors.toList());
+    }
+
+    private static List<String> issueUrls(List<Issue> issues) {
+        return issues.stream().map(issue -> issue.getURL().toString()).collect(Collectors.toList());
+    }
+}
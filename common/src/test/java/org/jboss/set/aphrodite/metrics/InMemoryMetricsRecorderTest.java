@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.set.aphrodite.spi.AphroditeException;
+import org.jboss.set.aphrodite.spi.MetricsRecorder;
+import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InMemoryMetricsRecorderTest {
+
+    private MetricsRecorder previous;
+    private InMemoryMetricsRecorder recorder;
+
+    @Before
+    public void setUp() {
+        previous = Metrics.recorder();
+        recorder = new InMemoryMetricsRecorder();
+        Metrics.setRecorder(recorder);
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.setRecorder(previous);
+    }
+
+    @Test
+    public void recordsRequestsErrorsAndPayloadSizes() throws Exception {
+        List<String> issues = Metrics.time("issues.redhat.com", "searchIssues", () -> Arrays.asList("WFLY-1", "WFLY-2"), List::size);
+        assertEquals(2, issues.size());
+        try {
+            Metrics.time("issues.redhat.com", "searchIssues", () -> {
+                throw new NotFoundException("no such filter");
+            });
+            fail("expected NotFoundException");
+        } catch (NotFoundException expected) {
+        }
+
+        OperationMetrics metrics = single();
+        assertEquals("issues.redhat.com", metrics.getBackend());
+        assertEquals("searchIssues", metrics.getOperation());
+        assertEquals(2, metrics.getRequestCount());
+        assertEquals(1, metrics.getErrorCount());
+        assertEquals(1, metrics.getPayloadCount());
+        assertEquals(2, metrics.getPayloadTotal());
+        assertEquals(2, Arrays.stream(metrics.getLatencyHistogram()).sum());
+    }
+
+    @Test
+    public void recordsOperationsThrowingTwoExceptions() {
+        try {
+            Metrics.<Void, NotFoundException, AphroditeException>time2("github", "setLabelsToPullRequest", () -> {
+                throw new AphroditeException("inconsistent labels");
+            });
+            fail("expected AphroditeException");
+        } catch (NotFoundException | AphroditeException expected) {
+        }
+
+        assertEquals(1, single().getErrorCount());
+    }
+
+    @Test
+    public void recordsFailedAsyncRequests() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> timed = Metrics.timeAsync("github", "getPullRequest", () -> future);
+        assertTrue(recorder.snapshot().isEmpty());
+
+        future.completeExceptionally(new NotFoundException("gone"));
+        assertTrue(timed.isCompletedExceptionally());
+        assertEquals(1, single().getErrorCount());
+    }
+
+    @Test
+    public void estimatesPercentilesFromTheHistogram() {
+        for (int i = 0; i < 98; i++)
+            recorder.recordRequest("bugzilla.redhat.com", "getIssue", TimeUnit.MILLISECONDS.toNanos(20), null);
+        recorder.recordRequest("bugzilla.redhat.com", "getIssue", TimeUnit.MILLISECONDS.toNanos(700), null);
+        recorder.recordRequest("bugzilla.redhat.com", "getIssue", TimeUnit.MILLISECONDS.toNanos(3000), null);
+
+        OperationMetrics metrics = single();
+        assertEquals(25, metrics.getLatencyPercentileMillis(0.5));
+        assertEquals(1000, metrics.getLatencyPercentileMillis(0.99));
+        assertEquals(3000, metrics.getLatencyPercentileMillis(1));
+        assertEquals(3000, metrics.getMaxTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void countsCacheHitsAndMisses() {
+        Metrics.recordCacheAccess("github", "commitStatus", false);
+        Metrics.recordCacheAccess("github", "commitStatus", true);
+        Metrics.recordCacheAccess("github", "commitStatus", true);
+
+        OperationMetrics metrics = single();
+        assertEquals(2, metrics.getCacheHits());
+        assertEquals(1, metrics.getCacheMisses());
+        assertEquals(0, metrics.getRequestCount());
+    }
+
+    @Test
+    public void noOpRecorderIsUsedByDefault() throws Exception {
+        Metrics.setRecorder(MetricsRecorder.NO_OP);
+        assertEquals("result", Metrics.time("github", "getPullRequest", () -> "result"));
+        assertTrue(MetricsRecorder.NO_OP.snapshot().isEmpty());
+        assertSame(MetricsRecorder.NO_OP, Metrics.recorder());
+        assertTrue(recorder.snapshot().isEmpty());
+    }
+
+    private OperationMetrics single() {
+        List<OperationMetrics> snapshot = recorder.snapshot();
+        assertEquals(1, snapshot.size());
+        return snapshot.get(0);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PullRequestGraphResolverTest {
+
+    private static final String REPOSITORY = "https://github.com/jbossas/jboss-eap7/pull/";
+
+    private Map<String, PullRequest> pullRequests;
+    private Map<String, CompletableFuture<PullRequest>> requests;
+
+    @Before
+    public void setUp() {
+        pullRequests = new HashMap<>();
+        requests = new LinkedHashMap<>();
+    }
+
+    @Test
+    public void sharedDependencyIsFetchedOnce() throws Exception {
+        PullRequest root = add(1, "Depends: " + REPOSITORY + "2, " + REPOSITORY + "3");
+        add(2, "Depends: " + REPOSITORY + "4");
+        add(3, "Depends: " + REPOSITORY + "4/");
+        add(4, "");
+
+        CompletableFuture<PullRequestGraph> future = new PullRequestGraphResolver(this::fetch, 5).resolve(root);
+        // both dependencies of the root are requested before either of them is answered
+        assertEquals(numbers(2, 3), new ArrayList<>(requests.keySet()));
+        complete(2, 3);
+        assertEquals(numbers(2, 3, 4), new ArrayList<>(requests.keySet()));
+        complete(4);
+
+        PullRequestGraph graph = future.join();
+        assertEquals(Arrays.asList("1", "2", "3", "4"), ids(graph.getPullRequests()));
+        assertEquals(Arrays.asList("4", "2", "3", "1"), ids(graph.getTopologicalOrder()));
+        assertEquals(Arrays.asList("2", "3"), ids(graph.getReferences(root)));
+        assertFalse(graph.hasCycles());
+        assertTrue(graph.getUnresolved().isEmpty());
+        assertTrue(graph.getTruncated().isEmpty());
+    }
+
+    @Test
+    public void cycleIsReportedAndLeftOutOfTheReferences() throws Exception {
+        PullRequest root = add(1, "Depends: " + REPOSITORY + "2");
+        PullRequest second = add(2, "Upstream PR: https://github.com/JBossAS/jboss-eap7/pulls/1");
+
+        PullRequestGraph graph = new PullRequestGraphResolver(this::fetchNow, 5).resolve(root).join();
+
+        assertEquals(Collections.singletonList(Arrays.asList(root, second)), graph.getCycles());
+        assertTrue(graph.getReferences(second).isEmpty());
+        assertEquals(Arrays.asList("2", "1"), ids(graph.getTopologicalOrder()));
+        assertEquals(numbers(2), new ArrayList<>(requests.keySet()));
+    }
+
+    @Test
+    public void referencesBeyondTheDepthLimitAreNotFetched() throws Exception {
+        PullRequest root = add(1, "Depends: " + REPOSITORY + "2");
+        add(2, "Depends: " + REPOSITORY + "3");
+        add(3, "");
+
+        PullRequestGraph graph = new PullRequestGraphResolver(this::fetchNow, 1).resolve(root).join();
+
+        assertEquals(Arrays.asList("1", "2"), ids(graph.getPullRequests()));
+        assertEquals(Collections.singletonList(new URL(REPOSITORY + "3")), graph.getTruncated());
+        assertEquals(numbers(2), new ArrayList<>(requests.keySet()));
+    }
+
+    @Test
+    public void failedFetchIsReportedAsUnresolved() throws Exception {
+        PullRequest root = add(1, "Depends: " + REPOSITORY + "2, " + REPOSITORY + "3");
+        PullRequest third = add(3, "");
+
+        PullRequestGraph graph = new PullRequestGraphResolver(this::fetchNow, 5).resolve(root).join();
+
+        assertEquals(Collections.singletonList(new URL(REPOSITORY + "2")), graph.getUnresolved());
+        assertEquals(Collections.singletonList(third), graph.getReferences(root));
+        assertSame(root, graph.getRoot());
+    }
+
+    private PullRequest add(int number, String body) throws MalformedURLException {
+        PullRequest pullRequest = new PullRequest(Integer.toString(number), new URL(REPOSITORY + number), null,
+                new Codebase("main"), PullRequestState.OPEN, "Backport", body, true, false, MergeableState.CLEAN, null,
+                Collections.emptyList());
+        pullRequests.put(Integer.toString(number), pullRequest);
+        return pullRequest;
+    }
+
+    private CompletableFuture<PullRequest> fetch(URL url) {
+        CompletableFuture<PullRequest> request = new CompletableFuture<>();
+        requests.put(number(url), request);
+        return request;
+    }
+
+    private CompletableFuture<PullRequest> fetchNow(URL url) {
+        CompletableFuture<PullRequest> request = fetch(url);
+        complete(number(url));
+        return request;
+    }
+
+    private void complete(Object... numbers) {
+        for (Object number : numbers) {
+            PullRequest pullRequest = pullRequests.get(number.toString());
+            if (pullRequest != null)
+                requests.get(number.toString()).complete(pullRequest);
+            else
+                requests.get(number.toString()).completeExceptionally(new IllegalStateException("not found"));
+        }
+    }
+
+    private static String number(URL url) {
+        String[] elements = url.getPath().split("/");
+        return elements[elements.length - 1];
+    }
+
+    private static List<String> numbers(Object... numbers) {
+        return Arrays.stream(numbers).map(Object::toString).collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<PullRequest> pullRequests) {
+        return pullRequests.stream().map(PullRequest::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.IssueStatus;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.domain.Repository;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void keepsIssuesAcrossRestarts() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Issue issue = issue("WFLY-1", "First summary");
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            store.putIssue(issue);
+            issue.setSummary("Second summary");
+            store.putIssue(issue);
+        }
+
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            assertEquals(1, store.size());
+            Issue restored = store.getIssue(issue.getURL()).get();
+            assertEquals("Second summary", restored.getSummary().get());
+            assertEquals(IssueStatus.MODIFIED, restored.getStatus());
+            assertEquals(TrackerType.JIRA, restored.getTrackerType());
+            assertEquals(new Date(1000), store.getLastUpdated(issue.getURL()).get());
+            assertTrue(store.getRetrievedAt(issue.getURL()).isPresent());
+            assertFalse(store.getPullRequest(issue.getURL()).isPresent());
+        }
+    }
+
+    @Test
+    public void listsPullRequestsOfRepository() throws Exception {
+        try (SnapshotStore store = new SnapshotStore(folder.getRoot().toPath())) {
+            store.putPullRequest(pullRequest("wildfly", 1, PullRequestState.OPEN));
+            store.putPullRequest(pullRequest("wildfly", 2, PullRequestState.CLOSED));
+            store.putPullRequest(pullRequest("wildfly-core", 3, PullRequestState.OPEN));
+
+            URL repository = new URL("https://github.com/wildfly/wildfly");
+            List<PullRequest> open = store.getPullRequests(repository, PullRequestState.OPEN);
+            assertEquals(1, open.size());
+            assertEquals(new URL("https://github.com/wildfly/wildfly/pull/1"), open.get(0).getURL());
+            assertEquals("main", open.get(0).getCodebase().getName());
+            assertEquals(2, store.getPullRequests(repository, null).size());
+        }
+    }
+
+    @Test
+    public void dropsIncompleteRecord() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            store.putIssue(issue("WFLY-1", "Kept"));
+            store.putIssue(issue("WFLY-2", "Cut short"));
+        }
+        Path log = directory.resolve(SnapshotStore.LOG_FILE);
+        truncate(log, Files.size(log) - 10);
+
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            assertEquals(1, store.size());
+            assertTrue(store.getIssue(new URL("https://issues.redhat.com/browse/WFLY-1")).isPresent());
+            store.putIssue(issue("WFLY-3", "Appended"));
+        }
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            assertEquals(2, store.size());
+            assertEquals("Appended", store.getIssue(new URL("https://issues.redhat.com/browse/WFLY-3")).get().getSummary().get());
+        }
+    }
+
+    @Test
+    public void dropsCorruptRecord() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            store.putIssue(issue("WFLY-1", "Kept"));
+            store.putIssue(issue("WFLY-2", "Torn"));
+        }
+        // a torn write which still fits in the length of the file
+        Path log = directory.resolve(SnapshotStore.LOG_FILE);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[10]), Files.size(log) - 20);
+        }
+
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            assertEquals(1, store.size());
+            assertTrue(store.getIssue(new URL("https://issues.redhat.com/browse/WFLY-1")).isPresent());
+        }
+    }
+
+    @Test
+    public void forgetsRemovedSnapshots() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Issue issue = issue("WFLY-1", "Summary");
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            store.putIssue(issue);
+            assertTrue(store.remove(issue.getURL()));
+            assertFalse(store.remove(issue.getURL()));
+            assertFalse(store.getIssue(issue.getURL()).isPresent());
+        }
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    public void compactsSupersededRecords() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Path log = directory.resolve(SnapshotStore.LOG_FILE);
+        Issue issue = issue("WFLY-1", "Summary");
+        try (SnapshotStore store = new SnapshotStore(directory, 0)) {
+            store.putIssue(issue);
+            long single = Files.size(log);
+            for (int i = 0; i < 10; i++) {
+                issue.setSummary("Summary " + i);
+                store.putIssue(issue);
+            }
+            // compacted as the records are appended, not only when the store is closed
+            assertTrue(Files.size(log) < single * 2);
+        }
+
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            assertEquals("Summary 9", store.getIssue(issue.getURL()).get().getSummary().get());
+        }
+    }
+
+    @Test
+    public void keepsLogWhenCompactionFails() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Issue issue = issue("WFLY-1", "Summary");
+        try (SnapshotStore store = new SnapshotStore(directory, 0) {
+            @Override
+            void replaceLog(Path compacted) throws IOException {
+                Files.delete(compacted);
+                throw new AtomicMoveNotSupportedException(compacted.toString(), directory.toString(), "Not supported");
+            }
+        }) {
+            for (int i = 0; i < 10; i++) {
+                issue.setSummary("Summary " + i);
+                store.putIssue(issue);
+            }
+            assertEquals("Summary 9", store.getIssue(issue.getURL()).get().getSummary().get());
+            try {
+                store.compact();
+                fail("Compaction should have failed");
+            } catch (AtomicMoveNotSupportedException expected) {
+            }
+            store.putIssue(issue("WFLY-2", "Appended"));
+        }
+
+        try (SnapshotStore store = new SnapshotStore(directory)) {
+            assertEquals(2, store.size());
+            assertEquals("Summary 9", store.getIssue(issue.getURL()).get().getSummary().get());
+        }
+    }
+
+    @Test
+    public void replacesPullRequestsOfState() throws Exception {
+        try (SnapshotStore store = new SnapshotStore(folder.getRoot().toPath())) {
+            PullRequest kept = pullRequest("wildfly", 1, PullRequestState.OPEN);
+            PullRequest closed = pullRequest("wildfly", 2, PullRequestState.OPEN);
+            store.putPullRequest(kept);
+            store.putPullRequest(closed);
+            store.putPullRequest(pullRequest("wildfly", 3, PullRequestState.CLOSED));
+
+            URL repository = new URL("https://github.com/wildfly/wildfly");
+            store.putPullRequests(repository, PullRequestState.OPEN, Arrays.asList(kept, pullRequest("wildfly", 4, PullRequestState.OPEN)));
+            assertEquals(2, store.getPullRequests(repository, PullRequestState.OPEN).size());
+            assertFalse(store.getPullRequest(closed.getURL()).isPresent());
+            assertEquals(1, store.getPullRequests(repository, PullRequestState.CLOSED).size());
+        }
+    }
+
+    @Test
+    public void restoresTrackerSubclass() throws Exception {
+        FlaggedIssue issue = new FlaggedIssue(new URL("https://bugzilla.redhat.com/show_bug.cgi?id=1"));
+        issue.flagged = true;
+        try (SnapshotStore store = new SnapshotStore(folder.getRoot().toPath())) {
+            store.putIssue(issue);
+            Issue restored = store.getIssue(issue.getURL()).get();
+            assertTrue(restored instanceof FlaggedIssue);
+            assertTrue(((FlaggedIssue) restored).flagged);
+        }
+    }
+
+    private static Issue issue(String key, String summary) throws Exception {
+        Issue issue = new Issue(new URL("https://issues.redhat.com/browse/" + key), TrackerType.JIRA);
+        issue.setTrackerId(key);
+        issue.setSummary(summary);
+        issue.setStatus(IssueStatus.MODIFIED, "Modified");
+        issue.setLastUpdated(new Date(1000));
+        return issue;
+    }
+
+    private static PullRequest pullRequest(String repository, int number, PullRequestState state) throws Exception {
+        URL url = new URL("https://github.com/wildfly/" + repository + "/pull/" + number);
+        return new PullRequest(String.valueOf(number), url, new Repository(new URL("https://github.com/wildfly/" + repository)),
+                new Codebase("main"), state, "PR " + number, "", true, false, MergeableState.CLEAN, null, Collections.emptyList());
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    public static class FlaggedIssue extends Issue {
+        private boolean flagged;
+
+        public FlaggedIssue(URL url) {
+            super(url, TrackerType.BUGZILLA);
+        }
+    }
+
+    /**
+     * Registered in <code>META-INF/services</code> of the test resources.
+     */
+    public static class FlaggedIssueCodec implements IssueSnapshotCodec<FlaggedIssue> {
+
+        @Override
+        public TrackerType getTrackerType() {
+            return TrackerType.BUGZILLA;
+        }
+
+        @Override
+        public Class<FlaggedIssue> getIssueClass() {
+            return FlaggedIssue.class;
+        }
+
+        @Override
+        public FlaggedIssue newIssue(URL url) {
+            return new FlaggedIssue(url);
+        }
+
+        @Override
+        public void encode(FlaggedIssue issue, JsonObjectBuilder json) {
+            json.add("flagged", issue.flagged);
+        }
+
+        @Override
+        public void decode(JsonObject json, FlaggedIssue issue) {
+            issue.flagged = json.getBoolean("flagged");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.net.URL;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+
+/**
+ * Checks that the default asynchronous SPI methods run on the service executor and surface
+ * <code>NotFoundException</code> as the cause of the failed future.
+ */
+public class AsyncServiceDefaultsTest {
+
+    private ExecutorService executor;
+    private URL url;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "async-defaults-test"));
+        url = new URL("https://example.com/browse/TEST-1");
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void getIssueAsyncRunsOnServiceExecutor() throws Exception {
+        IssueTrackerService tracker = mock(IssueTrackerService.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+        Issue issue = mock(Issue.class);
+        doReturn(executor).when(tracker).getAsyncExecutor();
+        String[] thread = new String[1];
+        doAnswer(invocation -> {
+            thread[0] = Thread.currentThread().getName();
+            return issue;
+        }).when(tracker).getIssue(url);
+
+        Issue result = tracker.getIssueAsync(url).join();
+        assertSame(issue, result);
+        assertEquals("async-defaults-test", thread[0]);
+    }
+
+    @Test
+    public void getPullRequestAsyncFailsWithNotFoundException() throws Exception {
+        RepositoryService repository = mock(RepositoryService.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS));
+        doReturn(executor).when(repository).getAsyncExecutor();
+        doThrow(new NotFoundException("missing")).when(repository).getPullRequest(url);
+
+        try {
+            PullRequest pullRequest = repository.getPullRequestAsync(url).join();
+            fail("Expected the future to fail, but got " + pullRequest);
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof NotFoundException);
+            assertEquals("missing", e.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.stream.services.json;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.config.AphroditeConfig;
+import org.jboss.set.aphrodite.config.StreamConfig;
+import org.jboss.set.aphrodite.config.StreamType;
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.domain.StreamComponent;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonStreamServiceLookupTest {
+
+    private static final URI COMP1 = URI.create("https://github.com/project1/comp1.git/");
+    private static final URI COMP2 = URI.create("https://github.com/project2/comp2.git/");
+
+    private JsonStreamService jsonStreamService;
+
+    @Before
+    public void before() throws Exception {
+        StreamConfig streamConfig = new StreamConfig(new File("src/test/resources/streams.json").getAbsoluteFile().toURI().toURL(),
+                StreamType.JSON);
+        this.jsonStreamService = new JsonStreamService();
+        this.jsonStreamService.init(null, new AphroditeConfig(null, null, Collections.singletonList(streamConfig)));
+    }
+
+    @Test
+    public void testStreamsByComponent() {
+        Assert.assertEquals(Arrays.asList("stream1", "stream2"), names(jsonStreamService.getStreamsBy(COMP1, new Codebase("master"))));
+        Assert.assertEquals(Arrays.asList("stream1", "stream2"), names(jsonStreamService.getStreamsBy(COMP2)));
+        Assert.assertTrue(jsonStreamService.getStreamsBy(COMP1, new Codebase("2.x")).isEmpty());
+        Assert.assertTrue(jsonStreamService.getStreamsBy(URI.create("https://github.com/unknown/repo.git/")).isEmpty());
+    }
+
+    @Test
+    public void testComponentBy() {
+        StreamComponent component = jsonStreamService.getComponentBy(COMP2, new Codebase("2.x"));
+        Assert.assertNotNull(component);
+        Assert.assertEquals("comp2", component.getName());
+        Assert.assertEquals("stream1", component.getStream().getName());
+        Assert.assertNull(jsonStreamService.getComponentBy(COMP2, new Codebase("master")));
+    }
+
+    @Test
+    public void testDistinctRepositories() {
+        Assert.assertEquals(Arrays.asList(COMP1, COMP2), jsonStreamService.getDistinctURLRepositoriesByStream("stream2"));
+        Assert.assertEquals(Arrays.asList(COMP1, COMP2, COMP1, COMP2), jsonStreamService.getDistinctURLRepositories());
+        Assert.assertTrue(jsonStreamService.getDistinctURLRepositoriesByStream("unknown").isEmpty());
+    }
+
+    @Test
+    public void testLookupsReturnCallerOwnedLists() {
+        List<Stream> streams = jsonStreamService.getStreamsBy(COMP1, new Codebase("master"));
+        streams.clear();
+        List<URI> repositories = jsonStreamService.getDistinctURLRepositories();
+        repositories.clear();
+
+        Assert.assertEquals(Arrays.asList("stream1", "stream2"), names(jsonStreamService.getStreamsBy(COMP1, new Codebase("master"))));
+        Assert.assertEquals(4, jsonStreamService.getDistinctURLRepositories().size());
+    }
+
+    @Test
+    public void testIndexFollowsComponentUpdate() throws Exception {
+        StreamComponent component = jsonStreamService.getStream("stream2").getComponent("comp1");
+        component.setCodebase(new Codebase("1.x"));
+        jsonStreamService.updateStreamComponent(component);
+
+        Assert.assertEquals(Collections.singletonList("stream2"), names(jsonStreamService.getStreamsBy(COMP1, new Codebase("1.x"))));
+        Assert.assertEquals(Collections.singletonList("stream1"), names(jsonStreamService.getStreamsBy(COMP1, new Codebase("master"))));
+    }
+
+    private static List<String> names(List<Stream> streams) {
+        return streams.stream().map(Stream::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.stream.services.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.set.aphrodite.config.AphroditeConfig;
+import org.jboss.set.aphrodite.config.StreamConfig;
+import org.jboss.set.aphrodite.config.StreamType;
+import org.jboss.set.aphrodite.domain.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class JsonStreamServiceRefreshTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<StreamChangeSet> changes = new ArrayList<>();
+
+    @Test
+    public void unchangedFileIsNotReloaded() throws Exception {
+        File file = write(folder.newFile(), streams(stream("stream1", "1")));
+        JsonStreamService service = init(new StreamConfig(file, StreamType.JSON));
+
+        assertFalse(service.updateStreams());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void changedFilePublishesChangeSet() throws Exception {
+        File file = write(folder.newFile(), streams(stream("stream1", "1"), stream("stream2", "1")));
+        JsonStreamService service = init(new StreamConfig(file, StreamType.JSON));
+
+        write(file, streams(stream("stream1", "2"), stream("stream3", "1")));
+        assertTrue(service.updateStreams());
+
+        assertEquals(1, changes.size());
+        StreamChangeSet changeSet = changes.get(0);
+        assertEquals("2", changeSet.getModifiedComponents().get(0).getTag());
+        assertEquals("stream3", changeSet.getAddedStreams().get(0).getName());
+        assertEquals("stream2", changeSet.getRemovedStreams().get(0).getName());
+        assertEquals(1, changeSet.getAddedComponents().size());
+        assertEquals(1, changeSet.getRemovedComponents().size());
+
+        assertEquals("2", service.getStream("stream1").getComponent("comp1").getTag());
+        assertNull("removed stream is still served", service.getStream("stream2"));
+    }
+
+    @Test
+    public void multipleSourcesAreMerged() throws Exception {
+        File first = write(folder.newFile(), streams(stream("stream1", "1")));
+        File second = write(folder.newFile(), streams(stream("stream2", "1")));
+        JsonStreamService service = init(new StreamConfig(first, StreamType.JSON), new StreamConfig(second, StreamType.JSON));
+        assertEquals(2, service.getStreams().size());
+
+        write(second, streams(stream("stream2", "5")));
+        assertTrue(service.updateStreams());
+        assertEquals("1", service.getStream("stream1").getComponent("comp1").getTag());
+        assertEquals("5", service.getStream("stream2").getComponent("comp1").getTag());
+    }
+
+    @Test
+    public void httpSourceUsesConditionalRequests() throws Exception {
+        byte[] body = streams(stream("stream1", "1")).getBytes(StandardCharsets.UTF_8);
+        AtomicInteger fullResponses = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/streams.json", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                fullResponses.incrementAndGet();
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            URL url = new URL("http://localhost:" + server.getAddress().getPort() + "/streams.json");
+            JsonStreamService service = init(new StreamConfig(url, StreamType.JSON));
+
+            assertFalse(service.updateStreams());
+            assertEquals(1, fullResponses.get());
+            assertEquals(1, service.getStreams().size());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void readersAreNotBlockedByRefresh() throws Exception {
+        byte[] first = streams(stream("stream1", "1")).getBytes(StandardCharsets.UTF_8);
+        byte[] second = streams(stream("stream1", "2")).getBytes(StandardCharsets.UTF_8);
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch downloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/streams.json", exchange -> {
+            byte[] body = first;
+            if (requests.incrementAndGet() > 1) {
+                downloading.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                body = second;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        ExecutorService refresher = Executors.newSingleThreadExecutor();
+        try {
+            URL url = new URL("http://localhost:" + server.getAddress().getPort() + "/streams.json");
+            JsonStreamService service = init(new StreamConfig(url, StreamType.JSON));
+            List<Stream> before = service.getStreams();
+
+            Future<Boolean> refresh = refresher.submit(service::updateStreams);
+            assertTrue(downloading.await(30, TimeUnit.SECONDS));
+            // the refresh is stuck downloading, readers still see the previous snapshot without copying it
+            assertSame(before, service.getStreams());
+            assertEquals("1", service.getStream("stream1").getComponent("comp1").getTag());
+
+            release.countDown();
+            assertTrue(refresh.get(30, TimeUnit.SECONDS));
+            assertEquals("2", service.getStream("stream1").getComponent("comp1").getTag());
+        } finally {
+            release.countDown();
+            refresher.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    private JsonStreamService init(StreamConfig... streamConfigs) throws Exception {
+        JsonStreamService service = new JsonStreamService();
+        assertTrue(service.init(null, new AphroditeConfig(null, null, Arrays.asList(streamConfigs))));
+        service.addChangeListener(changes::add);
+        return service;
+    }
+
+    private static File write(File file, String content) throws IOException {
+        long previous = file.lastModified();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        // make sure the change is visible on file systems with a coarse modification time
+        file.setLastModified(Math.max(previous + 2000, file.lastModified()));
+        return file;
+    }
+
+    private static String streams(String... streams) {
+        return "{\"streams\":[" + String.join(",", streams) + "]}";
+    }
+
+    private static String stream(String name, String tag) {
+        return "{\"name\":\"" + name + "\",\"upstream\":\"null\",\"codebases\":[{\"component_name\":\"comp1\","
+                + "\"contacts\":[\"comp1@redhat.com\"],\"repository_type\":\"GIT\","
+                + "\"repository_url\":\"https://github.com/project1/comp1.git/\",\"codebase\":\"master\","
+                + "\"tag\":\"" + tag + "\",\"version\":\"1.0\",\"gav\":\"org.jboss.test1\",\"comment\":\"a\"}]}";
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.stream.services.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonWriter;
+import javax.json.stream.JsonGenerator;
+
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.junit.Test;
+
+public class StreamsJsonParserTest {
+
+    @Test
+    public void streamingEncodeMatchesTreeEncode() throws Exception {
+        URL url = new File("src/test/resources/streams.json").getAbsoluteFile().toURI().toURL();
+        Map<String, Stream> streams = StreamsJsonParser.parse(url);
+
+        ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        try (JsonWriter writer = Json.createWriterFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true))
+                .createWriter(tree, StandardCharsets.UTF_8)) {
+            writer.write(StreamsJsonParser.encode(streams.values()));
+        }
+        ByteArrayOutputStream streaming = new ByteArrayOutputStream();
+        StreamsJsonParser.encode(streams.values(), streaming, true);
+
+        assertEquals(tree.toString(StandardCharsets.UTF_8.name()), streaming.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void unknownFieldsAndInvalidComponentsAreSkipped() throws Exception {
+        String json = "{\"version\":2,\"streams\":[{\"name\":\"stream1\",\"upstream\":null,\"extra\":{\"a\":[1,{}]},"
+                + "\"codebases\":["
+                + "{\"component_name\":\"comp1\",\"contacts\":[\"a@redhat.com\"],\"repository_type\":\"GIT\","
+                + "\"repository_url\":\"https://github.com/project1/comp1.git\",\"codebase\":\"master\",\"tag\":\"1\","
+                + "\"version\":\"1.0\",\"gav\":\"org.jboss.test1\",\"comment\":\"a\",\"notes\":[\"x\"]},"
+                + "{\"component_name\":\"comp2\",\"contacts\":[],\"repository_type\":\"GIT\"}"
+                + "]}]}";
+        Map<String, Stream> streams = parse(json);
+
+        Stream stream = streams.get("stream1");
+        assertNull(stream.getUpstream());
+        assertEquals(1, stream.getAllComponents().size());
+        assertEquals("https://github.com/project1/comp1.git/", stream.getComponent("comp1").getRepositoryURL().toString());
+        assertNull(stream.getComponent("comp2"));
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void missingStreamsArrayFails() throws Exception {
+        parse("{\"other\":[]}");
+    }
+
+    private static Map<String, Stream> parse(String json) throws Exception {
+        return StreamsJsonParser.parse(new URL("file:/streams.json"), new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
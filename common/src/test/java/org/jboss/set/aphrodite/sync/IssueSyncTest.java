@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IssueSyncTest {
+
+    private static final long OVERLAP = 1000;
+    private static final long FULL_SYNC_INTERVAL = 100_000;
+
+    private final AtomicLong clock = new AtomicLong(10_000);
+    private final Map<String, Issue> tracker = new LinkedHashMap<>();
+    private final List<Date> searches = new ArrayList<>();
+    private boolean unavailable;
+    private IssueSync sync;
+
+    @Before
+    public void setUp() {
+        sync = new IssueSync(since -> {
+            if (unavailable)
+                throw new NotFoundException("Filter not found");
+            searches.add(since);
+            return tracker.values().stream()
+                    .filter(issue -> since == null || !issue.getLastUpdated().get().before(since))
+                    .collect(Collectors.toList());
+        }, OVERLAP, FULL_SYNC_INTERVAL, clock::get);
+    }
+
+    @Test
+    public void firstSyncRunsWholeQuery() throws Exception {
+        update("WFLY-1");
+        update("WFLY-2");
+
+        IssueDelta delta = sync.sync();
+
+        assertTrue(delta.isFull());
+        assertEquals(2, delta.getAdded().size());
+        assertNull(searches.get(0));
+        assertEquals(new Date(10_000), sync.getWatermark().get());
+    }
+
+    @Test
+    public void laterSyncsOnlyAskForUpdatedIssues() throws Exception {
+        update("WFLY-1");
+        update("WFLY-2");
+        sync.sync();
+
+        clock.set(20_000);
+        update("WFLY-2");
+        update("WFLY-3");
+        IssueDelta delta = sync.sync();
+
+        assertFalse(delta.isFull());
+        assertEquals(new Date(10_000 - OVERLAP), searches.get(1));
+        assertEquals("WFLY-3", key(delta.getAdded().get(0)));
+        assertEquals("WFLY-2", key(delta.getChanged().get(0)));
+        assertEquals(3, sync.getIssues().size());
+
+        // issues found again in the overlap are not reported twice
+        clock.set(20_500);
+        assertTrue(sync.sync().isEmpty());
+    }
+
+    @Test
+    public void fullSyncFindsRemovedIssues() throws Exception {
+        update("WFLY-1");
+        update("WFLY-2");
+        sync.sync();
+
+        tracker.remove("WFLY-1");
+        clock.set(20_000);
+        assertTrue(sync.sync().getRemoved().isEmpty());
+
+        clock.set(10_000 + FULL_SYNC_INTERVAL);
+        IssueDelta delta = sync.sync();
+        assertTrue(delta.isFull());
+        assertEquals("WFLY-1", key(delta.getRemoved().get(0)));
+        assertEquals(1, sync.getIssues().size());
+    }
+
+    @Test
+    public void failedSyncKeepsResultSet() throws Exception {
+        update("WFLY-1");
+        sync.sync();
+
+        clock.set(20_000);
+        unavailable = true;
+        try {
+            sync.sync();
+            fail();
+        } catch (NotFoundException expected) {
+            assertEquals(new Date(10_000), sync.getWatermark().get());
+            assertEquals(1, sync.getIssues().size());
+        }
+
+        unavailable = false;
+        sync.sync();
+        assertEquals(new Date(10_000 - OVERLAP), searches.get(1));
+    }
+
+    private void update(String key) throws Exception {
+        Issue issue = new Issue(new URL("https://issues.redhat.com/browse/" + key), TrackerType.JIRA);
+        issue.setTrackerId(key);
+        issue.setLastUpdated(new Date(clock.get() - 10));
+        tracker.put(key, issue);
+    }
+
+    private static String key(Issue issue) {
+        return issue.getTrackerId().get();
+    }
+}
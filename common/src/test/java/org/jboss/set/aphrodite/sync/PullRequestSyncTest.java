@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.domain.Repository;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PullRequestSyncTest {
+
+    private final AtomicLong clock = new AtomicLong(10_000);
+    private final Map<Integer, PullRequest> repository = new LinkedHashMap<>();
+    private final List<Date> listings = new ArrayList<>();
+    private PullRequestSync sync;
+
+    @Before
+    public void setUp() {
+        sync = new PullRequestSync(new PullRequestSync.Query() {
+            @Override
+            public List<PullRequest> list() {
+                listings.add(null);
+                return repository.values().stream()
+                        .filter(pullRequest -> pullRequest.getState() == PullRequestState.OPEN)
+                        .collect(Collectors.toList());
+            }
+
+            @Override
+            public List<PullRequest> listUpdatedSince(Date updatedSince) {
+                listings.add(updatedSince);
+                return repository.values().stream()
+                        .filter(pullRequest -> !pullRequest.getUpdatedAt().before(updatedSince))
+                        .collect(Collectors.toList());
+            }
+        }, PullRequestState.OPEN, 1000, 100_000, clock::get);
+    }
+
+    @Test
+    public void reportsPullRequestsEnteringAndLeavingState() throws Exception {
+        update(1, PullRequestState.OPEN);
+        update(2, PullRequestState.OPEN);
+        update(3, PullRequestState.CLOSED);
+        PullRequestDelta delta = sync.sync();
+        assertTrue(delta.isFull());
+        assertEquals(2, delta.getAdded().size());
+
+        clock.set(20_000);
+        update(1, PullRequestState.OPEN);
+        update(2, PullRequestState.CLOSED);
+        update(4, PullRequestState.OPEN);
+        update(5, PullRequestState.CLOSED);
+        delta = sync.sync();
+
+        assertFalse(delta.isFull());
+        assertEquals(new Date(9_000), listings.get(1));
+        assertEquals(Collections.singletonList(url(4)), urls(delta.getAdded()));
+        assertEquals(Collections.singletonList(url(1)), urls(delta.getChanged()));
+        assertEquals(Collections.singletonList(url(2)), urls(delta.getRemoved()));
+        assertEquals(2, sync.getPullRequests().size());
+    }
+
+    @Test
+    public void listsAllPullRequestsAfterFullSyncInterval() throws Exception {
+        update(1, PullRequestState.OPEN);
+        sync.sync();
+
+        clock.set(110_000);
+        repository.remove(1);
+        PullRequestDelta delta = sync.sync();
+
+        assertTrue(delta.isFull());
+        assertEquals(Collections.singletonList(url(1)), urls(delta.getRemoved()));
+        assertTrue(sync.getPullRequests().isEmpty());
+    }
+
+    private void update(int number, PullRequestState state) throws Exception {
+        PullRequest pullRequest = new PullRequest(String.valueOf(number), url(number), new Repository(new URL("https://github.com/wildfly/wildfly")),
+                new Codebase("main"), state, "PR " + number, "", true, false, MergeableState.CLEAN, null, Collections.emptyList());
+        pullRequest.setUpdatedAt(new Date(clock.get() - 10));
+        repository.put(number, pullRequest);
+    }
+
+    private static URL url(int number) throws Exception {
+        return new URL("https://github.com/wildfly/wildfly/pull/" + number);
+    }
+
+    private static List<URL> urls(List<PullRequest> pullRequests) {
+        return pullRequests.stream().map(PullRequest::getURL).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.tracing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.jboss.set.aphrodite.spi.Tracer;
+import org.jboss.set.aphrodite.spi.Tracer.Span;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TracingTest {
+
+    private Tracer previous;
+    private RecordingTracer tracer;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        previous = Tracing.tracer();
+        tracer = new RecordingTracer();
+        Tracing.setTracer(tracer);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        Tracing.setTracer(previous);
+    }
+
+    @Test
+    public void propagatesTheCurrentSpanToTheExecutor() {
+        List<String> trackers = List.of("https://issues.redhat.com", "https://bugzilla.redhat.com");
+        List<Issue> issues = Tracing.traceAsync("Aphrodite.searchIssues", null, () -> {
+            List<CompletableFuture<Issue>> requests = trackers.stream()
+                    .map(tracker -> Tracing.traceAsync("searchIssues", tracker, () -> CompletableFuture.supplyAsync(
+                            () -> Tracing.trace("page", tracker, () -> new Issue(tracker)), Tracing.propagating(executor))))
+                    .collect(Collectors.toList());
+            return CompletableFuture.allOf(requests.toArray(new CompletableFuture[0]))
+                    .thenApply(v -> requests.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+        }).join();
+
+        assertEquals(2, issues.size());
+        assertEquals(5, tracer.spans.size());
+        RecordingSpan root = tracer.named("Aphrodite.searchIssues").get(0);
+        assertNull(root.parent);
+        for (RecordingSpan tracker : tracer.named("searchIssues")) {
+            assertSame(root, tracker.parent);
+            assertTrue(tracker.ended);
+        }
+        for (RecordingSpan page : tracer.named("page")) {
+            assertEquals(page.attributes.get(Tracing.BACKEND), ((RecordingSpan) page.parent).attributes.get(Tracing.BACKEND));
+        }
+        assertTrue(root.ended);
+        assertSame(Span.NO_OP, Tracing.current());
+    }
+
+    @Test
+    public void recordsExceptions() {
+        try {
+            Tracing.trace("Aphrodite.getIssue", "https://issues.redhat.com", () -> {
+                throw new NotFoundException("WFLY-1");
+            });
+        } catch (NotFoundException expected) {
+        }
+
+        CompletableFuture<Object> failed = Tracing.traceAsync("Aphrodite.getPullRequest", "github",
+                () -> CompletableFuture.failedFuture(new NotFoundException("wildfly/wildfly#1")));
+        assertTrue(failed.isCompletedExceptionally());
+
+        for (RecordingSpan span : tracer.spans) {
+            assertTrue(span.exception instanceof NotFoundException);
+            assertTrue(span.ended);
+        }
+        assertEquals(2, tracer.spans.size());
+    }
+
+    @Test
+    public void noSpansAreCreatedByDefault() throws Exception {
+        Tracing.setTracer(Tracer.NO_OP);
+        assertFalse(Tracing.isEnabled());
+        assertEquals("WFLY-1", Tracing.trace("Aphrodite.getIssue", null, () -> "WFLY-1"));
+        assertSame(Span.NO_OP, Tracing.startSpan("Aphrodite.getIssue", null));
+        assertTrue(tracer.spans.isEmpty());
+    }
+
+    private static final class Issue {
+        private final String tracker;
+
+        Issue(String tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public String toString() {
+            return tracker;
+        }
+    }
+
+    private static final class RecordingTracer implements Tracer {
+        private final List<RecordingSpan> spans = new ArrayList<>();
+
+        @Override
+        public synchronized Span startSpan(String name, Span parent) {
+            RecordingSpan span = new RecordingSpan(name, parent == Span.NO_OP ? null : parent);
+            spans.add(span);
+            return span;
+        }
+
+        synchronized List<RecordingSpan> named(String name) {
+            return spans.stream().filter(span -> span.name.equals(name)).collect(Collectors.toList());
+        }
+    }
+
+    private static final class RecordingSpan implements Span {
+        private final String name;
+        private final Span parent;
+        private final Map<String, Object> attributes = new HashMap<>();
+        private volatile Throwable exception;
+        private volatile boolean ended;
+
+        RecordingSpan(String name, Span parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        @Override
+        public synchronized Span setAttribute(String key, String value) {
+            attributes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Span recordException(Throwable exception) {
+            this.exception = exception;
+            return this;
+        }
+
+        @Override
+        public void end() {
+            ended = true;
+        }
+    }
+}
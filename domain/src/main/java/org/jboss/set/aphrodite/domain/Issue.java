@@ -321,6 +321,31 @@ public class Issue {
         this.comments = comments;
     }
 
+    /**
+     * @see SymbolTable#compact(Issue)
+     */
+    void compact(SymbolTable symbols) {
+        product = symbols.intern(product);
+        components = symbols.internAll(components);
+        assignee = symbols.intern(assignee);
+        reporter = symbols.intern(reporter);
+        rawStatus = symbols.intern(rawStatus);
+        rawType = symbols.intern(rawType);
+        affectedVersions = symbols.internAll(affectedVersions);
+        if (releases != null) {
+            List<Release> compactReleases = new ArrayList<>(releases.size());
+            for (Release release : releases)
+                compactReleases.add(release != null ? new Release(symbols.intern(release.getVersion().orElse(null)),
+                        symbols.intern(release.getMilestone().orElse(null))) : null);
+            releases = SymbolTable.copyOf(compactReleases);
+        }
+        streamStatus = symbols.internKeys(streamStatus);
+        dependsOn = SymbolTable.copyOf(dependsOn);
+        blocks = SymbolTable.copyOf(blocks);
+        comments = SymbolTable.copyOf(comments);
+        patches = SymbolTable.copyOf(patches);
+    }
+
     public Stream<Patch> getPatches() throws NameNotFoundException {
         return Container.instance().lookup(PatchHome.class.getSimpleName(), (PatchHome.class)).findPatchesByIssue(this);
     }
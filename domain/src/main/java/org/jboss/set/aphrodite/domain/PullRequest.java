@@ -22,38 +22,23 @@
 
 package org.jboss.set.aphrodite.domain;
 
-import static org.jboss.set.aphrodite.domain.internal.URLUtils.URL_REGEX_STRING;
-
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.Properties;
-import java.util.regex.Matcher;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import javax.naming.NameNotFoundException;
 
 import org.jboss.set.aphrodite.container.Container;
-import org.jboss.set.aphrodite.domain.internal.URLUtils;
 import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
 
 @SuppressWarnings({"unused", "WeakerAccess"})
 public class PullRequest {
     private static final Pattern UPGRADE_TITLE = Pattern.compile("\\s*Upgrade \\s*", Pattern.CASE_INSENSITIVE);
-    private static final Pattern NO_UPSTREAM_REQUIRED = Pattern.compile("\\s*No upstream required.*$|\\s*Upstream not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    private static final Pattern UPSTREAM_PR = Pattern.compile("^\\s*\\[?Upstream PR[:|]\\s*+\\S+\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    private static final Pattern UPSTREAM_ISSUE = Pattern.compile("^\\s*Upstream Issue[:|]\\s*+\\S+", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    private static final Pattern ISSUE = Pattern.compile("^\\s*Issue[:|]\\s*+\\S+", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    private static final Pattern RELATED_ISSUES = Pattern.compile("^\\s*\\[?Related Issue[s|][:|]\\s*+"+URL_REGEX_STRING+"(,\\s*+"+URL_REGEX_STRING+")*+" + "\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    private static final String UPGRADE_META_BIT_REGEX = "\\w++=\\w++";
-    private static final String UPGRADE_META_REGEX = "\\s*+"+UPGRADE_META_BIT_REGEX+"(,\\s*+"+UPGRADE_META_BIT_REGEX+")*+";
-    private static final Pattern UPGRADE = Pattern.compile("\\s*Upgrade[:|]"+UPGRADE_META_REGEX, Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    private static final Pattern DEPENDS_PRS = Pattern.compile("^\\s*\\[?Depend[s|][:|]\\s*+"+URL_REGEX_STRING+"(,\\s*+"+URL_REGEX_STRING+")*+" + "\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    private static final Pattern NO_ISSUE_REQUIRED = Pattern.compile("^\\s*No issue required.*$|^\\s*Issue not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    private static final Pattern UPSTREAM_PR_NOT_REQUIRED = Pattern.compile("^\\s*Upstream PR not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
 
     private final String id;
     private final URL url;
@@ -66,8 +51,10 @@ public class PullRequest {
     private boolean upgrade;
     private final MergeableState mergableState;
     private final Date mergedAt;
+    private Date updatedAt;
     private List<Commit> commits;
     private PullRequestHome prHome;
+    private volatile PullRequestMetadata metadata;
 
     /**
      * @deprecated
@@ -161,6 +148,23 @@ public class PullRequest {
 
     public void setBody(String body) {
         this.body = body;
+        this.metadata = null;
+    }
+
+    /**
+     * Return the metadata recognized in the body of this PR. The body is parsed on the first call and the result is
+     * reused until the body is changed through {@link #setBody(String)}.
+     *
+     * @return the metadata of the current body.
+     */
+    public PullRequestMetadata getMetadata() {
+        final String body = this.body;
+        PullRequestMetadata metadata = this.metadata;
+        if (metadata == null || !metadata.isFor(body)) {
+            metadata = PullRequestMetadata.parse(body);
+            this.metadata = metadata;
+        }
+        return metadata;
     }
 
     public Repository getRepository() {
@@ -177,8 +181,7 @@ public class PullRequest {
      * @return is upstream required?
      */
     public boolean isUpstreamRequired() {
-        final Matcher m1 = NO_UPSTREAM_REQUIRED.matcher(body);
-        return !(m1.find());
+        return getMetadata().isUpstreamRequired();
     }
 
     /**
@@ -187,8 +190,7 @@ public class PullRequest {
      * @return true if PR body contains phrase {@code Upstream PR not required}.
      */
     public boolean isUpstreamPrRequired() {
-        final Matcher matcher = UPSTREAM_PR_NOT_REQUIRED.matcher(body);
-        return !(matcher.find());
+        return getMetadata().isUpstreamPrRequired();
     }
 
     /**
@@ -198,8 +200,7 @@ public class PullRequest {
      */
 
     public boolean isIssueRequired(){
-        final Matcher m1 = NO_ISSUE_REQUIRED.matcher(body);
-        return !(m1.find());
+        return getMetadata().isIssueRequired();
     }
 
     /**
@@ -209,20 +210,7 @@ public class PullRequest {
      * @throws MalformedURLException if found URL is invalid
      */
     public URL findUpstreamPullRequestURL() throws MalformedURLException {
-        if (this.isUpstreamRequired()) {
-            final String[] url = URLUtils.extractURLs(body, UPSTREAM_PR, false);
-            if (url == null || url.length == 0 || url[0] == null) {
-                final String[] ghurl = URLUtils.extractGHUrls(body, UPSTREAM_PR, false);
-                if (ghurl == null || ghurl.length == 0 || ghurl[0] == null)
-                    return null;
-                else
-                    return new URL(ghurl[0]);
-            }
-            else
-                return new URL(url[0]);
-        } else {
-            return null;
-        }
+        return getMetadata().getUpstreamPullRequestURL();
     }
 
     /**
@@ -232,15 +220,7 @@ public class PullRequest {
      * @throws MalformedURLException if found URL is invalid
      */
     public URL findUpstreamIssueURL() throws MalformedURLException {
-        if (isUpstreamRequired()) {
-            final String[] url = URLUtils.extractURLs(body, UPSTREAM_ISSUE, false);
-            if (url == null || url.length == 0 || url[0] == null)
-                return null;
-            else
-                return new URL(url[0]);
-        } else {
-            return null;
-        }
+        return getMetadata().getUpstreamIssueURL();
     }
 
     /**
@@ -250,14 +230,7 @@ public class PullRequest {
      * @throws MalformedURLException if found URL is invalid
      */
     public URL findIssueURL() throws MalformedURLException {
-        if (this.isIssueRequired()) {
-            final String[] url = URLUtils.extractURLs(body, ISSUE, false);
-            if (url == null || url.length == 0 || url[0] == null)
-                return null;
-            else
-                return new URL(url[0]);
-        } else
-            return null;
+        return getMetadata().getIssueURL();
     }
 
     /**
@@ -269,16 +242,7 @@ public class PullRequest {
      * @throws MalformedURLException if one of found URLs is invalid
      */
     public List<URL> findRelatedIssuesURL() throws MalformedURLException {
-        final String[] urls = URLUtils.extractURLs(body, RELATED_ISSUES, true);
-        if (urls == null || urls.length == 0 || urls[0] == null) {
-            return Collections.emptyList();
-        } else {
-            List<URL> issues = new ArrayList<>(urls.length);
-            for (String url : urls) {
-                issues.add(new URL(url));
-            }
-            return issues;
-        }
+        return getMetadata().getRelatedIssuesURLs();
     }
 
     /**
@@ -290,19 +254,7 @@ public class PullRequest {
      * @throws MalformedURLException if one of found URLs is invalid
      */
     public List<URL> findDependencyPullRequestsURL() throws MalformedURLException {
-        if(!hasDependencies()) {
-            return new ArrayList<>();
-        }
-        final String[] urls = URLUtils.extractURLs(body, DEPENDS_PRS, true);
-        if (urls == null || urls.length == 0 || urls[0] == null) {
-            return Collections.emptyList();
-        } else {
-            List<URL> issues = new ArrayList<>(urls.length);
-            for (String url : urls) {
-                issues.add(new URL(url));
-            }
-            return issues;
-        }
+        return getMetadata().getDependencyPullRequestsURLs();
     }
 
     /**
@@ -312,13 +264,11 @@ public class PullRequest {
      * @deprecated
      */
     public boolean hasUpgradeMeta() {
-        final Matcher m = UPGRADE.matcher(body);
-        return m.find();
+        return getMetadata().hasUpgrade();
     }
 
     public boolean hasUpgrade() {
-        final Matcher m = UPGRADE.matcher(body);
-        return m.find();
+        return getMetadata().hasUpgrade();
     }
 
     /**
@@ -326,19 +276,12 @@ public class PullRequest {
      * @deprecated - upgrade handling in processor wasnt green lit. Should be safe to remove.
      */
     public PullRequestUpgrade findPullRequestUpgrade() {
-        Matcher m = UPGRADE.matcher(body);
-        if (!m.find()) {
+        final PullRequestMetadata metadata = getMetadata();
+        if (!metadata.hasUpgrade()) {
             return null;
         }
-        String upgradeBody = body.substring(m.start(), m.end());
-        m = Pattern.compile(UPGRADE_META_BIT_REGEX).matcher(upgradeBody);
-        Properties metas = new Properties();
-        while (m.find()) {
-            final String[] x = upgradeBody.substring(m.start(), m.end()).split("=");
-            metas.put(x[0], x[1]);
-        }
-        return new PullRequestUpgrade(this, metas.getProperty("id"), metas.getProperty("tag"),
-                metas.getProperty("version"), metas.getProperty("branch"));
+        final Map<String, String> metas = metadata.getUpgradeMeta();
+        return new PullRequestUpgrade(this, metas.get("id"), metas.get("tag"), metas.get("version"), metas.get("branch"));
     }
 
     private PullRequestHome getPullRequestHome() throws NameNotFoundException {
@@ -398,12 +341,24 @@ public class PullRequest {
         return mergedAt;
     }
 
+    /**
+     * @return the last time the pull request was updated, or <code>null</code> if the repository service did not
+     *         report it.
+     */
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public boolean isUpgrade() {
         return upgrade;
     }
 
     public boolean hasDependencies() {
-        return DEPENDS_PRS.matcher(body).find();
+        return getMetadata().hasDependencies();
     }
 
     @Override
@@ -0,0 +1,303 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain;
+
+import static org.jboss.set.aphrodite.domain.internal.URLUtils.URL_REGEX_STRING;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.jboss.set.aphrodite.domain.internal.URLUtils;
+
+/**
+ * The metadata recognized in the body of a {@link PullRequest}, such as the upstream pull request, the issue and the
+ * dependencies of the change.
+ * <p>
+ * All fields are extracted at once. A single scan over the body records which keywords occur, and only the patterns
+ * of the fields whose keyword is present are then evaluated, each of them once. Instances are immutable and are
+ * cached by {@link PullRequest#getMetadata()} until the body changes.
+ */
+public final class PullRequestMetadata {
+
+    private static final Pattern NO_UPSTREAM_REQUIRED = Pattern.compile("\\s*No upstream required.*$|\\s*Upstream not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern UPSTREAM_PR = Pattern.compile("^\\s*\\[?Upstream PR[:|]\\s*+\\S+\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern UPSTREAM_ISSUE = Pattern.compile("^\\s*Upstream Issue[:|]\\s*+\\S+", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern ISSUE = Pattern.compile("^\\s*Issue[:|]\\s*+\\S+", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern RELATED_ISSUES = Pattern.compile("^\\s*\\[?Related Issue[s|][:|]\\s*+"+URL_REGEX_STRING+"(,\\s*+"+URL_REGEX_STRING+")*+" + "\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern UPGRADE_META_BIT = Pattern.compile("\\w++=\\w++");
+    private static final String UPGRADE_META_REGEX = "\\s*+"+UPGRADE_META_BIT.pattern()+"(,\\s*+"+UPGRADE_META_BIT.pattern()+")*+";
+    private static final Pattern UPGRADE = Pattern.compile("\\s*Upgrade[:|]"+UPGRADE_META_REGEX, Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern DEPENDS_PRS = Pattern.compile("^\\s*\\[?Depend[s|][:|]\\s*+"+URL_REGEX_STRING+"(,\\s*+"+URL_REGEX_STRING+")*+" + "\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern NO_ISSUE_REQUIRED = Pattern.compile("^\\s*No issue required.*$|^\\s*Issue not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern UPSTREAM_PR_NOT_REQUIRED = Pattern.compile("^\\s*Upstream PR not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    // the literal text of every pattern above, a pattern is only evaluated if its phrase occurs in the body, and
+    // only from the start of the line holding the first occurrence
+    private static final String[] PHRASES = { "no upstream required", "upstream not required", "upstream pr not required",
+            "upstream pr", "upstream issue", "no issue required", "issue not required", "issue", "related issue", "depend",
+            "upgrade" };
+    private static final int P_NO_UPSTREAM = 0;
+    private static final int P_UPSTREAM_NOT = 1;
+    private static final int P_UPSTREAM_PR_NOT = 2;
+    private static final int P_UPSTREAM_PR = 3;
+    private static final int P_UPSTREAM_ISSUE = 4;
+    private static final int P_NO_ISSUE = 5;
+    private static final int P_ISSUE_NOT = 6;
+    private static final int P_ISSUE = 7;
+    private static final int P_RELATED_ISSUE = 8;
+    private static final int P_DEPEND = 9;
+    private static final int P_UPGRADE = 10;
+    // the phrases starting with a given lower case ASCII character
+    private static final int[][] PHRASES_BY_FIRST_CHAR = new int[128][];
+
+    static {
+        for (int c = 0; c < PHRASES_BY_FIRST_CHAR.length; c++) {
+            final char first = (char) c;
+            PHRASES_BY_FIRST_CHAR[c] = IntStream.range(0, PHRASES.length)
+                    .filter(p -> PHRASES[p].charAt(0) == first).toArray();
+        }
+    }
+
+    private final String body;
+    private final boolean upstreamRequired;
+    private final boolean upstreamPrRequired;
+    private final boolean issueRequired;
+    private final String upstreamPullRequestURL;
+    private final String upstreamIssueURL;
+    private final String issueURL;
+    private final List<String> relatedIssuesURLs;
+    private final boolean dependencies;
+    private final List<String> dependencyPullRequestsURLs;
+    private final Map<String, String> upgradeMeta;
+
+    private PullRequestMetadata(String body) {
+        this.body = body;
+        final int[] lines = scan(body);
+
+        final int noUpstream = first(lines[P_NO_UPSTREAM], lines[P_UPSTREAM_NOT]);
+        upstreamRequired = noUpstream < 0 || !NO_UPSTREAM_REQUIRED.matcher(body).region(noUpstream, body.length()).find();
+        final int upstreamPrNot = lines[P_UPSTREAM_PR_NOT];
+        upstreamPrRequired = upstreamPrNot < 0 || !UPSTREAM_PR_NOT_REQUIRED.matcher(body).region(upstreamPrNot, body.length()).find();
+        final int noIssue = first(lines[P_NO_ISSUE], lines[P_ISSUE_NOT]);
+        issueRequired = noIssue < 0 || !NO_ISSUE_REQUIRED.matcher(body).region(noIssue, body.length()).find();
+
+        final int upstreamPr = lines[P_UPSTREAM_PR];
+        if (upstreamRequired && upstreamPr >= 0) {
+            String url = first(URLUtils.extractURLs(body, upstreamPr, UPSTREAM_PR, false));
+            upstreamPullRequestURL = url != null ? url : first(URLUtils.extractGHUrls(body, upstreamPr, UPSTREAM_PR, false));
+        } else {
+            upstreamPullRequestURL = null;
+        }
+        final int upstreamIssue = lines[P_UPSTREAM_ISSUE];
+        upstreamIssueURL = upstreamRequired && upstreamIssue >= 0 ? first(URLUtils.extractURLs(body, upstreamIssue, UPSTREAM_ISSUE, false)) : null;
+
+        final int issue = lines[P_ISSUE];
+        issueURL = issueRequired && issue >= 0 ? first(URLUtils.extractURLs(body, issue, ISSUE, false)) : null;
+        final int relatedIssue = lines[P_RELATED_ISSUE];
+        relatedIssuesURLs = relatedIssue >= 0 ? all(URLUtils.extractURLs(body, relatedIssue, RELATED_ISSUES, true)) : Collections.emptyList();
+
+        final int depend = lines[P_DEPEND];
+        dependencies = depend >= 0 && DEPENDS_PRS.matcher(body).region(depend, body.length()).find();
+        dependencyPullRequestsURLs = dependencies ? all(URLUtils.extractURLs(body, depend, DEPENDS_PRS, true)) : Collections.emptyList();
+
+        final int upgrade = lines[P_UPGRADE];
+        upgradeMeta = upgrade >= 0 ? parseUpgradeMeta(body, upgrade) : null;
+    }
+
+    /**
+     * Extract the metadata of the given pull request body.
+     *
+     * @param body the body of a pull request, <code>null</code> is treated as an empty body.
+     * @return the metadata found in <code>body</code>.
+     */
+    public static PullRequestMetadata parse(String body) {
+        return new PullRequestMetadata(body == null ? "" : body);
+    }
+
+    /**
+     * Find the first occurrence of every phrase, ignoring case, in a single pass over the body.
+     *
+     * @return for every phrase the start of the line of its first occurrence, or <code>-1</code> if it does not occur.
+     */
+    private static int[] scan(String body) {
+        final int[] lines = new int[PHRASES.length];
+        Arrays.fill(lines, -1);
+        int lineStart = 0;
+        int found = 0;
+        for (int i = 0; i < body.length() && found < PHRASES.length; i++) {
+            final char c = body.charAt(i);
+            if (c == '\n') {
+                lineStart = i + 1;
+                continue;
+            }
+            final char lower = (char) (c | 0x20);
+            if (lower >= PHRASES_BY_FIRST_CHAR.length)
+                continue;
+            for (int p : PHRASES_BY_FIRST_CHAR[lower]) {
+                final String phrase = PHRASES[p];
+                if (lines[p] < 0 && body.regionMatches(true, i, phrase, 0, phrase.length())) {
+                    lines[p] = lineStart;
+                    found++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static int first(int a, int b) {
+        return a < 0 ? b : b < 0 ? a : Math.min(a, b);
+    }
+
+    private static Map<String, String> parseUpgradeMeta(String body, int from) {
+        Matcher m = UPGRADE.matcher(body).region(from, body.length());
+        if (!m.find())
+            return null;
+
+        final Map<String, String> metas = new HashMap<>();
+        m = UPGRADE_META_BIT.matcher(body).region(m.start(), m.end());
+        while (m.find()) {
+            final String[] x = m.group().split("=");
+            metas.put(x[0], x[1]);
+        }
+        return Collections.unmodifiableMap(metas);
+    }
+
+    private static String first(String[] urls) {
+        return urls == null || urls.length == 0 ? null : urls[0];
+    }
+
+    private static List<String> all(String[] urls) {
+        return urls == null || urls.length == 0 || urls[0] == null ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(urls));
+    }
+
+    private static URL toURL(String url) throws MalformedURLException {
+        return url == null ? null : new URL(url);
+    }
+
+    private static List<URL> toURLs(List<String> urls) throws MalformedURLException {
+        final List<URL> result = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            result.add(new URL(url));
+        }
+        return result;
+    }
+
+    /**
+     * @return whether this metadata was extracted from exactly the given body instance.
+     */
+    boolean isFor(String body) {
+        return this.body == body || (body == null && this.body.isEmpty());
+    }
+
+    public boolean isUpstreamRequired() {
+        return upstreamRequired;
+    }
+
+    public boolean isUpstreamPrRequired() {
+        return upstreamPrRequired;
+    }
+
+    public boolean isIssueRequired() {
+        return issueRequired;
+    }
+
+    /**
+     * @return the upstream pull request, or <code>null</code> if there is none or upstream is not required.
+     * @throws MalformedURLException if the URL found is invalid.
+     */
+    public URL getUpstreamPullRequestURL() throws MalformedURLException {
+        return toURL(upstreamPullRequestURL);
+    }
+
+    /**
+     * @return the upstream issue, or <code>null</code> if there is none or upstream is not required.
+     * @throws MalformedURLException if the URL found is invalid.
+     */
+    public URL getUpstreamIssueURL() throws MalformedURLException {
+        return toURL(upstreamIssueURL);
+    }
+
+    /**
+     * @return the issue, or <code>null</code> if there is none or an issue is not required.
+     * @throws MalformedURLException if the URL found is invalid.
+     */
+    public URL getIssueURL() throws MalformedURLException {
+        return toURL(issueURL);
+    }
+
+    /**
+     * @return the related issues, or an empty list.
+     * @throws MalformedURLException if one of the URLs found is invalid.
+     */
+    public List<URL> getRelatedIssuesURLs() throws MalformedURLException {
+        return toURLs(relatedIssuesURLs);
+    }
+
+    public boolean hasDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * @return the pull requests this one depends on, or an empty list.
+     * @throws MalformedURLException if one of the URLs found is invalid.
+     */
+    public List<URL> getDependencyPullRequestsURLs() throws MalformedURLException {
+        return toURLs(dependencyPullRequestsURLs);
+    }
+
+    public boolean hasUpgrade() {
+        return upgradeMeta != null;
+    }
+
+    /**
+     * @return the <code>key=value</code> pairs of the <code>Upgrade:</code> line, or an empty map if there is none.
+     */
+    public Map<String, String> getUpgradeMeta() {
+        return upgradeMeta != null ? upgradeMeta : Collections.emptyMap();
+    }
+
+    @Override
+    public String toString() {
+        return "PullRequestMetadata{" +
+                "upstreamRequired=" + upstreamRequired +
+                ", upstreamPrRequired=" + upstreamPrRequired +
+                ", issueRequired=" + issueRequired +
+                ", upstreamPullRequestURL=" + upstreamPullRequestURL +
+                ", upstreamIssueURL=" + upstreamIssueURL +
+                ", issueURL=" + issueURL +
+                ", relatedIssuesURLs=" + relatedIssuesURLs +
+                ", dependencyPullRequestsURLs=" + dependencyPullRequestsURLs +
+                ", upgradeMeta=" + upgradeMeta +
+                '}';
+    }
+}
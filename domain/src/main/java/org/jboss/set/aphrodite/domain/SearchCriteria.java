@@ -23,6 +23,7 @@
 package org.jboss.set.aphrodite.domain;
 
 import java.time.LocalDate;
+import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -44,12 +45,13 @@ public class SearchCriteria {
     private final Map<Stream, FlagStatus> streams;
     private final LocalDate startDate;
     private final LocalDate endDate;
+    private final Date updatedSince;
     private final Integer maxResults;
     private final Set<String> labels;
 
     private SearchCriteria(IssueStatus status, String assignee, String reporter, String product,
                            String component, Stage stage, Release release, Map<Stream, FlagStatus> streams,
-                           LocalDate startDate, LocalDate endDate, Integer maxResults, Set<String> labels) {
+                           LocalDate startDate, LocalDate endDate, Date updatedSince, Integer maxResults, Set<String> labels) {
         this.status = status;
         this.assignee = assignee;
         this.reporter = reporter;
@@ -60,6 +62,7 @@ public class SearchCriteria {
         this.streams = streams;
         this.startDate = startDate;
         this.endDate = endDate;
+        this.updatedSince = updatedSince;
         this.maxResults = maxResults;
         this.labels = labels;
 
@@ -68,6 +71,9 @@ public class SearchCriteria {
 
         if (endDate != null && endDate.isAfter(LocalDate.now()))
             throw new IllegalArgumentException("endDate cannot be in the future.");
+
+        if (updatedSince != null && updatedSince.getTime() > System.currentTimeMillis())
+            throw new IllegalArgumentException("updatedSince cannot be in the future.");
     }
 
     public Optional<IssueStatus> getStatus() {
@@ -109,6 +115,14 @@ public class SearchCriteria {
         return Optional.ofNullable(endDate);
     }
 
+    /**
+     * @return the instant issues must have been updated at or after, unlike <code>startDate</code> this is not
+     *         rounded to a day.
+     */
+    public Optional<Date> getUpdatedSince() {
+        return Optional.ofNullable(updatedSince);
+    }
+
     public Optional<Integer> getMaxResults() {
         return Optional.ofNullable(maxResults);
     }
@@ -119,7 +133,7 @@ public class SearchCriteria {
 
     public boolean isEmpty() {
         return status == null && assignee == null && reporter == null && product == null && component == null && stage == null
-                && release == null && streams == null && startDate == null && endDate == null && maxResults == null;
+                && release == null && streams == null && startDate == null && endDate == null && updatedSince == null && maxResults == null;
     }
 
     public static class Builder {
@@ -134,9 +148,32 @@ public class SearchCriteria {
         private Map<Stream, FlagStatus> streams;
         private LocalDate startDate;
         private LocalDate endDate;
+        private Date updatedSince;
         private Integer maxResults;
         private Set<String> labels;
 
+        public Builder() {
+        }
+
+        /**
+         * Start from the fields of an existing <code>SearchCriteria</code>.
+         */
+        public Builder(SearchCriteria criteria) {
+            this.status = criteria.status;
+            this.assignee = criteria.assignee;
+            this.reporter = criteria.reporter;
+            this.product = criteria.product;
+            this.component = criteria.component;
+            this.stage = criteria.stage;
+            this.release = criteria.release;
+            this.streams = criteria.streams;
+            this.startDate = criteria.startDate;
+            this.endDate = criteria.endDate;
+            this.updatedSince = criteria.updatedSince;
+            this.maxResults = criteria.maxResults;
+            this.labels = criteria.labels;
+        }
+
         public Builder setStatus(IssueStatus status) {
             this.status = status;
             return this;
@@ -187,6 +224,11 @@ public class SearchCriteria {
             return this;
         }
 
+        public Builder setUpdatedSince(Date updatedSince) {
+            this.updatedSince = updatedSince;
+            return this;
+        }
+
         public Builder setMaxResults(Integer maxResults) {
             this.maxResults = maxResults;
             return this;
@@ -199,7 +241,7 @@ public class SearchCriteria {
 
         public SearchCriteria build() {
             return new SearchCriteria(status, assignee, reporter, product, component, stage, release,
-                    streams, startDate, endDate, maxResults, labels);
+                    streams, startDate, endDate, updatedSince, maxResults, labels);
         }
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of the values which are repeated across the issues of a large result set, such as product, component and
+ * version names, raw statuses, stream names and users, so that every issue refers to one shared instance of each.
+ * {@link #compact(Issue)} also replaces the collections of an issue with immutable lists and maps sized to their
+ * content. The table is safe for concurrent use and grows with the number of distinct values.
+ */
+public final class SymbolTable {
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<User, User> users = new ConcurrentHashMap<>();
+
+    /**
+     * @return the shared instance equal to <code>value</code>, or <code>null</code> if it is <code>null</code>.
+     */
+    public String intern(String value) {
+        if (value == null)
+            return null;
+        String shared = strings.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    /**
+     * @return the shared instance equal to <code>user</code>, or <code>null</code> if it is <code>null</code>.
+     */
+    public User intern(User user) {
+        if (user == null)
+            return null;
+        User shared = users.putIfAbsent(user, user);
+        return shared != null ? shared : user;
+    }
+
+    /**
+     * @return an immutable list of the shared instances of <code>values</code>, or <code>null</code> if it is
+     *         <code>null</code>.
+     */
+    public List<String> internAll(List<String> values) {
+        if (values == null)
+            return null;
+        List<String> interned = new ArrayList<>(values.size());
+        for (String value : values)
+            interned.add(intern(value));
+        return copyOf(interned);
+    }
+
+    /**
+     * @return an immutable map of <code>streamStatus</code> keyed by the shared instances of the stream names.
+     */
+    Map<String, FlagStatus> internKeys(Map<String, FlagStatus> streamStatus) {
+        if (streamStatus == null)
+            return null;
+        if (streamStatus.isEmpty())
+            return Map.of();
+        Map<String, FlagStatus> interned = new HashMap<>(streamStatus.size() * 2);
+        streamStatus.forEach((stream, status) -> interned.put(intern(stream), status));
+        if (interned.containsKey(null) || interned.containsValue(null))
+            return Collections.unmodifiableMap(interned);
+        return Map.copyOf(interned);
+    }
+
+    /**
+     * @return an immutable copy of <code>values</code>, which unlike <code>List.copyOf</code> may hold
+     *         <code>null</code> elements, or <code>null</code> if it is <code>null</code>.
+     */
+    static <T> List<T> copyOf(List<T> values) {
+        if (values == null)
+            return null;
+        if (values.contains(null))
+            return Collections.unmodifiableList(new ArrayList<>(values));
+        return List.copyOf(values);
+    }
+
+    /**
+     * Make <code>issue</code> refer to the shared instances of its repeated values and replace its lists and stream
+     * status with immutable copies. Its stage stays mutable. Setters keep working on a compacted issue, but the lists
+     * and maps it returns can no longer be modified in place.
+     *
+     * @return <code>issue</code>
+     */
+    public Issue compact(Issue issue) {
+        if (issue != null)
+            issue.compact(this);
+        return issue;
+    }
+
+    /**
+     * @return the number of distinct values in the table.
+     */
+    public int size() {
+        return strings.size() + users.size();
+    }
+
+    public void clear() {
+        strings.clear();
+        users.clear();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+/**
+ * The layout shared by {@link BinaryWriter} and {@link BinaryReader}. A stream starts with the {@link #MAGIC} bytes and
+ * the format version, followed by records, each made of a kind byte, the varint length of its payload and the payload.
+ * A {@link #SYMBOL} record assigns the next index to a string, which later records refer to instead of repeating it.
+ * The fields of a record are written in a fixed order. Later versions only append fields to a record or add record
+ * kinds, so a reader skips what it does not know and reads the fields missing from older records as absent.
+ * <p>
+ * Version 2 writes the count of the releases, stream status, linked issues, comments and commits plus one, a
+ * <code>null</code> list as 0 like an absent string or symbol, and precedes each release, comment and commit with
+ * whether it is <code>null</code>.
+ */
+final class BinaryFormat {
+
+    static final byte[] MAGIC = { 'A', 'P', 'H', 'B' };
+    static final int VERSION = 2;
+
+    static final byte SYMBOL = 1;
+    static final byte ISSUE = 2;
+    static final byte PULL_REQUEST = 3;
+    static final byte STREAM = 4;
+
+    /** Guards against reading a corrupted length, far above the size of any real record. */
+    static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+
+    private BinaryFormat() {
+    }
+
+    static void writeVarint(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarint(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new StreamCorruptedException("Malformed varint");
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain.codec;
+
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.ISSUE;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.MAGIC;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.MAX_RECORD_LENGTH;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.PULL_REQUEST;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.STREAM;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.SYMBOL;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.VERSION;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.readVarint;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Comment;
+import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.Flag;
+import org.jboss.set.aphrodite.domain.FlagStatus;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.IssueEstimation;
+import org.jboss.set.aphrodite.domain.IssuePriority;
+import org.jboss.set.aphrodite.domain.IssueStatus;
+import org.jboss.set.aphrodite.domain.IssueType;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.domain.Release;
+import org.jboss.set.aphrodite.domain.Repository;
+import org.jboss.set.aphrodite.domain.RepositoryType;
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.domain.StreamComponent;
+import org.jboss.set.aphrodite.domain.TrackerType;
+import org.jboss.set.aphrodite.domain.User;
+
+/**
+ * Reads the issues, pull requests and streams written by a {@link BinaryWriter}, one record at a time. The repeated
+ * values of the records read by one reader are shared instances, as if they had gone through a
+ * {@link org.jboss.set.aphrodite.domain.SymbolTable}. Streams are linked to their upstream when it was read before.
+ * <p>
+ * A reader is not thread safe. Closing it closes the underlying stream.
+ */
+public final class BinaryReader implements Closeable {
+
+    private final DataInputStream in;
+    private final Function<String, TrackerType> trackerTypes;
+    private final int version;
+    private final List<String> symbols = new ArrayList<>();
+    private final Map<String, Stream> streams = new HashMap<>();
+    private DataInputStream record;
+
+    /**
+     * Create a reader which restores the tracker type of issues as <code>null</code>.
+     */
+    public BinaryReader(InputStream in) throws IOException {
+        this(in, name -> null);
+    }
+
+    /**
+     * @param trackerTypes maps the name of a tracker type back to the tracker type, e.g.
+     *        <code>org.jboss.set.aphrodite.config.TrackerType::valueOf</code>.
+     * @throws IOException if the stream does not start with a supported version of the format.
+     */
+    public BinaryReader(InputStream in, Function<String, TrackerType> trackerTypes) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Objects.requireNonNull(in, "in cannot be null")));
+        this.trackerTypes = Objects.requireNonNull(trackerTypes, "trackerTypes cannot be null");
+        byte[] magic = new byte[MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC))
+            throw new StreamCorruptedException("Not an Aphrodite binary stream");
+        version = readVarint(this.in);
+        if (version < 1 || version > VERSION)
+            throw new IOException("Unsupported format version " + version + ", the latest supported version is " + VERSION);
+    }
+
+    /**
+     * @return the version of the format the stream was written with.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the next <code>Issue</code>, <code>PullRequest</code> or <code>Stream</code>, or <code>null</code> at the
+     *         end of the stream.
+     * @throws java.io.EOFException if the stream ends within a record.
+     */
+    public Object read() throws IOException {
+        while (true) {
+            int kind = in.read();
+            if (kind < 0)
+                return null;
+            int length = readVarint(in);
+            if (length < 0 || length > MAX_RECORD_LENGTH)
+                throw new StreamCorruptedException("Invalid record length " + length);
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            record = new DataInputStream(new ByteArrayInputStream(payload));
+            switch (kind) {
+                case SYMBOL:
+                    symbols.add(new String(payload, StandardCharsets.UTF_8));
+                    break;
+                case ISSUE:
+                    return readIssue();
+                case PULL_REQUEST:
+                    return readPullRequest();
+                case STREAM:
+                    return readStream();
+                default:
+                    // a record kind added by a later version
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Skip the records of other types.
+     *
+     * @return the next record of the given type, or <code>null</code> at the end of the stream.
+     */
+    public <T> T read(Class<T> type) throws IOException {
+        Object value;
+        while ((value = read()) != null) {
+            if (type.isInstance(value))
+                return type.cast(value);
+        }
+        return null;
+    }
+
+    /**
+     * @return all the remaining records of the given type.
+     */
+    public <T> List<T> readAll(Class<T> type) throws IOException {
+        List<T> values = new ArrayList<>();
+        T value;
+        while ((value = read(type)) != null)
+            values.add(value);
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Issue readIssue() throws IOException {
+        URL url = url(string());
+        if (url == null)
+            throw new StreamCorruptedException("Issue without URL");
+        String trackerType = symbol();
+        Issue issue = new Issue(url, trackerType != null ? trackerTypes.apply(trackerType) : null);
+        issue.setTrackerId(string());
+        issue.setProduct(symbol());
+        issue.setComponents(symbols());
+        issue.setSummary(string());
+        issue.setDescription(string());
+        issue.setAssignee(user());
+        issue.setReporter(user());
+        for (int i = varint(); i > 0; i--)
+            issue.getStage().setStatus(constant(Flag.class), constant(FlagStatus.class));
+        IssueStatus status = constant(IssueStatus.class);
+        String rawStatus = symbol();
+        if (status != null)
+            issue.setStatus(status, rawStatus != null ? rawStatus : status.name());
+        IssuePriority priority = constant(IssuePriority.class);
+        if (priority != null)
+            issue.setPriority(priority);
+        IssueType type = constant(IssueType.class);
+        String rawType = symbol();
+        if (type != null)
+            issue.setType(type, rawType != null ? rawType : type.get());
+        List<String> affectedVersions = symbols();
+        if (affectedVersions != null)
+            issue.setAffectedVersions(affectedVersions);
+        // the lists which can not be set to null are left empty
+        List<Release> releases = new ArrayList<>();
+        for (int i = count(); i > 0; i--)
+            releases.add(present() ? new Release(symbol(), symbol()) : null);
+        issue.setReleases(releases);
+        Map<String, FlagStatus> streamStatus = new HashMap<>();
+        for (int i = count(); i > 0; i--)
+            streamStatus.put(symbol(), constant(FlagStatus.class));
+        issue.setStreamStatus(streamStatus);
+        issue.setDependsOn(urls());
+        issue.setBlocks(urls());
+        issue.setCreationTime(date());
+        issue.setLastUpdated(date());
+        if (bool())
+            issue.setEstimation(new IssueEstimation(record.readDouble(), record.readDouble()));
+        List<Comment> comments = new ArrayList<>();
+        for (int i = count(); i > 0; i--)
+            comments.add(present() ? new Comment(string(), string(), string(), bool()) : null);
+        issue.setComments(comments);
+        return issue;
+    }
+
+    private PullRequest readPullRequest() throws IOException {
+        String id = string();
+        URL url = url(string());
+        String repository = symbol();
+        String codebase = symbol();
+        PullRequestState state = constant(PullRequestState.class);
+        String title = string();
+        String body = string();
+        boolean mergeable = bool();
+        boolean merged = bool();
+        MergeableState mergeableState = constant(MergeableState.class);
+        Date mergedAt = date();
+        Date updatedAt = date();
+        List<Commit> commits = new ArrayList<>();
+        for (int i = count(); i > 0; i--)
+            commits.add(present() ? new Commit(string(), string()) : null);
+        PullRequest pullRequest = new PullRequest(id, url, repository != null ? new Repository(url(repository)) : null,
+                codebase != null ? new Codebase(codebase) : null, state, title, body, mergeable, merged, mergeableState,
+                mergedAt, commits);
+        pullRequest.setUpdatedAt(updatedAt);
+        return pullRequest;
+    }
+
+    private Stream readStream() throws IOException {
+        String name = symbol();
+        String upstream = symbol();
+        String url = string();
+        Map<String, StreamComponent> components = new HashMap<>();
+        for (int i = varint(); i > 0; i--) {
+            String componentName = symbol();
+            List<String> contacts = symbols();
+            RepositoryType repositoryType = constant(RepositoryType.class);
+            URI repositoryURL = uri(symbol());
+            String codebase = symbol();
+            StreamComponent component = new StreamComponent(componentName, contacts, repositoryType, repositoryURL,
+                    codebase != null ? new Codebase(codebase) : null, symbol(), symbol(), symbol(), string());
+            components.put(component.getName(), component);
+        }
+        Stream stream = new Stream(url != null ? url(url) : null, name,
+                upstream != null ? streams.getOrDefault(upstream, new Stream(upstream)) : null, components);
+        streams.put(name, stream);
+        return stream;
+    }
+
+    /**
+     * @return the next varint of the record, or 0, which stands for an absent value, past the end of a record written
+     *         by an earlier version.
+     */
+    private int varint() throws IOException {
+        return record.available() > 0 ? readVarint(record) : 0;
+    }
+
+    /**
+     * @return the next boolean of the record, or <code>false</code> past its end.
+     */
+    private boolean bool() throws IOException {
+        return record.available() > 0 && record.readBoolean();
+    }
+
+    /**
+     * @return the number of elements of a list, or 0 if it is <code>null</code>.
+     */
+    private int count() throws IOException {
+        return version >= 2 ? Math.max(varint() - 1, 0) : varint();
+    }
+
+    /**
+     * @return whether the fields of the next element of a list follow, as they always do before version 2.
+     */
+    private boolean present() throws IOException {
+        return version < 2 || bool();
+    }
+
+    private String string() throws IOException {
+        int length = varint() - 1;
+        if (length < 0)
+            return null;
+        if (length > record.available())
+            throw new StreamCorruptedException("String of " + length + " bytes exceeds its record");
+        byte[] bytes = new byte[length];
+        record.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String symbol() throws IOException {
+        int index = varint() - 1;
+        if (index < 0)
+            return null;
+        if (index >= symbols.size())
+            throw new StreamCorruptedException("Undefined symbol " + index);
+        return symbols.get(index);
+    }
+
+    private List<String> symbols() throws IOException {
+        int count = varint() - 1;
+        if (count < 0)
+            return null;
+        List<String> values = new ArrayList<>(Math.min(count, record.available()));
+        for (int i = 0; i < count; i++)
+            values.add(symbol());
+        return values;
+    }
+
+    private <E extends Enum<E>> E constant(Class<E> type) throws IOException {
+        String name = symbol();
+        if (name == null)
+            return null;
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            // a constant added by a later version is read as the undefined constant of its enum, if there is one
+            for (E constant : type.getEnumConstants()) {
+                if (constant.name().equals("UNDEFINED") || constant.name().equals("UNKNOWN"))
+                    return constant;
+            }
+            throw new StreamCorruptedException("Unknown " + type.getSimpleName() + " " + name);
+        }
+    }
+
+    private User user() throws IOException {
+        String email = symbol();
+        String name = symbol();
+        return email != null || name != null ? new User(email, name) : null;
+    }
+
+    private Date date() throws IOException {
+        return bool() ? new Date(record.readLong()) : null;
+    }
+
+    private List<URL> urls() throws IOException {
+        int count = count();
+        List<URL> urls = new ArrayList<>(Math.min(count, record.available()));
+        for (int i = 0; i < count; i++)
+            urls.add(url(string()));
+        return urls;
+    }
+
+    private static URL url(String url) throws IOException {
+        try {
+            return url != null ? new URL(url) : null;
+        } catch (MalformedURLException e) {
+            throw new StreamCorruptedException("Invalid URL " + url);
+        }
+    }
+
+    private static URI uri(String uri) throws IOException {
+        try {
+            return uri != null ? new URI(uri) : null;
+        } catch (URISyntaxException e) {
+            throw new StreamCorruptedException("Invalid URI " + uri);
+        }
+    }
+}
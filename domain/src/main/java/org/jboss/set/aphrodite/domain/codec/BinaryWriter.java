@@ -0,0 +1,292 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain.codec;
+
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.ISSUE;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.MAGIC;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.PULL_REQUEST;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.STREAM;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.SYMBOL;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.VERSION;
+import static org.jboss.set.aphrodite.domain.codec.BinaryFormat.writeVarint;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jboss.set.aphrodite.domain.Comment;
+import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.Release;
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.domain.StreamComponent;
+import org.jboss.set.aphrodite.domain.User;
+
+/**
+ * Writes issues, pull requests and streams in the compact binary format read by {@link BinaryReader}, one record at a
+ * time, so that collections of any size are written without being held in memory twice. Values which repeat across
+ * records, such as products, components, versions, users and enum constants, are written once and referred to by
+ * index afterwards. The tracker specific subclasses of the domain classes are written as the domain classes, and the
+ * lazily computed metadata of a pull request is not written.
+ * <p>
+ * A writer is not thread safe. Closing it closes the underlying stream.
+ */
+public final class BinaryWriter implements Closeable, Flushable {
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+    private final DataOutputStream record = new DataOutputStream(buffer);
+    private final Map<String, Integer> symbols = new HashMap<>();
+    private final Set<String> streams = new HashSet<>();
+
+    public BinaryWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Objects.requireNonNull(out, "out cannot be null")));
+        this.out.write(MAGIC);
+        writeVarint(this.out, VERSION);
+    }
+
+    public void write(Issue issue) throws IOException {
+        string(issue.getURL().toString());
+        symbol(issue.getTrackerType() != null ? issue.getTrackerType().toString() : null);
+        string(issue.getTrackerId().orElse(null));
+        symbol(issue.getProduct().orElse(null));
+        symbols(issue.getComponents());
+        string(issue.getSummary().orElse(null));
+        string(issue.getDescription().orElse(null));
+        user(issue.getAssignee().orElse(null));
+        user(issue.getReporter().orElse(null));
+        writeVarint(record, issue.getStage().getStateMap().size());
+        for (Map.Entry<?, ?> flag : issue.getStage().getStateMap().entrySet()) {
+            constant(flag.getKey());
+            constant(flag.getValue());
+        }
+        constant(issue.getStatus());
+        symbol(issue.getRawStatus());
+        constant(issue.getPriority());
+        constant(issue.getType());
+        symbol(issue.getRawType());
+        symbols(issue.getAffectedVersions());
+        if (count(issue.getReleases())) {
+            for (Release release : issue.getReleases()) {
+                if (present(release)) {
+                    symbol(release.getVersion().orElse(null));
+                    symbol(release.getMilestone().orElse(null));
+                }
+            }
+        }
+        if (count(issue.getStreamStatus() != null ? issue.getStreamStatus().entrySet() : null)) {
+            for (Map.Entry<String, ?> stream : issue.getStreamStatus().entrySet()) {
+                symbol(stream.getKey());
+                constant(stream.getValue());
+            }
+        }
+        strings(issue.getDependsOn());
+        strings(issue.getBlocks());
+        date(issue.getCreationTime().orElse(null));
+        date(issue.getLastUpdated().orElse(null));
+        record.writeBoolean(issue.getEstimation().isPresent());
+        if (issue.getEstimation().isPresent()) {
+            record.writeDouble(issue.getEstimation().get().getInitialEstimate());
+            record.writeDouble(issue.getEstimation().get().getHoursWorked());
+        }
+        if (count(issue.getComments())) {
+            for (Comment comment : issue.getComments()) {
+                if (present(comment)) {
+                    string(comment.getParentIssueId().orElse(null));
+                    string(comment.getId().orElse(null));
+                    string(comment.getBody());
+                    record.writeBoolean(comment.isPrivate());
+                }
+            }
+        }
+        flushRecord(ISSUE);
+    }
+
+    public void write(PullRequest pullRequest) throws IOException {
+        string(pullRequest.getId());
+        string(pullRequest.getURL().toString());
+        symbol(pullRequest.getRepository() != null ? pullRequest.getRepository().getURL().toString() : null);
+        symbol(pullRequest.getCodebase() != null ? pullRequest.getCodebase().getName() : null);
+        constant(pullRequest.getState());
+        string(pullRequest.getTitle());
+        string(pullRequest.getBody());
+        record.writeBoolean(pullRequest.isMergeable());
+        record.writeBoolean(pullRequest.isMerged());
+        constant(pullRequest.getMergableState());
+        date(pullRequest.getMergedAt());
+        date(pullRequest.getUpdatedAt());
+        if (count(pullRequest.getCommits())) {
+            for (Commit commit : pullRequest.getCommits()) {
+                if (present(commit)) {
+                    string(commit.getSha());
+                    string(commit.getMessage());
+                }
+            }
+        }
+        flushRecord(PULL_REQUEST);
+    }
+
+    /**
+     * Write a stream, after its upstream if that was not written yet, so that the reader can link them.
+     */
+    public void write(Stream stream) throws IOException {
+        if (stream.hasUpstream() && !streams.contains(stream.getUpstream().getName()))
+            write(stream.getUpstream());
+        streams.add(stream.getName());
+
+        symbol(stream.getName());
+        symbol(stream.hasUpstream() ? stream.getUpstream().getName() : null);
+        string(stream.getURL() != null ? stream.getURL().toString() : null);
+        Collection<StreamComponent> components = stream.getAllComponents();
+        writeVarint(record, components.size());
+        for (StreamComponent component : components) {
+            symbol(component.getName());
+            symbols(component.getContacts());
+            constant(component.getRepositoryType());
+            symbol(component.getRepositoryURL() != null ? component.getRepositoryURL().toString() : null);
+            symbol(component.getCodebase() != null ? component.getCodebase().getName() : null);
+            symbol(component.getTag());
+            symbol(component.getVersion());
+            symbol(component.getGAV());
+            string(component.getComment());
+        }
+        flushRecord(STREAM);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void flushRecord(byte kind) throws IOException {
+        out.writeByte(kind);
+        writeVarint(out, buffer.size());
+        buffer.writeTo(out);
+        buffer.reset();
+    }
+
+    /**
+     * Written as the varint of its length plus one and its UTF-8 bytes, <code>null</code> as 0.
+     */
+    private void string(String value) throws IOException {
+        if (value == null) {
+            writeVarint(record, 0);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(record, bytes.length + 1);
+            record.write(bytes);
+        }
+    }
+
+    private void strings(Collection<?> values) throws IOException {
+        if (count(values)) {
+            for (Object value : values)
+                string(value != null ? value.toString() : null);
+        }
+    }
+
+    /**
+     * Written as the count plus one, <code>null</code> as 0.
+     *
+     * @return whether the elements of <code>values</code> follow.
+     */
+    private boolean count(Collection<?> values) throws IOException {
+        writeVarint(record, values != null ? values.size() + 1 : 0);
+        return values != null;
+    }
+
+    /**
+     * An element of a list whose fields follow is preceded by <code>true</code>, a <code>null</code> element is
+     * written as <code>false</code> alone.
+     *
+     * @return whether the fields of <code>value</code> follow.
+     */
+    private boolean present(Object value) throws IOException {
+        record.writeBoolean(value != null);
+        return value != null;
+    }
+
+    /**
+     * Written as the varint of its index plus one, <code>null</code> as 0. A symbol seen for the first time is
+     * written ahead of the record being encoded.
+     */
+    private void symbol(String value) throws IOException {
+        if (value == null) {
+            writeVarint(record, 0);
+            return;
+        }
+        Integer index = symbols.get(value);
+        if (index == null) {
+            index = symbols.size();
+            symbols.put(value, index);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(SYMBOL);
+            writeVarint(out, bytes.length);
+            out.write(bytes);
+        }
+        writeVarint(record, index + 1);
+    }
+
+    private void symbols(Collection<String> values) throws IOException {
+        if (count(values)) {
+            for (String value : values)
+                symbol(value);
+        }
+    }
+
+    /**
+     * Enum constants are written by name, so that reordering the constants does not change their meaning.
+     */
+    private void constant(Object value) throws IOException {
+        symbol(value != null ? ((Enum<?>) value).name() : null);
+    }
+
+    private void user(User user) throws IOException {
+        symbol(user != null ? user.getEmail().orElse(null) : null);
+        symbol(user != null ? user.getName().orElse(null) : null);
+    }
+
+    private void date(Date date) throws IOException {
+        record.writeBoolean(date != null);
+        if (date != null)
+            record.writeLong(date.getTime());
+    }
+}
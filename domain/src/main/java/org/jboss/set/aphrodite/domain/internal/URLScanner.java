@@ -0,0 +1,559 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain.internal;
+
+/**
+ * Scans free text, such as the description of a pull request or the comments of an issue, for links.
+ * <p>
+ * Every {@link Syntax} finds exactly what the regular expression given in its description finds, but in a single
+ * pass over the text, whereas the backtracking of those expressions is quadratic, or worse, on long runs of
+ * characters which almost form a link, as found in pasted logs. Usage follows {@link java.util.regex.Matcher}:
+ *
+ * <pre>
+ * URLScanner scanner = URLScanner.scan(Syntax.URL, text);
+ * while (scanner.find()) {
+ *     urls.add(scanner.group());
+ * }
+ * </pre>
+ *
+ * A scanner is not thread safe and does not copy the text, nor allocate anything until a match is requested as a
+ * <code>String</code>.
+ */
+public final class URLScanner {
+
+    public enum Syntax {
+        /**
+         * A link with a host name, as matched by {@link URLUtils#URL_REGEX_STRING}.
+         */
+        URL,
+        /**
+         * A link whose host has at least two labels and which ends with a number, as matched by
+         * <code>(http|ftp|https)://([\w_-]+(?:(?:\.[\w_-]+)+))([\w.,@?^=%&amp;:/~+#-]*[\w@?^=%&amp;/~+#-])?\d+</code>.
+         */
+        ISSUE_LINK,
+        /**
+         * A link to a GitHub pull request, as matched by
+         * <code>.*github\.com.*?/([a-zA-Z_0-9-]*)/([a-zA-Z_0-9-]*)/pull.?/(\d+)</code> ignoring case. At most one link
+         * is found per line, the last one following a <code>github.com</code>.
+         */
+        PULL_REQUEST_LINK,
+        /**
+         * A reference such as <code>#123</code> or <code>owner/repository#123</code>, as matched by
+         * <code>([a-zA-Z_0-9-/]*)#(\d+)</code>. The owner and repository are the last two segments before the number,
+         * they are <code>null</code> for a plain <code>#123</code>.
+         */
+        PULL_REQUEST_REFERENCE,
+        /**
+         * An <code>owner/repository#123</code> shorthand, as matched by <code>(\S+)/(\S+)#(\d+)</code>.
+         */
+        PULL_REQUEST_SHORTHAND
+    }
+
+    private static final int WORD = 1;
+    private static final int ALNUM = 1 << 1;
+    private static final int DIGIT = 1 << 2;
+    private static final int URL_PATH = 1 << 3;
+    private static final int LINK = 1 << 4;
+    private static final int LINK_END = 1 << 5;
+    private static final int[] CLASSES = new int[128];
+
+    static {
+        for (char c = '0'; c <= '9'; c++)
+            CLASSES[c] = WORD | ALNUM | DIGIT;
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = WORD | ALNUM;
+            CLASSES[Character.toUpperCase(c)] = WORD | ALNUM;
+        }
+        CLASSES['_'] = WORD;
+        for (char c = 0; c < CLASSES.length; c++) {
+            if ((CLASSES[c] & WORD) != 0 || ".@?^=%&:/~+#-".indexOf(c) >= 0)
+                CLASSES[c] |= URL_PATH;
+            if ((CLASSES[c] & WORD) != 0 || ".,@?^=%&:/~+#-".indexOf(c) >= 0)
+                CLASSES[c] |= LINK;
+            if ((CLASSES[c] & WORD) != 0 || "@?^=%&/~+#-".indexOf(c) >= 0)
+                CLASSES[c] |= LINK_END;
+        }
+    }
+
+    private final Syntax syntax;
+    private final CharSequence source;
+    private final int to;
+    private int position;
+
+    private int start = -1;
+    private int end = -1;
+    private int ownerStart, ownerEnd;
+    private int repositoryStart, repositoryEnd;
+    private int numberStart, numberEnd;
+
+    // the last run of link characters, and the last digit in it which may end an issue link
+    private int linkRunStart = -1;
+    private int linkRunEnd = -1;
+    private int linkRunLastDigit = -1;
+
+    private URLScanner(Syntax syntax, CharSequence source, int from, int to) {
+        if (from < 0 || to > source.length() || from > to)
+            throw new IndexOutOfBoundsException("Invalid region [" + from + ", " + to + ") of a text of length " + source.length());
+
+        this.syntax = syntax;
+        this.source = source;
+        this.position = from;
+        this.to = to;
+    }
+
+    public static URLScanner scan(Syntax syntax, CharSequence source) {
+        return new URLScanner(syntax, source, 0, source.length());
+    }
+
+    /**
+     * Scan only the region <code>[from, to)</code> of the given text, as if it was all there is.
+     */
+    public static URLScanner scan(Syntax syntax, CharSequence source, int from, int to) {
+        return new URLScanner(syntax, source, from, to);
+    }
+
+    /**
+     * Find the next match, starting where the previous one ended.
+     *
+     * @return <code>true</code> if a match was found.
+     */
+    public boolean find() {
+        boolean found = false;
+        switch (syntax) {
+            case URL:
+                found = findURL();
+                break;
+            case ISSUE_LINK:
+                found = findIssueLink();
+                break;
+            case PULL_REQUEST_LINK:
+                found = findPullRequestLink();
+                break;
+            case PULL_REQUEST_REFERENCE:
+                found = findPullRequestReference();
+                break;
+            case PULL_REQUEST_SHORTHAND:
+                found = findPullRequestShorthand();
+                break;
+        }
+        if (!found) {
+            start = end = -1;
+            position = to;
+        }
+        return found;
+    }
+
+    public int start() {
+        checkMatch();
+        return start;
+    }
+
+    public int end() {
+        checkMatch();
+        return end;
+    }
+
+    /**
+     * @return the text of the last match.
+     */
+    public String group() {
+        checkMatch();
+        return source.subSequence(start, end).toString();
+    }
+
+    /**
+     * @return the owner of the repository of the last pull request match, <code>null</code> if the match does not
+     *         name one.
+     */
+    public String owner() {
+        checkMatch();
+        return ownerStart < 0 ? null : source.subSequence(ownerStart, ownerEnd).toString();
+    }
+
+    /**
+     * @return the name of the repository of the last pull request match, <code>null</code> if the match does not
+     *         name one.
+     */
+    public String repository() {
+        checkMatch();
+        return repositoryStart < 0 ? null : source.subSequence(repositoryStart, repositoryEnd).toString();
+    }
+
+    /**
+     * @return the number of the last pull request match.
+     */
+    public String number() {
+        checkMatch();
+        return numberStart < 0 ? null : source.subSequence(numberStart, numberEnd).toString();
+    }
+
+    private void checkMatch() {
+        if (start < 0)
+            throw new IllegalStateException("No match available");
+    }
+
+    private boolean match(int start, int end) {
+        this.start = start;
+        this.end = end;
+        this.position = end;
+        return true;
+    }
+
+    private void groups(int ownerStart, int ownerEnd, int repositoryStart, int repositoryEnd, int numberStart, int numberEnd) {
+        this.ownerStart = ownerStart;
+        this.ownerEnd = ownerEnd;
+        this.repositoryStart = repositoryStart;
+        this.repositoryEnd = repositoryEnd;
+        this.numberStart = numberStart;
+        this.numberEnd = numberEnd;
+    }
+
+    // URL
+
+    private boolean findURL() {
+        for (int s = position; s < to; s++) {
+            final int p = schemeEnd(s);
+            if (p < 0)
+                continue;
+
+            // (\w+(:\w+)@)? is greedy, the host is looked for after the credentials first
+            final int credentials = credentialsEnd(p);
+            int e = credentials >= 0 ? hostNameEnd(credentials) : -1;
+            if (e < 0)
+                e = hostNameEnd(p);
+            if (e < 0)
+                continue;
+
+            if (is(e, '/'))
+                e = runEnd(e + 1, URL_PATH);
+            groups(-1, -1, -1, -1, -1, -1);
+            return match(s, e);
+        }
+        return false;
+    }
+
+    private int credentialsEnd(int p) {
+        final int user = runEnd(p, WORD);
+        if (user == p || !is(user, ':'))
+            return -1;
+        final int password = runEnd(user + 1, WORD);
+        if (password == user + 1 || !is(password, '@'))
+            return -1;
+        return password + 1;
+    }
+
+    /**
+     * Match <code>([a-zA-Z0-9]([a-zA-Z0-9-]*[a-zA-Z0-9])?\.)+[a-zA-Z0-9]+</code>. A label can only end right before a
+     * dot, so the labels are found without backtracking. If no top level label follows the last dot, the last label
+     * is taken as the top level one instead, as long as another label precedes it.
+     */
+    private int hostNameEnd(int p) {
+        int last = -1;
+        int previous = -1;
+        int k = p;
+        int dot;
+        while ((dot = labelEnd(k)) >= 0) {
+            previous = last;
+            last = k;
+            k = dot + 1;
+        }
+        if (last < 0)
+            return -1;
+        if (has(k, ALNUM))
+            return runEnd(k, ALNUM);
+        return previous >= 0 ? runEnd(last, ALNUM) : -1;
+    }
+
+    private int labelEnd(int k) {
+        if (!has(k, ALNUM))
+            return -1;
+        int i = k + 1;
+        while (has(i, ALNUM) || is(i, '-'))
+            i++;
+        return is(i, '.') && has(i - 1, ALNUM) ? i : -1;
+    }
+
+    // ISSUE_LINK
+
+    private boolean findIssueLink() {
+        for (int s = position; s < to; s++) {
+            final int p = schemeEnd(s);
+            if (p < 0)
+                continue;
+            final int e = issueLinkEnd(p);
+            if (e >= 0) {
+                groups(-1, -1, -1, -1, -1, -1);
+                return match(s, e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The host <code>[\w-]+(\.[\w-]+)+</code> is greedy and backtracks one character at a time, while the rest of
+     * the link extends to the last digit of the run of link characters that follows a character a path may end
+     * with. The first host end, from the longest, which is followed by that digit or is itself followed by a digit
+     * gives the match.
+     */
+    private int issueLinkEnd(int p) {
+        final int firstDot = hostRunEnd(p);
+        if (firstDot == p || !is(firstDot, '.') || !isHost(firstDot + 1))
+            return -1;
+        int hostEnd = firstDot;
+        while (is(hostEnd, '.') && isHost(hostEnd + 1))
+            hostEnd = hostRunEnd(hostEnd + 1);
+
+        final int lastDigit = lastLinkDigit(p);
+        for (int e = hostEnd; e >= firstDot + 2; e--) {
+            if (is(e - 1, '.'))
+                continue;
+            if (lastDigit > e)
+                return lastDigit + 1;
+            if (has(e, DIGIT))
+                return runEnd(e, DIGIT);
+        }
+        return -1;
+    }
+
+    private int lastLinkDigit(int p) {
+        // the links starting inside a run share its end, only compute it once per run
+        if (linkRunStart < 0 || p < linkRunStart || p > linkRunEnd) {
+            linkRunStart = p;
+            linkRunEnd = runEnd(p, LINK);
+            linkRunLastDigit = -1;
+            for (int i = linkRunEnd - 1; i > p; i--) {
+                if (has(i, DIGIT) && has(i - 1, LINK_END)) {
+                    linkRunLastDigit = i;
+                    break;
+                }
+            }
+        }
+        return linkRunLastDigit > p ? linkRunLastDigit : -1;
+    }
+
+    // PULL_REQUEST_LINK
+
+    private boolean findPullRequestLink() {
+        int lineStart = position;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && !isLineTerminator(source.charAt(lineEnd)))
+                lineEnd++;
+            if (findPullRequestLink(lineStart, lineEnd))
+                return true;
+            lineStart = lineEnd + 1;
+        }
+        return false;
+    }
+
+    /**
+     * The leading <code>.*</code> makes the last <code>github.com</code> of the line which is followed by a pull
+     * request path the one used, and <code>.*?</code> the first such path after it.
+     */
+    private boolean findPullRequestLink(int lineStart, int lineEnd) {
+        int last = -1;
+        for (int x = lineEnd - 1; x >= lineStart + GITHUB.length() && last < 0; x--) {
+            if (pullRequestPathEnd(x, lineEnd) >= 0)
+                last = x;
+        }
+        if (last < 0)
+            return false;
+
+        int github = last - GITHUB.length();
+        while (github >= lineStart && !regionMatchesIgnoreCase(github, GITHUB))
+            github--;
+        if (github < lineStart)
+            return false;
+
+        for (int x = github + GITHUB.length(); x <= last; x++) {
+            final int e = pullRequestPathEnd(x, lineEnd);
+            if (e >= 0)
+                return match(lineStart, e);
+        }
+        return false;
+    }
+
+    private static final String GITHUB = "github.com";
+
+    /**
+     * Match <code>/([a-zA-Z_0-9-]*)/([a-zA-Z_0-9-]*)/pull.?/(\d+)</code> at <code>x</code>, recording its groups.
+     */
+    private int pullRequestPathEnd(int x, int lineEnd) {
+        if (!is(x, '/'))
+            return -1;
+        final int ownerEnd = hostRunEnd(x + 1);
+        if (!is(ownerEnd, '/'))
+            return -1;
+        final int repositoryEnd = hostRunEnd(ownerEnd + 1);
+        if (!is(repositoryEnd, '/') || !regionMatchesIgnoreCase(repositoryEnd + 1, "pull"))
+            return -1;
+
+        final int y = repositoryEnd + 5;
+        final int number;
+        if (y < lineEnd && is(y + 1, '/') && has(y + 2, DIGIT))
+            number = y + 2;
+        else if (is(y, '/') && has(y + 1, DIGIT))
+            number = y + 1;
+        else
+            return -1;
+
+        final int e = runEnd(number, DIGIT);
+        groups(x + 1, ownerEnd, ownerEnd + 1, repositoryEnd, number, e);
+        return e;
+    }
+
+    // PULL_REQUEST_REFERENCE
+
+    private boolean findPullRequestReference() {
+        int i = position;
+        while (i < to) {
+            // every start inside a run of [\w/-] fails or succeeds alike, depending on what ends the run
+            int hash = i;
+            int lastSlash = -1;
+            int previousSlash = -1;
+            while (hash < to && (has(hash, WORD) || is(hash, '-') || is(hash, '/'))) {
+                if (is(hash, '/')) {
+                    previousSlash = lastSlash;
+                    lastSlash = hash;
+                }
+                hash++;
+            }
+            if (is(hash, '#') && has(hash + 1, DIGIT)) {
+                final int e = runEnd(hash + 1, DIGIT);
+                if (lastSlash >= 0)
+                    groups(previousSlash >= 0 ? previousSlash + 1 : i, lastSlash, lastSlash + 1, hash, hash + 1, e);
+                else
+                    groups(-1, -1, -1, -1, hash + 1, e);
+                return match(i, e);
+            }
+            i = hash + 1;
+        }
+        return false;
+    }
+
+    // PULL_REQUEST_SHORTHAND
+
+    private boolean findPullRequestShorthand() {
+        int i = position;
+        while (i < to) {
+            if (isSpace(source.charAt(i))) {
+                i++;
+                continue;
+            }
+            int tokenEnd = i;
+            while (tokenEnd < to && !isSpace(source.charAt(tokenEnd)))
+                tokenEnd++;
+
+            // both (\S+) are greedy, the last number of the token ends the match and the last slash before it
+            // separates owner and repository
+            int hash = tokenEnd - 2;
+            while (hash >= i + 3 && !(is(hash, '#') && has(hash + 1, DIGIT)))
+                hash--;
+            int slash = hash - 2;
+            while (slash >= i + 1 && !is(slash, '/'))
+                slash--;
+            if (hash >= i + 3 && slash >= i + 1) {
+                final int e = runEnd(hash + 1, DIGIT);
+                groups(i, slash, slash + 1, hash, hash + 1, e);
+                return match(i, e);
+            }
+            i = tokenEnd;
+        }
+        return false;
+    }
+
+    // characters
+
+    private int schemeEnd(int s) {
+        final char c = source.charAt(s);
+        if (c == 'h') {
+            if (regionMatches(s, "http://"))
+                return s + 7;
+            if (regionMatches(s, "https://"))
+                return s + 8;
+        } else if (c == 'f' && regionMatches(s, "ftp://")) {
+            return s + 6;
+        }
+        return -1;
+    }
+
+    private boolean regionMatches(int i, String s) {
+        if (i + s.length() > to)
+            return false;
+        for (int k = 0; k < s.length(); k++) {
+            if (source.charAt(i + k) != s.charAt(k))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compare ignoring the case of ASCII letters only, as {@link java.util.regex.Pattern#CASE_INSENSITIVE} does.
+     */
+    private boolean regionMatchesIgnoreCase(int i, String lowerCase) {
+        if (i < 0 || i + lowerCase.length() > to)
+            return false;
+        for (int k = 0; k < lowerCase.length(); k++) {
+            final char c = source.charAt(i + k);
+            final char expected = lowerCase.charAt(k);
+            if (c != expected && !(expected >= 'a' && expected <= 'z' && (c | 0x20) == expected))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean is(int i, char c) {
+        return i >= 0 && i < to && source.charAt(i) == c;
+    }
+
+    private boolean has(int i, int characterClass) {
+        if (i < 0 || i >= to)
+            return false;
+        final char c = source.charAt(i);
+        return c < CLASSES.length && (CLASSES[c] & characterClass) != 0;
+    }
+
+    private boolean isHost(int i) {
+        return has(i, WORD) || is(i, '-');
+    }
+
+    private int hostRunEnd(int i) {
+        while (isHost(i))
+            i++;
+        return i;
+    }
+
+    private int runEnd(int i, int characterClass) {
+        while (has(i, characterClass))
+            i++;
+        return i;
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
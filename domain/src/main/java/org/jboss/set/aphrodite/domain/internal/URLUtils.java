@@ -14,12 +14,11 @@ public final class URLUtils {
      * Supports domain names and IPv4. Is more permissive than spec of course.
      *
      * TODO: IPv6 support.
+     *
+     * URLs are extracted with the equivalent {@link URLScanner.Syntax#URL}, the expression is meant for building
+     * patterns which match the text around them.
      */
     public static final String URL_REGEX_STRING= "(http|ftp|https)://(\\w+(:\\w+)@)?([a-zA-Z0-9]([a-zA-Z0-9-]*[a-zA-Z0-9])?\\.)+[a-zA-Z0-9]+(/[\\w.@?^=%&:/~+#-]*)?";
-    private static final Pattern URL_REGEX= Pattern.compile(URL_REGEX_STRING);
-
-    // GitHub partial URL: <org>/<repo>#<pr-number>
-    private static final Pattern GITHUB_PR_REGEX = Pattern.compile("(\\S+)/(\\S+)#(\\d+)");
 
     private URLUtils() {
     }
@@ -33,20 +32,32 @@ public final class URLUtils {
      * @return URLs matching <code>initialMatchPattern</code>
      */
     public static String[] extractURLs(final String source, final Pattern initialMatchPattern, final boolean multiple) {
-        Matcher m = initialMatchPattern.matcher(source);
+        return extractURLs(source, 0, initialMatchPattern, multiple);
+    }
+
+    /**
+     * Extracts URLs matching given pattern from given String, ignoring anything before <code>from</code>.
+     *
+     * @param source String to extract URLs from.
+     * @param from index in <code>source</code> to start searching at, should be the start of a line.
+     * @param initialMatchPattern Pattern that URLs must match.
+     * @param multiple If false, return the first URL only, if true, return all.
+     * @return URLs matching <code>initialMatchPattern</code>
+     */
+    public static String[] extractURLs(final String source, final int from, final Pattern initialMatchPattern, final boolean multiple) {
+        Matcher m = initialMatchPattern.matcher(source).region(from, source.length());
         if (m.find()) {
-            final String urlSource = source.substring(m.start(), m.end());
-            m = URL_REGEX.matcher(urlSource);
+            final URLScanner scanner = URLScanner.scan(URLScanner.Syntax.URL, source, m.start(), m.end());
             if (multiple) {
                 final List<String> urls = new ArrayList<>();
-                while (m.find()) {
-                    urls.add(urlSource.substring(m.start(), m.end()));
+                while (scanner.find()) {
+                    urls.add(scanner.group());
                 }
                 return urls.toArray(new String[urls.size()]);
             } else {
                 // just to be thorough
-                if (m.find()) {
-                    return new String[] { urlSource.substring(m.start(), m.end()) };
+                if (scanner.find()) {
+                    return new String[] { scanner.group() };
                 } else {
                     return null;
                 }
@@ -57,20 +68,24 @@ public final class URLUtils {
     }
 
     public static String[] extractGHUrls(final String source, final Pattern initialMatchPattern, final boolean multiple) {
-        Matcher m = initialMatchPattern.matcher(source);
+        return extractGHUrls(source, 0, initialMatchPattern, multiple);
+    }
+
+    public static String[] extractGHUrls(final String source, final int from, final Pattern initialMatchPattern, final boolean multiple) {
+        Matcher m = initialMatchPattern.matcher(source).region(from, source.length());
         if (m.find()) {
-            final String urlSource = source.substring(m.start(), m.end());
-            m = GITHUB_PR_REGEX.matcher(urlSource);
+            // GitHub partial URL: <org>/<repo>#<pr-number>
+            final URLScanner scanner = URLScanner.scan(URLScanner.Syntax.PULL_REQUEST_SHORTHAND, source, m.start(), m.end());
             if (multiple) {
                 final List<String> urls = new ArrayList<>();
-                while (m.find()) {
-                    urls.add(makeFullUrl(m));
+                while (scanner.find()) {
+                    urls.add(makeFullUrl(scanner));
                 }
                 return urls.toArray(new String[urls.size()]);
             } else {
                 // just to be thorough
-                if (m.find()) {
-                    return new String[] { makeFullUrl(m) };
+                if (scanner.find()) {
+                    return new String[] { makeFullUrl(scanner) };
                 } else {
                     return null;
                 }
@@ -80,8 +95,8 @@ public final class URLUtils {
         }
     }
 
-    private static String makeFullUrl(Matcher m) {
-        return "https://github.com/" + m.group(1) + "/" + m.group(2) + "/pull/" + m.group(3);
+    private static String makeFullUrl(URLScanner scanner) {
+        return "https://github.com/" + scanner.owner() + "/" + scanner.repository() + "/pull/" + scanner.number();
     }
 
 }
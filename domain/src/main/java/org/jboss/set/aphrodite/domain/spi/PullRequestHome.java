@@ -16,7 +16,10 @@
 
 package org.jboss.set.aphrodite.domain.spi;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.set.aphrodite.domain.CommitStatus;
 import org.jboss.set.aphrodite.domain.Label;
@@ -86,6 +89,34 @@ public interface PullRequestHome {
      */
     boolean removeLabel(PullRequest pullRequest, Label label);
 
+    /**
+     * Apply the same label changes to many pull requests. Labels to add must already exist at the remote repository,
+     * removing a label which a pull request does not carry is not an error.
+     *
+     * @param pullRequests the <code>PullRequest</code> objects to update.
+     * @param labelsToAdd the <code>Label</code>s every pull request should carry.
+     * @param labelsToRemove the <code>Label</code>s no pull request should carry.
+     * @return for every pull request, in the order of <code>pullRequests</code>, <tt>true</tt> if all the changes have
+     *         been applied
+     */
+    default Map<PullRequest, Boolean> updateLabels(Collection<PullRequest> pullRequests, Collection<Label> labelsToAdd,
+            Collection<Label> labelsToRemove) {
+        Map<PullRequest, Boolean> results = new LinkedHashMap<>();
+        for (PullRequest pullRequest : pullRequests) {
+            boolean updated = true;
+            for (Label label : labelsToAdd) {
+                updated &= addLabel(pullRequest, label);
+            }
+            List<Label> current = getLabels(pullRequest);
+            for (Label label : labelsToRemove) {
+                if (current.stream().anyMatch(l -> l.getName().equalsIgnoreCase(label.getName())))
+                    updated &= removeLabel(pullRequest, label);
+            }
+            results.put(pullRequest, updated);
+        }
+        return results;
+    }
+
     /**
      * Retrieve the current CI status of the latest commit associated with a given pull request.
      *
@@ -94,6 +125,20 @@ public interface PullRequestHome {
      */
     CommitStatus getCommitStatus(PullRequest pullRequest);
 
+    /**
+     * Retrieve the current CI status of the latest commit of each of the given pull requests.
+     *
+     * @param pullRequests the <code>PullRequest</code> objects whose status is to be queried
+     * @return the CI status of every pull request, in the order of <code>pullRequests</code>
+     */
+    default Map<PullRequest, CommitStatus> getCommitStatuses(Collection<PullRequest> pullRequests) {
+        Map<PullRequest, CommitStatus> statuses = new LinkedHashMap<>();
+        for (PullRequest pullRequest : pullRequests) {
+            statuses.put(pullRequest, getCommitStatus(pullRequest));
+        }
+        return statuses;
+    }
+
     /**
      * Approve pull request.
      *
@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain;
+
+import static org.jboss.set.aphrodite.domain.internal.URLUtils.URL_REGEX_STRING;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.jboss.set.aphrodite.domain.internal.URLUtils;
+import org.junit.Test;
+
+public class PullRequestMetadataTest {
+
+    private static final List<String> BODIES = Arrays.asList(
+            "Issue: https://issues.redhat.com/browse/JBEAP-12345\n"
+                    + "Upstream PR: https://github.com/wildfly/wildfly/pull/17001\n"
+                    + "Upstream Issue: https://issues.redhat.com/browse/WFLY-18000\n"
+                    + "Related Issues: https://issues.redhat.com/browse/JBEAP-1, https://issues.redhat.com/browse/JBEAP-2\n"
+                    + "Depends: https://github.com/wildfly/wildfly-core/pull/5000, https://github.com/jboss/jboss-parent-pom/pull/7",
+            "  [Upstream PR| wildfly/wildfly#1234]\nissue| https://bugzilla.redhat.com/show_bug.cgi?id=1",
+            "Upstream not required, this is a product only change.\nUpstream PR: https://github.com/wildfly/wildfly/pull/1\n"
+                    + "Upstream Issue: https://issues.redhat.com/browse/WFLY-1",
+            "No issue required\nIssue: https://issues.redhat.com/browse/JBEAP-3\nUpstream PR not required",
+            "Upgrade: id=undertow, tag=2_2_19_Final, version=2_2_19, branch=main\nsome log\nat org.jboss.Foo(Foo.java:1)",
+            "Nothing to see here, just a plain description\n\nwith a few lines.",
+            "");
+
+    @Test
+    public void matchesPerCallExtraction() throws Exception {
+        for (String body : BODIES) {
+            PullRequestMetadata metadata = PullRequestMetadata.parse(body);
+            String message = "body: " + body;
+            assertEquals(message, Legacy.isUpstreamRequired(body), metadata.isUpstreamRequired());
+            assertEquals(message, Legacy.isUpstreamPrRequired(body), metadata.isUpstreamPrRequired());
+            assertEquals(message, Legacy.isIssueRequired(body), metadata.isIssueRequired());
+            assertEquals(message, Legacy.findUpstreamPullRequestURL(body), metadata.getUpstreamPullRequestURL());
+            assertEquals(message, Legacy.findUpstreamIssueURL(body), metadata.getUpstreamIssueURL());
+            assertEquals(message, Legacy.findIssueURL(body), metadata.getIssueURL());
+            assertEquals(message, Legacy.urls(body, Legacy.RELATED_ISSUES), metadata.getRelatedIssuesURLs());
+            assertEquals(message, Legacy.DEPENDS_PRS.matcher(body).find(), metadata.hasDependencies());
+            assertEquals(message, Legacy.urls(body, Legacy.DEPENDS_PRS), metadata.getDependencyPullRequestsURLs());
+            assertEquals(message, Legacy.UPGRADE.matcher(body).find(), metadata.hasUpgrade());
+        }
+    }
+
+    @Test
+    public void extractsFields() throws Exception {
+        PullRequestMetadata metadata = PullRequestMetadata.parse(BODIES.get(1));
+        assertEquals(new URL("https://github.com/wildfly/wildfly/pull/1234"), metadata.getUpstreamPullRequestURL());
+        assertEquals(new URL("https://bugzilla.redhat.com/show_bug.cgi?id=1"), metadata.getIssueURL());
+
+        metadata = PullRequestMetadata.parse(BODIES.get(4));
+        assertEquals("undertow", metadata.getUpgradeMeta().get("id"));
+        assertEquals("main", metadata.getUpgradeMeta().get("branch"));
+
+        metadata = PullRequestMetadata.parse(null);
+        assertTrue(metadata.isUpstreamRequired());
+        assertNull(metadata.getIssueURL());
+        assertTrue(metadata.getRelatedIssuesURLs().isEmpty());
+    }
+
+    @Test
+    public void cachedUntilBodyChanges() throws Exception {
+        PullRequest pullRequest = new PullRequest("1", new URL("https://github.com/wildfly/wildfly/pull/1"), null, new Codebase("main"),
+                PullRequestState.OPEN, "title", BODIES.get(0), true, false, MergeableState.CLEAN, null, Collections.emptyList());
+        PullRequestMetadata metadata = pullRequest.getMetadata();
+        assertSame(metadata, pullRequest.getMetadata());
+        assertTrue(pullRequest.hasDependencies());
+
+        pullRequest.setBody(BODIES.get(5));
+        assertFalse(pullRequest.hasDependencies());
+        assertNull(pullRequest.findIssueURL());
+
+        pullRequest.setBody(BODIES.get(4));
+        assertTrue(pullRequest.hasUpgrade());
+        assertEquals("undertow", pullRequest.getMetadata().getUpgradeMeta().get("id"));
+        assertEquals("2_2_19_Final", pullRequest.getMetadata().getUpgradeMeta().get("tag"));
+    }
+
+    /**
+     * The regular expression per accessor extraction <code>PullRequest</code> used before the metadata was cached.
+     */
+    private static final class Legacy {
+        static final Pattern NO_UPSTREAM_REQUIRED = Pattern.compile("\\s*No upstream required.*$|\\s*Upstream not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        static final Pattern UPSTREAM_PR = Pattern.compile("^\\s*\\[?Upstream PR[:|]\\s*+\\S+\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        static final Pattern UPSTREAM_ISSUE = Pattern.compile("^\\s*Upstream Issue[:|]\\s*+\\S+", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        static final Pattern ISSUE = Pattern.compile("^\\s*Issue[:|]\\s*+\\S+", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        static final Pattern RELATED_ISSUES = Pattern.compile("^\\s*\\[?Related Issue[s|][:|]\\s*+" + URL_REGEX_STRING + "(,\\s*+" + URL_REGEX_STRING + ")*+" + "\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        static final Pattern UPGRADE = Pattern.compile("\\s*Upgrade[:|]\\s*+\\w++=\\w++(,\\s*+\\w++=\\w++)*+", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        static final Pattern DEPENDS_PRS = Pattern.compile("^\\s*\\[?Depend[s|][:|]\\s*+" + URL_REGEX_STRING + "(,\\s*+" + URL_REGEX_STRING + ")*+" + "\\]?", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        static final Pattern NO_ISSUE_REQUIRED = Pattern.compile("^\\s*No issue required.*$|^\\s*Issue not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+        static final Pattern UPSTREAM_PR_NOT_REQUIRED = Pattern.compile("^\\s*Upstream PR not required.*$", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+        static boolean isUpstreamRequired(String body) {
+            return !NO_UPSTREAM_REQUIRED.matcher(body).find();
+        }
+
+        static boolean isUpstreamPrRequired(String body) {
+            return !UPSTREAM_PR_NOT_REQUIRED.matcher(body).find();
+        }
+
+        static boolean isIssueRequired(String body) {
+            return !NO_ISSUE_REQUIRED.matcher(body).find();
+        }
+
+        static URL findUpstreamPullRequestURL(String body) throws Exception {
+            if (!isUpstreamRequired(body))
+                return null;
+            String[] url = URLUtils.extractURLs(body, UPSTREAM_PR, false);
+            if (url == null || url.length == 0 || url[0] == null) {
+                url = URLUtils.extractGHUrls(body, UPSTREAM_PR, false);
+                return url == null || url.length == 0 || url[0] == null ? null : new URL(url[0]);
+            }
+            return new URL(url[0]);
+        }
+
+        static URL findUpstreamIssueURL(String body) throws Exception {
+            return isUpstreamRequired(body) ? first(URLUtils.extractURLs(body, UPSTREAM_ISSUE, false)) : null;
+        }
+
+        static URL findIssueURL(String body) throws Exception {
+            return isIssueRequired(body) ? first(URLUtils.extractURLs(body, ISSUE, false)) : null;
+        }
+
+        static List<URL> urls(String body, Pattern pattern) throws Exception {
+            String[] urls = URLUtils.extractURLs(body, pattern, true);
+            if (urls == null || urls.length == 0 || urls[0] == null)
+                return Collections.emptyList();
+            URL[] result = new URL[urls.length];
+            for (int i = 0; i < urls.length; i++)
+                result[i] = new URL(urls[i]);
+            return Arrays.asList(result);
+        }
+
+        private static URL first(String[] url) throws Exception {
+            return url == null || url.length == 0 || url[0] == null ? null : new URL(url[0]);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class SymbolTableTest {
+
+    @Test
+    public void sharesRepeatedValuesOfIssues() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        Issue first = symbols.compact(issue(1));
+        Issue second = symbols.compact(issue(2));
+
+        assertSame(first.getProduct().get(), second.getProduct().get());
+        assertSame(first.getComponents().get(0), second.getComponents().get(0));
+        assertSame(first.getAffectedVersions().get(0), second.getAffectedVersions().get(0));
+        assertSame(first.getRawStatus(), second.getRawStatus());
+        assertSame(first.getAssignee().get(), second.getAssignee().get());
+        assertSame(first.getReleases().get(0).getVersion().get(), second.getReleases().get(0).getVersion().get());
+        assertSame(first.getStreamStatus().keySet().iterator().next(), second.getStreamStatus().keySet().iterator().next());
+    }
+
+    @Test
+    public void keepsContentOfCompactedIssue() throws Exception {
+        Issue issue = new SymbolTable().compact(issue(1));
+
+        assertEquals("EAP", issue.getProduct().get());
+        assertEquals(Arrays.asList("Clustering", "EJB"), issue.getComponents());
+        assertEquals(Arrays.asList("7.4.0.GA"), issue.getAffectedVersions());
+        assertEquals(Arrays.asList(new Release("7.4.1.GA", "ER1")), issue.getReleases());
+        assertEquals(FlagStatus.ACCEPTED, issue.getStreamStatus().get("jboss-eap-7.4.z"));
+        assertEquals(FlagStatus.ACCEPTED, issue.getStage().getStatus(Flag.DEV));
+        assertEquals(FlagStatus.NO_SET, issue.getStage().getStatus(Flag.QE));
+        assertEquals(1, issue.getBlocks().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void makesListsOfCompactedIssueImmutable() throws Exception {
+        new SymbolTable().compact(issue(1)).getComponents().add("Web");
+    }
+
+    @Test
+    public void keepsNullElementsOfCompactedIssue() throws Exception {
+        Issue issue = issue(1);
+        issue.getComponents().add(null);
+        issue.getReleases().add(null);
+        issue.getDependsOn().add(null);
+        issue.getStreamStatus().put("jboss-eap-8.0.z", null);
+        new SymbolTable().compact(issue);
+
+        assertEquals(Arrays.asList("Clustering", "EJB", null), issue.getComponents());
+        assertEquals(2, issue.getReleases().size());
+        assertEquals(Arrays.asList((URL) null), issue.getDependsOn());
+        assertTrue(issue.getStreamStatus().containsKey("jboss-eap-8.0.z"));
+    }
+
+    /**
+     * Every issue gets its own copy of each value, as when it is decoded from a response.
+     */
+    private static Issue issue(int id) throws Exception {
+        Issue issue = new Issue(new URL("https://issues.redhat.com/browse/JBEAP-" + id), null);
+        issue.setTrackerId("JBEAP-" + id);
+        issue.setProduct(new String("EAP"));
+        issue.setComponents(new ArrayList<>(Arrays.asList(new String("Clustering"), new String("EJB"))));
+        issue.setAffectedVersions(new ArrayList<>(Arrays.asList(new String("7.4.0.GA"))));
+        issue.setStatus(IssueStatus.NEW, new String("NEW"));
+        issue.setAssignee(new User(new String("dev@redhat.com"), new String("dev")));
+        issue.setReleases(new ArrayList<>(Arrays.asList(new Release(new String("7.4.1.GA"), new String("ER1")))));
+        Map<String, FlagStatus> streamStatus = new HashMap<>();
+        streamStatus.put(new String("jboss-eap-7.4.z"), FlagStatus.ACCEPTED);
+        issue.setStreamStatus(streamStatus);
+        issue.getStage().setStatus(Flag.DEV, FlagStatus.ACCEPTED);
+        issue.getBlocks().add(new URL("https://issues.redhat.com/browse/WFLY-" + id));
+        return issue;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.domain.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Comment;
+import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.Flag;
+import org.jboss.set.aphrodite.domain.FlagStatus;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.IssueEstimation;
+import org.jboss.set.aphrodite.domain.IssuePriority;
+import org.jboss.set.aphrodite.domain.IssueStatus;
+import org.jboss.set.aphrodite.domain.IssueType;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.domain.Release;
+import org.jboss.set.aphrodite.domain.Repository;
+import org.jboss.set.aphrodite.domain.Stream;
+import org.jboss.set.aphrodite.domain.StreamComponent;
+import org.jboss.set.aphrodite.domain.User;
+import org.junit.Test;
+
+public class BinaryReaderTest {
+
+    @Test
+    public void readsIssuesWritten() throws Exception {
+        Issue issue = issue(1);
+        Issue read = read(write(issue)).read(Issue.class);
+
+        assertEquals(issue.getURL(), read.getURL());
+        assertEquals(issue.getTrackerId(), read.getTrackerId());
+        assertEquals(issue.getProduct(), read.getProduct());
+        assertEquals(issue.getComponents(), read.getComponents());
+        assertEquals(issue.getSummary(), read.getSummary());
+        assertEquals(issue.getDescription(), read.getDescription());
+        assertEquals(issue.getAssignee(), read.getAssignee());
+        assertFalse(read.getReporter().isPresent());
+        assertEquals(issue.getStage().getStateMap(), read.getStage().getStateMap());
+        assertEquals(IssueStatus.POST, read.getStatus());
+        assertEquals("PULL REQUEST SENT", read.getRawStatus());
+        assertEquals(IssuePriority.MAJOR, read.getPriority());
+        assertEquals(IssueType.BUG, read.getType());
+        assertEquals(issue.getAffectedVersions(), read.getAffectedVersions());
+        assertEquals(issue.getReleases(), read.getReleases());
+        assertEquals(issue.getStreamStatus(), read.getStreamStatus());
+        assertEquals(issue.getBlocks(), read.getBlocks());
+        assertEquals(issue.getCreationTime(), read.getCreationTime());
+        assertEquals(issue.getLastUpdated(), read.getLastUpdated());
+        assertEquals(2.5, read.getEstimation().get().getHoursWorked(), 0);
+        assertEquals(1, read.getComments().size());
+        assertEquals("WFLY-1", read.getComments().get(0).getParentIssueId().get());
+        assertTrue(read.getComments().get(0).isPrivate());
+        assertNull(read.getTrackerType());
+    }
+
+    @Test
+    public void readsPullRequestsWritten() throws Exception {
+        PullRequest pullRequest = new PullRequest("7", new URL("https://github.com/wildfly/wildfly/pull/7"),
+                new Repository(new URL("https://github.com/wildfly/wildfly")), new Codebase("main"), PullRequestState.OPEN,
+                "WFLY-1 Fix", "Issue: https://issues.redhat.com/browse/WFLY-1", true, false, MergeableState.CLEAN, null,
+                Arrays.asList(new Commit("abc123", "WFLY-1 Fix")));
+        pullRequest.setUpdatedAt(new Date(1717243200000L));
+
+        PullRequest read = read(write(pullRequest)).read(PullRequest.class);
+
+        assertEquals(pullRequest.getId(), read.getId());
+        assertEquals(pullRequest.getURL(), read.getURL());
+        assertEquals(pullRequest.getRepository().getURL(), read.getRepository().getURL());
+        assertEquals("main", read.getCodebase().getName());
+        assertEquals(PullRequestState.OPEN, read.getState());
+        assertEquals(pullRequest.getBody(), read.getBody());
+        assertTrue(read.isMergeable());
+        assertEquals(MergeableState.CLEAN, read.getMergableState());
+        assertNull(read.getMergedAt());
+        assertEquals(pullRequest.getUpdatedAt(), read.getUpdatedAt());
+        assertEquals("abc123", read.getCommits().get(0).getSha());
+    }
+
+    @Test
+    public void linksStreamsToUpstream() throws Exception {
+        Stream upstream = new Stream("wildfly");
+        Map<String, StreamComponent> components = new HashMap<>();
+        components.put("wildfly-core", new StreamComponent("wildfly-core", Arrays.asList("dev@redhat.com"),
+                new URI("https://github.com/wildfly/wildfly-core"), new Codebase("main"), "25.0.0.Final", "25.0.0.Final",
+                "org.wildfly.core", "core"));
+        Stream stream = new Stream(new URL("https://example.com/streams.json"), "eap-8.0", upstream, components);
+
+        List<Stream> read = read(write(stream)).readAll(Stream.class);
+
+        assertEquals(2, read.size());
+        assertEquals("wildfly", read.get(0).getName());
+        assertSame(read.get(0), read.get(1).getUpstream());
+        StreamComponent component = read.get(1).getComponent("wildfly-core");
+        assertEquals("25.0.0.Final", component.getVersion());
+        assertEquals("org.wildfly.core", component.getGAV());
+        assertEquals(new URI("https://github.com/wildfly/wildfly-core"), component.getRepositoryURL());
+        assertSame(read.get(1), component.getStream());
+    }
+
+    @Test
+    public void sharesRepeatedValues() throws Exception {
+        List<Issue> read = read(write(issue(1), issue(2))).readAll(Issue.class);
+
+        assertEquals(2, read.size());
+        assertSame(read.get(0).getProduct().get(), read.get(1).getProduct().get());
+        assertSame(read.get(0).getComponents().get(0), read.get(1).getComponents().get(0));
+    }
+
+    @Test
+    public void writesRepeatedValuesOnce() throws Exception {
+        String written = new String(write(issue(1), issue(2), issue(3)), StandardCharsets.ISO_8859_1);
+
+        assertEquals(written.indexOf("Clustering"), written.lastIndexOf("Clustering"));
+        assertEquals(written.indexOf("dev@redhat.com"), written.lastIndexOf("dev@redhat.com"));
+        assertEquals(written.indexOf("ACCEPTED"), written.lastIndexOf("ACCEPTED"));
+    }
+
+    @Test
+    public void skipsUnknownRecords() throws Exception {
+        byte[] written = write(issue(1));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(written, 0, BinaryFormat.MAGIC.length + 1);
+        // a record kind of a later version, followed by the records of this one
+        bytes.write(new byte[] { 99, 3, 1, 2, 3 });
+        bytes.write(written, BinaryFormat.MAGIC.length + 1, written.length - BinaryFormat.MAGIC.length - 1);
+
+        BinaryReader reader = read(bytes.toByteArray());
+
+        assertEquals(new URL("https://issues.redhat.com/browse/WFLY-1"), reader.read(Issue.class).getURL());
+        assertNull(reader.read());
+    }
+
+    @Test
+    public void readsUnknownConstantsAsUndefined() throws Exception {
+        String written = new String(write(issue(1)), StandardCharsets.ISO_8859_1);
+        // a status and a priority which only a later version knows of
+        written = written.replace("POST", "PEND").replace("MAJOR", "URGNT");
+
+        Issue read = read(written.getBytes(StandardCharsets.ISO_8859_1)).read(Issue.class);
+
+        assertEquals(IssueStatus.UNDEFINED, read.getStatus());
+        assertEquals(IssuePriority.UNDEFINED, read.getPriority());
+        assertEquals(IssueType.BUG, read.getType());
+    }
+
+    @Test
+    public void writesNullListsAndElements() throws Exception {
+        Issue issue = new Issue(new URL("https://issues.redhat.com/browse/WFLY-1"), null) {
+            @Override
+            public List<URL> getDependsOn() {
+                return null;
+            }
+        };
+        issue.setComponents(null);
+        issue.setAffectedVersions(new ArrayList<>(Arrays.asList("30.0.0.Final", null)));
+        issue.setReleases(new ArrayList<>(Arrays.asList(null, new Release("31.0.0.Final", null))));
+        Map<String, FlagStatus> streamStatus = new HashMap<>();
+        streamStatus.put("wildfly-31", null);
+        issue.setStreamStatus(streamStatus);
+        issue.setBlocks(new ArrayList<>(Arrays.asList((URL) null)));
+        issue.setComments(new ArrayList<>(Arrays.asList((Comment) null)));
+        PullRequest pullRequest = new PullRequest("7", new URL("https://github.com/wildfly/wildfly/pull/7"), null, null,
+                null, null, null, false, false, null, null, Arrays.asList(null, new Commit("abc123", null)));
+
+        BinaryReader reader = read(write(issue, pullRequest));
+        Issue readIssue = reader.read(Issue.class);
+        PullRequest readPullRequest = reader.read(PullRequest.class);
+
+        assertNull(readIssue.getComponents());
+        assertEquals(issue.getAffectedVersions(), readIssue.getAffectedVersions());
+        assertEquals(issue.getReleases(), readIssue.getReleases());
+        assertEquals(streamStatus, readIssue.getStreamStatus());
+        assertTrue(readIssue.getDependsOn().isEmpty());
+        assertEquals(issue.getBlocks(), readIssue.getBlocks());
+        assertEquals(issue.getComments(), readIssue.getComments());
+        assertNull(readPullRequest.getCommits().get(0));
+        assertEquals("abc123", readPullRequest.getCommits().get(1).getSha());
+    }
+
+    @Test
+    public void readsFieldsMissingFromShorterRecordsAsAbsent() throws Exception {
+        Issue issue = issue(1);
+        issue.setComments(new ArrayList<>());
+        byte[] written = write(issue);
+        // drop the estimation and comments, as if they were appended to the record by a later version
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(written));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(written, 0, BinaryFormat.MAGIC.length + 1);
+        in.skipBytes(BinaryFormat.MAGIC.length + 1);
+        int kind;
+        while ((kind = in.read()) >= 0) {
+            byte[] payload = new byte[BinaryFormat.readVarint(in)];
+            in.readFully(payload);
+            int length = kind == BinaryFormat.ISSUE ? payload.length - 18 : payload.length;
+            out.writeByte(kind);
+            BinaryFormat.writeVarint(out, length);
+            out.write(payload, 0, length);
+        }
+
+        Issue read = read(bytes.toByteArray()).read(Issue.class);
+
+        assertEquals(issue.getLastUpdated(), read.getLastUpdated());
+        assertFalse(read.getEstimation().isPresent());
+        assertTrue(read.getComments().isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsLaterVersion() throws Exception {
+        byte[] written = write(issue(1));
+        written[BinaryFormat.MAGIC.length] = BinaryFormat.VERSION + 1;
+        read(written);
+    }
+
+    private static Issue issue(int id) throws Exception {
+        Issue issue = new Issue(new URL("https://issues.redhat.com/browse/WFLY-" + id), null);
+        issue.setTrackerId("WFLY-" + id);
+        issue.setProduct("WildFly");
+        issue.setComponents(new ArrayList<>(Arrays.asList("Clustering", "EJB")));
+        issue.setSummary("Summary of " + id);
+        issue.setDescription("Description of " + id);
+        issue.setAssignee(User.createWithEmail("dev@redhat.com"));
+        issue.getStage().setStatus(Flag.DEV, FlagStatus.ACCEPTED);
+        issue.setStatus(IssueStatus.POST, "Pull Request Sent");
+        issue.setPriority(IssuePriority.MAJOR);
+        issue.setType(IssueType.BUG, "Bug");
+        issue.setAffectedVersions(new ArrayList<>(Arrays.asList("30.0.0.Final")));
+        issue.setReleases(new ArrayList<>(Arrays.asList(new Release("31.0.0.Final", "Beta1"))));
+        Map<String, FlagStatus> streamStatus = new HashMap<>();
+        streamStatus.put("wildfly-31", FlagStatus.SET);
+        issue.setStreamStatus(streamStatus);
+        issue.setBlocks(new ArrayList<>(Collections.singletonList(new URL("https://issues.redhat.com/browse/JBEAP-" + id))));
+        issue.setCreationTime(new Date(1700000000000L));
+        issue.setLastUpdated(new Date(1717243200000L));
+        issue.setEstimation(new IssueEstimation(4, 2.5));
+        issue.setComments(new ArrayList<>(Collections.singletonList(new Comment("WFLY-" + id, "1", "Looks good", true))));
+        return issue;
+    }
+
+    private static byte[] write(Object... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryWriter writer = new BinaryWriter(bytes)) {
+            for (Object value : values) {
+                if (value instanceof Issue)
+                    writer.write((Issue) value);
+                else if (value instanceof PullRequest)
+                    writer.write((PullRequest) value);
+                else
+                    writer.write((Stream) value);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BinaryReader read(byte[] bytes) throws IOException {
+        return new BinaryReader(new ByteArrayInputStream(bytes));
+    }
+}
@@ -18,6 +18,7 @@ package org.jboss.set.aphrodite.repository.services.github;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -28,6 +29,7 @@ import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
 import org.kohsuke.github.GHUser;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.RateLimitHandler;
 import org.kohsuke.github.extras.okhttp3.OkHttpConnector;
 
 import okhttp3.Cache;
@@ -44,6 +46,9 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
     private static final String CACHE_NAME = "cacheName";
     private static final String CACHE_SIZE = "cacheSize";
     private static final int DEFAULT_CACHE_SIZE = 20;
+    private static final String RATE_LIMIT_MODE = "rateLimitMode";
+    private static final String RATE_LIMIT_BATCH_RESERVE = "rateLimitBatchReserve";
+    private static final String API_ENDPOINT = "githubApiEndpoint";
 
     private static String cacheDir;
     private static  String cacheName;
@@ -52,6 +57,9 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
     private static Cache cache;
     protected static GitHub github;
     protected static GHUser user;
+    protected static GitHubRateLimitScheduler rateLimitScheduler;
+    protected static final GitHubLabelCatalog LABEL_CATALOG = new GitHubLabelCatalog(
+            GitHubLabelCatalog.DEFAULT_MAX_ENTRIES, GitHubLabelCatalog.DEFAULT_TTL_MILLIS);
 
     public AbstractGithubService(RepositoryType repositoryType) {
         super(repositoryType);
@@ -73,11 +81,25 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
     public static boolean commonGithubInit(RepositoryConfig config) {
         cacheDir = getValueFromPropertyAndEnv(CACHE_DIR);
         cacheName = getValueFromPropertyAndEnv(CACHE_NAME);
+        rateLimitScheduler = createRateLimitScheduler();
+        String endpoint = getValueFromPropertyAndEnv(API_ENDPOINT);
 
         try {
+            // oauthAccessToken here, if you use text password, call .withPassword()
+            GitHubBuilder builder = new GitHubBuilder()
+                    .withOAuthToken(config.getPassword(), config.getUsername())
+                    .withRateLimitChecker(rateLimitScheduler);
+            if (rateLimitScheduler.getMode() == GitHubRateLimitScheduler.Mode.FAIL_FAST) {
+                builder.withRateLimitHandler(RateLimitHandler.FAIL);
+            }
+            if (endpoint != null) {
+                // e.g. a GitHub Enterprise instance, or a local stand-in
+                builder.withEndpoint(endpoint);
+            }
+
             if (cacheDir == null || cacheName == null) {
                 // no cache specified
-                github = GitHub.connect(config.getUsername(), config.getPassword());
+                github = builder.build();
             } else {
                 // use cache
                 cacheFile = new File(cacheDir, cacheName);
@@ -94,9 +116,7 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
                     cache = new Cache(cacheFile, size * 1024 * 1024); // default 20MB cache
                 }
 
-                // oauthAccessToken here, if you use text password, call .withPassword()
-                github = new GitHubBuilder()
-                        .withOAuthToken(config.getPassword(), config.getUsername())
+                github = builder
                         .withConnector(new OkHttpConnector(new OkHttpClient.Builder().cache(cache).build()))
                         .build();
 
@@ -109,6 +129,50 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
         return false;
     }
 
+    /**
+     * @return the executor of the service, carrying the rate limit priority of the submitting thread over to its tasks
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return GitHubRateLimitScheduler.propagating(super.getAsyncExecutor());
+    }
+
+    /**
+     * @return the scheduler pacing the requests of the shared GitHub connection, or <code>null</code> if no
+     *         connection has been initialised yet
+     */
+    public static GitHubRateLimitScheduler getRateLimitScheduler() {
+        return rateLimitScheduler;
+    }
+
+    private static GitHubRateLimitScheduler createRateLimitScheduler() {
+        GitHubRateLimitScheduler.Mode mode = GitHubRateLimitScheduler.Mode.fromString(getValueFromPropertyAndEnv(RATE_LIMIT_MODE));
+        String batchReserve = getValueFromPropertyAndEnv(RATE_LIMIT_BATCH_RESERVE);
+        int reserve = GitHubRateLimitScheduler.DEFAULT_BATCH_RESERVE;
+        if (batchReserve != null) {
+            try {
+                reserve = Integer.parseInt(batchReserve);
+                if (reserve < 0 || reserve > 100) {
+                    Utils.logWarnMessage(LOG, batchReserve + " is not a valid batch reserve percentage. Use default value " + GitHubRateLimitScheduler.DEFAULT_BATCH_RESERVE + "%.");
+                    reserve = GitHubRateLimitScheduler.DEFAULT_BATCH_RESERVE;
+                }
+            } catch (NumberFormatException e) {
+                Utils.logWarnMessage(LOG, batchReserve + " is not a valid batch reserve percentage. Use default value " + GitHubRateLimitScheduler.DEFAULT_BATCH_RESERVE + "%.");
+            }
+        }
+        return new GitHubRateLimitScheduler(mode, reserve);
+    }
+
+    /**
+     * Give the rate limit scheduler the chance to reject a request before it is sent, see
+     * {@link GitHubRateLimitScheduler#acquire()}.
+     */
+    protected static void acquireRateLimit() throws GitHubRateLimitExceededException {
+        if (rateLimitScheduler != null) {
+            rateLimitScheduler.acquire();
+        }
+    }
+
     private static String getValueFromPropertyAndEnv(String key) {
         String value = System.getProperty(key);
         if (value == null) {
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.util.function.LongSupplier;
+
+import org.jboss.set.aphrodite.domain.CommitStatus;
+
+/**
+ * Remembers the combined status of commits, by repository and SHA.
+ * <p>
+ * The statuses and check runs of a commit are only ever appended to, so once every one of them has finished the
+ * combined status stays the same until a build is restarted. Only such settled statuses are cached, and only for
+ * a limited time so restarted builds are eventually noticed. Pending and unknown statuses are always fetched again.
+ */
+public class GitHubCommitStatusCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_TTL_MILLIS = 10 * 60 * 1000;
+
+    private final ExpiringCache<String, CommitStatus> entries;
+
+    public GitHubCommitStatusCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    GitHubCommitStatusCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.entries = new ExpiringCache<>("commitStatus", maxEntries, ttlMillis, clock);
+    }
+
+    /**
+     * @return the cached status of the commit, or <code>null</code> if it has to be fetched
+     */
+    public CommitStatus get(String repositoryId, String sha) {
+        return entries.get(key(repositoryId, sha));
+    }
+
+    public void put(String repositoryId, String sha, CommitStatus status) {
+        if (isSettled(status))
+            entries.put(key(repositoryId, sha), status);
+    }
+
+    public void remove(String repositoryId, String sha) {
+        entries.remove(key(repositoryId, sha));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static boolean isSettled(CommitStatus status) {
+        return status == CommitStatus.SUCCESS || status == CommitStatus.FAILURE || status == CommitStatus.ERROR;
+    }
+
+    private static String key(String repositoryId, String sha) {
+        return repositoryId + '@' + sha;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.kohsuke.github.GHLabel;
+import org.kohsuke.github.GHRepository;
+
+/**
+ * Remembers the labels defined by repositories, so that labelling a pull request does not list the labels of its
+ * repository every time. Labels are looked up by name, ignoring case like GitHub does. A name missing from the
+ * catalog reloads it, in case the label has been created since. A name still missing after the reload is remembered
+ * for {@link #MISS_TTL_MILLIS}, so that repeated lookups of an unknown label do not list the labels every time.
+ */
+public class GitHubLabelCatalog {
+
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+    public static final long DEFAULT_TTL_MILLIS = 30 * 60 * 1000;
+    public static final long MISS_TTL_MILLIS = 60 * 1000;
+
+    private final ExpiringCache<String, Map<String, GHLabel>> catalogs;
+    private final ExpiringCache<String, Boolean> misses;
+    private final Map<String, Object> loading = new ConcurrentHashMap<>();
+
+    public GitHubLabelCatalog(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    GitHubLabelCatalog(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.catalogs = new ExpiringCache<>("labelCatalog", maxEntries, ttlMillis, clock);
+        this.misses = new ExpiringCache<>("labelCatalogMisses", maxEntries, Math.min(ttlMillis, MISS_TTL_MILLIS), clock);
+    }
+
+    /**
+     * @param repositoryId the id of the repository, as in <code>owner/name</code>
+     * @param repository the repository to list the labels of when they are not known
+     * @param name the name of the label, in any case
+     * @return the label of the repository with the given name, or <code>null</code> if there is none
+     * @throws IOException if the labels of the repository can not be listed
+     */
+    public GHLabel getLabel(String repositoryId, GHRepository repository, String name) throws IOException {
+        Map<String, GHLabel> labels = catalogs.get(repositoryId);
+        GHLabel label = labels != null ? labels.get(key(name)) : null;
+        if (label == null) {
+            String missKey = repositoryId + '\n' + key(name);
+            if (labels != null && misses.get(missKey) != null)
+                return null;
+
+            // concurrent lookups of the same repository list its labels once
+            Object lock = loading.computeIfAbsent(repositoryId, id -> new Object());
+            synchronized (lock) {
+                try {
+                    Map<String, GHLabel> current = catalogs.get(repositoryId);
+                    if (current != null && current != labels)
+                        return current.get(key(name));
+                    labels = update(repositoryId, repository.listLabels().withPageSize(100).toList());
+                } finally {
+                    loading.remove(repositoryId, lock);
+                }
+            }
+            label = labels.get(key(name));
+            if (label == null)
+                misses.put(missKey, Boolean.TRUE);
+        }
+        return label;
+    }
+
+    /**
+     * Replace the known labels of a repository, for instance after they have been listed for another purpose.
+     */
+    public Map<String, GHLabel> update(String repositoryId, Collection<GHLabel> labels) {
+        Map<String, GHLabel> byName = new LinkedHashMap<>();
+        for (GHLabel label : labels)
+            byName.put(key(label.getName()), label);
+        catalogs.put(repositoryId, byName);
+        return byName;
+    }
+
+    public void invalidate(String repositoryId) {
+        catalogs.remove(repositoryId);
+        misses.removeIf(key -> key.startsWith(repositoryId + '\n'));
+    }
+
+    public void clear() {
+        catalogs.clear();
+        misses.clear();
+    }
+
+    int loadingSize() {
+        return loading.size();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+}
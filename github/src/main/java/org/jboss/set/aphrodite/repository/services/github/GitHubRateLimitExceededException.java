@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.IOException;
+import java.util.Date;
+
+import org.jboss.set.aphrodite.repository.services.github.GitHubRateLimitScheduler.Priority;
+
+/**
+ * Thrown by {@link GitHubRateLimitScheduler} when the GitHub rate limit budget is exhausted and the scheduler is
+ * configured to fail fast rather than wait for the reset. It extends {@link IOException} so that it travels the same
+ * path as any other failed GitHub request.
+ */
+public class GitHubRateLimitExceededException extends IOException {
+
+    private static final long serialVersionUID = 3658432409867652451L;
+
+    private final Priority priority;
+    private final Date reset;
+
+    public GitHubRateLimitExceededException(Priority priority, int remaining, int limit, Date reset) {
+        super("GitHub rate limit exhausted for " + priority + " requests: " + remaining + " of " + limit
+                + " requests remaining, limit resets at " + reset);
+        this.priority = priority;
+        this.reset = reset;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Date getReset() {
+        return reset;
+    }
+}
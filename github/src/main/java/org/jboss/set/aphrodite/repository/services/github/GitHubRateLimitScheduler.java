@@ -0,0 +1,276 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.RateLimitChecker;
+
+/**
+ * Paces GitHub requests against the core rate limit. The remaining budget and reset time are taken from
+ * the rate limit headers of every response, which github-api hands to this checker before the next request
+ * is sent.
+ * <p>
+ * Requests run with {@link Priority#INTERACTIVE} priority unless they are executed through
+ * {@link #runAs(Priority, Task)}. The priority is carried over to the tasks submitted to a
+ * {@link #propagating(Executor)} executor. Interactive requests are only held back once the budget is exhausted,
+ * whereas {@link Priority#BATCH} requests leave a reserve for interactive use and are spread evenly over the
+ * time remaining until the reset.
+ * <p>
+ * In {@link Mode#BLOCK} mode a request that can not be served waits until the budget allows it. In
+ * {@link Mode#FAIL_FAST} mode {@link #acquire()}, which the services call before talking to GitHub, throws a
+ * {@link GitHubRateLimitExceededException} instead.
+ */
+public class GitHubRateLimitScheduler extends RateLimitChecker {
+
+    private static final Log LOG = LogFactory.getLog(GitHubRateLimitScheduler.class);
+    private static final ThreadLocal<Priority> PRIORITY = ThreadLocal.withInitial(() -> Priority.INTERACTIVE);
+
+    public static final int DEFAULT_BATCH_RESERVE = 10;
+
+    public enum Priority {
+        INTERACTIVE, BATCH
+    }
+
+    /**
+     * A unit of work run with a given priority.
+     */
+    @FunctionalInterface
+    public interface Task<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public enum Mode {
+        BLOCK, FAIL_FAST;
+
+        public static Mode fromString(String mode) {
+            if (mode != null && (mode.equalsIgnoreCase("fail") || mode.equalsIgnoreCase("fail_fast")))
+                return FAIL_FAST;
+            return BLOCK;
+        }
+    }
+
+    private final Mode mode;
+    private final int batchReservePercent;
+    private final LongSupplier clock;
+
+    private int remaining = -1;
+    private int limit = -1;
+    private long resetMillis;
+    private long nextBatchSlot;
+
+    public GitHubRateLimitScheduler(Mode mode, int batchReservePercent) {
+        this(mode, batchReservePercent, System::currentTimeMillis);
+    }
+
+    GitHubRateLimitScheduler(Mode mode, int batchReservePercent, LongSupplier clock) {
+        if (batchReservePercent < 0 || batchReservePercent > 100)
+            throw new IllegalArgumentException("batchReservePercent must be between 0 and 100");
+
+        this.mode = mode;
+        this.batchReservePercent = batchReservePercent;
+        this.clock = clock;
+    }
+
+    /**
+     * Execute the given task with the specified priority for every GitHub request issued from the current thread.
+     *
+     * @param priority the priority applied to the requests of <code>task</code>
+     * @param task the work to execute
+     * @return the result of <code>task</code>
+     * @throws E if <code>task</code> throws an exception
+     */
+    public static <T, E extends Exception> T runAs(Priority priority, Task<T, E> task) throws E {
+        Priority previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        try {
+            return task.call();
+        } finally {
+            PRIORITY.set(previous);
+        }
+    }
+
+    public static Priority currentPriority() {
+        return PRIORITY.get();
+    }
+
+    /**
+     * Wrap an executor so that every task runs with the priority which was current when it was submitted.
+     *
+     * @param executor the executor to wrap.
+     * @return an executor delegating to <code>executor</code>
+     */
+    public static Executor propagating(Executor executor) {
+        if (executor == null || executor instanceof PropagatingExecutor)
+            return executor;
+        return new PropagatingExecutor(executor);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Record the rate limit returned by GitHub.
+     *
+     * @param rateLimit the latest known rate limit
+     */
+    public void update(GHRateLimit rateLimit) {
+        if (rateLimit != null)
+            update(rateLimit.getCore());
+    }
+
+    synchronized void update(GHRateLimit.Record record) {
+        if (record == null || record.getLimit() <= 0)
+            return;
+
+        long reset = record.getResetEpochSeconds() * 1000;
+        // only accept a record that belongs to the current window, or is newer than the one we know about
+        if (reset > resetMillis || record.getRemaining() < remaining || remaining < 0) {
+            if (reset > resetMillis)
+                nextBatchSlot = 0;
+            remaining = record.getRemaining();
+            limit = record.getLimit();
+            resetMillis = reset;
+        }
+    }
+
+    /**
+     * Check that the budget still has room for the priority of the current thread. This is a no-op in
+     * {@link Mode#BLOCK} mode, where every request is paced by {@link #checkRateLimit(GHRateLimit.Record, long)}.
+     *
+     * @throws GitHubRateLimitExceededException if the budget is exhausted in {@link Mode#FAIL_FAST} mode.
+     */
+    public void acquire() throws GitHubRateLimitExceededException {
+        if (mode == Mode.BLOCK)
+            return;
+
+        Priority priority = currentPriority();
+        synchronized (this) {
+            if (isExhausted(priority))
+                throw new GitHubRateLimitExceededException(priority, remaining, limit, new Date(resetMillis));
+        }
+    }
+
+    /**
+     * Pace the request. Returns <code>true</code> after waiting, upon which github-api fetches the current rate limit
+     * and calls again with an incremented <code>count</code>. The request slot has been claimed by the first call, so
+     * the following calls only wait again while the refreshed budget is still exhausted.
+     */
+    @Override
+    protected boolean checkRateLimit(GHRateLimit.Record record, long count) throws InterruptedException {
+        update(record);
+
+        Priority priority = currentPriority();
+        long delay;
+        synchronized (this) {
+            // in fail fast mode the request has been let through by acquire(), GitHub will reject it if it really is over the limit
+            if (mode == Mode.FAIL_FAST && isExhausted(priority))
+                return false;
+            if (count > 0 && !isExhausted(priority))
+                return false;
+            delay = reserve(priority);
+        }
+        if (delay <= 0)
+            return false;
+
+        Utils.logDebugMessage(LOG, "Delaying " + priority + " GitHub request by " + delay + "ms to stay within the rate limit");
+        Thread.sleep(delay);
+        return true;
+    }
+
+    synchronized boolean isExhausted(Priority priority) {
+        long now = clock.getAsLong();
+        if (limit <= 0 || now >= resetMillis)
+            return false;
+        return priority == Priority.INTERACTIVE ? remaining <= 0 : remaining - batchReserve() <= 0;
+    }
+
+    /**
+     * Claim a request slot for the given priority.
+     *
+     * @return the time in milliseconds the caller has to wait before sending its request, <code>0</code> if it can
+     *         be sent right away
+     */
+    synchronized long reserve(Priority priority) {
+        long now = clock.getAsLong();
+        if (limit <= 0 || now >= resetMillis) {
+            // unknown budget or the window has been reset since the last response
+            return 0;
+        }
+
+        long untilReset = resetMillis - now;
+        if (priority == Priority.INTERACTIVE) {
+            if (remaining <= 0)
+                return untilReset;
+            remaining--;
+            return 0;
+        }
+
+        int available = remaining - batchReserve();
+        if (available <= 0)
+            return untilReset;
+
+        long interval = untilReset / available;
+        long slot = Math.max(now, nextBatchSlot);
+        nextBatchSlot = slot + interval;
+        remaining--;
+        return slot - now;
+    }
+
+    private int batchReserve() {
+        return (int) Math.ceil(limit * batchReservePercent / 100.0);
+    }
+
+    private static final class PropagatingExecutor implements Executor {
+        private final Executor delegate;
+
+        PropagatingExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            Priority priority = PRIORITY.get();
+            if (priority == Priority.INTERACTIVE) {
+                delegate.execute(task);
+                return;
+            }
+            delegate.execute(() -> {
+                Priority previous = PRIORITY.get();
+                PRIORITY.set(priority);
+                try {
+                    task.run();
+                } finally {
+                    PRIORITY.set(previous);
+                }
+            });
+        }
+    }
+}
@@ -31,11 +31,11 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -50,19 +50,19 @@ import org.jboss.set.aphrodite.domain.RateLimit;
 import org.jboss.set.aphrodite.domain.Repository;
 import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
 import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
+import org.jboss.set.aphrodite.repository.services.github.GitHubRateLimitScheduler.Priority;
 import org.jboss.set.aphrodite.spi.NotFoundException;
 import org.jboss.set.aphrodite.spi.RepositoryService;
 import org.kohsuke.github.GHBranch;
 import org.kohsuke.github.GHCommit;
-import org.kohsuke.github.GHCommitState;
-import org.kohsuke.github.GHCommitStatus;
+import org.kohsuke.github.GHDirection;
 import org.kohsuke.github.GHException;
 import org.kohsuke.github.GHIssue;
 import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHLabel;
 import org.kohsuke.github.GHMyself;
 import org.kohsuke.github.GHPullRequest;
-import org.kohsuke.github.GHPullRequestCommitDetail;
+import org.kohsuke.github.GHPullRequestQueryBuilder;
 import org.kohsuke.github.GHRateLimit;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHUser;
@@ -70,8 +70,6 @@ import org.kohsuke.github.GHUser;
 import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.createRepositoryIdFromUrl;
 import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.getPRFromDescription;
 
-import static org.jboss.set.aphrodite.repository.services.github.GithubUtils.getCombineStatus;
-
 /**
  * @author Ryan Emerson
  */
@@ -79,6 +77,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
 
     private static final Log LOG = LogFactory.getLog(org.jboss.set.aphrodite.spi.RepositoryService.class);
     private static final GitHubWrapper WRAPPER = new GitHubWrapper();
+    private static final int PULL_REQUEST_PAGE_SIZE = 100;
 
     private GithubPullRequestHomeService prHome;
 
@@ -170,6 +169,35 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         }
     }
 
+    @Override
+    public List<PullRequest> getPullRequestsUpdatedSince(Repository repository, Date updatedSince) throws NotFoundException {
+        URL url = repository.getURL();
+        checkHost(url);
+
+        try {
+            GHRepository githubRepository = getGHRepository(url);
+            // most recently updated first, so paging stops at the first pull request older than updatedSince
+            List<GHPullRequest> pullRequests = GitHubRateLimitScheduler.runAs(Priority.BATCH, () -> {
+                List<GHPullRequest> updated = new ArrayList<>();
+                for (GHPullRequest pullRequest : githubRepository.queryPullRequests()
+                        .state(GHIssueState.ALL)
+                        .sort(GHPullRequestQueryBuilder.Sort.UPDATED)
+                        .direction(GHDirection.DESC)
+                        .list()
+                        .withPageSize(PULL_REQUEST_PAGE_SIZE)) {
+                    if (pullRequest.getUpdatedAt().before(updatedSince))
+                        break;
+                    updated.add(pullRequest);
+                }
+                return updated;
+            });
+            return WRAPPER.toAphroditePullRequests(pullRequests, getPullRequestHome());
+        } catch (IOException e) {
+            Utils.logException(LOG, e);
+            throw new NotFoundException(e);
+        }
+    }
+
     @Override
     @Deprecated
     public void addCommentToPullRequest(PullRequest pullRequest, String comment) throws NotFoundException {
@@ -193,6 +221,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         checkHost(url);
 
         try {
+            acquireRateLimit();
             GHMyself myself = github.getMyself();
             GHRepository githubRepository = getGHRepository(url);
             Set<GHUser> collaborators = githubRepository.listCollaborators().asSet();
@@ -216,35 +245,24 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
         try {
             GHRepository repository = getGHRepository(url);
-            GHLabel newLabel = getLabel(repository, labelName);
+            GHLabel newLabel = getLabel(url, repository, labelName);
             GHIssue issue = repository.getIssue(pullRequestId);
-            Collection<GHLabel> labels = issue.getLabels();
-            if (labels.contains(newLabel)) {
+            if (issue.getLabels().stream().anyMatch(l -> l.getName().equalsIgnoreCase(newLabel.getName()))) {
                 return;
             }
-
-            List<String> list = labels.stream().map(e -> e.getName()).collect(Collectors.toList());
-            list.add(newLabel.getName());
-            String[] labelArray = list.toArray(new String[list.size()]);
-            issue.setLabels(labelArray);
+            issue.addLabels(newLabel.getName());
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
         }
     }
 
-    private GHLabel getLabel(GHRepository repository, String labelName) throws NotFoundException, IOException {
-        List<GHLabel> labels = repository.listLabels().asList();
-        return getLabel(repository, labelName, labels);
-    }
-
-    private GHLabel getLabel(GHRepository repository, String labelName, List<GHLabel> validLabels) throws NotFoundException {
-        for (GHLabel label : validLabels) {
-            if (label.getName().equalsIgnoreCase(labelName))
-                return label;
-        }
-        throw new NotFoundException("No label exists with the name '" + labelName +
-                "' at repository '" + repository.getName() + "'");
+    private GHLabel getLabel(URL url, GHRepository repository, String labelName) throws NotFoundException, IOException {
+        GHLabel label = LABEL_CATALOG.getLabel(createRepositoryIdFromUrl(url), repository, labelName);
+        if (label == null)
+            throw new NotFoundException("No label exists with the name '" + labelName +
+                    "' at repository '" + repository.getName() + "'");
+        return label;
     }
 
     @Override
@@ -256,6 +274,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         try {
             GHRepository githubRepository = getGHRepository(url);
             labels = githubRepository.listLabels().asList();
+            LABEL_CATALOG.update(createRepositoryIdFromUrl(url), labels);
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
@@ -288,16 +307,12 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
         try {
             GHRepository repository = getGHRepository(url);
-            GHIssue issue = repository.getIssue(pullRequestId);
-            List<GHLabel> issueLabels = new ArrayList<>();
-            List<GHLabel> existingLabels = repository.listLabels().asList();
-
+            List<String> names = new ArrayList<>();
             for (Label label : labels) {
-                issueLabels.add(getLabel(repository, label.getName(), existingLabels));
+                names.add(getLabel(url, repository, label.getName()).getName());
             }
-            List<String> list = issueLabels.stream().map(e -> e.getName()).collect(Collectors.toList());
-            String[] labelArray = list.toArray(new String[list.size()]);
-            issue.setLabels(labelArray);
+            GHIssue issue = repository.getIssue(pullRequestId);
+            issue.setLabels(names.toArray(new String[names.size()]));
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
@@ -318,11 +333,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
 
             for (GHLabel label : labels)
                 if (label.getName().equalsIgnoreCase(name)) {
-                    // remove the label and reset
-                    List<String> list = labels.stream().map(e -> e.getName()).collect(Collectors.toList());
-                    list.remove(label.getName());
-                    String[] labelArray = list.toArray(new String[list.size()]);
-                    issue.setLabels(labelArray);
+                    issue.removeLabels(label.getName());
                     return;
                 }
         } catch (IOException e) {
@@ -364,36 +375,17 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         URL url = pullRequest.getURL();
         checkHost(url);
 
-        CommitStatus status = null;
         int pullRequestId = Integer.parseInt(pullRequest.getId());
         try {
-            String sha = null;
-
             GHRepository repository = getGHRepository(url);
-            GHPullRequest ghPullRequest = repository.getPullRequest(pullRequestId);
-
-            List<GHPullRequestCommitDetail> commits = ghPullRequest.listCommits().asList();
-            if (commits.size() > 0) {
-                sha = commits.get(commits.size() - 1).getSha();
-            }
-
-            // statuses contains Finished and Started TeamCity Build
-            List<GHCommitStatus> statuses = repository.listCommitStatuses(sha).asList();
-            if (statuses.size() > 0) {
-                GHCommitState sta = getCombineStatus(statuses);
-                if (sta != null)
-                    status = CommitStatus.fromString(sta.toString());
-            }
+            String sha = GithubPullRequestHomeService.getHeadSha(pullRequest);
+            if (sha == null)
+                sha = repository.getPullRequest(pullRequestId).getHead().getSha();
+            return GithubUtils.getCommitStatus(repository, sha);
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
         }
-
-        if (status != null) {
-            return status;
-        } else {
-            return CommitStatus.UNKNOWN;
-        }
     }
 
     @Override
@@ -418,7 +410,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
     @Override
     public List<Commit> getCommitsSince(URL url, String branch, long since) {
         try {
-            GHRepository repo = github.getRepository(createRepositoryIdFromUrl(url));
+            GHRepository repo = getGHRepository(url);
             Iterable<GHCommit> ghCommits = repo.queryCommits().from(branch).since(since).pageSize(100).list();
 
             List<Commit> commits = new ArrayList<>();
@@ -431,9 +423,32 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         }
     }
 
+    @Override
+    public void invalidate(URL url) {
+        if (!urlExists(url))
+            return;
+
+        // https://github.com/<owner>/<repository>[/pull/<number>|/commit/<sha>]
+        String[] segments = url.getPath().replaceAll("^/+|/+$", "").split("/");
+        if (segments.length < 2)
+            return;
+
+        String repositoryId = segments[0] + "/" + segments[1];
+        if (segments.length == 2) {
+            LABEL_CATALOG.invalidate(repositoryId);
+        } else if (segments.length == 4 && segments[2].equals("pull") && segments[3].matches("\\d+")) {
+            GithubPullRequestHomeService.invalidate(repositoryId, Integer.parseInt(segments[3]), null);
+        } else if (segments.length == 4 && segments[2].equals("commit")) {
+            GithubPullRequestHomeService.invalidate(repositoryId, 0, segments[3]);
+        }
+    }
+
     public RateLimit getRateLimit() throws NotFoundException {
         try {
             GHRateLimit ghRateLimit = github.getRateLimit();
+            if (rateLimitScheduler != null) {
+                rateLimitScheduler.update(ghRateLimit);
+            }
             return WRAPPER.ghRateLimittoRateLimit(ghRateLimit);
         } catch (IOException e) {
             Utils.logException(LOG, e);
@@ -455,6 +470,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
     }
 
     private GHRepository getGHRepository(URL url) throws IOException {
+        acquireRateLimit();
         String repositoryId = createRepositoryIdFromUrl(url);
         if (Duration.between(timeStamp, LocalTime.now()).toHours() >= 2) {
             timeStamp = LocalTime.now();
@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.util.function.LongSupplier;
+
+import org.kohsuke.github.GHPullRequestReviewState;
+
+/**
+ * Remembers the latest review the connected user left on pull requests, by pull request and head SHA, so a review
+ * which would not change anything is skipped without asking GitHub. A push to the pull request changes its head and
+ * so invalidates the entry, the time limit bounds how long a review dismissed by someone else goes unnoticed.
+ */
+public class GitHubReviewStateCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_TTL_MILLIS = 10 * 60 * 1000;
+
+    private final ExpiringCache<String, ReviewState> entries;
+
+    public GitHubReviewStateCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    GitHubReviewStateCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.entries = new ExpiringCache<>("reviewState", maxEntries, ttlMillis, clock);
+    }
+
+    /**
+     * @return the latest review of the pull request at the given head, {@link ReviewState#NONE} if there is no
+     *         review, or <code>null</code> if it has to be fetched
+     */
+    public ReviewState get(String repositoryId, int pullRequestId, String sha) {
+        return entries.get(key(repositoryId, pullRequestId, sha));
+    }
+
+    public void put(String repositoryId, int pullRequestId, String sha, ReviewState reviewState) {
+        entries.put(key(repositoryId, pullRequestId, sha), reviewState);
+    }
+
+    public void remove(String repositoryId, int pullRequestId, String sha) {
+        entries.remove(key(repositoryId, pullRequestId, sha));
+    }
+
+    /**
+     * Forget the reviews of the pull request at every head.
+     */
+    public void remove(String repositoryId, int pullRequestId) {
+        String prefix = repositoryId + '#' + pullRequestId + '@';
+        entries.removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String key(String repositoryId, int pullRequestId, String sha) {
+        return repositoryId + '#' + pullRequestId + '@' + sha;
+    }
+
+    public static final class ReviewState {
+
+        public static final ReviewState NONE = new ReviewState(null, null);
+
+        private final GHPullRequestReviewState state;
+        private final String body;
+
+        public ReviewState(GHPullRequestReviewState state, String body) {
+            this.state = state;
+            this.body = body;
+        }
+
+        /**
+         * @return the state of the review, <code>null</code> if there is no review
+         */
+        public GHPullRequestReviewState getState() {
+            return state;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        @Override
+        public String toString() {
+            return "ReviewState{state=" + state + ", body=" + body + '}';
+        }
+    }
+}
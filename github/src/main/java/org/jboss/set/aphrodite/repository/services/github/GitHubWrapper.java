@@ -110,7 +110,9 @@ class GitHubWrapper {
                 commits.add(new Commit(det.getSha(), det.getCommit().getMessage()));
             }
             Collections.reverse(commits);
-            return new PullRequest(id, url, repo, codebase, state, title, body, mergeable, merged, mergeableState, mergedAt, commits, prHome);
+            PullRequest result = new PullRequest(id, url, repo, codebase, state, title, body, mergeable, merged, mergeableState, mergedAt, commits, prHome);
+            result.setUpdatedAt(pullRequest.getUpdatedAt());
+            return result;
         } catch (IOException e) {
             Utils.logException(LOG, e);
             return null;
@@ -23,9 +23,12 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -33,29 +36,27 @@ import org.jboss.set.aphrodite.Aphrodite;
 import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.config.AphroditeConfig;
 import org.jboss.set.aphrodite.config.RepositoryConfig;
+import org.jboss.set.aphrodite.domain.Commit;
 import org.jboss.set.aphrodite.domain.CommitStatus;
 import org.jboss.set.aphrodite.domain.Label;
 import org.jboss.set.aphrodite.domain.PullRequest;
 import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
+import org.jboss.set.aphrodite.metrics.Metrics;
 import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
-import org.kohsuke.github.GHCommitState;
-import org.kohsuke.github.GHCommitStatus;
+import org.jboss.set.aphrodite.repository.services.github.GitHubRateLimitScheduler.Priority;
+import org.jboss.set.aphrodite.repository.services.github.GitHubReviewStateCache.ReviewState;
 import org.kohsuke.github.GHIssue;
+import org.kohsuke.github.GHIssueLabelRequests;
 import org.kohsuke.github.GHLabel;
 import org.kohsuke.github.GHPullRequest;
-import org.kohsuke.github.GHPullRequestCommitDetail;
 import org.kohsuke.github.GHPullRequestReview;
-import org.kohsuke.github.GHPullRequestReviewBuilder;
 import org.kohsuke.github.GHPullRequestReviewEvent;
 import org.kohsuke.github.GHPullRequestReviewState;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GHUser;
 
 import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.createRepositoryIdFromUrl;
 import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.getPRFromDescription;
 
-import static org.jboss.set.aphrodite.repository.services.github.GithubUtils.getCombineStatus;
-
 /**
  * Service implementation of {@link PullRequestHome}. This helps to detach pull request specific methods in
  * {@link GitHubRepositoryService} and allow to call them from pull request itself once this service implementation registered
@@ -64,6 +65,10 @@ import static org.jboss.set.aphrodite.repository.services.github.GithubUtils.get
 public class GithubPullRequestHomeService extends AbstractGithubService implements PullRequestHome {
     private static final Log LOG = LogFactory.getLog(org.jboss.set.aphrodite.repository.services.github.GithubPullRequestHomeService.class);
     private static final GitHubWrapper WRAPPER = new GitHubWrapper();
+    private static final GitHubCommitStatusCache COMMIT_STATUSES = new GitHubCommitStatusCache(
+            GitHubCommitStatusCache.DEFAULT_MAX_ENTRIES, GitHubCommitStatusCache.DEFAULT_TTL_MILLIS);
+    private static final GitHubReviewStateCache REVIEW_STATES = new GitHubReviewStateCache(
+            GitHubReviewStateCache.DEFAULT_MAX_ENTRIES, GitHubReviewStateCache.DEFAULT_TTL_MILLIS);
 
     public GithubPullRequestHomeService(Aphrodite aphrodite) {
         super(RepositoryType.GITHUB);
@@ -71,6 +76,16 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         this.init(configuration);
     }
 
+    /**
+     * Forget the cached reviews of a pull request, or the cached status of a commit when <code>sha</code> is given.
+     */
+    static void invalidate(String repositoryId, int pullRequestId, String sha) {
+        if (sha != null)
+            COMMIT_STATUSES.remove(repositoryId, sha);
+        else
+            REVIEW_STATES.remove(repositoryId, pullRequestId);
+    }
+
     public GithubPullRequestHomeService(RepositoryConfig config) {
         super(RepositoryType.GITHUB);
         this.init(config);
@@ -86,7 +101,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
                 if (url.getHost().equals(baseUrl.getHost())) {
                     PullRequest validPullRequest = getPullRequest(url);
                     if (validPullRequest != null) {
-                        referencedPullRequests.add(getPullRequest(url));
+                        referencedPullRequests.add(validPullRequest);
                     }
                 } else {
                     Utils.logWarnMessage(LOG, "Unable to process url '" + url + "' as it is not located on this service");
@@ -104,7 +119,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         int pullId = Integer.parseInt(elements[elements.length - 1]);
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHPullRequest pullRequest = repository.getPullRequest(pullId);
             return WRAPPER.pullRequestToPullRequest(pullRequest, this);
         } catch (IOException e) {
@@ -120,7 +135,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         int id = Integer.parseInt(pullRequest.getId());
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHIssue issue = repository.getIssue(id);
             issue.comment(comment);
             return true;
@@ -135,7 +150,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         URL url = pullRequest.getURL();
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHIssue issue = repository.getIssue(Integer.parseInt(pullRequest.getId()));
             return WRAPPER.pullRequestLabeltoPullRequestLabel(issue.getLabels());
         } catch (IOException | NumberFormatException e) {
@@ -146,132 +161,188 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
 
     @Override
     public boolean setLabels(PullRequest pullRequest, List<Label> labels) {
-        URL url = pullRequest.getURL();
-        int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
-        String repositoryId = createRepositoryIdFromUrl(url);
-        try {
-            GHRepository repository = github.getRepository(repositoryId);
-            GHIssue issue = repository.getIssue(pullRequestId);
-            List<GHLabel> issueLabels = new ArrayList<>();
-            List<GHLabel> existingLabels = repository.listLabels().asList();
-
-            for (Label label : labels) {
-                GHLabel validLabel = validAndGetLabel(repository, label, existingLabels);
-                if(validLabel != null) {
-                    issueLabels.add(validLabel);
+        return Metrics.time(repositoryType.toString(), "setLabels", () -> {
+            URL url = pullRequest.getURL();
+            int pullRequestId = Integer.parseInt(Utils.getTrailingValueFromUrlPath(url));
+            String repositoryId = createRepositoryIdFromUrl(url);
+            try {
+                GHRepository repository = getGHRepository(repositoryId);
+                List<String> names = new ArrayList<>();
+                for (Label label : labels) {
+                    GHLabel validLabel = LABEL_CATALOG.getLabel(repositoryId, repository, label.getName());
+                    if (validLabel != null) {
+                        names.add(validLabel.getName());
+                    }
                 }
+                GHIssue issue = repository.getIssue(pullRequestId);
+                issue.setLabels(names.toArray(new String[names.size()]));
+            } catch (IOException e) {
+                Utils.logException(LOG, e);
+                return false;
             }
-            List<String> list = issueLabels.stream().map(e -> e.getName()).collect(Collectors.toList());
-            String[] labelArray = list.toArray(new String[list.size()]);
-            issue.setLabels(labelArray);
-        } catch (IOException e) {
-            Utils.logException(LOG, e);
-            return false;
-        }
-        return true;
+            return true;
+        });
     }
 
     @Override
     public boolean addLabel(PullRequest pullRequest, Label label) {
-        URL url = pullRequest.getURL();
-        int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
-        String repositoryId = createRepositoryIdFromUrl(url);
+        return Metrics.time(repositoryType.toString(), "addLabel",
+                () -> updateLabels(pullRequest, Collections.singletonList(label), Collections.emptyList()));
+    }
 
-        try {
-            GHRepository repository = github.getRepository(repositoryId);
-            List<GHLabel> existingLabels = repository.listLabels().asList();
-            GHLabel newLabel = validAndGetLabel(repository, label, existingLabels);
-            if (newLabel == null) {
-                Utils.logWarnMessage(LOG, "No label exists with name '" + label.getName() + "' at repository '" + repository.getName() + "'");
+    @Override
+    public boolean removeLabel(PullRequest pullRequest, Label label) {
+        return Metrics.time(repositoryType.toString(), "removeLabel", () -> {
+            URL url = pullRequest.getURL();
+            String labelName = label.getName();
+            String repositoryId = createRepositoryIdFromUrl(url);
+
+            try {
+                int pullRequestId = Integer.parseInt(Utils.getTrailingValueFromUrlPath(url));
+                GHRepository repository = getGHRepository(repositoryId);
+                GHLabel validLabel = LABEL_CATALOG.getLabel(repositoryId, repository, labelName);
+                if (validLabel == null) {
+                    Utils.logWarnMessage(LOG, "No label exists with name '" + labelName + "' at repository '" + repositoryId + "'");
+                    return false;
+                }
+                if (!deleteLabel(repositoryId, pullRequestId, validLabel.getName())) {
+                    Utils.logWarnMessage(LOG, "Pull request '" + url + "' does not carry label '" + labelName + "'");
+                    return false;
+                }
+            } catch (IOException | NumberFormatException e) {
+                Utils.logException(LOG, e);
                 return false;
             }
-            GHIssue issue = repository.getIssue(pullRequestId);
-            Collection<GHLabel> labels = issue.getLabels();
-            if (labels.contains(newLabel)) {
-                return true; // label is already existed.
-            }
-
-            List<String> list = labels.stream().map(e -> e.getName()).collect(Collectors.toList());
-            list.add(newLabel.getName());
-            String[] labelArray = list.toArray(new String[list.size()]);
-            issue.setLabels(labelArray);
-        } catch (IOException e) {
-            Utils.logException(LOG, e);
-            return false;
-        }
-        return true;
+            return true;
+        });
     }
 
-    private GHLabel validAndGetLabel(GHRepository repository, Label label, List<GHLabel> existingLabels) throws IOException {
-        for (GHLabel exsitingLabel : existingLabels) {
-            if (exsitingLabel.getName().equalsIgnoreCase(label.getName()))
-                return exsitingLabel;
-        }
-        return null;
+    /**
+     * Remove a label with the single remove-label request, without reading the labels of the pull request first.
+     *
+     * @return <code>false</code> if the pull request does not carry the label
+     */
+    boolean deleteLabel(String repositoryId, int pullRequestId, String labelName) throws IOException {
+        return GHIssueLabelRequests.removeLabel(github, repositoryId, pullRequestId, labelName);
     }
 
     @Override
-    public boolean removeLabel(PullRequest pullRequest, Label label) {
+    public Map<PullRequest, Boolean> updateLabels(Collection<PullRequest> pullRequests, Collection<Label> labelsToAdd,
+            Collection<Label> labelsToRemove) {
+        return Metrics.time(repositoryType.toString(), "updateLabels", () -> GitHubRateLimitScheduler.runAs(Priority.BATCH, () -> {
+            Map<PullRequest, CompletableFuture<Boolean>> pending = new LinkedHashMap<>();
+            for (PullRequest pullRequest : pullRequests) {
+                pending.put(pullRequest, CompletableFuture.supplyAsync(
+                        () -> updateLabels(pullRequest, labelsToAdd, labelsToRemove), getAsyncExecutor()));
+            }
+
+            Map<PullRequest, Boolean> results = new LinkedHashMap<>();
+            pending.forEach((pullRequest, result) -> results.put(pullRequest, result.join()));
+            return results;
+        }), Map::size);
+    }
+
+    /**
+     * Add and remove labels with one request each, sending nothing for the labels the pull request already
+     * carries or does not carry.
+     */
+    private boolean updateLabels(PullRequest pullRequest, Collection<Label> labelsToAdd, Collection<Label> labelsToRemove) {
         URL url = pullRequest.getURL();
-        String labelName = label.getName();
-        int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
         String repositoryId = createRepositoryIdFromUrl(url);
-
         try {
-            GHRepository repository = github.getRepository(repositoryId);
-            GHIssue issue = repository.getIssue(pullRequestId);
-            Collection<GHLabel> labels = issue.getLabels();
-            for (GHLabel l : labels)
-                if (l.getName().equalsIgnoreCase(labelName)) {
-                    // remove the label and reset
-                    List<String> list = labels.stream().map(e -> e.getName()).collect(Collectors.toList());
-                    list.remove(l.getName());
-                    String[] labelArray = list.toArray(new String[list.size()]);
-                    issue.setLabels(labelArray);
-                    return true;
+            int pullRequestId = Integer.parseInt(Utils.getTrailingValueFromUrlPath(url));
+            GHRepository repository = getGHRepository(repositoryId);
+            boolean updated = true;
+            List<String> added = new ArrayList<>();
+            for (Label label : labelsToAdd) {
+                GHLabel validLabel = LABEL_CATALOG.getLabel(repositoryId, repository, label.getName());
+                if (validLabel == null) {
+                    Utils.logWarnMessage(LOG, "No label exists with name '" + label.getName() + "' at repository '" + repository.getName() + "'");
+                    updated = false;
+                } else {
+                    added.add(validLabel.getName());
                 }
-        } catch (IOException e) {
+            }
+
+            GHIssue issue = repository.getIssue(pullRequestId);
+            List<String> removed = new ArrayList<>();
+            for (GHLabel current : issue.getLabels()) {
+                added.removeIf(name -> name.equalsIgnoreCase(current.getName()));
+                if (labelsToRemove.stream().anyMatch(l -> l.getName().equalsIgnoreCase(current.getName())))
+                    removed.add(current.getName());
+            }
+            if (!added.isEmpty())
+                issue.addLabels(added.toArray(new String[added.size()]));
+            if (!removed.isEmpty())
+                issue.removeLabels(removed.toArray(new String[removed.size()]));
+            return updated;
+        } catch (IOException | NumberFormatException e) {
             Utils.logException(LOG, e);
             return false;
         }
-        Utils.logWarnMessage(LOG, "No label exists with name '" + labelName + "' at repository '" + repositoryId + "'");
-        return false;
     }
 
     @Override
     public CommitStatus getCommitStatus(PullRequest pullRequest) {
-        URL url = pullRequest.getURL();
-        CommitStatus status = null;
-        int pullRequestId = Integer.parseInt(pullRequest.getId());
-        String repositoryId = createRepositoryIdFromUrl(url);
-        try {
-            String sha = null;
-
-            GHRepository repository = github.getRepository(repositoryId);
-            GHPullRequest ghPullRequest = repository.getPullRequest(pullRequestId);
+        String repositoryId = createRepositoryIdFromUrl(pullRequest.getURL());
+        String sha = getHeadSha(pullRequest);
+        CommitStatus cached = sha != null ? COMMIT_STATUSES.get(repositoryId, sha) : null;
+        return cached != null ? cached : fetchCommitStatus(pullRequest, repositoryId, sha);
+    }
 
-            List<GHPullRequestCommitDetail> commits = ghPullRequest.listCommits().asList();
-            if (commits.size() > 0) {
-                sha = commits.get(commits.size() - 1).getSha();
+    @Override
+    public Map<PullRequest, CommitStatus> getCommitStatuses(Collection<PullRequest> pullRequests) {
+        return GitHubRateLimitScheduler.runAs(Priority.BATCH, () -> {
+            // pull requests sharing their head commit are only queried once
+            Map<String, CompletableFuture<CommitStatus>> requests = new HashMap<>();
+            Map<PullRequest, CompletableFuture<CommitStatus>> pending = new LinkedHashMap<>();
+            for (PullRequest pullRequest : pullRequests) {
+                String repositoryId = createRepositoryIdFromUrl(pullRequest.getURL());
+                String sha = getHeadSha(pullRequest);
+                CommitStatus cached = sha != null ? COMMIT_STATUSES.get(repositoryId, sha) : null;
+                if (cached != null) {
+                    pending.put(pullRequest, CompletableFuture.completedFuture(cached));
+                    continue;
+                }
+                String key = sha != null ? repositoryId + '@' + sha : repositoryId + '#' + pullRequest.getId();
+                pending.put(pullRequest, requests.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(
+                        () -> fetchCommitStatus(pullRequest, repositoryId, sha), getAsyncExecutor())));
             }
 
-            // statuses contains Finished and Started TeamCity Build
-            List<GHCommitStatus> statuses = repository.listCommitStatuses(sha).asList();
-            if (statuses.size() > 0) {
-                GHCommitState sta = getCombineStatus(statuses);
-                if (sta != null)
-                    status = CommitStatus.fromString(sta.toString());
+            Map<PullRequest, CommitStatus> statuses = new LinkedHashMap<>();
+            pending.forEach((pullRequest, status) -> statuses.put(pullRequest, status.join()));
+            return statuses;
+        });
+    }
+
+    /**
+     * Retrieve the combined status of a commit, the head commit of the pull request if <code>sha</code> is
+     * <code>null</code>.
+     */
+    private CommitStatus fetchCommitStatus(PullRequest pullRequest, String repositoryId, String sha) {
+        try {
+            GHRepository repository = getGHRepository(repositoryId);
+            if (sha == null) {
+                sha = repository.getPullRequest(Integer.parseInt(pullRequest.getId())).getHead().getSha();
+                CommitStatus cached = COMMIT_STATUSES.get(repositoryId, sha);
+                if (cached != null)
+                    return cached;
             }
-        } catch (IOException e) {
+            CommitStatus status = GithubUtils.getCommitStatus(repository, sha);
+            COMMIT_STATUSES.put(repositoryId, sha, status);
+            return status;
+        } catch (IOException | NumberFormatException e) {
             Utils.logException(LOG, e);
             return CommitStatus.UNKNOWN;
         }
+    }
 
-        if (status != null) {
-            return status;
-        } else {
-            return CommitStatus.UNKNOWN;
-        }
+    /**
+     * @return the SHA of the latest commit of the pull request, <code>null</code> if its commits are not known
+     */
+    static String getHeadSha(PullRequest pullRequest) {
+        List<Commit> commits = pullRequest.getCommits();
+        return commits.isEmpty() ? null : commits.get(0).getSha();
     }
 
     @Override
@@ -285,45 +356,73 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         createSimplePullRequestReview(pullRequest, GHPullRequestReviewEvent.REQUEST_CHANGES, body);
     }
 
-    private GHPullRequestReview findReviewStateByUser(PullRequest pullRequest, GHUser user) {
-        URL url = pullRequest.getURL();
-        int pullRequestId = Integer.parseInt(pullRequest.getId());
-        String repositoryId = createRepositoryIdFromUrl(url);
-        try {
-            GHRepository repository = github.getRepository(repositoryId);
-            GHPullRequest ghPullRequest = repository.getPullRequest(pullRequestId);
-            List<GHPullRequestReview> reviews = ghPullRequest.listReviews().asList();
-            ListIterator<GHPullRequestReview> li = reviews.listIterator(reviews.size());
-            // Iterate in reverse. created date and updated date are always Null, Is this really safe?
-            while (li.hasPrevious()) {
-                GHPullRequestReview review = li.previous();
-                if (review.getUser().equals(user)) return review;
+    /**
+     * Retrieve the latest review the connected user left on each of the given pull requests, concurrently, so
+     * that approving or requesting changes on them later only talks to GitHub when the review changes.
+     *
+     * @param pullRequests the pull requests the connected user is about to review
+     */
+    public void loadReviewStates(Collection<PullRequest> pullRequests) {
+        GitHubRateLimitScheduler.runAs(Priority.BATCH, () -> {
+            List<CompletableFuture<Void>> requests = new ArrayList<>();
+            for (PullRequest pullRequest : pullRequests) {
+                String repositoryId = createRepositoryIdFromUrl(pullRequest.getURL());
+                int pullRequestId = Integer.parseInt(pullRequest.getId());
+                String sha = getHeadSha(pullRequest);
+                if (sha != null && REVIEW_STATES.get(repositoryId, pullRequestId, sha) != null)
+                    continue;
+                requests.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        GHPullRequest ghPullRequest = getGHRepository(repositoryId).getPullRequest(pullRequestId);
+                        REVIEW_STATES.put(repositoryId, pullRequestId, ghPullRequest.getHead().getSha(), findReviewState(ghPullRequest));
+                    } catch (IOException e) {
+                        Utils.logException(LOG, e);
+                    }
+                }, getAsyncExecutor()));
             }
-        } catch (IOException e) {
-            Utils.logException(LOG, e);
+            return CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+        });
+    }
+
+    private ReviewState findReviewState(GHPullRequest ghPullRequest) throws IOException {
+        List<GHPullRequestReview> reviews = ghPullRequest.listReviews().toList();
+        ListIterator<GHPullRequestReview> li = reviews.listIterator(reviews.size());
+        // Iterate in reverse. created date and updated date are always Null, Is this really safe?
+        while (li.hasPrevious()) {
+            GHPullRequestReview review = li.previous();
+            if (review.getUser().equals(user)) return new ReviewState(review.getState(), review.getBody());
         }
-        return null;
+        return ReviewState.NONE;
     }
 
     private void createSimplePullRequestReview(PullRequest pullRequest, GHPullRequestReviewEvent event, String body) {
-        GHPullRequestReview review = findReviewStateByUser(pullRequest, user);
-        if (review != null && skipReviewEvent(event, review.getState()) && review.getBody().equals(body)) {
+        String repositoryId = createRepositoryIdFromUrl(pullRequest.getURL());
+        int pullRequestId = Integer.parseInt(pullRequest.getId());
+        String sha = getHeadSha(pullRequest);
+        if (sha != null && isUnchanged(REVIEW_STATES.get(repositoryId, pullRequestId, sha), event, body)) {
             return; // skip if review state and comment is unchanged.
         }
-        URL url = pullRequest.getURL();
-        int pullRequestId = Integer.parseInt(pullRequest.getId());
-        String repositoryId = createRepositoryIdFromUrl(url);
 
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHPullRequest ghPullRequest = repository.getPullRequest(pullRequestId);
-            GHPullRequestReviewBuilder builder = ghPullRequest.createReview();
-            builder.event(event).body(body).create();
+            String head = ghPullRequest.getHead().getSha();
+            ReviewState reviewState = findReviewState(ghPullRequest);
+            if (!isUnchanged(reviewState, event, body)) {
+                GHPullRequestReview review = ghPullRequest.createReview().commitId(head).event(event).body(body).create();
+                reviewState = new ReviewState(review.getState(), review.getBody());
+            }
+            REVIEW_STATES.put(repositoryId, pullRequestId, head, reviewState);
         } catch (IOException e) {
             Utils.logException(LOG, e);
         }
     }
 
+    private boolean isUnchanged(ReviewState reviewState, GHPullRequestReviewEvent event, String body) {
+        return reviewState != null && reviewState.getState() != null && skipReviewEvent(event, reviewState.getState())
+                && body.equals(reviewState.getBody());
+    }
+
     // hack for review state and event, conversion method is not exposed from github-api
     private boolean skipReviewEvent(GHPullRequestReviewEvent event, GHPullRequestReviewState state) {
         if (event.equals(GHPullRequestReviewEvent.APPROVE) && state.equals(GHPullRequestReviewState.APPROVED)) {
@@ -347,7 +446,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
 
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             repository.getBranches(); // action to test account repository accessibility
         } catch (IOException e) {
             Utils.logWarnMessage(LOG, "repository : " + url + " is not accessable due to " + e.getMessage() + ". Check repository link and your account permission.");
@@ -356,6 +455,11 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         return true;
     }
 
+    private GHRepository getGHRepository(String repositoryId) throws IOException {
+        acquireRateLimit();
+        return github.getRepository(repositoryId);
+    }
+
     @Override
     protected Log getLog() {
         return LOG;
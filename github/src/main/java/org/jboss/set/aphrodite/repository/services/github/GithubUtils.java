@@ -16,11 +16,21 @@
 
 package org.jboss.set.aphrodite.repository.services.github;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.CommitStatus;
+import org.kohsuke.github.GHCheckRun;
 import org.kohsuke.github.GHCommitState;
 import org.kohsuke.github.GHCommitStatus;
+import org.kohsuke.github.GHRepository;
 
 /**
  * Github specific utilities methods
@@ -30,6 +40,92 @@ import org.kohsuke.github.GHCommitStatus;
  */
 public class GithubUtils {
 
+    private static final Log LOG = LogFactory.getLog(GithubUtils.class);
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * Retrieve the combined status of a commit, from its statuses and its check runs.
+     *
+     * @param repository the repository of the commit
+     * @param sha the SHA of the commit
+     * @return the combined status, {@link CommitStatus#UNKNOWN} if the commit has neither statuses nor check runs
+     * @throws IOException if the statuses of the commit can not be retrieved
+     */
+    public static CommitStatus getCommitStatus(GHRepository repository, String sha) throws IOException {
+        List<GHCommitStatus> statuses = repository.listCommitStatuses(sha).withPageSize(PAGE_SIZE).toList();
+        return combineStatus(statuses, getCheckRuns(repository, sha));
+    }
+
+    /**
+     * The check runs API is still a preview in this version of github-api, hence deprecated, and may be unavailable
+     * on GitHub Enterprise instances. A commit whose check runs can not be retrieved is combined from its statuses.
+     */
+    @SuppressWarnings("deprecation")
+    private static List<GHCheckRun> getCheckRuns(GHRepository repository, String sha) {
+        try {
+            return repository.getCheckRuns(sha).withPageSize(PAGE_SIZE).toList();
+        } catch (IOException e) {
+            Utils.logWarnMessage(LOG, "Unable to retrieve the check runs of commit " + sha + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Combine the statuses and check runs of a commit like GitHub does: only the latest status of every context
+     * counts, the commit has failed if any of them or any check run has failed, and is pending as long as any of
+     * them or any check run is. As before, a pending Travis CI status does not hold back a commit for which a
+     * newer status already reported success.
+     *
+     * @param statuses the statuses of the commit, latest first as GitHub lists them
+     * @param checkRuns the latest check run of every check of the commit
+     * @return the combined status, {@link CommitStatus#UNKNOWN} if there are neither statuses nor check runs
+     */
+    public static CommitStatus combineStatus(List<GHCommitStatus> statuses, List<GHCheckRun> checkRuns) {
+        boolean failure = false, error = false, pending = false, success = false;
+        Set<String> contexts = new HashSet<>();
+        for (GHCommitStatus status : statuses) {
+            if (!contexts.add(status.getContext()))
+                continue;
+            switch (status.getState()) {
+                case FAILURE: failure = true; break;
+                case ERROR: error = true; break;
+                case PENDING:
+                    if (!success || !isTravis(status))
+                        pending = true;
+                    break;
+                default: success = true;
+            }
+        }
+        for (GHCheckRun checkRun : checkRuns) {
+            if (!"completed".equals(checkRun.getStatus())) {
+                pending = true;
+                continue;
+            }
+            String conclusion = checkRun.getConclusion();
+            if ("success".equals(conclusion) || "neutral".equals(conclusion) || "skipped".equals(conclusion))
+                success = true;
+            else
+                failure = true;
+        }
+
+        if (failure)
+            return CommitStatus.FAILURE;
+        if (error)
+            return CommitStatus.ERROR;
+        if (pending)
+            return CommitStatus.PENDING;
+        return success ? CommitStatus.SUCCESS : CommitStatus.UNKNOWN;
+    }
+
+    private static boolean isTravis(GHCommitStatus status) {
+        String description = status.getDescription();
+        return description != null && description.contains("Travis");
+    }
+
+    /**
+     * @deprecated Use {@link #combineStatus(List, List)} instead, which counts the latest status of every context.
+     */
+    @Deprecated
     public static GHCommitState getCombineStatus(List<GHCommitStatus> comStatuses) {
         int count = 0, flag = 0;
         List<GHCommitState> stas = new ArrayList<>();
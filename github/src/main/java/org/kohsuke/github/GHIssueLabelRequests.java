@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.kohsuke.github;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Issue label requests the GitHub API offers but <code>GHIssue</code> does not expose without first fetching the
+ * issue and its labels. It lives in this package because the request builder of the connection is package-private.
+ */
+public final class GHIssueLabelRequests {
+
+    private GHIssueLabelRequests() {
+    }
+
+    /**
+     * Remove a label from an issue or pull request with a single <code>DELETE</code> request.
+     *
+     * @param root the connection to send the request with
+     * @param repositoryId the <code>owner/name</code> of the repository
+     * @param number the number of the issue or pull request
+     * @param label the name of the label
+     * @return <code>true</code> if the label was removed, <code>false</code> if the issue did not carry it
+     * @throws IOException if the request failed for any other reason
+     */
+    public static boolean removeLabel(GitHub root, String repositoryId, int number, String label) throws IOException {
+        // label names may contain '/', which the builder's own path encoding leaves as a separator
+        String url = root.getApiUrl() + "/repos/" + repositoryId + "/issues/" + number + "/labels/" + encode(label);
+        try {
+            root.createRequest().method("DELETE").setRawUrlPath(url).send();
+            return true;
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.set.aphrodite.domain.CommitStatus;
+import org.junit.Test;
+
+public class GitHubCommitStatusCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_600_000_000_000L);
+
+    @Test
+    public void onlySettledStatusesAreCached() {
+        GitHubCommitStatusCache cache = new GitHubCommitStatusCache(10, 60_000, clock::get);
+        cache.put("jboss-set/aphrodite", "a1", CommitStatus.SUCCESS);
+        cache.put("jboss-set/aphrodite", "b2", CommitStatus.PENDING);
+        cache.put("jboss-set/aphrodite", "c3", CommitStatus.UNKNOWN);
+
+        assertEquals(CommitStatus.SUCCESS, cache.get("jboss-set/aphrodite", "a1"));
+        assertNull(cache.get("jboss-set/aphrodite", "b2"));
+        assertNull(cache.get("jboss-set/aphrodite", "c3"));
+        assertNull(cache.get("jbossas/wildfly", "a1"));
+    }
+
+    @Test
+    public void entriesExpire() {
+        GitHubCommitStatusCache cache = new GitHubCommitStatusCache(10, 60_000, clock::get);
+        cache.put("jboss-set/aphrodite", "a1", CommitStatus.FAILURE);
+
+        clock.addAndGet(59_999);
+        assertEquals(CommitStatus.FAILURE, cache.get("jboss-set/aphrodite", "a1"));
+        clock.addAndGet(1);
+        assertNull(cache.get("jboss-set/aphrodite", "a1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        GitHubCommitStatusCache cache = new GitHubCommitStatusCache(2, 60_000, clock::get);
+        cache.put("jboss-set/aphrodite", "a1", CommitStatus.SUCCESS);
+        cache.put("jboss-set/aphrodite", "b2", CommitStatus.SUCCESS);
+        cache.get("jboss-set/aphrodite", "a1");
+        cache.put("jboss-set/aphrodite", "c3", CommitStatus.ERROR);
+
+        assertEquals(CommitStatus.SUCCESS, cache.get("jboss-set/aphrodite", "a1"));
+        assertNull(cache.get("jboss-set/aphrodite", "b2"));
+        assertEquals(CommitStatus.ERROR, cache.get("jboss-set/aphrodite", "c3"));
+    }
+}
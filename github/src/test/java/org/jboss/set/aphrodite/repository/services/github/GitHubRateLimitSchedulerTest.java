@@ -0,0 +1,160 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.set.aphrodite.repository.services.github.GitHubRateLimitScheduler.Mode;
+import org.jboss.set.aphrodite.repository.services.github.GitHubRateLimitScheduler.Priority;
+import org.junit.Before;
+import org.junit.Test;
+import org.kohsuke.github.GHRateLimit;
+
+public class GitHubRateLimitSchedulerTest {
+
+    private static final long NOW = 1_600_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Before
+    public void setUp() {
+        clock.set(NOW);
+    }
+
+    @Test
+    public void unknownBudgetIsNotDelayed() {
+        GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(Mode.BLOCK, 10, clock::get);
+        assertEquals(0, scheduler.reserve(Priority.INTERACTIVE));
+        assertEquals(0, scheduler.reserve(Priority.BATCH));
+    }
+
+    @Test
+    public void interactiveRequestsUseTheWholeBudget() {
+        GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(Mode.BLOCK, 10, clock::get);
+        scheduler.update(record(2, 100, 60));
+
+        assertEquals(0, scheduler.reserve(Priority.INTERACTIVE));
+        assertEquals(0, scheduler.reserve(Priority.INTERACTIVE));
+        assertEquals(60_000, scheduler.reserve(Priority.INTERACTIVE));
+    }
+
+    @Test
+    public void batchRequestsAreSpreadOverTheResetWindow() {
+        GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(Mode.BLOCK, 10, clock::get);
+        // 20 remaining, 10 of them reserved for interactive requests, 10 seconds until reset
+        scheduler.update(record(20, 100, 10));
+
+        assertEquals(0, scheduler.reserve(Priority.BATCH));
+        assertEquals(1_000, scheduler.reserve(Priority.BATCH));
+        // the second request took its slot 1s from now and spaced the next one by 10s / 9 remaining
+        clock.addAndGet(1_000);
+        assertEquals(1_111, scheduler.reserve(Priority.BATCH));
+    }
+
+    @Test
+    public void batchRequestsLeaveTheReserveToInteractiveRequests() {
+        GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(Mode.BLOCK, 10, clock::get);
+        scheduler.update(record(10, 100, 30));
+
+        assertTrue(scheduler.isExhausted(Priority.BATCH));
+        assertFalse(scheduler.isExhausted(Priority.INTERACTIVE));
+        assertEquals(30_000, scheduler.reserve(Priority.BATCH));
+        assertEquals(0, scheduler.reserve(Priority.INTERACTIVE));
+    }
+
+    @Test
+    public void newWindowResetsTheBudget() {
+        GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(Mode.BLOCK, 10, clock::get);
+        scheduler.update(record(0, 100, 30));
+        assertTrue(scheduler.isExhausted(Priority.INTERACTIVE));
+
+        clock.addAndGet(31_000);
+        assertFalse(scheduler.isExhausted(Priority.INTERACTIVE));
+        scheduler.update(record(100, 100, 3600));
+        assertEquals(0, scheduler.reserve(Priority.INTERACTIVE));
+    }
+
+    @Test
+    public void failFastThrowsWhenExhausted() throws Exception {
+        GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(Mode.FAIL_FAST, 10, clock::get);
+        scheduler.update(record(5, 100, 60));
+
+        scheduler.acquire();
+        try {
+            GitHubRateLimitScheduler.runAs(Priority.BATCH, () -> {
+                scheduler.acquire();
+                return null;
+            });
+            fail("Batch request should have been rejected");
+        } catch (GitHubRateLimitExceededException e) {
+            assertEquals(Priority.BATCH, e.getPriority());
+            assertEquals(NOW + 60_000, e.getReset().getTime());
+        }
+        assertEquals(Priority.INTERACTIVE, GitHubRateLimitScheduler.currentPriority());
+    }
+
+    @Test
+    public void waitIsReportedAndSlotClaimedOnce() throws Exception {
+        clock.set(NOW - 10);
+        GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(Mode.BLOCK, 10, clock::get);
+        assertTrue(scheduler.checkRateLimit(record(0, 100, 1), 0));
+
+        clock.set(NOW);
+        assertFalse(scheduler.checkRateLimit(record(100, 100, 3600), 1));
+    }
+
+    @Test
+    public void priorityIsPropagatedToSubmittedTasks() {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Executor executor = GitHubRateLimitScheduler.propagating(pool);
+            Priority batch = GitHubRateLimitScheduler.runAs(Priority.BATCH,
+                    () -> CompletableFuture.supplyAsync(GitHubRateLimitScheduler::currentPriority, executor).join());
+            assertEquals(Priority.BATCH, batch);
+            assertEquals(Priority.INTERACTIVE,
+                    CompletableFuture.supplyAsync(GitHubRateLimitScheduler::currentPriority, executor).join());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void blockModeNeverRejects() throws Exception {
+        GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(Mode.BLOCK, 10, clock::get);
+        scheduler.update(record(0, 100, 60));
+        scheduler.acquire();
+    }
+
+    private GHRateLimit.Record record(int remaining, int limit, long secondsUntilReset) {
+        return new GHRateLimit.Record(limit, remaining, (clock.get() / 1000) + secondsUntilReset);
+    }
+}
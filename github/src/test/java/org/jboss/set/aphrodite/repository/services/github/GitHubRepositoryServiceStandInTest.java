@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.jboss.set.aphrodite.config.RepositoryConfig;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.domain.Repository;
+import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
+import org.jboss.set.aphrodite.test.server.GitHubStandIn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kohsuke.github.GHUser;
+import org.kohsuke.github.GitHub;
+
+/**
+ * Runs {@link GitHubRepositoryService} against a {@link GitHubStandIn} instead of GitHub.
+ */
+public class GitHubRepositoryServiceStandInTest {
+
+    private static final String ENDPOINT_PROPERTY = "githubApiEndpoint";
+    private static final int PULL_REQUESTS = 35;
+
+    private GitHub previousGithub;
+    private GHUser previousUser;
+    private GitHubRateLimitScheduler previousScheduler;
+    private GitHubStandIn standIn;
+
+    @Before
+    public void setUp() {
+        previousGithub = AbstractGithubService.github;
+        previousUser = AbstractGithubService.user;
+        previousScheduler = AbstractGithubService.rateLimitScheduler;
+        AbstractGithubService.github = null;
+
+        standIn = new GitHubStandIn("jboss-set-bot");
+        standIn.start();
+        String api = standIn.getApiEndpoint();
+        standIn.serve("/repos/wildfly/wildfly", "{\"id\":1,\"name\":\"wildfly\",\"full_name\":\"wildfly/wildfly\",\"owner\":{\"login\":\"wildfly\",\"id\":2}"
+                + ",\"url\":\"" + api + "/repos/wildfly/wildfly\",\"html_url\":\"https://github.com/wildfly/wildfly\"}");
+        List<String> pullRequests = new ArrayList<>();
+        for (int i = 1; i <= PULL_REQUESTS; i++) {
+            String pullRequest = "{\"number\":" + i + ",\"state\":\"open\",\"title\":\"PR " + i + "\",\"body\":\"Issue: https://issues.redhat.com/browse/WFLY-" + i + "\""
+                    + ",\"url\":\"" + api + "/repos/wildfly/wildfly/pulls/" + i + "\",\"html_url\":\"https://github.com/wildfly/wildfly/pull/" + i + "\""
+                    + ",\"base\":{\"ref\":\"main\",\"sha\":\"b" + i + "\"},\"head\":{\"ref\":\"WFLY-" + i + "\",\"sha\":\"h" + i + "\"}";
+            pullRequests.add(pullRequest + "}");
+            standIn.serve("/repos/wildfly/wildfly/pulls/" + i, pullRequest + ",\"mergeable\":true,\"mergeable_state\":\"clean\",\"merged\":false,\"commits\":1}");
+            standIn.serve("/repos/wildfly/wildfly/pulls/" + i + "/commits", "[{\"sha\":\"h" + i + "\",\"commit\":{\"message\":\"WFLY-" + i + " fix\"}}]");
+        }
+        standIn.servePages("/repos/wildfly/wildfly/pulls", pullRequests);
+        System.setProperty(ENDPOINT_PROPERTY, api);
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ENDPOINT_PROPERTY);
+        standIn.close();
+        AbstractGithubService.github = previousGithub;
+        AbstractGithubService.user = previousUser;
+        AbstractGithubService.rateLimitScheduler = previousScheduler;
+    }
+
+    @Test
+    public void listsPullRequestsAcrossPages() throws Exception {
+        GitHubRepositoryService service = new GitHubRepositoryService();
+        assertTrue(service.init(new RepositoryConfig("https://github.com/", "jboss-set-bot", "token", RepositoryType.GITHUB)));
+
+        List<PullRequest> pullRequests = service.getPullRequestsByState(new Repository(new URL("https://github.com/wildfly/wildfly/")),
+                PullRequestState.OPEN);
+
+        assertEquals(PULL_REQUESTS, pullRequests.size());
+        PullRequest last = pullRequests.get(PULL_REQUESTS - 1);
+        assertEquals(new URL("https://github.com/wildfly/wildfly/pull/" + PULL_REQUESTS), last.getURL());
+        assertEquals("h" + PULL_REQUESTS, last.getCommits().get(0).getSha());
+        assertEquals(2, standIn.getRequestCount("/repos/wildfly/wildfly/pulls"));
+        // every request but those for the rate limit itself counts against the rate limit
+        assertEquals(standIn.getRequestCount() - standIn.getRequestCount("/rate_limit"),
+                GitHubStandIn.DEFAULT_RATE_LIMIT - standIn.getRateLimitRemaining());
+    }
+
+    @Test
+    public void stopsListingAtFirstPullRequestNotUpdatedSince() throws Exception {
+        // most recently updated first, as requested with sort=updated and direction=desc
+        Instant latest = Instant.parse("2024-06-01T12:00:00Z");
+        String api = standIn.getApiEndpoint();
+        List<String> pullRequests = new ArrayList<>();
+        for (int i = 1; i <= 250; i++) {
+            pullRequests.add("{\"number\":" + i + ",\"state\":\"" + (i == 2 ? "closed" : "open") + "\",\"title\":\"PR " + i + "\""
+                    + ",\"updated_at\":\"" + latest.minus(i, ChronoUnit.HOURS) + "\""
+                    + ",\"url\":\"" + api + "/repos/wildfly/wildfly/pulls/" + i + "\",\"html_url\":\"https://github.com/wildfly/wildfly/pull/" + i + "\""
+                    + ",\"base\":{\"ref\":\"main\",\"sha\":\"b" + i + "\"},\"head\":{\"ref\":\"WFLY-" + i + "\",\"sha\":\"h" + i + "\"}}");
+        }
+        standIn.servePages("/repos/wildfly/wildfly/pulls", pullRequests);
+        GitHubRepositoryService service = new GitHubRepositoryService();
+        assertTrue(service.init(new RepositoryConfig("https://github.com/", "jboss-set-bot", "token", RepositoryType.GITHUB)));
+
+        List<PullRequest> updated = service.getPullRequestsUpdatedSince(new Repository(new URL("https://github.com/wildfly/wildfly/")),
+                Date.from(latest.minus(5, ChronoUnit.HOURS)));
+
+        assertEquals(5, updated.size());
+        assertEquals(PullRequestState.CLOSED, updated.get(1).getState());
+        assertEquals(Date.from(latest.minus(1, ChronoUnit.HOURS)), updated.get(0).getUpdatedAt());
+        assertEquals(1, standIn.getRequestCount("/repos/wildfly/wildfly/pulls"));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.config.RepositoryConfig;
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Label;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kohsuke.github.GHIssue;
+import org.kohsuke.github.GHLabel;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHUser;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.PagedIterable;
+
+public class GithubPullRequestHomeServiceLabelTest {
+
+    private GitHub previousGithub;
+    private GHUser previousUser;
+    private GHRepository repository;
+    private PagedIterable<GHLabel> repositoryLabels;
+    private GithubPullRequestHomeService service;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        previousGithub = AbstractGithubService.github;
+        previousUser = AbstractGithubService.user;
+
+        GitHub github = mock(GitHub.class);
+        when(github.isCredentialValid()).thenReturn(true);
+        repository = mock(GHRepository.class);
+        when(github.getRepository("jboss-set/aphrodite")).thenReturn(repository);
+        repositoryLabels = mock(PagedIterable.class);
+        when(repositoryLabels.withPageSize(100)).thenReturn(repositoryLabels);
+        List<GHLabel> labels = Arrays.asList(label("bug"), label("wip"), label("Backport"));
+        when(repositoryLabels.toList()).thenReturn(labels);
+        when(repository.listLabels()).thenReturn(repositoryLabels);
+        AbstractGithubService.github = github;
+        AbstractGithubService.user = mock(GHUser.class);
+        AbstractGithubService.LABEL_CATALOG.clear();
+
+        service = new GithubPullRequestHomeService(new RepositoryConfig("https://github.com/", "user", "token", RepositoryType.GITHUB));
+    }
+
+    @After
+    public void tearDown() {
+        AbstractGithubService.github = previousGithub;
+        AbstractGithubService.user = previousUser;
+        AbstractGithubService.LABEL_CATALOG.clear();
+    }
+
+    @Test
+    public void repositoryLabelsAreListedOnce() throws Exception {
+        GHIssue first = issue(1);
+        GHIssue second = issue(2);
+
+        assertTrue(service.addLabel(pullRequest(1), new Label("BUG")));
+        assertTrue(service.addLabel(pullRequest(2), new Label("backport")));
+
+        verify(first).addLabels("bug");
+        verify(second).addLabels("Backport");
+        verify(repository, times(1)).listLabels();
+        verify(first, never()).setLabels(any(String[].class));
+    }
+
+    @Test
+    public void labelAlreadyPresentIsNotAddedAgain() throws Exception {
+        GHIssue issue = issue(3, "bug");
+
+        assertTrue(service.addLabel(pullRequest(3), new Label("bug")));
+
+        verify(issue, never()).addLabels(any(String[].class));
+    }
+
+    @Test
+    public void unknownLabelIsRejected() throws Exception {
+        GHIssue issue = issue(4);
+
+        assertFalse(service.addLabel(pullRequest(4), new Label("missing")));
+
+        verify(issue, never()).addLabels(any(String[].class));
+    }
+
+    @Test
+    public void unknownLabelDoesNotRelistLabels() throws Exception {
+        issue(7);
+
+        assertFalse(service.addLabel(pullRequest(7), new Label("missing")));
+        assertFalse(service.addLabel(pullRequest(7), new Label("Missing")));
+
+        verify(repository, times(1)).listLabels();
+        assertEquals(0, AbstractGithubService.LABEL_CATALOG.loadingSize());
+    }
+
+    @Test
+    public void labelDiffIsAppliedToEveryPullRequest() throws Exception {
+        GHIssue first = issue(5, "wip");
+        GHIssue second = issue(6, "bug");
+
+        Map<PullRequest, Boolean> results = service.updateLabels(Arrays.asList(pullRequest(5), pullRequest(6)),
+                Collections.singletonList(new Label("bug")), Collections.singletonList(new Label("WIP")));
+
+        assertEquals(Arrays.asList(true, true), Arrays.asList(results.values().toArray()));
+        verify(first).addLabels("bug");
+        verify(first).removeLabels("wip");
+        verify(second, never()).addLabels(any(String[].class));
+        verify(second, never()).removeLabels(any(String[].class));
+        verify(repository, times(1)).listLabels();
+    }
+
+    @Test
+    public void labelIsRemovedWithoutReadingTheIssue() throws Exception {
+        List<String> deleted = new ArrayList<>();
+        GithubPullRequestHomeService service = removingService(deleted, true);
+
+        assertTrue(service.removeLabel(pullRequest(8), new Label("WIP")));
+
+        assertEquals(Collections.singletonList("jboss-set/aphrodite#8:wip"), deleted);
+        verify(repository, never()).getIssue(anyInt());
+    }
+
+    @Test
+    public void labelNotCarriedIsReportedAsNotRemoved() throws Exception {
+        List<String> deleted = new ArrayList<>();
+        GithubPullRequestHomeService service = removingService(deleted, false);
+
+        assertFalse(service.removeLabel(pullRequest(9), new Label("bug")));
+        assertFalse(service.removeLabel(pullRequest(9), new Label("missing")));
+
+        assertEquals(Collections.singletonList("jboss-set/aphrodite#9:bug"), deleted);
+    }
+
+    private static GithubPullRequestHomeService removingService(List<String> deleted, boolean carried) {
+        return new GithubPullRequestHomeService(new RepositoryConfig("https://github.com/", "user", "token", RepositoryType.GITHUB)) {
+            @Override
+            boolean deleteLabel(String repositoryId, int pullRequestId, String labelName) {
+                deleted.add(repositoryId + '#' + pullRequestId + ':' + labelName);
+                return carried;
+            }
+        };
+    }
+
+    private GHIssue issue(int number, String... labels) throws Exception {
+        GHIssue issue = mock(GHIssue.class);
+        List<GHLabel> current = Arrays.stream(labels).map(GithubPullRequestHomeServiceLabelTest::label).collect(Collectors.toList());
+        when(issue.getLabels()).thenReturn(current);
+        when(repository.getIssue(number)).thenReturn(issue);
+        return issue;
+    }
+
+    private static GHLabel label(String name) {
+        GHLabel label = mock(GHLabel.class);
+        when(label.getName()).thenReturn(name);
+        return label;
+    }
+
+    private static PullRequest pullRequest(int number) throws Exception {
+        return new PullRequest(Integer.toString(number), new URL("https://github.com/jboss-set/aphrodite/pull/" + number), null,
+                new Codebase("main"), PullRequestState.OPEN, "Fix", "", true, false, MergeableState.CLEAN, null, Collections.emptyList());
+    }
+}
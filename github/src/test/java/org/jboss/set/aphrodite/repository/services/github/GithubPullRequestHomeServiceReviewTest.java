@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.set.aphrodite.config.RepositoryConfig;
+import org.jboss.set.aphrodite.domain.Codebase;
+import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kohsuke.github.GHCommitPointer;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHPullRequestReview;
+import org.kohsuke.github.GHPullRequestReviewBuilder;
+import org.kohsuke.github.GHPullRequestReviewEvent;
+import org.kohsuke.github.GHPullRequestReviewState;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHUser;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.PagedIterable;
+
+public class GithubPullRequestHomeServiceReviewTest {
+
+    private GitHub previousGithub;
+    private GHUser previousUser;
+    private GitHub github;
+    private GHRepository repository;
+    private GithubPullRequestHomeService service;
+
+    @Before
+    public void setUp() throws Exception {
+        previousGithub = AbstractGithubService.github;
+        previousUser = AbstractGithubService.user;
+
+        github = mock(GitHub.class);
+        when(github.isCredentialValid()).thenReturn(true);
+        repository = mock(GHRepository.class);
+        when(github.getRepository("jboss-set/aphrodite")).thenReturn(repository);
+        AbstractGithubService.github = github;
+        AbstractGithubService.user = mock(GHUser.class);
+
+        service = new GithubPullRequestHomeService(new RepositoryConfig("https://github.com/", "user", "token", RepositoryType.GITHUB));
+    }
+
+    @After
+    public void tearDown() {
+        AbstractGithubService.github = previousGithub;
+        AbstractGithubService.user = previousUser;
+    }
+
+    @Test
+    public void repeatedApprovalIsSkippedWithoutRequests() throws Exception {
+        GHPullRequest ghPullRequest = ghPullRequest(1001, "a1001");
+        GHPullRequestReviewBuilder builder = reviewBuilder(ghPullRequest, GHPullRequestReviewState.APPROVED, "");
+        PullRequest pullRequest = pullRequest(1001, "a1001");
+
+        service.approveOnPullRequest(pullRequest);
+        service.approveOnPullRequest(pullRequest);
+
+        verify(builder, times(1)).create();
+        verify(github, times(1)).getRepository(anyString());
+    }
+
+    @Test
+    public void changedReviewIsSent() throws Exception {
+        GHPullRequest ghPullRequest = ghPullRequest(1002, "a1002");
+        GHPullRequestReviewBuilder builder = reviewBuilder(ghPullRequest, GHPullRequestReviewState.CHANGES_REQUESTED, "fix it");
+        PullRequest pullRequest = pullRequest(1002, "a1002");
+
+        service.requestChangesOnPullRequest(pullRequest, "fix it");
+        service.requestChangesOnPullRequest(pullRequest, "fix it");
+        service.approveOnPullRequest(pullRequest);
+
+        verify(builder).event(GHPullRequestReviewEvent.REQUEST_CHANGES);
+        verify(builder).event(GHPullRequestReviewEvent.APPROVE);
+        verify(builder, times(2)).create();
+    }
+
+    @Test
+    public void loadedReviewStatesSkipUnchangedApprovals() throws Exception {
+        GHPullRequest first = ghPullRequest(1003, "a1003");
+        GHPullRequest second = ghPullRequest(1004, "a1004");
+        GHPullRequestReview approval = review(AbstractGithubService.user, GHPullRequestReviewState.APPROVED, "");
+        listReviews(first, approval);
+        listReviews(second, approval);
+
+        service.loadReviewStates(Arrays.asList(pullRequest(1003, "a1003"), pullRequest(1004, "a1004")));
+        service.approveOnPullRequest(pullRequest(1003, "a1003"));
+        service.approveOnPullRequest(pullRequest(1004, "a1004"));
+
+        verify(first, never()).createReview();
+        verify(second, never()).createReview();
+        verify(github, times(2)).getRepository(anyString());
+    }
+
+    private GHPullRequest ghPullRequest(int number, String sha) throws Exception {
+        GHPullRequest ghPullRequest = mock(GHPullRequest.class);
+        GHCommitPointer head = mock(GHCommitPointer.class);
+        when(head.getSha()).thenReturn(sha);
+        when(ghPullRequest.getHead()).thenReturn(head);
+        when(repository.getPullRequest(number)).thenReturn(ghPullRequest);
+        listReviews(ghPullRequest);
+        return ghPullRequest;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void listReviews(GHPullRequest ghPullRequest, GHPullRequestReview... reviews) throws Exception {
+        PagedIterable<GHPullRequestReview> iterable = mock(PagedIterable.class);
+        when(iterable.toList()).thenReturn(Arrays.asList(reviews));
+        when(ghPullRequest.listReviews()).thenReturn(iterable);
+    }
+
+    private static GHPullRequestReviewBuilder reviewBuilder(GHPullRequest ghPullRequest, GHPullRequestReviewState state, String body) throws Exception {
+        GHPullRequestReviewBuilder builder = mock(GHPullRequestReviewBuilder.class, RETURNS_SELF);
+        when(ghPullRequest.createReview()).thenReturn(builder);
+        // GitHub answers with the review as it was created
+        when(builder.create()).thenAnswer(invocation -> review(AbstractGithubService.user, state, body));
+        return builder;
+    }
+
+    private static GHPullRequestReview review(GHUser author, GHPullRequestReviewState state, String body) throws Exception {
+        GHPullRequestReview review = mock(GHPullRequestReview.class);
+        when(review.getUser()).thenReturn(author);
+        when(review.getState()).thenReturn(state);
+        when(review.getBody()).thenReturn(body);
+        return review;
+    }
+
+    private static PullRequest pullRequest(int number, String sha) throws Exception {
+        List<Commit> commits = Collections.singletonList(new Commit(sha, "Fix"));
+        return new PullRequest(Integer.toString(number), new URL("https://github.com/jboss-set/aphrodite/pull/" + number), null,
+                new Codebase("main"), PullRequestState.OPEN, "Fix", "", true, false, MergeableState.CLEAN, null, commits);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.set.aphrodite.domain.CommitStatus;
+import org.junit.Test;
+import org.kohsuke.github.GHCheckRun;
+import org.kohsuke.github.GHCommitState;
+import org.kohsuke.github.GHCommitStatus;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.PagedIterable;
+
+public class GithubUtilsTest {
+
+    @Test
+    public void onlyTheLatestStatusOfAContextCounts() {
+        // a build which failed, was restarted and passed
+        assertEquals(CommitStatus.SUCCESS, GithubUtils.combineStatus(Arrays.asList(
+                status("ci", GHCommitState.SUCCESS),
+                status("ci", GHCommitState.PENDING),
+                status("ci", GHCommitState.FAILURE),
+                status("lint", GHCommitState.SUCCESS)), Collections.emptyList()));
+        assertEquals(CommitStatus.PENDING, GithubUtils.combineStatus(Arrays.asList(
+                status("ci", GHCommitState.PENDING),
+                status("ci", GHCommitState.FAILURE),
+                status("lint", GHCommitState.SUCCESS)), Collections.emptyList()));
+    }
+
+    @Test
+    public void failureOutweighsPendingStatuses() {
+        assertEquals(CommitStatus.FAILURE, GithubUtils.combineStatus(Arrays.asList(
+                status("ci", GHCommitState.PENDING),
+                status("lint", GHCommitState.ERROR),
+                status("tests", GHCommitState.FAILURE)), Collections.emptyList()));
+        assertEquals(CommitStatus.ERROR, GithubUtils.combineStatus(Arrays.asList(
+                status("ci", GHCommitState.PENDING),
+                status("lint", GHCommitState.ERROR)), Collections.emptyList()));
+    }
+
+    @Test
+    public void checkRunsAreCombinedWithStatuses() {
+        assertEquals(CommitStatus.SUCCESS, GithubUtils.combineStatus(
+                Collections.singletonList(status("ci", GHCommitState.SUCCESS)),
+                Arrays.asList(checkRun("completed", "success"), checkRun("completed", "skipped"), checkRun("completed", "neutral"))));
+        assertEquals(CommitStatus.PENDING, GithubUtils.combineStatus(
+                Collections.singletonList(status("ci", GHCommitState.SUCCESS)),
+                Collections.singletonList(checkRun("in_progress", null))));
+        assertEquals(CommitStatus.FAILURE, GithubUtils.combineStatus(
+                Collections.emptyList(),
+                Arrays.asList(checkRun("queued", null), checkRun("completed", "timed_out"))));
+    }
+
+    @Test
+    public void pendingTravisBuildIsSupersededBySuccess() {
+        assertEquals(CommitStatus.SUCCESS, GithubUtils.combineStatus(Arrays.asList(
+                status("continuous-integration/travis-ci/push", GHCommitState.SUCCESS, "The Travis CI build passed"),
+                status("continuous-integration/travis-ci/pr", GHCommitState.PENDING, "The Travis CI build is in progress")),
+                Collections.emptyList()));
+        assertEquals(CommitStatus.PENDING, GithubUtils.combineStatus(Collections.singletonList(
+                status("continuous-integration/travis-ci/pr", GHCommitState.PENDING, "The Travis CI build is in progress")),
+                Collections.emptyList()));
+    }
+
+    @Test
+    public void teamCityBuildReportsItsLatestStatus() {
+        // TeamCity reports a queued build as pending on the context it later reports the result on
+        assertEquals(CommitStatus.SUCCESS, GithubUtils.combineStatus(Arrays.asList(
+                status("TeamCity - Pull Request", GHCommitState.SUCCESS, "TeamCity build finished"),
+                status("TeamCity - Pull Request", GHCommitState.PENDING, "TeamCity build started")), Collections.emptyList()));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void checkRunsFailureKeepsTheStatuses() throws Exception {
+        GHRepository repository = mock(GHRepository.class);
+        PagedIterable<GHCommitStatus> statuses = pagedIterable(Collections.singletonList(status("ci", GHCommitState.SUCCESS)));
+        when(repository.listCommitStatuses("abc")).thenReturn(statuses);
+        when(repository.getCheckRuns("abc")).thenThrow(new IOException("check runs unavailable"));
+
+        assertEquals(CommitStatus.SUCCESS, GithubUtils.getCommitStatus(repository, "abc"));
+    }
+
+    @Test
+    public void commitWithoutStatusesIsUnknown() {
+        assertEquals(CommitStatus.UNKNOWN, GithubUtils.combineStatus(Collections.emptyList(), Collections.emptyList()));
+    }
+
+    private static GHCommitStatus status(String context, GHCommitState state) {
+        return status(context, state, null);
+    }
+
+    private static GHCommitStatus status(String context, GHCommitState state, String description) {
+        GHCommitStatus status = mock(GHCommitStatus.class);
+        when(status.getContext()).thenReturn(context);
+        when(status.getState()).thenReturn(state);
+        when(status.getDescription()).thenReturn(description);
+        return status;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PagedIterable<T> pagedIterable(List<T> items) throws IOException {
+        PagedIterable<T> iterable = mock(PagedIterable.class);
+        when(iterable.withPageSize(anyInt())).thenReturn(iterable);
+        when(iterable.toList()).thenReturn(items);
+        return iterable;
+    }
+
+    private static GHCheckRun checkRun(String status, String conclusion) {
+        GHCheckRun checkRun = mock(GHCheckRun.class);
+        when(checkRun.getStatus()).thenReturn(status);
+        when(checkRun.getConclusion()).thenReturn(conclusion);
+        return checkRun;
+    }
+}
@@ -180,18 +180,40 @@ public class GitLabRepositoryService extends AbstractRepositoryService implement
             MergeRequestFilter filter = new MergeRequestFilter();
             filter.setState(Constants.MergeRequestState.OPENED);
             filter.setProjectId(project.getId());
-            List<MergeRequest> merges = gitLabApi.getMergeRequestApi().getMergeRequests(filter);
-            List<PullRequest> prs = new ArrayList<>(merges.size());
-            for (MergeRequest merge : merges) {
-                List<Commit> commits = gitLabApi.getMergeRequestApi().getCommits(repoId, merge.getIid());
-                prs.add(GitLabUtils.toPullRequest(merge, commits, new URL(repository.getURL() + "/merge_requests/" + merge.getIid()), repository, prHome));
-            }
-            return prs;
+            return toPullRequests(repository, repoId, gitLabApi.getMergeRequestApi().getMergeRequests(filter));
+        } catch (GitLabApiException|MalformedURLException e) {
+            throw new NotFoundException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PullRequest> getPullRequestsUpdatedSince(Repository repository, Date updatedSince) throws NotFoundException {
+        String repoId = GitLabUtils.getProjectIdFromURL(repository.getURL());
+        try {
+            Project project = gitLabApi.getProjectApi().getProject(repoId);
+            MergeRequestFilter filter = new MergeRequestFilter();
+            filter.setState(Constants.MergeRequestState.ALL);
+            filter.setProjectId(project.getId());
+            filter.setUpdatedAfter(updatedSince);
+            return toPullRequests(repository, repoId, gitLabApi.getMergeRequestApi().getMergeRequests(filter));
         } catch (GitLabApiException|MalformedURLException e) {
             throw new NotFoundException(e);
         }
     }
 
+    private List<PullRequest> toPullRequests(Repository repository, String repoId, List<MergeRequest> merges)
+            throws GitLabApiException, MalformedURLException {
+        List<PullRequest> prs = new ArrayList<>(merges.size());
+        for (MergeRequest merge : merges) {
+            List<Commit> commits = gitLabApi.getMergeRequestApi().getCommits(repoId, merge.getIid());
+            prs.add(GitLabUtils.toPullRequest(merge, commits, new URL(repository.getURL() + "/merge_requests/" + merge.getIid()), repository, prHome));
+        }
+        return prs;
+    }
+
     /**
      * {@inheritDoc}
      */
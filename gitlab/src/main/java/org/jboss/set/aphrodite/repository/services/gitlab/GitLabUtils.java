@@ -227,7 +227,7 @@ public class GitLabUtils {
      * @return The aphrodite PullRequesy
      */
     public static PullRequest toPullRequest(MergeRequest m, List<Commit> commits, URL url, Repository repo, PullRequestHome prHome) {
-        return new PullRequest(m.getIid().toString(),
+        PullRequest pullRequest = new PullRequest(m.getIid().toString(),
                 url,
                 repo,  // repo
                 new Codebase(m.getTargetBranch()), // codebase
@@ -240,6 +240,8 @@ public class GitLabUtils {
                 m.getMergedAt(),
                 commits.stream().map(commit -> new org.jboss.set.aphrodite.domain.Commit(commit.getId(), commit.getMessage())).collect(Collectors.toList()),
                 prHome);
+        pullRequest.setUpdatedAt(m.getUpdatedAt());
+        return pullRequest;
     }
 
     /**
@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.jira;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.domain.User;
+import org.jboss.set.aphrodite.snapshot.IssueSnapshotCodec;
+
+/**
+ * Keeps the fields of a {@link JiraIssue} in a snapshot, so that an issue restored from it can be updated.
+ */
+public class JiraIssueSnapshotCodec implements IssueSnapshotCodec<JiraIssue> {
+
+    @Override
+    public TrackerType getTrackerType() {
+        return TrackerType.JIRA;
+    }
+
+    @Override
+    public Class<JiraIssue> getIssueClass() {
+        return JiraIssue.class;
+    }
+
+    @Override
+    public JiraIssue newIssue(URL url) {
+        return new JiraIssue(url);
+    }
+
+    @Override
+    public void encode(JiraIssue issue, JsonObjectBuilder json) {
+        json.add("pullRequests", strings(issue.getPullRequests()));
+        if (issue.getSprintRelease() != null)
+            json.add("sprintRelease", issue.getSprintRelease());
+        if (issue.getResolution() != null)
+            json.add("resolution", issue.getResolution().name());
+        JsonArrayBuilder labels = Json.createArrayBuilder();
+        for (JiraLabel label : issue.getLabels()) {
+            if (label.getName() != null)
+                labels.add(label.getName());
+        }
+        json.add("labels", labels);
+        JsonArrayBuilder changelog = Json.createArrayBuilder();
+        for (JiraChangelogGroup group : issue.getChangelog()) {
+            JsonObjectBuilder g = Json.createObjectBuilder();
+            if (group.getAuthor() != null) {
+                JsonObjectBuilder author = Json.createObjectBuilder();
+                group.getAuthor().getEmail().ifPresent(email -> author.add("email", email));
+                group.getAuthor().getName().ifPresent(name -> author.add("name", name));
+                g.add("author", author);
+            }
+            if (group.getCreated() != null)
+                g.add("created", group.getCreated().getTime());
+            JsonArrayBuilder items = Json.createArrayBuilder();
+            for (JiraChangelogItem item : group.getItems()) {
+                JsonObjectBuilder i = Json.createObjectBuilder();
+                add(i, "field", item.getField());
+                add(i, "from", item.getFrom());
+                add(i, "fromString", item.getFromString());
+                add(i, "to", item.getTo());
+                add(i, "toString", item.getToString());
+                items.add(i);
+            }
+            changelog.add(g.add("items", items));
+        }
+        json.add("changelog", changelog);
+        json.add("linkedCloneIssues", strings(issue.getLinkedCloneIssues()));
+        json.add("linkedIncorporatesIssues", strings(issue.getLinkedIncorporatesIssues()));
+        issue.getSecurityLevel().ifPresent(level -> json.add("securityLevel", level));
+        json.add("securitySensitiveIssue", issue.isSecuritySensitiveIssue());
+        json.add("involved", strings(issue.getInvolved()));
+    }
+
+    @Override
+    public void decode(JsonObject json, JiraIssue issue) {
+        issue.setPullRequests(urls(json.getJsonArray("pullRequests")));
+        issue.setSprintRelease(json.getString("sprintRelease", ""));
+        if (json.containsKey("resolution"))
+            issue.setResolution(JiraIssueResolution.valueOf(json.getString("resolution")));
+        List<JiraLabel> labels = new ArrayList<>();
+        for (String label : strings(json.getJsonArray("labels")))
+            labels.add(new JiraLabel(label));
+        issue.setLabels(labels);
+        List<JiraChangelogGroup> changelog = new ArrayList<>();
+        JsonArray groups = json.getJsonArray("changelog");
+        if (groups != null) {
+            for (JsonObject group : groups.getValuesAs(JsonObject.class)) {
+                JsonObject author = group.getJsonObject("author");
+                List<JiraChangelogItem> items = new ArrayList<>();
+                for (JsonObject item : group.getJsonArray("items").getValuesAs(JsonObject.class))
+                    items.add(new JiraChangelogItem(item.getString("field", null), item.getString("from", null),
+                            item.getString("fromString", null), item.getString("to", null), item.getString("toString", null)));
+                changelog.add(new JiraChangelogGroup(
+                        author != null ? new User(author.getString("email", null), author.getString("name", null)) : null,
+                        group.containsKey("created") ? new Date(group.getJsonNumber("created").longValue()) : null, items));
+            }
+        }
+        issue.setChangelog(changelog);
+        issue.setLinkedCloneIssues(urls(json.getJsonArray("linkedCloneIssues")));
+        issue.setLinkedIncorporatesIssues(urls(json.getJsonArray("linkedIncorporatesIssues")));
+        issue.setSecurityLevel(json.getString("securityLevel", null));
+        issue.setSecuritySensitiveIssue(json.getBoolean("securitySensitiveIssue", false));
+        issue.setInvolved(strings(json.getJsonArray("involved")));
+    }
+
+    private static void add(JsonObjectBuilder json, String name, String value) {
+        if (value != null)
+            json.add(name, value);
+    }
+
+    private static JsonArrayBuilder strings(Collection<?> values) {
+        JsonArrayBuilder array = Json.createArrayBuilder();
+        if (values != null)
+            values.forEach(value -> array.add(value.toString()));
+        return array;
+    }
+
+    private static List<String> strings(JsonArray array) {
+        List<String> values = new ArrayList<>();
+        if (array != null) {
+            for (JsonValue value : array)
+                values.add(((JsonString) value).getString());
+        }
+        return values;
+    }
+
+    private static List<URL> urls(JsonArray array) {
+        List<URL> urls = new ArrayList<>();
+        for (String url : strings(array)) {
+            try {
+                urls.add(new URL(url));
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        return urls;
+    }
+}
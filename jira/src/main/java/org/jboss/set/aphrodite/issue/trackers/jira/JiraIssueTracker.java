@@ -40,12 +40,14 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -67,6 +69,8 @@ import org.jboss.set.aphrodite.issue.trackers.common.IssueCreationDetails;
 import org.jboss.set.aphrodite.issue.trackers.jira.auth.BearerHttpAuthenticationHandler;
 import org.jboss.set.aphrodite.spi.AphroditeException;
 import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.jboss.set.aphrodite.spi.Tracer.Span;
+import org.jboss.set.aphrodite.tracing.Tracing;
 
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClient;
@@ -152,6 +156,25 @@ public class JiraIssueTracker extends AbstractIssueTracker {
 
     }
 
+    /**
+     * Non-blocking variant of {@link #getIssue(URL)}, completed by the Jira client once the issue has been received.
+     */
+    @Override
+    public CompletableFuture<Issue> getIssueAsync(URL url) {
+        try {
+            String issueKey = getIssueKey(url);
+            checkHost(url);
+            return toCompletableFuture(restClient.getIssueClient().getIssue(issueKey, createExpandos()))
+                    .handleAsync((issue, t) -> {
+                        if (t != null)
+                            throw new CompletionException(new NotFoundException("Unable to retrieve issue with id: " + issueKey, t));
+                        return WRAPPER.jiraIssueToIssue(url, issue);
+                    }, getCpuExecutor());
+        } catch (NotFoundException e) {
+            return CompletableFuture.failedFuture(new CompletionException(e));
+        }
+    }
+
     public List<Issue> getIssues(String project, Version version) {
         List<Issue> issues;
         SearchCriteria sc = new SearchCriteria.Builder()
@@ -200,6 +223,23 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         if (urls.isEmpty())
             return new ArrayList<>();
 
+        List<String> ids = getIssueKeys(urls);
+        String jql = queryBuilder.getMultipleIssueJQL(ids);
+        return searchIssues(jql, ids.size());
+    }
+
+    @Override
+    public CompletableFuture<List<Issue>> getIssuesAsync(Collection<URL> urls) {
+        urls = filterUrlsByHost(urls);
+        if (urls.isEmpty())
+            return CompletableFuture.completedFuture(new ArrayList<>());
+
+        List<String> ids = getIssueKeys(urls);
+        String jql = queryBuilder.getMultipleIssueJQL(ids);
+        return searchIssuesAsync(jql, ids.size());
+    }
+
+    private List<String> getIssueKeys(Collection<URL> urls) {
         List<String> ids = new ArrayList<>();
         for (URL url : urls) {
             try {
@@ -209,8 +249,7 @@ public class JiraIssueTracker extends AbstractIssueTracker {
                     LOG.warn("Unable to extract trackerId from: " + url);
             }
         }
-        String jql = queryBuilder.getMultipleIssueJQL(ids);
-        return searchIssues(jql, ids.size());
+        return ids;
     }
 
     @Override
@@ -230,6 +269,19 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         }
     }
 
+    @Override
+    public CompletableFuture<List<Issue>> searchIssuesAsync(SearchCriteria searchCriteria) {
+        String jql = queryBuilder.getSearchJQL(searchCriteria);
+        int maxResults = searchCriteria.getMaxResults().orElse(config.getDefaultIssueLimit());
+        return searchIssuesAsync(jql, maxResults);
+    }
+
+    private CompletableFuture<List<Issue>> searchIssuesAsync(String jql, int maxResults) {
+        Set<String> fields = new HashSet<>();
+        fields.add("*all");
+        return paginateResultsAsync(restClient.getSearchClient(), jql, fields, maxResults, 0, new ArrayList<>(), Tracing.current());
+    }
+
     private List<Issue> searchNewIssues(String jql, int maxResults) {
         try {
             /* minimal amount of required fields */
@@ -257,7 +309,16 @@ public class JiraIssueTracker extends AbstractIssueTracker {
 
         do {
             if ( LOG.isDebugEnabled() ) LOG.debug("Start Position:" + startPosition);
-            SearchResult result = searchClient.searchJql(jql, maxResults, startPosition, fields).get();
+            SearchResult result;
+            Span page = startPageSpan(startPosition, Tracing.current());
+            try {
+                result = searchClient.searchJql(jql, maxResults, startPosition, fields).get();
+            } catch (InterruptedException | ExecutionException | RuntimeException e) {
+                page.recordException(e);
+                throw e;
+            } finally {
+                page.end();
+            }
             if ( nbTotalIssue == NB_TOTAL_ISSUE_NOT_INITIATED ) {
                 nbTotalIssue = result.getTotal();
                 if ( LOG.isDebugEnabled() ) LOG.debug("Total Issues in result:" + nbTotalIssue);
@@ -269,12 +330,55 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         return issues;
     }
 
+    private CompletableFuture<List<Issue>> paginateResultsAsync(SearchRestClient searchClient, String jql, Set<String> fields,
+            int maxResults, int startPosition, List<Issue> issues, Span parent) {
+        if ( LOG.isDebugEnabled() ) LOG.debug("Start Position:" + startPosition);
+        // the pages complete on the threads of the Jira client, so the parent span is passed along explicitly
+        Span page = startPageSpan(startPosition, parent);
+        return toCompletableFuture(searchClient.searchJql(jql, maxResults, startPosition, fields))
+                .whenComplete((result, e) -> {
+                    if (e != null)
+                        page.recordException(e);
+                    page.end();
+                })
+                .thenComposeAsync(result -> {
+                    result.getIssues().forEach(issue -> issues.add(WRAPPER.jiraSearchIssueToIssue(baseUrl, issue)));
+                    int nextPosition = startPosition + maxResults;
+                    if (nextPosition < result.getTotal())
+                        return paginateResultsAsync(searchClient, jql, fields, maxResults, nextPosition, issues, parent);
+                    if ( LOG.isDebugEnabled() ) LOG.debug("Total issues:" + issues.size());
+                    return CompletableFuture.completedFuture(issues);
+                }, getCpuExecutor());
+    }
+
+    private Span startPageSpan(int startPosition, Span parent) {
+        return Tracing.startSpan("jira.search", getTrackerID(), parent).setAttribute("jira.startAt", startPosition);
+    }
+
+    /**
+     * Bridge a Jira client <code>Promise</code> to a <code>CompletableFuture</code> without blocking a thread on it.
+     */
+    private static <T> CompletableFuture<T> toCompletableFuture(Promise<T> promise) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        promise.done(future::complete).fail(future::completeExceptionally);
+        return future;
+    }
+
     @Override
     public List<Issue> searchIssuesByFilter(URL filterUrl) throws NotFoundException {
         String jql = getJQLFromFilter(filterUrl);
         return searchIssues(jql, config.getDefaultIssueLimit());
     }
 
+    @Override
+    public List<Issue> searchIssuesByFilter(URL filterUrl, Date updatedSince) throws NotFoundException {
+        if (updatedSince == null)
+            return searchIssuesByFilter(filterUrl);
+
+        String jql = queryBuilder.getUpdatedSinceJQL(getJQLFromFilter(filterUrl), updatedSince);
+        return searchIssues(jql, config.getDefaultIssueLimit());
+    }
+
     private String getJQLFromFilter(URL filterUrl) throws NotFoundException {
         try {
             // url type example https://issues.redhat.com/rest/api/latest/filter/12322199
@@ -325,6 +429,20 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         }
     }
 
+    @Override
+    protected String issueKey(URL url) {
+        try {
+            return getIssueKey(url);
+        } catch (NotFoundException e) {
+            return url.toExternalForm();
+        }
+    }
+
+    @Override
+    protected String issueKey(Issue issue) {
+        return issue.getTrackerId().orElseGet(() -> issueKey(issue.getURL()));
+    }
+
     @Override
     public void addCommentToIssue(Issue issue, Comment comment) throws NotFoundException {
         super.addCommentToIssue(issue, comment);
@@ -343,39 +461,44 @@ public class JiraIssueTracker extends AbstractIssueTracker {
 
     @Override
     public boolean addCommentToIssue(Map<Issue, Comment> commentMap) {
-        commentMap = filterIssuesByHost(commentMap);
-        List<CompletableFuture<Boolean>> requests = commentMap.entrySet().stream()
-                .map(entry -> CompletableFuture.supplyAsync(
-                        () -> postCommentAndLogExceptions(entry.getKey(), entry.getValue()), executorService))
-                .collect(Collectors.toList());
+        Map<Issue, Comment> comments = filterIssuesByHost(commentMap);
+        return Tracing.trace("jira.addComments", getTrackerID(), () -> {
+            List<CompletableFuture<Boolean>> requests = comments.entrySet().stream()
+                    .map(entry -> CompletableFuture.supplyAsync(
+                            () -> postCommentAndLogExceptions(entry.getKey(), entry.getValue()), executor))
+                    .collect(Collectors.toList());
 
-        return requests.stream()
-                .map(CompletableFuture::join)
-                .noneMatch(failed -> !failed);
+            return requests.stream()
+                    .map(CompletableFuture::join)
+                    .noneMatch(failed -> !failed);
+        });
     }
 
     @Override
     public boolean addCommentToIssue(Collection<Issue> issues, Comment comment) {
-        issues = filterIssuesByHost(issues);
+        Collection<Issue> filtered = filterIssuesByHost(issues);
+        return Tracing.trace("jira.addComments", getTrackerID(), () -> {
+            List<CompletableFuture<Boolean>> requests = filtered.stream()
+                    .map(issue -> CompletableFuture.supplyAsync(
+                            () -> postCommentAndLogExceptions(issue, comment), executor))
+                    .collect(Collectors.toList());
 
-        List<CompletableFuture<Boolean>> requests = issues.stream()
-                .map(issue -> CompletableFuture.supplyAsync(
-                        () -> postCommentAndLogExceptions(issue, comment), executorService))
-                .collect(Collectors.toList());
-
-        return requests.stream()
-                .map(CompletableFuture::join)
-                .noneMatch(failed -> !failed);
+            return requests.stream()
+                    .map(CompletableFuture::join)
+                    .noneMatch(failed -> !failed);
+        });
     }
 
     private boolean postCommentAndLogExceptions(Issue issue, Comment comment) {
-        try {
-            postComment(issue, comment);
-            return true;
-        } catch (NotFoundException e) {
-            Utils.logException(LOG, e);
-            return false;
-        }
+        return Tracing.trace("jira.addComment", getTrackerID(), () -> {
+            try {
+                postComment(issue, comment);
+                return true;
+            } catch (NotFoundException e) {
+                Utils.logException(LOG, e);
+                return false;
+            }
+        });
     }
 
     @Override
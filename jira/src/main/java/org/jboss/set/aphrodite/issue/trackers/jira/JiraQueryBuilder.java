@@ -26,7 +26,11 @@ import org.jboss.set.aphrodite.domain.FlagStatus;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.CUSTOM_FIELD_MAP;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.TARGET_RELEASE;
@@ -38,6 +42,8 @@ import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.getJiraStat
  */
 class JiraQueryBuilder {
 
+    private static final Pattern ORDER_BY = Pattern.compile("(^|\\s)ORDER\\s+BY\\s.*$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
     // TODO add streams query support when implemented in JIRA
     String getSearchJQL(SearchCriteria criteria) {
         StringBuilder sb = new StringBuilder();
@@ -50,6 +56,7 @@ class JiraQueryBuilder {
             String formattedDate = date.atStartOfDay().format((DateTimeFormatter.ISO_LOCAL_DATE));
             addCriteriaToJQL("updated >= ", formattedDate, " AND ", sb);
         });
+        criteria.getUpdatedSince().ifPresent(since -> addCriteriaToJQL("updated >= ", relativeTo(since), " AND ", sb));
 
         criteria.getRelease().ifPresent(release -> {
             if (release.getVersion().isPresent()) {
@@ -89,6 +96,33 @@ class JiraQueryBuilder {
         return sb.toString();
     }
 
+    /**
+     * Restrict the JQL of a saved filter to the issues updated since the given instant, keeping its ordering.
+     */
+    String getUpdatedSinceJQL(String jql, Date since) {
+        StringBuilder sb = new StringBuilder();
+        String orderBy = "";
+        Matcher matcher = ORDER_BY.matcher(jql);
+        if (matcher.find()) {
+            orderBy = " " + matcher.group().trim();
+            jql = jql.substring(0, matcher.start());
+        }
+        if (!jql.trim().isEmpty())
+            sb.append('(').append(jql).append(')');
+        addCriteriaToJQL("updated >= ", relativeTo(since), " AND ", sb);
+        return sb.append(orderBy).toString();
+    }
+
+    /**
+     * Jira interprets absolute dates in the time zone of the user's profile, a period relative to the current time of
+     * the server avoids guessing it. The period is rounded up to whole minutes, the precision of JQL dates.
+     */
+    private static String relativeTo(Date since) {
+        long millis = Math.max(0, System.currentTimeMillis() - since.getTime());
+        long minutes = Math.max(1, (millis + TimeUnit.MINUTES.toMillis(1) - 1) / TimeUnit.MINUTES.toMillis(1));
+        return "-" + minutes + "m";
+    }
+
     String getMultipleIssueJQL(List<String> ids) {
         StringBuilder sb = new StringBuilder();
         ids.forEach(id -> addCriteriaToJQL("id = ", id, " OR ", sb));
@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Stands in for the Bugzilla XML-RPC API, served from <code>/xmlrpc.cgi</code>.
+ * <p>
+ * Methods are registered with {@link #serveMethod(String, Function)}, which receives the struct passed as the single
+ * parameter of Bugzilla calls. {@link #serveBugs(Collection)} registers <code>Bug.get</code>, a <code>Bug.search</code>
+ * paged through its <code>offset</code> and <code>limit</code> parameters and a <code>Bug.comments</code> without
+ * comments. Unknown methods are answered with an XML-RPC fault, as Bugzilla does.
+ */
+public class BugzillaStandIn extends StandInServer {
+
+    public static final String API_PATH = "/xmlrpc.cgi";
+
+    private static final int FAULT_UNKNOWN_METHOD = -32601;
+    private static final int FAULT_INVALID_BUG_ID = 101;
+
+    private final Map<String, Function<Map<String, Object>, Object>> methods = new ConcurrentHashMap<>();
+
+    public BugzillaStandIn() {
+        serve("POST", API_PATH, this::call);
+        serveMethod("User.login", params -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", 1);
+            result.put("token", "1-stand-in");
+            return result;
+        });
+        serveMethod("Bugzilla.version", params -> Collections.singletonMap("version", "5.0.4.rh83"));
+    }
+
+    /**
+     * Answer the calls of the given XML-RPC method.
+     *
+     * @param name the name of the method, e.g. <code>Bug.get</code>
+     * @param method computes the result from the struct passed to the call, which is empty if none was passed
+     */
+    public BugzillaStandIn serveMethod(String name, Function<Map<String, Object>, Object> method) {
+        methods.put(name, method);
+        return this;
+    }
+
+    /**
+     * Serve the given bugs, which are maps of the fields returned by Bugzilla and need an <code>id</code>.
+     */
+    public BugzillaStandIn serveBugs(Collection<Map<String, Object>> bugs) {
+        Map<String, Map<String, Object>> byId = new LinkedHashMap<>();
+        for (Map<String, Object> bug : bugs)
+            byId.put(String.valueOf(bug.get("id")), bug);
+        List<Map<String, Object>> all = new ArrayList<>(byId.values());
+
+        serveMethod("Bug.get", params -> {
+            boolean permissive = Boolean.TRUE.equals(params.get("permissive"));
+            List<Object> found = new ArrayList<>();
+            List<Object> faults = new ArrayList<>();
+            for (Object id : ids(params.get("ids"))) {
+                Map<String, Object> bug = byId.get(String.valueOf(id));
+                if (bug != null) {
+                    found.add(bug);
+                } else if (permissive) {
+                    Map<String, Object> fault = new LinkedHashMap<>();
+                    fault.put("id", id);
+                    fault.put("faultCode", FAULT_INVALID_BUG_ID);
+                    fault.put("faultString", "Bug #" + id + " does not exist.");
+                    faults.add(fault);
+                } else {
+                    throw new FaultException(FAULT_INVALID_BUG_ID, "Bug #" + id + " does not exist.");
+                }
+            }
+            return bugsResult(found, faults);
+        });
+        serveMethod("Bug.search", params -> {
+            int offset = params.get("offset") == null ? 0 : Integer.parseInt(params.get("offset").toString());
+            int limit = params.get("limit") == null ? all.size() : Integer.parseInt(params.get("limit").toString());
+            if (limit == 0)
+                limit = all.size();
+            return bugsResult(new ArrayList<>(slice(all, offset, limit)), Collections.emptyList());
+        });
+        serveMethod("Bug.comments", params -> {
+            Map<String, Object> commentsById = new LinkedHashMap<>();
+            for (Object id : ids(params.get("ids")))
+                commentsById.put(String.valueOf(id), Collections.singletonMap("comments", new Object[0]));
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("bugs", commentsById);
+            result.put("comments", Collections.emptyMap());
+            return result;
+        });
+        return this;
+    }
+
+    @Override
+    protected Response error(int status, String message) {
+        return new Response(status, "text/plain; charset=utf-8", message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Response call(Request request) throws Exception {
+        XmlRpc.Call call = XmlRpc.parseCall(request.getBody());
+        Function<Map<String, Object>, Object> method = methods.get(call.methodName);
+        if (method == null)
+            return Response.xml(XmlRpc.fault(FAULT_UNKNOWN_METHOD, "The method '" + call.methodName + "' was not found."));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> params = !call.params.isEmpty() && call.params.get(0) instanceof Map
+                ? (Map<String, Object>) call.params.get(0) : Collections.emptyMap();
+        try {
+            return Response.xml(XmlRpc.response(method.apply(params)));
+        } catch (FaultException e) {
+            return Response.xml(XmlRpc.fault(e.code, e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> bugsResult(List<Object> bugs, List<Object> faults) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bugs", bugs.toArray());
+        result.put("faults", faults.toArray());
+        return result;
+    }
+
+    private static List<Object> ids(Object ids) {
+        if (ids == null)
+            return Collections.emptyList();
+        if (ids instanceof Object[])
+            return Arrays.asList((Object[]) ids);
+        return Collections.singletonList(ids);
+    }
+
+    /**
+     * Thrown by a method to answer the call with an XML-RPC fault.
+     */
+    public static class FaultException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int code;
+
+        public FaultException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for the GitHub REST and GraphQL APIs.
+ * <p>
+ * Every response carries the <code>X-RateLimit-*</code> headers of the core rate limit. Requests answered with
+ * <code>304 Not Modified</code> do not count against it, as on GitHub, and once it is exhausted requests are rejected
+ * with <code>403 Forbidden</code> until the window resets. Lists served by {@link #servePages(String, List)} honour the
+ * <code>page</code> and <code>per_page</code> parameters and link the other pages in a <code>Link</code> header.
+ * <p>
+ * Point github-api at {@link #getApiEndpoint()}, e.g. through the <code>githubApiEndpoint</code> property read by the
+ * GitHub repository services.
+ */
+public class GitHubStandIn extends StandInServer {
+
+    public static final int DEFAULT_RATE_LIMIT = 5000;
+    public static final long DEFAULT_RATE_LIMIT_WINDOW_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final int DEFAULT_PAGE_SIZE = 30;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String RATE_LIMIT_PATH = "/rate_limit";
+
+    private final List<String[]> graphQLResponses = new CopyOnWriteArrayList<>();
+    private volatile RateLimitWindow rateLimit;
+
+    /**
+     * @param login the login of the authenticated user, returned by <code>/user</code>
+     */
+    public GitHubStandIn(String login) {
+        rateLimit = new RateLimitWindow(DEFAULT_RATE_LIMIT, DEFAULT_RATE_LIMIT_WINDOW_MILLIS, System::currentTimeMillis);
+        serve("GET", "/user", request -> Response.json(user(login)));
+        serve("GET", "/users/{login}", request -> Response.json(user(request.getPathParameter("login"))));
+        serve("GET", RATE_LIMIT_PATH, request -> Response.json(rateLimit()));
+        serve("POST", "/graphql", this::graphQL);
+    }
+
+    /**
+     * @return the API endpoint to configure github-api with, which has no trailing <code>/</code>
+     */
+    public String getApiEndpoint() {
+        String url = getURL().toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    /**
+     * Replace the core rate limit, which starts a new window.
+     */
+    public GitHubStandIn setRateLimit(int limit, long windowMillis) {
+        rateLimit = new RateLimitWindow(limit, windowMillis, System::currentTimeMillis);
+        return this;
+    }
+
+    /**
+     * Answer <code>GET</code> requests for <code>path</code> with the given JSON document.
+     */
+    public GitHubStandIn serve(String path, String json) {
+        serve("GET", path, request -> Response.json(json));
+        return this;
+    }
+
+    /**
+     * Answer <code>GET</code> requests for <code>path</code> with the page of <code>items</code> selected by the
+     * <code>page</code> and <code>per_page</code> parameters.
+     *
+     * @param path the path of the list, e.g. <code>/repos/wildfly/wildfly/pulls</code>
+     * @param items the JSON documents of the items of the list
+     */
+    public GitHubStandIn servePages(String path, List<String> items) {
+        List<String> copy = new ArrayList<>(items);
+        serve("GET", path, request -> {
+            int perPage = Math.min(MAX_PAGE_SIZE, Math.max(1, request.getIntParameter("per_page", DEFAULT_PAGE_SIZE)));
+            int page = Math.max(1, request.getIntParameter("page", 1));
+            int lastPage = Math.max(1, (copy.size() + perPage - 1) / perPage);
+            Response response = Response.json(jsonArray(slice(copy, (page - 1) * perPage, perPage)));
+            String links = pageLinks(request, page, perPage, lastPage);
+            return links == null ? response : response.withHeader("Link", links);
+        });
+        return this;
+    }
+
+    /**
+     * Answer the GraphQL queries containing <code>queryFragment</code>, e.g. the name of the operation, with the given
+     * JSON document. The fragment registered last wins if several match a query.
+     */
+    public GitHubStandIn serveGraphQL(String queryFragment, String json) {
+        graphQLResponses.add(new String[] { queryFragment, json });
+        return this;
+    }
+
+    public int getRateLimitRemaining() {
+        return rateLimit.getRemaining();
+    }
+
+    @Override
+    protected Response error(int status, String message) {
+        return Response.json(status, "{\"message\":" + quote(message) + ",\"documentation_url\":\"https://docs.github.com/rest\"}");
+    }
+
+    @Override
+    protected Response intercept(Request request) {
+        if (!RATE_LIMIT_PATH.equals(request.getPath()) && rateLimit.isExhausted())
+            return error(403, "API rate limit exceeded for user.");
+        return null;
+    }
+
+    @Override
+    protected void decorate(Request request, int status, Map<String, String> headers) {
+        RateLimitWindow window = rateLimit;
+        if (status != 304 && !RATE_LIMIT_PATH.equals(request.getPath()))
+            window.consume();
+
+        headers.put("X-RateLimit-Limit", Integer.toString(window.getLimit()));
+        headers.put("X-RateLimit-Remaining", Integer.toString(window.getRemaining()));
+        headers.put("X-RateLimit-Used", Integer.toString(window.getUsed()));
+        headers.put("X-RateLimit-Reset", Long.toString(window.getResetEpochSeconds()));
+        headers.put("X-RateLimit-Resource", "core");
+    }
+
+    private Response graphQL(Request request) {
+        String query = request.getBodyAsString();
+        for (int i = graphQLResponses.size() - 1; i >= 0; i--) {
+            String[] response = graphQLResponses.get(i);
+            if (query.contains(response[0]))
+                return Response.json(response[1]);
+        }
+        return Response.json("{\"data\":null,\"errors\":[{\"message\":\"No recorded response for this query\"}]}");
+    }
+
+    private String user(String login) {
+        return "{\"login\":" + quote(login) + ",\"id\":" + Math.abs(login.hashCode()) + ",\"type\":\"User\""
+                + ",\"url\":" + quote(getApiEndpoint() + "/users/" + login)
+                + ",\"html_url\":" + quote("https://github.com/" + login) + "}";
+    }
+
+    private String rateLimit() {
+        RateLimitWindow window = rateLimit;
+        String core = "{\"limit\":" + window.getLimit() + ",\"remaining\":" + window.getRemaining() + ",\"used\":"
+                + window.getUsed() + ",\"reset\":" + window.getResetEpochSeconds() + "}";
+        long reset = window.getResetEpochSeconds();
+        // only the core limit is enforced, the other resources are reported untouched
+        return "{\"resources\":{\"core\":" + core + ",\"search\":" + record(30, reset) + ",\"graphql\":" + record(5000, reset)
+                + ",\"integration_manifest\":" + record(5000, reset) + "},\"rate\":" + core + "}";
+    }
+
+    private static String record(int limit, long reset) {
+        return "{\"limit\":" + limit + ",\"remaining\":" + limit + ",\"used\":0,\"reset\":" + reset + "}";
+    }
+}
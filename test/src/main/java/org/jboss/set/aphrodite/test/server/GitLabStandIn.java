@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for the GitLab v4 REST API, whose resources are served under <code>/api/v4</code>; the paths passed to
+ * this class are relative to it.
+ * <p>
+ * Every response carries the <code>RateLimit-*</code> headers, once the limit is exhausted requests are rejected with
+ * <code>429 Too Many Requests</code> and a <code>Retry-After</code> header. Lists served by
+ * {@link #servePages(String, List)} honour the <code>page</code> and <code>per_page</code> parameters and describe the
+ * pagination in the <code>X-Page</code>, <code>X-Total</code>, ... and <code>Link</code> headers.
+ */
+public class GitLabStandIn extends StandInServer {
+
+    public static final String API_PATH = "/api/v4";
+    public static final int DEFAULT_RATE_LIMIT = 2000;
+    public static final long DEFAULT_RATE_LIMIT_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private volatile RateLimitWindow rateLimit;
+
+    /**
+     * @param username the username of the authenticated user, returned by <code>/user</code>
+     */
+    public GitLabStandIn(String username) {
+        rateLimit = new RateLimitWindow(DEFAULT_RATE_LIMIT, DEFAULT_RATE_LIMIT_WINDOW_MILLIS, System::currentTimeMillis);
+        serve("/user", "{\"id\":1,\"username\":" + quote(username) + ",\"name\":" + quote(username) + ",\"state\":\"active\"}");
+    }
+
+    /**
+     * Replace the rate limit, which starts a new window.
+     */
+    public GitLabStandIn setRateLimit(int limit, long windowMillis) {
+        rateLimit = new RateLimitWindow(limit, windowMillis, System::currentTimeMillis);
+        return this;
+    }
+
+    /**
+     * Answer <code>GET</code> requests for <code>path</code>, relative to {@value #API_PATH}, with the given JSON
+     * document.
+     */
+    public GitLabStandIn serve(String path, String json) {
+        serve("GET", API_PATH + path, request -> Response.json(json));
+        return this;
+    }
+
+    /**
+     * Answer <code>GET</code> requests for <code>path</code>, relative to {@value #API_PATH}, with the page of
+     * <code>items</code> selected by the <code>page</code> and <code>per_page</code> parameters.
+     */
+    public GitLabStandIn servePages(String path, List<String> items) {
+        List<String> copy = new ArrayList<>(items);
+        serve("GET", API_PATH + path, request -> {
+            int perPage = Math.min(MAX_PAGE_SIZE, Math.max(1, request.getIntParameter("per_page", DEFAULT_PAGE_SIZE)));
+            int page = Math.max(1, request.getIntParameter("page", 1));
+            int totalPages = Math.max(1, (copy.size() + perPage - 1) / perPage);
+            Response response = Response.json(jsonArray(slice(copy, (page - 1) * perPage, perPage)))
+                    .withHeader("X-Page", Integer.toString(page))
+                    .withHeader("X-Per-Page", Integer.toString(perPage))
+                    .withHeader("X-Total", Integer.toString(copy.size()))
+                    .withHeader("X-Total-Pages", Integer.toString(totalPages))
+                    .withHeader("X-Next-Page", page < totalPages ? Integer.toString(page + 1) : "")
+                    .withHeader("X-Prev-Page", page > 1 ? Integer.toString(Math.min(page, totalPages + 1) - 1) : "");
+            String links = pageLinks(request, page, perPage, totalPages);
+            return links == null ? response : response.withHeader("Link", links);
+        });
+        return this;
+    }
+
+    public int getRateLimitRemaining() {
+        return rateLimit.getRemaining();
+    }
+
+    @Override
+    protected Response error(int status, String message) {
+        return Response.json(status, "{\"message\":" + quote(status + " " + message) + "}");
+    }
+
+    @Override
+    protected Response intercept(Request request) {
+        RateLimitWindow window = rateLimit;
+        if (window.isExhausted()) {
+            long retryAfter = TimeUnit.MILLISECONDS.toSeconds(window.getMillisUntilReset() + 999);
+            return error(429, "Too Many Requests").withHeader("Retry-After", Long.toString(retryAfter));
+        }
+        return null;
+    }
+
+    @Override
+    protected void decorate(Request request, int status, Map<String, String> headers) {
+        RateLimitWindow window = rateLimit;
+        if (status != 429)
+            window.consume();
+
+        headers.put("RateLimit-Limit", Integer.toString(window.getLimit()));
+        headers.put("RateLimit-Observed", Integer.toString(window.getUsed()));
+        headers.put("RateLimit-Remaining", Integer.toString(window.getRemaining()));
+        headers.put("RateLimit-Reset", Long.toString(window.getResetEpochSeconds()));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stands in for the Jira REST API v2, served under <code>/rest/api/2</code>.
+ * <p>
+ * Issues registered with {@link #serveIssue(String, String)} are returned by <code>/issue/{key}</code>, and the
+ * results of {@link #serveSearch(List)} are paged through the <code>startAt</code> and <code>maxResults</code>
+ * parameters of <code>GET</code> and <code>POST</code> searches, whatever their JQL.
+ */
+public class JiraStandIn extends StandInServer {
+
+    public static final String API_PATH = "/rest/api/2";
+
+    private static final int DEFAULT_MAX_RESULTS = 50;
+    private static final int MAX_RESULTS = 1000;
+    private static final Pattern START_AT = Pattern.compile("\"startAt\"\\s*:\\s*(\\d+)");
+    private static final Pattern MAX_RESULTS_FIELD = Pattern.compile("\"maxResults\"\\s*:\\s*(\\d+)");
+
+    private final Map<String, String> issues = new ConcurrentHashMap<>();
+    private volatile List<String> searchResults = new ArrayList<>();
+
+    /**
+     * @param username the name of the authenticated user, returned by <code>/myself</code>
+     */
+    public JiraStandIn(String username) {
+        serve("/serverInfo", "{\"baseUrl\":" + quote(getURL().toString()) + ",\"version\":\"8.20.10\",\"versionNumbers\":[8,20,10]"
+                + ",\"deploymentType\":\"Server\",\"buildNumber\":820010,\"serverTitle\":\"Jira stand-in\"}");
+        serve("/myself", "{\"self\":" + quote(getURL() + "rest/api/2/user?username=" + username) + ",\"name\":" + quote(username)
+                + ",\"key\":" + quote(username) + ",\"displayName\":" + quote(username) + ",\"active\":true}");
+        serve("GET", API_PATH + "/issue/{key}", request -> {
+            String issue = issues.get(request.getPathParameter("key"));
+            return issue == null ? error(404, "Issue Does Not Exist") : Response.json(issue);
+        });
+        serve("GET", API_PATH + "/search", request -> search(request.getIntParameter("startAt", 0),
+                request.getIntParameter("maxResults", DEFAULT_MAX_RESULTS)));
+        serve("POST", API_PATH + "/search", request -> {
+            String body = request.getBodyAsString();
+            return search(find(START_AT, body, 0), find(MAX_RESULTS_FIELD, body, DEFAULT_MAX_RESULTS));
+        });
+    }
+
+    /**
+     * Answer <code>GET</code> requests for <code>path</code>, relative to {@value #API_PATH}, with the given JSON
+     * document.
+     */
+    public JiraStandIn serve(String path, String json) {
+        serve("GET", API_PATH + path, request -> Response.json(json));
+        return this;
+    }
+
+    /**
+     * Serve the given issue from <code>/issue/{key}</code>.
+     */
+    public JiraStandIn serveIssue(String key, String json) {
+        issues.put(key, json);
+        return this;
+    }
+
+    /**
+     * Return the given issues, in this order, from every search.
+     */
+    public JiraStandIn serveSearch(List<String> issues) {
+        this.searchResults = new ArrayList<>(issues);
+        return this;
+    }
+
+    @Override
+    protected Response error(int status, String message) {
+        return Response.json(status, "{\"errorMessages\":[" + quote(message) + "],\"errors\":{}}");
+    }
+
+    private Response search(int startAt, int maxResults) {
+        List<String> results = searchResults;
+        int size = Math.min(MAX_RESULTS, Math.max(0, maxResults));
+        return Response.json("{\"expand\":\"schema,names\",\"startAt\":" + startAt + ",\"maxResults\":" + size
+                + ",\"total\":" + results.size() + ",\"issues\":" + jsonArray(slice(results, startAt, size)) + "}");
+    }
+
+    private static int find(Pattern pattern, String body, int defaultValue) {
+        Matcher m = pattern.matcher(body);
+        return m.find() ? Integer.parseInt(m.group(1)) : defaultValue;
+    }
+}
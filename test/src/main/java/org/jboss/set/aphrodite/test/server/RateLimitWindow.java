@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A fixed window request budget, as applied by GitHub and GitLab: <code>limit</code> requests are allowed until the
+ * window resets, at which point the budget is refilled.
+ */
+final class RateLimitWindow {
+
+    private final int limit;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    private int remaining;
+    private long resetMillis;
+
+    RateLimitWindow(int limit, long windowMillis, LongSupplier clock) {
+        if (limit <= 0 || windowMillis <= 0)
+            throw new IllegalArgumentException("limit and windowMillis must be positive");
+
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+        this.remaining = limit;
+        this.resetMillis = clock.getAsLong() + windowMillis;
+    }
+
+    /**
+     * @return <code>true</code> if the budget of the current window has been used up
+     */
+    synchronized boolean isExhausted() {
+        roll();
+        return remaining <= 0;
+    }
+
+    /**
+     * Take one request off the budget of the current window.
+     */
+    synchronized void consume() {
+        roll();
+        if (remaining > 0)
+            remaining--;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    synchronized int getRemaining() {
+        roll();
+        return remaining;
+    }
+
+    synchronized int getUsed() {
+        roll();
+        return limit - remaining;
+    }
+
+    synchronized long getResetEpochSeconds() {
+        roll();
+        return (resetMillis + 999) / 1000;
+    }
+
+    synchronized long getMillisUntilReset() {
+        roll();
+        return Math.max(0, resetMillis - clock.getAsLong());
+    }
+
+    private void roll() {
+        long now = clock.getAsLong();
+        if (now >= resetMillis) {
+            remaining = limit;
+            resetMillis = now + windowMillis;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request received by a {@link StandInServer}.
+ */
+public final class Request {
+
+    private final String method;
+    private final String path;
+    private final Map<String, String> pathParameters;
+    private final Map<String, String> parameters;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    Request(String method, String path, Map<String, String> pathParameters, Map<String, String> parameters,
+            Map<String, List<String>> headers, byte[] body) {
+        this.method = method;
+        this.path = path;
+        this.pathParameters = Collections.unmodifiableMap(pathParameters);
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the path of the request, without its query string
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the value of the <code>{name}</code> segment of the route template the request matched
+     */
+    public String getPathParameter(String name) {
+        return pathParameters.get(name);
+    }
+
+    /**
+     * @return the decoded query parameters, the first value wins if a parameter is repeated
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public String getParameter(String name) {
+        return parameters.get(name);
+    }
+
+    public int getIntParameter(String name, int defaultValue) {
+        String value = parameters.get(name);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public String getHeader(String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey() != null && header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty())
+                return header.getValue().get(0);
+        }
+        return null;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getBodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    Request withPathParameters(Map<String, String> pathParameters) {
+        return new Request(method, path, pathParameters, parameters, headers, body);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path;
+    }
+}
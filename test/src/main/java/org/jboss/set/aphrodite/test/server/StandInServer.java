@@ -0,0 +1,520 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embeddable HTTP server standing in for one of the backends Aphrodite talks to, so that Aphrodite can be
+ * exercised end to end, and under load, on a machine without network access. The server listens on an ephemeral port
+ * of the loopback interface and answers the requests it receives from the routes registered with
+ * {@link #serve(String, String, Handler)}, usually with recorded payloads.
+ * <p>
+ * On top of the routes, every server can delay its responses, fail a share of the requests, and answers conditional
+ * <code>GET</code> requests with <code>304 Not Modified</code> when the <code>If-None-Match</code> header carries the
+ * <code>ETag</code> of the response. The backend specific subclasses add the pagination and rate limiting of the service
+ * they stand in for.
+ */
+public abstract class StandInServer implements AutoCloseable {
+
+    /**
+     * Produces the response to a request matching a route.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        Response handle(Request request) throws Exception;
+    }
+
+    private static final Pattern TEMPLATE_PARAMETER = Pattern.compile("\\{(\\w+)\\}");
+
+    static {
+        // without TCP_NODELAY every response stalls on the delayed acknowledgement of its headers, ~40ms a request
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> requestsByPath = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicInteger forcedFailures = new AtomicInteger();
+    private final Random random = new Random(0);
+
+    private volatile long latencyMillis;
+    private volatile long jitterMillis;
+    private volatile double failureRate;
+    private volatile int failureStatus = 503;
+    private volatile int forcedFailureStatus = 503;
+    private volatile boolean etags = true;
+
+    protected StandInServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, getClass().getSimpleName() + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::exchange);
+    }
+
+    /**
+     * Start listening for requests.
+     *
+     * @return this server
+     */
+    public StandInServer start() {
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the root URL of this server, ending with a <code>/</code>
+     */
+    public URL getURL() {
+        try {
+            InetSocketAddress address = server.getAddress();
+            return new URL("http", address.getAddress().getHostAddress(), address.getPort(), "/");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Register a route. A path template can hold <code>{name}</code> segments, which are available to the handler
+     * through {@link Request#getPathParameter(String)}. The route registered last wins if several match a request.
+     *
+     * @param method the HTTP method, e.g. <code>GET</code>
+     * @param pathTemplate the absolute path of the route, without query string
+     * @param handler the handler producing the response
+     * @return this server
+     */
+    public StandInServer serve(String method, String pathTemplate, Handler handler) {
+        routes.add(new Route(method, pathTemplate, handler));
+        return this;
+    }
+
+    /**
+     * Delay every response by <code>latencyMillis</code>, plus a random share of <code>jitterMillis</code>.
+     */
+    public StandInServer setLatency(long latencyMillis, long jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        return this;
+    }
+
+    /**
+     * Answer the given share of the requests, picked at random, with an error of the given status.
+     *
+     * @param failureRate the share of requests to fail, between <code>0</code> and <code>1</code>
+     * @param status the HTTP status of the failed responses
+     */
+    public StandInServer setFailureRate(double failureRate, int status) {
+        if (failureRate < 0 || failureRate > 1)
+            throw new IllegalArgumentException("failureRate must be between 0 and 1");
+
+        this.failureRate = failureRate;
+        this.failureStatus = status;
+        return this;
+    }
+
+    /**
+     * Answer the next <code>count</code> requests with an error of the given status.
+     */
+    public StandInServer failNext(int count, int status) {
+        forcedFailureStatus = status;
+        forcedFailures.set(count);
+        return this;
+    }
+
+    /**
+     * Seed the generator deciding on jitter and random failures, to make a run reproducible.
+     */
+    public StandInServer setSeed(long seed) {
+        synchronized (random) {
+            random.setSeed(seed);
+        }
+        return this;
+    }
+
+    /**
+     * Enable or disable the <code>ETag</code> support, which is enabled by default.
+     */
+    public StandInServer setETags(boolean etags) {
+        this.etags = etags;
+        return this;
+    }
+
+    /**
+     * @return the number of requests received since this server was started or its counters were reset
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of requests received for the given path, regardless of their method
+     */
+    public int getRequestCount(String path) {
+        AtomicInteger count = requestsByPath.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    public void resetCounters() {
+        requests.set(0);
+        requestsByPath.clear();
+    }
+
+    /**
+     * @return the content of a classpath resource, typically a recorded payload
+     */
+    public static String resource(String name) {
+        try (InputStream is = StandInServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (is == null)
+                throw new IllegalArgumentException("No resource named " + name);
+            return new String(readAll(is), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a JSON array of the given JSON values
+     */
+    protected static String jsonArray(List<String> values) {
+        return "[" + String.join(",", values) + "]";
+    }
+
+    /**
+     * @return the <code>size</code> items of <code>items</code> starting at <code>offset</code>, or fewer at the end
+     */
+    protected static <T> List<T> slice(List<T> items, int offset, int size) {
+        if (offset < 0 || size <= 0 || offset >= items.size())
+            return Collections.emptyList();
+        return items.subList(offset, Math.min(items.size(), offset + size));
+    }
+
+    /**
+     * @return the absolute URL of the request, with the given query parameters replaced
+     */
+    protected String linkTo(Request request, Map<String, String> parameters) {
+        Map<String, String> query = new LinkedHashMap<>(request.getParameters());
+        query.putAll(parameters);
+        StringBuilder sb = new StringBuilder(getURL().toString()).append(request.getPath().substring(1));
+        char separator = '?';
+        for (Map.Entry<String, String> parameter : query.entrySet()) {
+            sb.append(separator).append(encode(parameter.getKey())).append('=').append(encode(parameter.getValue()));
+            separator = '&';
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return the value of the RFC 5988 <code>Link</code> header, as sent by GitHub and GitLab, of the given page, or
+     *         <code>null</code> if there is a single page
+     */
+    protected String pageLinks(Request request, int page, int perPage, int lastPage) {
+        if (lastPage <= 1)
+            return null;
+
+        List<String> links = new ArrayList<>();
+        if (page < lastPage) {
+            links.add(pageLink(request, page + 1, perPage, "next"));
+            links.add(pageLink(request, lastPage, perPage, "last"));
+        }
+        if (page > 1) {
+            links.add(pageLink(request, 1, perPage, "first"));
+            links.add(pageLink(request, Math.min(page, lastPage + 1) - 1, perPage, "prev"));
+        }
+        return String.join(", ", links);
+    }
+
+    private String pageLink(Request request, int page, int perPage, String rel) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("per_page", Integer.toString(perPage));
+        parameters.put("page", Integer.toString(page));
+        return "<" + linkTo(request, parameters) + ">; rel=\"" + rel + "\"";
+    }
+
+    protected static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                default:
+                    if (c < 0x20)
+                        sb.append(String.format("\\u%04x", (int) c));
+                    else
+                        sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * @return the response sent for an injected failure or a request that matches no route
+     */
+    protected abstract Response error(int status, String message);
+
+    /**
+     * Give the server a chance to answer a request before it is routed, e.g. because the rate limit is exhausted.
+     *
+     * @return the response to send, or <code>null</code> to route the request
+     */
+    protected Response intercept(Request request) {
+        return null;
+    }
+
+    /**
+     * Add the headers common to every response of the backend, after the response has been produced.
+     *
+     * @param request the request being answered
+     * @param status the status of the response
+     * @param headers the headers of the response, which can be modified
+     */
+    protected void decorate(Request request, int status, Map<String, String> headers) {
+    }
+
+    private void exchange(HttpExchange exchange) throws IOException {
+        try {
+            Request request = read(exchange);
+            requests.incrementAndGet();
+            requestsByPath.computeIfAbsent(request.getPath(), p -> new AtomicInteger()).incrementAndGet();
+
+            delay();
+            Response response = respond(request);
+            send(exchange, request, response);
+        } catch (Exception e) {
+            Response response = error(500, e.toString());
+            exchange.getResponseHeaders().set("Content-Type", response.getContentType());
+            exchange.sendResponseHeaders(500, response.getBody().length);
+            exchange.getResponseBody().write(response.getBody());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response respond(Request request) throws Exception {
+        if (shouldFail())
+            return error(failureStatus, "Injected failure");
+        if (forcedFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0)
+            return error(forcedFailureStatus, "Injected failure");
+
+        Response response = intercept(request);
+        if (response != null)
+            return response;
+
+        for (int i = routes.size() - 1; i >= 0; i--) {
+            Route route = routes.get(i);
+            Map<String, String> pathParameters = route.match(request);
+            if (pathParameters != null) {
+                return route.handler.handle(request.withPathParameters(pathParameters));
+            }
+        }
+        return error(404, "Not Found");
+    }
+
+    private void send(HttpExchange exchange, Request request, Response response) throws IOException {
+        int status = response.getStatus();
+        byte[] body = response.getBody();
+        Map<String, String> headers = new LinkedHashMap<>(response.getHeaders());
+        if (response.getContentType() != null)
+            headers.put("Content-Type", response.getContentType());
+
+        if (etags && status == 200 && "GET".equals(request.getMethod())) {
+            String etag = etag(body);
+            headers.put("ETag", etag);
+            if (etag.equals(request.getHeader("If-None-Match"))) {
+                status = 304;
+                body = new byte[0];
+            }
+        }
+        decorate(request, status, headers);
+
+        headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        boolean noBody = body.length == 0 || "HEAD".equals(request.getMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+
+    private void delay() throws InterruptedException {
+        long delay = latencyMillis;
+        if (jitterMillis > 0) {
+            synchronized (random) {
+                delay += (long) (random.nextDouble() * jitterMillis);
+            }
+        }
+        if (delay > 0)
+            Thread.sleep(delay);
+    }
+
+    private boolean shouldFail() {
+        if (failureRate <= 0)
+            return false;
+        synchronized (random) {
+            return random.nextDouble() < failureRate;
+        }
+    }
+
+    private static Request read(HttpExchange exchange) throws IOException {
+        URI uri = exchange.getRequestURI();
+        Map<String, String> parameters = new LinkedHashMap<>();
+        String query = uri.getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.isEmpty())
+                    continue;
+                int idx = pair.indexOf('=');
+                String name = URLDecoder.decode(idx < 0 ? pair : pair.substring(0, idx), "UTF-8");
+                String value = idx < 0 ? "" : URLDecoder.decode(pair.substring(idx + 1), "UTF-8");
+                parameters.putIfAbsent(name, value);
+            }
+        }
+        byte[] body;
+        try (InputStream is = exchange.getRequestBody()) {
+            body = readAll(is);
+        }
+        return new Request(exchange.getRequestMethod(), uri.getPath(), Collections.emptyMap(), parameters,
+                exchange.getRequestHeaders(), body);
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] readAll(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1)
+            out.write(buffer, 0, read);
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(body);
+            StringBuilder sb = new StringBuilder(digest.length * 2 + 2).append('"');
+            for (byte b : digest)
+                sb.append(String.format("%02x", b));
+            return sb.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Route {
+        private final String method;
+        private final Pattern pattern;
+        private final List<String> parameters;
+        private final Handler handler;
+
+        Route(String method, String template, Handler handler) {
+            this.method = method;
+            this.handler = handler;
+            this.parameters = new ArrayList<>();
+            StringBuilder regex = new StringBuilder();
+            Matcher m = TEMPLATE_PARAMETER.matcher(template);
+            int last = 0;
+            while (m.find()) {
+                regex.append(Pattern.quote(template.substring(last, m.start()))).append("([^/]+)");
+                parameters.add(m.group(1));
+                last = m.end();
+            }
+            regex.append(Pattern.quote(template.substring(last)));
+            this.pattern = Pattern.compile(regex.toString());
+        }
+
+        Map<String, String> match(Request request) {
+            if (!method.equalsIgnoreCase(request.getMethod()))
+                return null;
+            Matcher m = pattern.matcher(request.getPath());
+            if (!m.matches())
+                return null;
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < parameters.size(); i++)
+                values.put(parameters.get(i), m.group(i + 1));
+            return values;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import java.io.ByteArrayInputStream;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * The XML-RPC encoding of calls and responses, limited to the types Bugzilla uses.
+ */
+final class XmlRpc {
+
+    private static final String DATE_FORMAT = "yyyyMMdd'T'HH:mm:ss";
+
+    /**
+     * A decoded <code>methodCall</code>.
+     */
+    static final class Call {
+        final String methodName;
+        final List<Object> params;
+
+        Call(String methodName, List<Object> params) {
+            this.methodName = methodName;
+            this.params = params;
+        }
+    }
+
+    private XmlRpc() {
+    }
+
+    static Call parseCall(byte[] body) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document document = builder.parse(new ByteArrayInputStream(body));
+
+        Element root = document.getDocumentElement();
+        String methodName = child(root, "methodName").getTextContent().trim();
+        List<Object> params = new ArrayList<>();
+        Element paramsElement = child(root, "params");
+        if (paramsElement != null) {
+            for (Element param : children(paramsElement, "param"))
+                params.add(decode(child(param, "value")));
+        }
+        return new Call(methodName, params);
+    }
+
+    static String response(Object value) {
+        StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><methodResponse><params><param>");
+        encode(value, sb);
+        return sb.append("</param></params></methodResponse>").toString();
+    }
+
+    static String fault(int code, String message) {
+        Map<String, Object> fault = new LinkedHashMap<>();
+        fault.put("faultCode", code);
+        fault.put("faultString", message);
+        StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><methodResponse><fault>");
+        encode(fault, sb);
+        return sb.append("</fault></methodResponse>").toString();
+    }
+
+    private static void encode(Object value, StringBuilder sb) {
+        sb.append("<value>");
+        if (value == null) {
+            sb.append("<nil/>");
+        } else if (value instanceof String) {
+            sb.append("<string>").append(escape((String) value)).append("</string>");
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            sb.append("<int>").append(value).append("</int>");
+        } else if (value instanceof Long) {
+            long l = (Long) value;
+            if (l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE)
+                sb.append("<int>").append(l).append("</int>");
+            else
+                sb.append("<double>").append(l).append("</double>");
+        } else if (value instanceof Number) {
+            sb.append("<double>").append(((Number) value).doubleValue()).append("</double>");
+        } else if (value instanceof Boolean) {
+            sb.append("<boolean>").append((Boolean) value ? 1 : 0).append("</boolean>");
+        } else if (value instanceof Date) {
+            sb.append("<dateTime.iso8601>").append(dateFormat().format((Date) value)).append("</dateTime.iso8601>");
+        } else if (value instanceof byte[]) {
+            sb.append("<base64>").append(Base64.getEncoder().encodeToString((byte[]) value)).append("</base64>");
+        } else if (value instanceof Map) {
+            sb.append("<struct>");
+            for (Map.Entry<?, ?> member : ((Map<?, ?>) value).entrySet()) {
+                // nil is an extension the clients do not necessarily accept, leave absent members out instead
+                if (member.getValue() == null)
+                    continue;
+                sb.append("<member><name>").append(escape(String.valueOf(member.getKey()))).append("</name>");
+                encode(member.getValue(), sb);
+                sb.append("</member>");
+            }
+            sb.append("</struct>");
+        } else if (value instanceof Object[] || value instanceof Collection) {
+            Iterable<?> items = value instanceof Object[] ? Arrays.asList((Object[]) value) : (Collection<?>) value;
+            sb.append("<array><data>");
+            for (Object item : items)
+                encode(item, sb);
+            sb.append("</data></array>");
+        } else {
+            sb.append("<string>").append(escape(value.toString())).append("</string>");
+        }
+        sb.append("</value>");
+    }
+
+    private static Object decode(Element value) throws ParseException {
+        Element typed = firstElement(value);
+        if (typed == null)
+            return value.getTextContent();
+
+        String text = typed.getTextContent().trim();
+        switch (typed.getTagName()) {
+            case "i4":
+            case "int":
+                return Integer.valueOf(text);
+            case "i8":
+                return Long.valueOf(text);
+            case "boolean":
+                return "1".equals(text) || "true".equalsIgnoreCase(text);
+            case "double":
+                return Double.valueOf(text);
+            case "dateTime.iso8601":
+                return dateFormat().parse(text);
+            case "base64":
+                return Base64.getMimeDecoder().decode(text);
+            case "nil":
+                return null;
+            case "struct":
+                Map<String, Object> struct = new LinkedHashMap<>();
+                for (Element member : children(typed, "member"))
+                    struct.put(child(member, "name").getTextContent().trim(), decode(child(member, "value")));
+                return struct;
+            case "array":
+                List<Object> items = new ArrayList<>();
+                Element data = child(typed, "data");
+                if (data != null) {
+                    for (Element item : children(data, "value"))
+                        items.add(decode(item));
+                }
+                return items.toArray();
+            default:
+                return typed.getTextContent();
+        }
+    }
+
+    private static SimpleDateFormat dateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static Element firstElement(Element parent) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element)
+                return (Element) node;
+        }
+        return null;
+    }
+
+    private static Element child(Element parent, String name) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && ((Element) node).getTagName().equals(name))
+                return (Element) node;
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent, String name) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && ((Element) node).getTagName().equals(name))
+                children.add((Element) node);
+        }
+        return children;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.test.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class StandInServerTest {
+
+    private StandInServer server;
+
+    @After
+    public void tearDown() {
+        if (server != null)
+            server.close();
+    }
+
+    @Test
+    public void gitHubPagesAreLinkedAndCountAgainstTheRateLimit() throws Exception {
+        List<String> items = new ArrayList<>();
+        for (int i = 1; i <= 5; i++)
+            items.add("{\"number\":" + i + "}");
+        GitHubStandIn github = new GitHubStandIn("jboss-set-bot").servePages("/repos/o/r/pulls", items).setRateLimit(10, 60_000);
+        server = github.start();
+
+        HttpURLConnection connection = get(github, "repos/o/r/pulls?state=open&per_page=2&page=2", null);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("[{\"number\":3},{\"number\":4}]", body(connection));
+        String link = connection.getHeaderField("Link");
+        assertTrue(link, link.contains("state=open&per_page=2&page=3>; rel=\"next\""));
+        assertTrue(link, link.contains("page=3>; rel=\"last\""));
+        assertTrue(link, link.contains("page=1>; rel=\"first\""));
+        assertEquals("10", connection.getHeaderField("X-RateLimit-Limit"));
+        assertEquals("9", connection.getHeaderField("X-RateLimit-Remaining"));
+
+        connection = get(github, "repos/o/r/pulls?per_page=2&page=3", null);
+        assertEquals("[{\"number\":5}]", body(connection));
+        assertTrue(connection.getHeaderField("Link").contains("rel=\"prev\""));
+        assertTrue(!connection.getHeaderField("Link").contains("rel=\"next\""));
+        assertEquals(2, github.getRequestCount("/repos/o/r/pulls"));
+    }
+
+    @Test
+    public void notModifiedResponsesDoNotCountAgainstTheRateLimit() throws Exception {
+        GitHubStandIn github = new GitHubStandIn("jboss-set-bot").serve("/repos/o/r", "{\"name\":\"r\"}");
+        server = github.start();
+
+        HttpURLConnection connection = get(github, "repos/o/r", null);
+        String etag = connection.getHeaderField("ETag");
+        int remaining = Integer.parseInt(connection.getHeaderField("X-RateLimit-Remaining"));
+
+        connection = get(github, "repos/o/r", etag);
+        assertEquals(304, connection.getResponseCode());
+        assertEquals(remaining, Integer.parseInt(connection.getHeaderField("X-RateLimit-Remaining")));
+    }
+
+    @Test
+    public void exhaustedRateLimitIsRejected() throws Exception {
+        GitHubStandIn github = new GitHubStandIn("jboss-set-bot").setRateLimit(1, 60_000);
+        server = github.start();
+
+        assertEquals(200, get(github, "user", null).getResponseCode());
+        HttpURLConnection connection = get(github, "user", null);
+        assertEquals(403, connection.getResponseCode());
+        assertEquals("0", connection.getHeaderField("X-RateLimit-Remaining"));
+        // the rate limit endpoint remains available
+        assertEquals(200, get(github, "rate_limit", null).getResponseCode());
+    }
+
+    @Test
+    public void injectedFailures() throws Exception {
+        JiraStandIn jira = new JiraStandIn("jboss-set");
+        server = jira.start();
+        jira.failNext(2, 502);
+
+        assertEquals(502, get(jira, "rest/api/2/myself", null).getResponseCode());
+        assertEquals(502, get(jira, "rest/api/2/myself", null).getResponseCode());
+        assertEquals(200, get(jira, "rest/api/2/myself", null).getResponseCode());
+
+        jira.setFailureRate(1, 503);
+        assertEquals(503, get(jira, "rest/api/2/myself", null).getResponseCode());
+        jira.setFailureRate(0, 503);
+        assertEquals(404, get(jira, "rest/api/2/issue/NOPE-1", null).getResponseCode());
+    }
+
+    @Test
+    public void jiraSearchIsPaged() throws Exception {
+        JiraStandIn jira = new JiraStandIn("jboss-set")
+                .serveSearch(Arrays.asList("{\"key\":\"A-1\"}", "{\"key\":\"A-2\"}", "{\"key\":\"A-3\"}"));
+        server = jira.start();
+
+        HttpURLConnection connection = post(jira, "rest/api/2/search", "application/json",
+                "{\"jql\":\"project = A\",\"startAt\":2,\"maxResults\":2}");
+        assertEquals("{\"expand\":\"schema,names\",\"startAt\":2,\"maxResults\":2,\"total\":3,\"issues\":[{\"key\":\"A-3\"}]}",
+                body(connection));
+    }
+
+    @Test
+    public void bugzillaAnswersXmlRpcCalls() throws Exception {
+        Map<String, Object> bug = new HashMap<>();
+        bug.put("id", 1111111);
+        bug.put("summary", "Test <Issue>");
+        BugzillaStandIn bugzilla = new BugzillaStandIn().serveBugs(Arrays.asList(bug));
+        server = bugzilla.start();
+
+        String call = "<?xml version=\"1.0\"?><methodCall><methodName>Bug.get</methodName><params><param><value><struct>"
+                + "<member><name>ids</name><value><array><data><value><int>1111111</int></value></data></array></value></member>"
+                + "</struct></value></param></params></methodCall>";
+        String response = body(post(bugzilla, "xmlrpc.cgi", "text/xml", call));
+        assertTrue(response, response.contains("<member><name>summary</name><value><string>Test &lt;Issue&gt;</string></value></member>"));
+        assertTrue(response, response.contains("<member><name>id</name><value><int>1111111</int></value></member>"));
+
+        call = call.replace("Bug.get", "Bug.nothing");
+        response = body(post(bugzilla, "xmlrpc.cgi", "text/xml", call));
+        assertTrue(response, response.contains("<fault>") && response.contains("<int>-32601</int>"));
+    }
+
+    private static HttpURLConnection get(StandInServer server, String path, String etag) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(server.getURL(), path).openConnection();
+        if (etag != null)
+            connection.setRequestProperty("If-None-Match", etag);
+        return connection;
+    }
+
+    private static HttpURLConnection post(StandInServer server, String path, String contentType, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(server.getURL(), path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", contentType);
+        connection.setDoOutput(true);
+        try (OutputStream os = connection.getOutputStream()) {
+            os.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return connection;
+    }
+
+    private static String body(HttpURLConnection connection) throws IOException {
+        InputStream is = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (is == null)
+            return null;
+        try (InputStream in = is) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+                out.write(buffer, 0, read);
+            return out.toString(StandardCharsets.UTF_8.name());
+        }
+    }
+}
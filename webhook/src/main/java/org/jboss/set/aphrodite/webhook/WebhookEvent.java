@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.webhook;
+
+import java.net.URL;
+
+import javax.json.JsonObject;
+
+/**
+ * A change reported by a webhook, reduced to what was affected. The payload is kept for listeners which need more.
+ */
+public class WebhookEvent {
+
+    public enum Source {
+        GITHUB, GITLAB, JIRA
+    }
+
+    public enum Kind {
+        /** A pull request was opened, edited, closed, synchronized with new commits, etc. */
+        PULL_REQUEST,
+        /** The labels of a pull request, or those defined by a repository, changed. */
+        LABEL,
+        /** A pull request was reviewed, approved or commented on. */
+        REVIEW,
+        /** The CI status of a commit changed. */
+        STATUS,
+        /** An issue was created, updated, deleted or commented on. */
+        ISSUE
+    }
+
+    private final Source source;
+    private final Kind kind;
+    private final String action;
+    private final URL url;
+    private final JsonObject payload;
+
+    WebhookEvent(Source source, Kind kind, String action, URL url, JsonObject payload) {
+        this.source = source;
+        this.kind = kind;
+        this.action = action;
+        this.url = url;
+        this.payload = payload;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the action as named by the source, e.g. <code>labeled</code> or <code>jira:issue_updated</code>, or
+     *         <code>null</code> if the event has none.
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * @return the URL of the affected entity, in the form used by Aphrodite: the pull request or issue, the commit
+     *         whose status changed, or the repository whose labels changed.
+     */
+    public URL getURL() {
+        return url;
+    }
+
+    public JsonObject getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "WebhookEvent{source=" + source + ", kind=" + kind + ", action=" + action + ", url=" + url + '}';
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.webhook;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Optional;
+
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+
+import org.jboss.set.aphrodite.webhook.WebhookEvent.Kind;
+import org.jboss.set.aphrodite.webhook.WebhookEvent.Source;
+
+/**
+ * Reduces the payloads of the supported webhooks to {@link WebhookEvent}s. Events which do not affect anything
+ * Aphrodite knows about, such as pings, are ignored.
+ */
+final class WebhookPayloads {
+
+    private WebhookPayloads() {
+    }
+
+    /**
+     * @param event the value of the <code>X-GitHub-Event</code> header.
+     */
+    static Optional<WebhookEvent> fromGitHub(String event, JsonObject payload) throws MalformedURLException {
+        String action = payload.getString("action", null);
+        JsonObject repository = payload.getJsonObject("repository");
+        switch (event) {
+            case "pull_request":
+                Kind kind = "labeled".equals(action) || "unlabeled".equals(action) ? Kind.LABEL : Kind.PULL_REQUEST;
+                return event(Source.GITHUB, kind, action, payload.getJsonObject("pull_request").getString("html_url"), payload);
+            case "pull_request_review":
+            case "pull_request_review_comment":
+                return event(Source.GITHUB, Kind.REVIEW, action, payload.getJsonObject("pull_request").getString("html_url"), payload);
+            case "status":
+                return event(Source.GITHUB, Kind.STATUS, payload.getString("state", null),
+                        repository.getString("html_url") + "/commit/" + payload.getString("sha"), payload);
+            case "check_run":
+            case "check_suite":
+                return event(Source.GITHUB, Kind.STATUS, action,
+                        repository.getString("html_url") + "/commit/" + payload.getJsonObject(event).getString("head_sha"), payload);
+            case "label":
+                return event(Source.GITHUB, Kind.LABEL, action, repository.getString("html_url"), payload);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    /**
+     * @param event the value of the <code>X-Gitlab-Event</code> header.
+     */
+    static Optional<WebhookEvent> fromGitLab(String event, JsonObject payload) throws MalformedURLException {
+        JsonObject attributes = payload.getJsonObject("object_attributes");
+        String project = payload.getJsonObject("project").getString("web_url");
+        switch (event) {
+            case "Merge Request Hook":
+                String action = attributes.getString("action", null);
+                JsonObject changes = payload.getJsonObject("changes");
+                Kind kind = Kind.PULL_REQUEST;
+                if ("approved".equals(action) || "unapproved".equals(action))
+                    kind = Kind.REVIEW;
+                else if (changes != null && changes.containsKey("labels"))
+                    kind = Kind.LABEL;
+                return event(Source.GITLAB, kind, action, mergeRequest(project, attributes.getJsonNumber("iid")), payload);
+            case "Note Hook":
+                JsonObject mergeRequest = payload.getJsonObject("merge_request");
+                if (mergeRequest == null)
+                    return Optional.empty();
+                return event(Source.GITLAB, Kind.REVIEW, attributes.getString("noteable_type", null),
+                        mergeRequest(project, mergeRequest.getJsonNumber("iid")), payload);
+            case "Pipeline Hook":
+                return event(Source.GITLAB, Kind.STATUS, attributes.getString("status", null),
+                        project + "/-/commit/" + attributes.getString("sha"), payload);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    static Optional<WebhookEvent> fromJira(JsonObject payload) throws MalformedURLException {
+        JsonObject issue = payload.getJsonObject("issue");
+        if (issue == null)
+            return Optional.empty();
+
+        // "self" is the REST resource, e.g. https://issues.redhat.com/rest/api/2/issue/12345
+        String self = issue.getString("self");
+        int rest = self.indexOf("/rest/");
+        if (rest < 0)
+            throw new MalformedURLException("Unexpected issue resource: " + self);
+        return event(Source.JIRA, Kind.ISSUE, payload.getString("webhookEvent", null),
+                self.substring(0, rest) + "/browse/" + issue.getString("key"), payload);
+    }
+
+    /**
+     * The URL Aphrodite uses for merge requests, without the <code>/-/</code> of the web interface.
+     */
+    private static String mergeRequest(String project, JsonNumber iid) {
+        return project + "/merge_requests/" + iid.intValue();
+    }
+
+    private static Optional<WebhookEvent> event(Source source, Kind kind, String action, String url, JsonObject payload)
+            throws MalformedURLException {
+        return Optional.of(new WebhookEvent(source, kind, action, new URL(url), payload));
+    }
+}
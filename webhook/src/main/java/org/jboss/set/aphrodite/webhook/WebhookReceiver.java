@@ -0,0 +1,306 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.webhook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.Aphrodite;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.webhook.WebhookEvent.Source;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embedded HTTP server receiving the webhooks of GitHub, GitLab and Jira, so that changes reach Aphrodite as they
+ * happen instead of being found by polling. Every delivery is authenticated before it is read:
+ * <ul>
+ * <li><code>POST /github</code>: the <code>X-Hub-Signature-256</code> HMAC of the body with the GitHub secret.</li>
+ * <li><code>POST /gitlab</code>: the <code>X-Gitlab-Token</code> header equal to the GitLab token.</li>
+ * <li><code>POST /jira</code>: the <code>X-Hub-Signature</code> HMAC of the body with the Jira secret, or, for Jira
+ * versions which can not sign, a <code>token</code> query parameter equal to it.</li>
+ * </ul>
+ * Only the endpoints of the sources with a secret are served. For every accepted event, the affected URL is
+ * invalidated through {@link Aphrodite#invalidate(URL)} and the listeners are notified. Deliveries are handled one
+ * at a time, in the order they arrive.
+ */
+public class WebhookReceiver implements AutoCloseable {
+
+    private static final Log LOG = LogFactory.getLog(WebhookReceiver.class);
+
+    /** GitHub caps payloads at 25 MB, larger deliveries are refused. */
+    static final int MAX_PAYLOAD_SIZE = 25 * 1024 * 1024;
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    private final HttpServer server;
+    private final Aphrodite aphrodite;
+    private final String gitHubSecret;
+    private final String gitLabToken;
+    private final String jiraSecret;
+    private final List<WebhookListener> listeners = new CopyOnWriteArrayList<>();
+
+    private WebhookReceiver(Builder builder) throws IOException {
+        this.aphrodite = builder.aphrodite;
+        this.gitHubSecret = builder.gitHubSecret;
+        this.gitLabToken = builder.gitLabToken;
+        this.jiraSecret = builder.jiraSecret;
+        this.listeners.addAll(builder.listeners);
+
+        server = HttpServer.create(builder.address, 0);
+        if (gitHubSecret != null)
+            server.createContext("/github", exchange -> receive(exchange, Source.GITHUB));
+        if (gitLabToken != null)
+            server.createContext("/gitlab", exchange -> receive(exchange, Source.GITLAB));
+        if (jiraSecret != null)
+            server.createContext("/jira", exchange -> receive(exchange, Source.JIRA));
+    }
+
+    public WebhookReceiver start() {
+        server.start();
+        Utils.logDebugMessage(LOG, "Receiving webhooks at " + server.getAddress());
+        return this;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public void addListener(WebhookListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener cannot be null"));
+    }
+
+    public void removeListener(WebhookListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void receive(HttpExchange exchange, Source source) throws IOException {
+        try {
+            int status;
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                status = 405;
+            } else {
+                byte[] body = read(exchange.getRequestBody());
+                status = body == null ? 413 : handle(source, exchange.getRequestHeaders(), exchange.getRequestURI().getRawQuery(), body);
+            }
+            exchange.sendResponseHeaders(status, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return the HTTP status answered to the delivery.
+     */
+    int handle(Source source, Headers headers, String query, byte[] body) {
+        if (!isAuthentic(source, headers, query, body)) {
+            Utils.logWarnMessage(LOG, "Rejecting a " + source + " webhook delivery with an invalid signature");
+            return 401;
+        }
+
+        Optional<WebhookEvent> event;
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(body))) {
+            JsonObject payload = reader.readObject();
+            switch (source) {
+                case GITHUB:
+                    String name = headers.getFirst("X-GitHub-Event");
+                    event = name != null ? WebhookPayloads.fromGitHub(name, payload) : Optional.empty();
+                    break;
+                case GITLAB:
+                    name = headers.getFirst("X-Gitlab-Event");
+                    event = name != null ? WebhookPayloads.fromGitLab(name, payload) : Optional.empty();
+                    break;
+                default:
+                    event = WebhookPayloads.fromJira(payload);
+            }
+        } catch (MalformedURLException | RuntimeException e) {
+            Utils.logException(LOG, "Unable to read a " + source + " webhook delivery", e);
+            return 400;
+        }
+
+        event.ifPresent(this::dispatch);
+        return 202;
+    }
+
+    private void dispatch(WebhookEvent event) {
+        Utils.logDebugMessage(LOG, "Received " + event);
+        if (aphrodite != null) {
+            try {
+                aphrodite.invalidate(event.getURL());
+            } catch (RuntimeException e) {
+                Utils.logException(LOG, "Unable to invalidate " + event.getURL(), e);
+            }
+        }
+        for (WebhookListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                Utils.logException(LOG, "Webhook listener failed on " + event, e);
+            }
+        }
+    }
+
+    private boolean isAuthentic(Source source, Headers headers, String query, byte[] body) {
+        switch (source) {
+            case GITHUB:
+                return matches(headers.getFirst("X-Hub-Signature-256"), "sha256=" + hmac(gitHubSecret, body));
+            case GITLAB:
+                return matches(headers.getFirst("X-Gitlab-Token"), gitLabToken);
+            default:
+                String signature = headers.getFirst("X-Hub-Signature");
+                if (signature != null)
+                    return matches(signature, "sha256=" + hmac(jiraSecret, body));
+                return matches(queryParameter(query, "token"), jiraSecret);
+        }
+    }
+
+    /**
+     * Compare in constant time, so that the time taken does not tell how much of a guess was right.
+     */
+    private static boolean matches(String actual, String expected) {
+        return actual != null && MessageDigest.isEqual(actual.getBytes(StandardCharsets.UTF_8), expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String hmac(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : mac.doFinal(body))
+                hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String queryParameter(String query, String name) {
+        if (query == null)
+            return null;
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(name + "="))
+                return URLDecoder.decode(parameter.substring(name.length() + 1), StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    /**
+     * @return the body, or <code>null</code> if it is larger than {@link #MAX_PAYLOAD_SIZE}.
+     */
+    private static byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            if (out.size() + read > MAX_PAYLOAD_SIZE)
+                return null;
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    public static class Builder {
+
+        private InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        private Aphrodite aphrodite;
+        private String gitHubSecret;
+        private String gitLabToken;
+        private String jiraSecret;
+        private final List<WebhookListener> listeners = new CopyOnWriteArrayList<>();
+
+        /**
+         * @param address the address to listen on, the loopback interface on an ephemeral port by default.
+         */
+        public Builder setAddress(InetSocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        /**
+         * @param aphrodite the instance whose caches are invalidated by the events.
+         */
+        public Builder setAphrodite(Aphrodite aphrodite) {
+            this.aphrodite = aphrodite;
+            return this;
+        }
+
+        public Builder setGitHubSecret(String gitHubSecret) {
+            this.gitHubSecret = gitHubSecret;
+            return this;
+        }
+
+        public Builder setGitLabToken(String gitLabToken) {
+            this.gitLabToken = gitLabToken;
+            return this;
+        }
+
+        public Builder setJiraSecret(String jiraSecret) {
+            this.jiraSecret = jiraSecret;
+            return this;
+        }
+
+        public Builder addListener(WebhookListener listener) {
+            this.listeners.add(Objects.requireNonNull(listener, "listener cannot be null"));
+            return this;
+        }
+
+        /**
+         * @throws IOException if the address can not be bound.
+         * @throws IllegalStateException if no source has a secret.
+         */
+        public WebhookReceiver build() throws IOException {
+            if (gitHubSecret == null && gitLabToken == null && jiraSecret == null)
+                throw new IllegalStateException("At least one of the GitHub secret, GitLab token and Jira secret must be set");
+            return new WebhookReceiver(this);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright (c) 2024, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.webhook;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jboss.set.aphrodite.Aphrodite;
+import org.jboss.set.aphrodite.webhook.WebhookEvent.Kind;
+import org.jboss.set.aphrodite.webhook.WebhookEvent.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WebhookReceiverTest {
+
+    private static final String SECRET = "s3cr3t";
+
+    private Aphrodite aphrodite;
+    private List<WebhookEvent> events;
+    private WebhookReceiver receiver;
+
+    @Before
+    public void setUp() throws IOException {
+        aphrodite = mock(Aphrodite.class);
+        events = new CopyOnWriteArrayList<>();
+        receiver = new WebhookReceiver.Builder()
+                .setAphrodite(aphrodite)
+                .setGitHubSecret(SECRET)
+                .setGitLabToken(SECRET)
+                .setJiraSecret(SECRET)
+                .addListener(events::add)
+                .build()
+                .start();
+    }
+
+    @After
+    public void tearDown() {
+        receiver.close();
+    }
+
+    @Test
+    public void invalidatesLabeledPullRequest() throws Exception {
+        String payload = "{\"action\":\"labeled\",\"pull_request\":{\"html_url\":\"https://github.com/wildfly/wildfly/pull/7\"}"
+                + ",\"repository\":{\"html_url\":\"https://github.com/wildfly/wildfly\"}}";
+
+        assertEquals(202, post("/github", payload, Map.of("X-GitHub-Event", "pull_request",
+                "X-Hub-Signature-256", "sha256=" + WebhookReceiver.hmac(SECRET, payload.getBytes(StandardCharsets.UTF_8)))));
+
+        URL url = new URL("https://github.com/wildfly/wildfly/pull/7");
+        verify(aphrodite).invalidate(url);
+        assertEquals(1, events.size());
+        assertEquals(Source.GITHUB, events.get(0).getSource());
+        assertEquals(Kind.LABEL, events.get(0).getKind());
+        assertEquals(url, events.get(0).getURL());
+    }
+
+    @Test
+    public void invalidatesCommitOfStatus() throws Exception {
+        String payload = "{\"state\":\"success\",\"sha\":\"abc123\",\"repository\":{\"html_url\":\"https://github.com/wildfly/wildfly\"}}";
+
+        assertEquals(202, post("/github", payload, Map.of("X-GitHub-Event", "status",
+                "X-Hub-Signature-256", "sha256=" + WebhookReceiver.hmac(SECRET, payload.getBytes(StandardCharsets.UTF_8)))));
+
+        verify(aphrodite).invalidate(new URL("https://github.com/wildfly/wildfly/commit/abc123"));
+        assertEquals(Kind.STATUS, events.get(0).getKind());
+    }
+
+    @Test
+    public void rejectsInvalidSignature() throws Exception {
+        String payload = "{\"action\":\"opened\",\"pull_request\":{\"html_url\":\"https://github.com/wildfly/wildfly/pull/7\"}}";
+
+        assertEquals(401, post("/github", payload, Map.of("X-GitHub-Event", "pull_request",
+                "X-Hub-Signature-256", "sha256=" + WebhookReceiver.hmac("guess", payload.getBytes(StandardCharsets.UTF_8)))));
+
+        verify(aphrodite, never()).invalidate(any());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void invalidatesMergeRequest() throws Exception {
+        String payload = "{\"object_kind\":\"merge_request\",\"project\":{\"web_url\":\"https://gitlab.com/group/project\"}"
+                + ",\"object_attributes\":{\"iid\":12,\"action\":\"update\"}}";
+
+        assertEquals(202, post("/gitlab", payload, Map.of("X-Gitlab-Event", "Merge Request Hook", "X-Gitlab-Token", SECRET)));
+
+        verify(aphrodite).invalidate(new URL("https://gitlab.com/group/project/merge_requests/12"));
+        assertEquals(Kind.PULL_REQUEST, events.get(0).getKind());
+    }
+
+    @Test
+    public void invalidatesJiraIssue() throws Exception {
+        String payload = "{\"webhookEvent\":\"jira:issue_updated\""
+                + ",\"issue\":{\"key\":\"WFLY-1\",\"self\":\"https://issues.redhat.com/rest/api/2/issue/1\"}}";
+
+        assertEquals(202, post("/jira?token=" + SECRET, payload, Map.of()));
+
+        verify(aphrodite).invalidate(new URL("https://issues.redhat.com/browse/WFLY-1"));
+        assertEquals("jira:issue_updated", events.get(0).getAction());
+    }
+
+    private int post(String path, String payload, Map<String, String> headers) throws IOException {
+        URL url = new URL("http://" + receiver.getAddress().getHostString() + ":" + receiver.getAddress().getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            headers.forEach(connection::setRequestProperty);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(payload.getBytes(StandardCharsets.UTF_8));
+            }
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+}